@@ -0,0 +1,36 @@
+package calendarapp.benchmarks;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Entry point of the benchmark jar. Accepts the usual JMH command line and always attaches the
+ * GC profiler, so every score comes with its allocation rate and bytes allocated per operation.
+ *
+ * <pre>
+ * mvn -P jmh package -DskipTests
+ * java -jar target/benchmarks.jar SearchBenchmark -p size=1000,100000 -p type=OVERLAPPING
+ * </pre>
+ */
+public class BenchmarkRunner {
+
+  /**
+   * Runs the benchmarks selected on the command line, or all of them.
+   *
+   * @param args the JMH command line.
+   * @throws CommandLineOptionException if the command line is invalid.
+   * @throws RunnerException            if a benchmark fails to run.
+   */
+  public static void main(String[] args) throws CommandLineOptionException, RunnerException {
+    Options options = new OptionsBuilder()
+        .parent(new CommandLineOptions(args))
+        .addProfiler(GCProfiler.class)
+        .build();
+    new Runner(options).run();
+  }
+}
@@ -0,0 +1,83 @@
+package calendarapp.benchmarks;
+
+import java.time.LocalDateTime;
+
+import calendarapp.model.IEventRepository;
+
+/**
+ * Builds the calendars the benchmarks run against.
+ * Single events take the first twenty minutes of consecutive hours. Recurring series take
+ * twenty minutes from the half hour, repeating daily for ten days, so that both kinds of events
+ * cover the same stretch of time without conflicting.
+ */
+final class CalendarFixture {
+  static final LocalDateTime BASE = LocalDateTime.of(2025, 1, 6, 0, 0);
+  static final int OCCURRENCES_PER_SERIES = 10;
+
+  private CalendarFixture() {
+  }
+
+  /**
+   * Returns the number of single events a calendar of the given size and mix holds.
+   *
+   * @param size the total number of events.
+   * @param mix  the share of recurring events.
+   * @return the number of single events.
+   */
+  static int singleCount(int size, EventMix mix) {
+    return mix == EventMix.SINGLE ? size : size / 2;
+  }
+
+  /**
+   * Returns the name of the i-th single event. Names repeat every thousand events so that
+   * name-scoped searches have several candidates.
+   *
+   * @param i the index of the single event.
+   * @return the name of the event.
+   */
+  static String singleName(int i) {
+    return "Event" + (i % 1000);
+  }
+
+  /**
+   * Returns the start of the i-th single event.
+   *
+   * @param i the index of the single event.
+   * @return the start time of the event.
+   */
+  static LocalDateTime singleStart(int i) {
+    return BASE.plusHours(i);
+  }
+
+  /**
+   * Returns the end of the i-th single event.
+   *
+   * @param i the index of the single event.
+   * @return the end time of the event.
+   */
+  static LocalDateTime singleEnd(int i) {
+    return singleStart(i).plusMinutes(20);
+  }
+
+  /**
+   * Fills the repository with the given number of events.
+   *
+   * @param repository the repository to fill.
+   * @param size       the total number of events, counting every occurrence of a series.
+   * @param mix        the share of recurring events.
+   */
+  static void populate(IEventRepository repository, int size, EventMix mix) {
+    int singles = singleCount(size, mix);
+    for (int i = 0; i < singles; i++) {
+      repository.create(singleName(i), singleStart(i), singleEnd(i), "Description", "Room",
+          "public", null, null, null, true);
+    }
+    int series = (size - singles) / OCCURRENCES_PER_SERIES;
+    for (int s = 0; s < series; s++) {
+      LocalDateTime start = BASE.plusDays((long) (s / 24) * OCCURRENCES_PER_SERIES)
+          .plusHours(s % 24).plusMinutes(30);
+      repository.create("Series" + (s % 1000), start, start.plusMinutes(20), "Description",
+          "Room", "public", "MTWRFSU", String.valueOf(OCCURRENCES_PER_SERIES), null, true);
+    }
+  }
+}
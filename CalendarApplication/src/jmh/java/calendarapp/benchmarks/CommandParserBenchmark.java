@@ -0,0 +1,158 @@
+package calendarapp.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import calendarapp.controller.commands.CommandProperties;
+import calendarapp.controller.commands.parser.CommandParser;
+import calendarapp.controller.commands.parser.ParsedCommand;
+
+import static calendarapp.controller.commands.impl.RegexPatternConstants.COPY_EVENTS_BETWEEN_COMMAND;
+import static calendarapp.controller.commands.impl.RegexPatternConstants.COPY_EVENTS_ON_COMMAND;
+import static calendarapp.controller.commands.impl.RegexPatternConstants.COPY_EVENT_COMMAND;
+import static calendarapp.controller.commands.impl.RegexPatternConstants.CREATE_AUTO_DECLINE_PATTERN;
+import static calendarapp.controller.commands.impl.RegexPatternConstants.CREATE_EVENT_NAME_PATTERN;
+import static calendarapp.controller.commands.impl.RegexPatternConstants.CREATE_FROM_TO_PATTERN;
+import static calendarapp.controller.commands.impl.RegexPatternConstants.CREATE_ON_PATTERN;
+import static calendarapp.controller.commands.impl.RegexPatternConstants.CREATE_OPTIONAL_PARAMETERS;
+import static calendarapp.controller.commands.impl.RegexPatternConstants.CREATE_REPEATS_F0R_PATTERN;
+import static calendarapp.controller.commands.impl.RegexPatternConstants.CREATE_REPEATS_UNTIL_PATTERN;
+import static calendarapp.controller.commands.impl.RegexPatternConstants.EDIT_EVENT_NAME_PATTERN;
+import static calendarapp.controller.commands.impl.RegexPatternConstants.EDIT_FROM_PATTERN;
+import static calendarapp.controller.commands.impl.RegexPatternConstants.EDIT_FROM_TO_PATTERN;
+import static calendarapp.controller.commands.impl.RegexPatternConstants.IS_RECURRING_EVENT;
+import static calendarapp.controller.commands.impl.RegexPatternConstants.PRINT_FROM_TO_PATTERN;
+import static calendarapp.controller.commands.impl.RegexPatternConstants.PRINT_ON_PATTERN;
+import static calendarapp.controller.commands.impl.RegexPatternConstants.STATUS_FROM_TO_PATTERN;
+import static calendarapp.controller.commands.impl.RegexPatternConstants.STATUS_ON_PATTERN;
+
+/**
+ * Compares {@link CommandParser} with the regular expression path it replaced, which typed a
+ * line with one pattern and then ran every pattern of that command over it, compiling each
+ * pattern anew for every line.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CommandParserBenchmark {
+  private static final String COMMAND_TYPE_PATTERN = "^((?i)create|edit)\\s+(\\S+)|^(\\S+)";
+
+  @Param({"CREATE", "CREATE_RECURRING", "EDIT", "PRINT", "SHOW", "COPY"})
+  private String kind;
+
+  private String line;
+
+  /**
+   * Picks the command line of the configured kind.
+   */
+  @Setup
+  public void setUp() {
+    switch (kind) {
+      case "CREATE":
+        line = "create event --autoDecline \"Team Meeting\" from 2025-03-10T10:00 to "
+            + "2025-03-10T11:00 location \"Room 1\" description Weekly visibility public";
+        break;
+      case "CREATE_RECURRING":
+        line = "create event Standup from 2025-03-10T09:00 to 2025-03-10T09:15 repeats MTWRF "
+            + "for 20 times";
+        break;
+      case "EDIT":
+        line = "edit event location \"Event 2\" from 2025-03-10T14:00 to 2025-03-10T15:00 "
+            + "with \"Dodge Hall\"";
+        break;
+      case "PRINT":
+        line = "print events from 2025-03-10T09:00 to 2025-03-20T16:00";
+        break;
+      case "SHOW":
+        line = "show status on 2025-03-10T10:30";
+        break;
+      default:
+        line = "copy events between 2025-03-10 and 2025-03-15 --target calendar2 to 2025-03-25";
+        break;
+    }
+  }
+
+  /**
+   * Parses the line with the hand-written parser.
+   *
+   * @return the parsed command.
+   */
+  @Benchmark
+  public ParsedCommand handWritten() {
+    return CommandParser.parse(line);
+  }
+
+  /**
+   * Parses the line the way the commands did with regular expressions.
+   *
+   * @return the values captured by the patterns.
+   */
+  @Benchmark
+  public List<String> regex() {
+    Matcher matcher = Pattern.compile(COMMAND_TYPE_PATTERN).matcher(line);
+    String cmd = null;
+    if (matcher.find()) {
+      cmd = matcher.group(3) != null ? matcher.group(3) : matcher.group(1) + " " + matcher.group(2);
+    }
+    List<String> values = new ArrayList<>();
+    switch (CommandProperties.getCommand(cmd.toLowerCase())) {
+      case CREATE_EVENT:
+        String command = line;
+        if (command.toLowerCase().contains(CREATE_AUTO_DECLINE_PATTERN.toLowerCase())) {
+          command = command.replaceAll("(?i)--autoDecline", "");
+        }
+        capture(values, command, CREATE_EVENT_NAME_PATTERN, CREATE_FROM_TO_PATTERN,
+            CREATE_ON_PATTERN, CREATE_REPEATS_F0R_PATTERN, CREATE_REPEATS_UNTIL_PATTERN);
+        values.add(String.valueOf(command.toLowerCase().contains(IS_RECURRING_EVENT)));
+        Matcher optional = Pattern.compile(CREATE_OPTIONAL_PARAMETERS).matcher(command.trim());
+        while (optional.find()) {
+          values.add(optional.group(2) != null ? optional.group(2) : optional.group(3));
+        }
+        break;
+      case EDIT_EVENT:
+      case EDIT_EVENTS:
+        capture(values, line, EDIT_FROM_TO_PATTERN, EDIT_FROM_PATTERN, EDIT_EVENT_NAME_PATTERN);
+        break;
+      case PRINT:
+        capture(values, line, PRINT_FROM_TO_PATTERN, PRINT_ON_PATTERN);
+        break;
+      case SHOW:
+        capture(values, line, STATUS_ON_PATTERN, STATUS_FROM_TO_PATTERN);
+        break;
+      default:
+        capture(values, line, COPY_EVENT_COMMAND, COPY_EVENTS_ON_COMMAND,
+            COPY_EVENTS_BETWEEN_COMMAND);
+        break;
+    }
+    return values;
+  }
+
+  private static void capture(List<String> values, String command, String... patterns) {
+    for (String pattern : patterns) {
+      Matcher matcher = Pattern.compile(pattern).matcher(command.trim());
+      if (matcher.find()) {
+        for (int group = 1; group <= matcher.groupCount(); group++) {
+          values.add(matcher.group(group));
+        }
+      }
+    }
+  }
+}
@@ -0,0 +1,79 @@
+package calendarapp.benchmarks;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import calendarapp.model.IEvent;
+import calendarapp.model.impl.Event;
+
+/**
+ * Measures building a validated {@link Event}, the cost every created, updated, copied or
+ * deep-copied event pays.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EventBuilderBenchmark {
+  private LocalDateTime startTime;
+  private IEvent event;
+
+  /**
+   * Builds the event that is copied and updated.
+   */
+  @Setup
+  public void setUp() {
+    startTime = CalendarFixture.BASE.plusHours(9);
+    event = build();
+  }
+
+  /**
+   * Builds a single event through {@link Event.Builder}.
+   *
+   * @return the event.
+   */
+  @Benchmark
+  public IEvent build() {
+    return Event.builder()
+        .name("Meeting")
+        .startTime(startTime)
+        .endTime(startTime.plusMinutes(30))
+        .description("Description")
+        .location("Room")
+        .visibility("public")
+        .build();
+  }
+
+  /**
+   * Copies an event through {@link IEvent#deepCopyEvent}.
+   *
+   * @return the copy.
+   */
+  @Benchmark
+  public IEvent deepCopy() {
+    return event.deepCopyEvent();
+  }
+
+  /**
+   * Rebuilds an event with one property changed.
+   *
+   * @return the updated event.
+   */
+  @Benchmark
+  public IEvent updateProperty() {
+    return event.updateProperty("location", "Other room");
+  }
+}
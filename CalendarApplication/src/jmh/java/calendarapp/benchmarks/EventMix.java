@@ -0,0 +1,16 @@
+package calendarapp.benchmarks;
+
+/**
+ * The share of a benchmarked calendar made up of recurring events.
+ */
+public enum EventMix {
+  /**
+   * Every event is a single event.
+   */
+  SINGLE,
+
+  /**
+   * Half of the events are occurrences of recurring series.
+   */
+  MIXED
+}
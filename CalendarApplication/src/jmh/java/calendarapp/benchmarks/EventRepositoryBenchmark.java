@@ -0,0 +1,117 @@
+package calendarapp.benchmarks;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import calendarapp.model.IEvent;
+import calendarapp.model.IEventRepository;
+import calendarapp.model.SearchType;
+import calendarapp.model.impl.EventRepository;
+
+/**
+ * Measures the writing operations of {@link EventRepository} against calendars of growing
+ * size. The calendar is rebuilt before every iteration, so events created by one iteration do
+ * not grow the calendar the next one measures.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EventRepositoryBenchmark {
+  private static final ZoneId NEW_YORK = ZoneId.of("America/New_York");
+  private static final ZoneId LONDON = ZoneId.of("Europe/London");
+
+  @Param({"1000", "10000", "100000", "1000000"})
+  private int size;
+
+  @Param({"SINGLE", "MIXED"})
+  private EventMix mix;
+
+  private IEventRepository repository;
+  private List<IEvent> dayOfEvents;
+  private String updatedName;
+  private LocalDateTime updatedStart;
+  private LocalDateTime updatedEnd;
+  private long created;
+  private long updated;
+  private boolean isInLondon;
+
+  /**
+   * Rebuilds the calendar and picks the events the operations work on.
+   */
+  @Setup(Level.Iteration)
+  public void setUp() {
+    repository = new EventRepository();
+    CalendarFixture.populate(repository, size, mix);
+    int middle = CalendarFixture.singleCount(size, mix) / 2;
+    updatedName = CalendarFixture.singleName(middle);
+    updatedStart = CalendarFixture.singleStart(middle);
+    updatedEnd = CalendarFixture.singleEnd(middle);
+    dayOfEvents = repository.getEvents(null, updatedStart, updatedStart.plusDays(1),
+        SearchType.MATCHING);
+    created = 0;
+    isInLondon = false;
+  }
+
+  /**
+   * Creates a single event ahead of every existing event, so that it never conflicts.
+   */
+  @Benchmark
+  public void create() {
+    LocalDateTime start = CalendarFixture.BASE.minusHours(++created);
+    repository.create("Created", start, start.plusMinutes(20), null, null, null, null, null,
+        null, true);
+  }
+
+  /**
+   * Changes the description of a single event in the middle of the calendar.
+   */
+  @Benchmark
+  public void update() {
+    repository.update(updatedName, updatedStart, updatedEnd, "description",
+        "Updated" + (++updated & 1));
+  }
+
+  /**
+   * Moves every event of the calendar to the other of two time zones. Calls alternate between
+   * the two zones, so the calendar keeps the same events across an iteration.
+   */
+  @Benchmark
+  public void changeTimeZone() {
+    if (isInLondon) {
+      repository.changeTimeZone(LONDON, NEW_YORK);
+    } else {
+      repository.changeTimeZone(NEW_YORK, LONDON);
+    }
+    isInLondon = !isInLondon;
+  }
+
+  /**
+   * Copies a day of events into an empty calendar in another time zone.
+   *
+   * @return the calendar holding the copies.
+   */
+  @Benchmark
+  public IEventRepository copyEvents() {
+    IEventRepository target = new EventRepository();
+    target.copyEvents(dayOfEvents, CalendarFixture.BASE, NEW_YORK, LONDON);
+    return target;
+  }
+}
@@ -0,0 +1,79 @@
+package calendarapp.benchmarks;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import calendarapp.model.IEvent;
+import calendarapp.model.IEventRepository;
+import calendarapp.model.SearchType;
+import calendarapp.model.impl.EventRepository;
+
+/**
+ * Measures {@link IEventRepository#getEvents} for every {@link SearchType} against calendars of
+ * growing size. Each search covers one day in the middle of the calendar, which holds the same
+ * number of events whatever the size, so the scores show how searching scales with the
+ * events outside the range.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SearchBenchmark {
+
+  @Param({"1000", "10000", "100000", "1000000"})
+  private int size;
+
+  @Param({"SINGLE", "MIXED"})
+  private EventMix mix;
+
+  @Param({"OVERLAPPING", "MATCHING", "EXACT"})
+  private SearchType type;
+
+  private IEventRepository repository;
+  private String eventName;
+  private LocalDateTime startTime;
+  private LocalDateTime endTime;
+
+  /**
+   * Builds the calendar and picks the searched range.
+   */
+  @Setup
+  public void setUp() {
+    repository = new EventRepository();
+    CalendarFixture.populate(repository, size, mix);
+    int middle = CalendarFixture.singleCount(size, mix) / 2;
+    if (type == SearchType.EXACT) {
+      eventName = CalendarFixture.singleName(middle);
+      startTime = CalendarFixture.singleStart(middle);
+      endTime = CalendarFixture.singleEnd(middle);
+    } else {
+      startTime = CalendarFixture.singleStart(middle);
+      endTime = startTime.plusDays(1);
+    }
+  }
+
+  /**
+   * Searches the calendar with the configured search type.
+   *
+   * @return the matching events.
+   */
+  @Benchmark
+  public List<IEvent> getEvents() {
+    return repository.getEvents(eventName, startTime, endTime, type);
+  }
+}
@@ -0,0 +1,86 @@
+package calendarapp.benchmarks;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.Temporal;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import calendarapp.utils.TimeUtil;
+
+/**
+ * Compares the fixed-format parsing and formatting in {@link TimeUtil} with the formatter path
+ * it replaced, which built its formatters on every call and fell back from one pattern to the
+ * other through a caught exception.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TimeUtilBenchmark {
+  private static final LocalDateTime DATE_TIME = LocalDateTime.of(2025, 3, 10, 14, 5);
+
+  @Param({"2025-03-10T14:05", "2025-03-10"})
+  private String input;
+
+  /**
+   * Parses the input with the fixed-format reader.
+   *
+   * @return the parsed date-time.
+   */
+  @Benchmark
+  public Temporal parseFixedFormat() {
+    return TimeUtil.getTemporalFromString(input);
+  }
+
+  /**
+   * Parses the input the way TimeUtil did with formatters.
+   *
+   * @return the parsed date-time.
+   */
+  @Benchmark
+  public Temporal parseFormatter() {
+    DateTimeFormatter dateTimeFormatter = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm");
+    DateTimeFormatter dateFormatter = DateTimeFormatter.ofPattern("yyyy-MM-dd");
+    try {
+      return LocalDateTime.parse(input, dateTimeFormatter);
+    } catch (DateTimeParseException e) {
+      return LocalDate.parse(input, dateFormatter).atStartOfDay();
+    }
+  }
+
+  /**
+   * Formats a date and a time with the fixed-format writer.
+   *
+   * @return the formatted date and time.
+   */
+  @Benchmark
+  public String formatFixedFormat() {
+    return TimeUtil.formatDate(DATE_TIME) + TimeUtil.formatTime(DATE_TIME);
+  }
+
+  /**
+   * Formats a date and a time the way TimeUtil did with formatters.
+   *
+   * @return the formatted date and time.
+   */
+  @Benchmark
+  public String formatFormatter() {
+    return DATE_TIME.format(DateTimeFormatter.ofPattern("MM/dd/yyyy"))
+        + DATE_TIME.format(DateTimeFormatter.ofPattern("h:mm:ss a"));
+  }
+}
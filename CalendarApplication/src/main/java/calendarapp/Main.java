@@ -1,10 +1,17 @@
 package calendarapp;
 
+import java.io.IOException;
+
 import calendarapp.controller.ICalendarController;
 import calendarapp.controller.impl.CalendarControllerFactory;
-import calendarapp.model.ICalendarModel;
+import calendarapp.controller.impl.CalendarServer;
+import calendarapp.controller.metrics.CommandMetrics;
+import calendarapp.model.ICalendarRepository;
 import calendarapp.model.impl.CalendarModel;
+import calendarapp.model.impl.ConcurrentCalendarRepository;
+import calendarapp.model.impl.WriteAheadLog;
 import calendarapp.view.ICalendarView;
+import calendarapp.view.impl.BufferedCLIView;
 import calendarapp.view.impl.CLIView;
 
 /**
@@ -18,7 +25,11 @@ public class Main {
    * The entry point of the calendar application. Initializes the model, view, and
    * controller components, and starts the application.
    *
-   * @param args command-line arguments taking mode inputs.
+   * @param args command-line arguments taking mode inputs, the command file of a headless run,
+   *             the {@code --port} of a server, an optional {@code --snapshot} file to start
+   *             from, an optional {@code --wal} file logging the changes and its
+   *             {@code --wal-sync} policy, and the optional {@code --pipelined} and
+   *             {@code --quiet} flags.
    */
   public static void main(String[] args) {
     if (args.length < 2 || !args[0].equalsIgnoreCase("--mode")) {
@@ -27,15 +38,82 @@ public class Main {
 
     String mode = args[1];
     String filename = null;
-    if (args.length == 3) {
-      filename = args[2];
+    boolean pipelined = false;
+    boolean quiet = false;
+    String port = null;
+    String snapshot = null;
+    String wal = null;
+    String walSync = "always";
+    for (int i = 2; i < args.length; i++) {
+      if (args[i].equalsIgnoreCase("--port") && i + 1 < args.length) {
+        port = args[++i];
+      } else if (args[i].equalsIgnoreCase("--snapshot") && i + 1 < args.length) {
+        snapshot = args[++i];
+      } else if (args[i].equalsIgnoreCase("--wal") && i + 1 < args.length) {
+        wal = args[++i];
+      } else if (args[i].equalsIgnoreCase("--wal-sync") && i + 1 < args.length) {
+        walSync = args[++i];
+      } else if (args[i].equalsIgnoreCase("--pipelined")) {
+        pipelined = true;
+      } else if (args[i].equalsIgnoreCase("--quiet")) {
+        quiet = true;
+      } else if (filename == null) {
+        filename = args[i];
+      }
+    }
+
+    WriteAheadLog log = wal == null ? null : openLog(wal, walSync);
+    if (mode.equalsIgnoreCase("server")) {
+      if (port == null) {
+        throw new IllegalArgumentException("--port argument required in server mode.");
+      }
+      ICalendarRepository calendars = new ConcurrentCalendarRepository();
+      new CalendarModel(calendars, log).recover(snapshot);
+      if (log != null) {
+        // The server runs until it is stopped, so the last changes are synced on the way out.
+        Runtime.getRuntime().addShutdownHook(new Thread(log::close));
+      }
+      try (CalendarServer server = new CalendarServer(parsePort(port),
+          () -> new CalendarModel(calendars, log))) {
+        server.start();
+      }
+      return;
     }
 
-    ICalendarModel model = new CalendarModel();
-    ICalendarView view = new CLIView(System.out);
+    CalendarModel model = log == null ? new CalendarModel() : new CalendarModel(log);
+    model.recover(snapshot);
+    ICalendarView view = mode.equalsIgnoreCase("headless")
+        ? new BufferedCLIView(System.out, quiet) : new CLIView(System.out);
+    CommandMetrics metrics = new CommandMetrics();
     ICalendarController controller = CalendarControllerFactory.getController(mode,
-        filename, model, view);
+        filename, model, view, pipelined, metrics);
+
+    try {
+      controller.start();
+    } finally {
+      view.flush();
+      if (log != null) {
+        log.close();
+      }
+      if (mode.equalsIgnoreCase("headless")) {
+        System.err.print(metrics.report());
+      }
+    }
+  }
 
-    controller.start();
+  private static WriteAheadLog openLog(String filePath, String policy) {
+    try {
+      return WriteAheadLog.open(filePath, WriteAheadLog.SyncPolicy.parse(policy));
+    } catch (IOException e) {
+      throw new IllegalArgumentException("Cannot open write-ahead log: " + e.getMessage());
+    }
+  }
+
+  private static int parsePort(String port) {
+    try {
+      return Integer.parseInt(port);
+    } catch (NumberFormatException e) {
+      throw new IllegalArgumentException("Invalid port: " + port);
+    }
   }
 }
\ No newline at end of file
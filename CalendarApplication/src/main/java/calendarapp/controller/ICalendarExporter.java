@@ -1,5 +1,6 @@
 package calendarapp.controller;
 
+import java.util.Iterator;
 import java.util.List;
 
 import calendarapp.model.dto.CalendarExporterDTO;
@@ -16,5 +17,27 @@ public interface ICalendarExporter {
    * @param filePath The path where the exported file should be saved.
    * @return The absolute path to the created file.
    */
-  String export(List<CalendarExporterDTO> events, String filePath);
+  default String export(List<CalendarExporterDTO> events, String filePath) {
+    return export(events.iterator(), filePath);
+  }
+
+  /**
+   * Exports events to a file as they are iterated, without holding all of them at once.
+   *
+   * @param events   The events to export, in the order they are written.
+   * @param filePath The path where the exported file should be saved.
+   * @return The absolute path to the created file.
+   */
+  String export(Iterator<CalendarExporterDTO> events, String filePath);
+
+  /**
+   * Returns whether the format can describe a recurring series as one entry with a rule. Such
+   * exporters are handed series as single entries for which
+   * {@link CalendarExporterDTO#isRecurring()} holds, while others are handed every occurrence.
+   *
+   * @return true if the exporter writes recurrence rules, false otherwise.
+   */
+  default boolean supportsRecurrence() {
+    return false;
+  }
 }
@@ -0,0 +1,23 @@
+package calendarapp.controller;
+
+import java.io.Closeable;
+
+/**
+ * Interface for the sources a controller reads command lines from, one line at a time.
+ */
+public interface ICommandSource extends Closeable {
+  /**
+   * Checks whether there is another line to read.
+   *
+   * @return true if {@link #nextLine()} has a line to return.
+   */
+  boolean hasNextLine();
+
+  /**
+   * Reads the next line, without its line terminator.
+   *
+   * @return the next line.
+   * @throws java.util.NoSuchElementException if there are no more lines.
+   */
+  String nextLine();
+}
@@ -1,6 +1,8 @@
 package calendarapp.controller.commands;
 
 import calendarapp.controller.InvalidCommandException;
+import calendarapp.controller.commands.parser.CommandParser;
+import calendarapp.controller.commands.parser.ParsedCommand;
 import calendarapp.model.EventConflictException;
 
 /**
@@ -16,4 +18,17 @@ public interface Command {
    * @param command The command string containing instructions and parameters
    */
   void execute(String command) throws InvalidCommandException, EventConflictException;
+
+  /**
+   * Executes the command with a parse of the command string that was made ahead of time, for
+   * instance while earlier commands were still running. Commands that do not use the
+   * {@link CommandParser} simply execute the command string.
+   *
+   * @param command The command string containing instructions and parameters
+   * @param parsed  The command string as read by {@link CommandParser#parse(String)}
+   */
+  default void execute(String command, ParsedCommand parsed)
+      throws InvalidCommandException, EventConflictException {
+    execute(command);
+  }
 }
\ No newline at end of file
@@ -44,6 +44,11 @@ public enum CommandProperties {
    */
   EXPORT("export"),
 
+  /**
+   * Command to import events from a CSV file.
+   */
+  IMPORT("import"),
+
   /**
    * Command to copy calendar data.
    */
@@ -54,6 +59,26 @@ public enum CommandProperties {
    */
   USE("use"),
 
+  /**
+   * Command to start staging changes in a batch.
+   */
+  BEGIN_BATCH("begin batch"),
+
+  /**
+   * Command to commit the staged changes of a batch.
+   */
+  COMMIT("commit"),
+
+  /**
+   * Command to save every calendar to a snapshot file.
+   */
+  SAVE_SNAPSHOT("save snapshot"),
+
+  /**
+   * Command to replace every calendar with those of a snapshot file.
+   */
+  LOAD_SNAPSHOT("load snapshot"),
+
   /**
    * Represents an unrecognized command.
    */
@@ -73,6 +98,15 @@ public enum CommandProperties {
     this.command = command;
   }
 
+  /**
+   * Returns the leading words that name this command.
+   *
+   * @return the string representation of this command.
+   */
+  public String getCommandName() {
+    return command;
+  }
+
   /**
    * Finds the command property corresponding to the given string command.
    *
@@ -1,9 +1,10 @@
 package calendarapp.controller.commands.impl;
 
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
-
+import calendarapp.controller.InvalidCommandException;
 import calendarapp.controller.commands.Command;
+import calendarapp.controller.commands.parser.CommandParser;
+import calendarapp.controller.commands.parser.ParsedCommand;
+import calendarapp.model.EventConflictException;
 import calendarapp.model.ICalendarModel;
 import calendarapp.view.ICalendarView;
 
@@ -35,14 +36,16 @@ public abstract class AbstractCommand implements Command {
   }
 
   /**
-   * Performs regex pattern matching on the command string.
+   * Parses the command string and executes it.
    *
-   * @param regexPattern The regular expression pattern to match
-   * @param command      The command string to apply the pattern to
-   * @return A Matcher object that can be used to extract matched groups
+   * @param command The command string containing instructions and parameters
    */
-  protected Matcher regexMatching(String regexPattern, String command) {
-    Pattern pattern = Pattern.compile(regexPattern);
-    return pattern.matcher(command.trim());
+  @Override
+  public void execute(String command) throws InvalidCommandException, EventConflictException {
+    execute(command, CommandParser.parse(command));
   }
-}
\ No newline at end of file
+
+  @Override
+  public abstract void execute(String command, ParsedCommand parsed)
+      throws InvalidCommandException, EventConflictException;
+}
@@ -0,0 +1,50 @@
+package calendarapp.controller.commands.impl;
+
+import calendarapp.controller.InvalidCommandException;
+import calendarapp.controller.commands.CommandProperties;
+import calendarapp.controller.commands.parser.ParsedCommand;
+import calendarapp.model.EventConflictException;
+import calendarapp.model.ICalendarModel;
+import calendarapp.view.ICalendarView;
+
+/**
+ * Command to open and commit batches. {@code begin batch} starts staging created and copied
+ * events, and {@code commit} validates the staged events together and adds all of them, or
+ * none of them if any conflicts.
+ */
+public class BatchCommand extends AbstractCommand {
+
+  BatchCommand(ICalendarModel model, ICalendarView view) {
+    super(model, view);
+  }
+
+  /**
+   * Executes the begin batch or commit command.
+   *
+   * @param command The command string.
+   * @param parsed  The parsed form of the command.
+   * @throws InvalidCommandException If the command has arguments, or if a batch is already open
+   *                                 or not open.
+   * @throws EventConflictException  If a staged event conflicts on commit.
+   */
+  @Override
+  public void execute(String command, ParsedCommand parsed)
+      throws InvalidCommandException, EventConflictException {
+    CommandProperties type = parsed.getType();
+    if (type != CommandProperties.BEGIN_BATCH && type != CommandProperties.COMMIT) {
+      throw new InvalidCommandException(command + "\nReason : Unexpected arguments.\n");
+    }
+
+    try {
+      if (type == CommandProperties.BEGIN_BATCH) {
+        model.beginBatch();
+      } else {
+        model.commitBatch();
+      }
+    } catch (EventConflictException e) {
+      throw new EventConflictException(command + "\nReason : " + e.getMessage());
+    } catch (InvalidCommandException e) {
+      throw new InvalidCommandException(command + "\nReason : " + e.getMessage());
+    }
+  }
+}
@@ -2,14 +2,12 @@ package calendarapp.controller.commands.impl;
 
 import java.util.HashMap;
 import java.util.Map;
-import java.util.Objects;
 import java.util.function.BiFunction;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 import calendarapp.controller.InvalidCommandException;
 import calendarapp.controller.commands.Command;
 import calendarapp.controller.commands.CommandProperties;
+import calendarapp.controller.commands.parser.CommandParser;
 import calendarapp.model.ICalendarModel;
 import calendarapp.view.ICalendarView;
 
@@ -30,9 +28,14 @@ public class CommandFactory {
     commandsMap.put(CommandProperties.EDIT_CALENDAR, EditCalendarCommand::new);
     commandsMap.put(CommandProperties.PRINT, PrintCommand::new);
     commandsMap.put(CommandProperties.EXPORT, ExportCommand::new);
+    commandsMap.put(CommandProperties.IMPORT, ImportCommand::new);
     commandsMap.put(CommandProperties.SHOW, ShowCommand::new);
     commandsMap.put(CommandProperties.COPY, CopyCommand::new);
     commandsMap.put(CommandProperties.USE, UseCommand::new);
+    commandsMap.put(CommandProperties.BEGIN_BATCH, BatchCommand::new);
+    commandsMap.put(CommandProperties.COMMIT, BatchCommand::new);
+    commandsMap.put(CommandProperties.SAVE_SNAPSHOT, SnapshotCommand::new);
+    commandsMap.put(CommandProperties.LOAD_SNAPSHOT, SnapshotCommand::new);
   }
 
   /**
@@ -46,26 +49,11 @@ public class CommandFactory {
    */
   public static Command getCommand(String command, ICalendarModel model, ICalendarView view)
       throws InvalidCommandException {
-    String commandPattern = "^((?i)create|edit)\\s+(\\S+)|^(\\S+)";
-    Pattern pattern = Pattern.compile(commandPattern);
-    Matcher matcher = pattern.matcher(command);
-
-    String cmd = null;
-
-    if (matcher.find()) {
-      if (matcher.group(1) != null && matcher.group(3) == null) {
-        cmd = matcher.group(1) + " " + matcher.group(2);
-      } else if (matcher.group(3) != null) {
-        cmd = matcher.group(3);
-      }
-    }
-
-    BiFunction<ICalendarModel, ICalendarView, Command> commandFunction = commandsMap
-        .getOrDefault(Objects.requireNonNull(CommandProperties
-            .getCommand(cmd.toLowerCase())), null);
+    BiFunction<ICalendarModel, ICalendarView, Command> commandFunction =
+        commandsMap.get(CommandParser.getCommandType(command));
     if (commandFunction == null) {
       throw new InvalidCommandException("Unknown command: " + command + "\n");
     }
     return commandFunction.apply(model, view);
   }
-}
\ No newline at end of file
+}
@@ -1,18 +1,13 @@
 package calendarapp.controller.commands.impl;
 
-import java.util.regex.Matcher;
-
 import calendarapp.controller.InvalidCommandException;
+import calendarapp.controller.commands.parser.ParsedCommand;
 import calendarapp.model.EventConflictException;
 import calendarapp.model.ICalendarModel;
 import calendarapp.model.dto.CopyEventRequestDTO;
 import calendarapp.utils.TimeUtil;
 import calendarapp.view.ICalendarView;
 
-import static calendarapp.controller.commands.impl.RegexPatternConstants.COPY_EVENTS_BETWEEN_COMMAND;
-import static calendarapp.controller.commands.impl.RegexPatternConstants.COPY_EVENTS_ON_COMMAND;
-import static calendarapp.controller.commands.impl.RegexPatternConstants.COPY_EVENT_COMMAND;
-
 /**
  * Command to copy events from the current calendar to another calendar.
  * It supports copying a specific event, all events on a day, or events between dates.
@@ -34,21 +29,22 @@ public class CopyCommand extends AbstractCommand {
    * Parses the command, builds the request, and sends it to the model for processing.
    *
    * @param command the full user input command
+   * @param parsed  the parsed form of the command
    * @throws InvalidCommandException if the command format is incorrect or required fields are
    *                                 missing
    * @throws EventConflictException  if there is a conflict when copying events
    */
   @Override
-  public void execute(String command) throws InvalidCommandException, EventConflictException {
+  public void execute(String command, ParsedCommand parsed)
+      throws InvalidCommandException, EventConflictException {
     CopyEventRequestDTO.Builder builder = CopyEventRequestDTO.builder();
 
     try {
-      Matcher matcher = regexMatching(COPY_EVENT_COMMAND, command);
-      if (matcher.find()) {
-        eventName = matcher.group(1) != null ? matcher.group(1) : matcher.group(2);
-        eventStartDate = matcher.group(3) != null ? matcher.group(3) : matcher.group(4);
-        copyCalendarName = matcher.group(5) != null ? matcher.group(5) : matcher.group(6);
-        copyStartDate = matcher.group(7) != null ? matcher.group(7) : matcher.group(8);
+      copyCalendarName = parsed.getTargetCalendarName();
+      copyStartDate = parsed.getTargetDateTime();
+      if (parsed.getEventName() != null) {
+        eventName = parsed.getEventName();
+        eventStartDate = parsed.getOn();
 
         builder = builder.eventName(eventName)
             .startTime(TimeUtil.getTemporalFromString(eventStartDate))
@@ -56,23 +52,17 @@ public class CopyCommand extends AbstractCommand {
             .copyStartDate(TimeUtil.getTemporalFromString(copyStartDate));
       }
 
-      matcher = regexMatching(COPY_EVENTS_ON_COMMAND, command);
-      if (matcher.find()) {
-        fromStartDate = matcher.group(1) != null ? matcher.group(1) : matcher.group(2);
-        copyCalendarName = matcher.group(3) != null ? matcher.group(3) : matcher.group(4);
-        copyStartDate = matcher.group(5) != null ? matcher.group(5) : matcher.group(6);
+      if (parsed.getEventName() == null && parsed.getOn() != null) {
+        fromStartDate = parsed.getOn();
 
         builder = builder.startTime(TimeUtil.getStartOfDayFromString(fromStartDate))
             .copyCalendarName(copyCalendarName)
             .copyStartDate(TimeUtil.getDateFromString(copyStartDate));
       }
 
-      matcher = regexMatching(COPY_EVENTS_BETWEEN_COMMAND, command);
-      if (matcher.find()) {
-        fromStartDate = matcher.group(1) != null ? matcher.group(1) : matcher.group(2);
-        toEndDate = matcher.group(3) != null ? matcher.group(3) : matcher.group(4);
-        copyCalendarName = matcher.group(5) != null ? matcher.group(5) : matcher.group(6);
-        copyStartDate = matcher.group(7) != null ? matcher.group(7) : matcher.group(8);
+      if (parsed.getStartDateTime() != null) {
+        fromStartDate = parsed.getStartDateTime();
+        toEndDate = parsed.getEndDateTime();
 
         builder = builder.startTime(TimeUtil.getStartOfDayFromString(fromStartDate))
             .endTime(TimeUtil.getEndOfDayFromString(toEndDate))
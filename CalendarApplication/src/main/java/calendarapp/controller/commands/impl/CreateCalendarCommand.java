@@ -1,14 +1,11 @@
 package calendarapp.controller.commands.impl;
 
-import java.util.regex.Matcher;
-
 import calendarapp.controller.InvalidCommandException;
+import calendarapp.controller.commands.parser.ParsedCommand;
 import calendarapp.model.EventConflictException;
 import calendarapp.model.ICalendarModel;
 import calendarapp.view.ICalendarView;
 
-import static calendarapp.controller.commands.impl.RegexPatternConstants.CREATE_NEW_CALENDAR;
-
 /**
  * Create Calendar Command implementation for creating new calendar.
  */
@@ -26,12 +23,14 @@ public class CreateCalendarCommand extends AbstractCommand {
    * extracting calendar details, and creating the calendar in the model.
    *
    * @param command The command string containing event creation instructions.
+   * @param parsed  The parsed form of the command.
    * @throws InvalidCommandException If the syntax is invalid or required fields are missing.
    * @throws EventConflictException  If the new event conflicts with existing events.
    */
   @Override
-  public void execute(String command) throws InvalidCommandException, EventConflictException {
-    parseCommand(command);
+  public void execute(String command, ParsedCommand parsed)
+      throws InvalidCommandException, EventConflictException {
+    parseCommand(command, parsed);
     try {
       model.createCalendar(calendarName, timeZone);
     } catch (IllegalArgumentException | InvalidCommandException e) {
@@ -43,14 +42,12 @@ public class CreateCalendarCommand extends AbstractCommand {
    * Parses the create calendar command and extracts the calendar name and time zone.
    *
    * @param command the full user input command
+   * @param parsed  the parsed form of the command
    * @throws InvalidCommandException if calendar name or time zone is missing
    */
-  private void parseCommand(String command) {
-    Matcher matcher = regexMatching(CREATE_NEW_CALENDAR, command);
-    if (matcher.find()) {
-      calendarName = matcher.group(1) != null ? matcher.group(1) : matcher.group(2);
-      timeZone = matcher.group(3) != null ? matcher.group(3) : matcher.group(4);
-    }
+  private void parseCommand(String command, ParsedCommand parsed) {
+    calendarName = parsed.getCalendarName();
+    timeZone = parsed.getTimeZone();
 
     if (calendarName == null || timeZone == null) {
       throw new InvalidCommandException(command + "\nReason : Required fields are missing.\n");
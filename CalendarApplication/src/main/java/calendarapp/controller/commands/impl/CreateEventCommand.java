@@ -1,20 +1,12 @@
 package calendarapp.controller.commands.impl;
 
-import java.util.regex.Matcher;
-
 import calendarapp.controller.InvalidCommandException;
+import calendarapp.controller.commands.parser.ParsedCommand;
 import calendarapp.model.EventConflictException;
 import calendarapp.model.ICalendarModel;
 import calendarapp.view.ICalendarView;
 
 import static calendarapp.controller.commands.impl.RegexPatternConstants.CREATE_AUTO_DECLINE_PATTERN;
-import static calendarapp.controller.commands.impl.RegexPatternConstants.CREATE_EVENT_NAME_PATTERN;
-import static calendarapp.controller.commands.impl.RegexPatternConstants.CREATE_FROM_TO_PATTERN;
-import static calendarapp.controller.commands.impl.RegexPatternConstants.CREATE_ON_PATTERN;
-import static calendarapp.controller.commands.impl.RegexPatternConstants.CREATE_OPTIONAL_PARAMETERS;
-import static calendarapp.controller.commands.impl.RegexPatternConstants.CREATE_REPEATS_F0R_PATTERN;
-import static calendarapp.controller.commands.impl.RegexPatternConstants.CREATE_REPEATS_UNTIL_PATTERN;
-import static calendarapp.controller.commands.impl.RegexPatternConstants.IS_RECURRING_EVENT;
 
 /**
  * Create Command implementation for creating calendar events.
@@ -93,12 +85,14 @@ public class CreateEventCommand extends AbstractCommand {
    * extracting event details, and creating the event in the model.
    *
    * @param command The command string containing event creation instructions.
+   * @param parsed  The parsed form of the command.
    * @throws InvalidCommandException If the syntax is invalid or required fields are missing.
    * @throws EventConflictException  If the new event conflicts with existing events.
    */
   @Override
-  public void execute(String command) throws InvalidCommandException, EventConflictException {
-    parseCommand(command);
+  public void execute(String command, ParsedCommand parsed)
+      throws InvalidCommandException, EventConflictException {
+    parseCommand(command, parsed);
     try {
       model.createEvent(eventName, startDateTime, endDateTime, recurringDays, occurrenceCount,
           recurrenceEndDate, description, location, visibility, autoDecline);
@@ -113,60 +107,53 @@ public class CreateEventCommand extends AbstractCommand {
    * Parses the input command to get the properties.
    *
    * @param command String input of create command.
+   * @param parsed  The parsed form of the command.
    */
-  private void parseCommand(String command) {
-    autoDecline = command.toLowerCase().contains(CREATE_AUTO_DECLINE_PATTERN.toLowerCase());
-    if (autoDecline) {
-      command = command.replaceAll("(?i)--autoDecline", "");
-    }
-
-    Matcher matcher = regexMatching(CREATE_EVENT_NAME_PATTERN, command);
-    if (matcher.find()) {
-      eventName = matcher.group(1) != null ? matcher.group(1) : matcher.group(2);
-    }
-
-    matcher = regexMatching(CREATE_FROM_TO_PATTERN, command);
-    if (matcher.find()) {
-      startDateTime = matcher.group(1) != null ? matcher.group(1) : matcher.group(2);
-      endDateTime = matcher.group(3) != null ? matcher.group(3) : matcher.group(4);
-    }
+  private void parseCommand(String command, ParsedCommand parsed) {
+    autoDecline = parsed.isAutoDecline();
+    eventName = parsed.getEventName();
+    startDateTime = parsed.getStartDateTime();
+    endDateTime = parsed.getEndDateTime();
+    on = parsed.getOn();
+    recurringDays = parsed.getRecurringDays();
+    occurrenceCount = parsed.getOccurrenceCount();
+    recurrenceEndDate = parsed.getRecurrenceEndDate();
+    description = parsed.getDescription();
+    location = parsed.getLocation();
+    visibility = parsed.getVisibility();
 
-    matcher = regexMatching(CREATE_ON_PATTERN, command);
-    if (matcher.find()) {
-      on = matcher.group(1) != null ? matcher.group(1) : matcher.group(2);
+    if ((startDateTime == null && endDateTime == null) && on != null) {
+      startDateTime = on;
     }
 
-    boolean isRecurring = command.toLowerCase().contains(IS_RECURRING_EVENT.toLowerCase());
-    matcher = regexMatching(CREATE_REPEATS_F0R_PATTERN, command);
-    if (matcher.find()) {
-      recurringDays = matcher.group(1) != null ? matcher.group(1) : matcher.group(2);
-      occurrenceCount = matcher.group(3);
+    if (eventName == null || startDateTime == null
+        || (parsed.isRecurring() && recurringDays == null)) {
+      throw new InvalidCommandException(withoutAutoDecline(command)
+          + "\nReason : Required fields are missing.\n");
     }
+  }
 
-    matcher = regexMatching(CREATE_REPEATS_UNTIL_PATTERN, command);
-    if (matcher.find()) {
-      recurringDays = matcher.group(1) != null ? matcher.group(1) : matcher.group(2);
-      recurrenceEndDate = matcher.group(3) != null ? matcher.group(3) : matcher.group(4);
+  /**
+   * Removes every {@code --autoDecline} flag from the command, ignoring case, so that error
+   * messages show the command the way its fields were read.
+   *
+   * @param command String input of create command.
+   * @return the command without the flag.
+   */
+  private String withoutAutoDecline(String command) {
+    if (!autoDecline) {
+      return command;
     }
-
-    matcher = regexMatching(CREATE_OPTIONAL_PARAMETERS, command);
-    while (matcher.find()) {
-      if (matcher.group(1).equalsIgnoreCase("description")) {
-        description = matcher.group(2) != null ? matcher.group(2) : matcher.group(3);
-      } else if (matcher.group(1).equalsIgnoreCase("location")) {
-        location = matcher.group(2) != null ? matcher.group(2) : matcher.group(3);
-      } else if (matcher.group(1).equalsIgnoreCase("visibility")) {
-        visibility = matcher.group(2) != null ? matcher.group(2) : matcher.group(3);
+    StringBuilder result = new StringBuilder(command.length());
+    int index = 0;
+    int length = CREATE_AUTO_DECLINE_PATTERN.length();
+    while (index < command.length()) {
+      if (command.regionMatches(true, index, CREATE_AUTO_DECLINE_PATTERN, 0, length)) {
+        index += length;
+      } else {
+        result.append(command.charAt(index++));
       }
     }
-
-    if ((startDateTime == null && endDateTime == null) && on != null) {
-      startDateTime = on;
-    }
-
-    if (eventName == null || startDateTime == null
-        || (isRecurring && recurringDays == null)) {
-      throw new InvalidCommandException(command + "\nReason : Required fields are missing.\n");
-    }
+    return result.toString();
   }
-}
\ No newline at end of file
+}
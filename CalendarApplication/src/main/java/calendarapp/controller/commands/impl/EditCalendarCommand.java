@@ -1,14 +1,11 @@
 package calendarapp.controller.commands.impl;
 
-import java.util.regex.Matcher;
-
 import calendarapp.controller.InvalidCommandException;
+import calendarapp.controller.commands.parser.ParsedCommand;
 import calendarapp.model.EventConflictException;
 import calendarapp.model.ICalendarModel;
 import calendarapp.view.ICalendarView;
 
-import static calendarapp.controller.commands.impl.RegexPatternConstants.EDIT_CALENDAR_PATTERN;
-
 /**
  * Command to edit a calendar's property such as name or time zone.
  * It parses the input command and updates the calendar using the model.
@@ -28,12 +25,14 @@ public class EditCalendarCommand extends AbstractCommand {
    * extracting event details, and creating the event in the model.
    *
    * @param command The command string containing event creation instructions.
+   * @param parsed  The parsed form of the command.
    * @throws InvalidCommandException If the syntax is invalid or required fields are missing.
    * @throws EventConflictException  If the new event conflicts with existing events.
    */
   @Override
-  public void execute(String command) throws InvalidCommandException, EventConflictException {
-    parseCommand(command);
+  public void execute(String command, ParsedCommand parsed)
+      throws InvalidCommandException, EventConflictException {
+    parseCommand(command, parsed);
     try {
       model.editCalendar(calendarName, propertyName, propertyValue);
     } catch (IllegalArgumentException | InvalidCommandException e) {
@@ -46,15 +45,13 @@ public class EditCalendarCommand extends AbstractCommand {
    * the property to change, and the new value.
    *
    * @param command the full user input command
+   * @param parsed  the parsed form of the command
    * @throws InvalidCommandException if any required field is missing
    */
-  private void parseCommand(String command) {
-    Matcher matcher = regexMatching(EDIT_CALENDAR_PATTERN, command);
-    if (matcher.find()) {
-      calendarName = matcher.group(1) != null ? matcher.group(1) : matcher.group(2);
-      propertyName = matcher.group(3);
-      propertyValue = matcher.group(4) != null ? matcher.group(4) : matcher.group(5);
-    }
+  private void parseCommand(String command, ParsedCommand parsed) {
+    calendarName = parsed.getCalendarName();
+    propertyName = parsed.getPropertyName();
+    propertyValue = parsed.getPropertyValue();
 
     if (calendarName == null || propertyName == null || propertyValue == null) {
       throw new InvalidCommandException(command + "\nReason : Required fields are missing.\n");
@@ -1,16 +1,11 @@
 package calendarapp.controller.commands.impl;
 
-import java.util.regex.Matcher;
-
 import calendarapp.controller.InvalidCommandException;
+import calendarapp.controller.commands.parser.ParsedCommand;
 import calendarapp.model.EventConflictException;
 import calendarapp.model.ICalendarModel;
 import calendarapp.view.ICalendarView;
 
-import static calendarapp.controller.commands.impl.RegexPatternConstants.EDIT_EVENT_NAME_PATTERN;
-import static calendarapp.controller.commands.impl.RegexPatternConstants.EDIT_FROM_PATTERN;
-import static calendarapp.controller.commands.impl.RegexPatternConstants.EDIT_FROM_TO_PATTERN;
-
 /**
  * Edit Command implementation for editing existing calendar events.
  * Allows modification of various event properties by parsing the
@@ -58,12 +53,14 @@ public class EditEventCommand extends AbstractCommand {
    * and updating the event in the model.
    *
    * @param command The command string containing event editing instructions.
+   * @param parsed  The parsed form of the command.
    * @throws InvalidCommandException If the syntax is invalid or required fields are missing.
    * @throws EventConflictException  If the edit event conflicts with existing events.
    */
   @Override
-  public void execute(String command) throws InvalidCommandException, EventConflictException {
-    parseCommand(command);
+  public void execute(String command, ParsedCommand parsed)
+      throws InvalidCommandException, EventConflictException {
+    parseCommand(command, parsed);
     try {
       model.editEvent(eventName, startDateTime, endDateTime, propertyName, newPropertyValue);
     } catch (IllegalArgumentException e) {
@@ -77,34 +74,17 @@ public class EditEventCommand extends AbstractCommand {
    * Parses the input command to get the properties.
    *
    * @param command String input of edit command.
+   * @param parsed  The parsed form of the command.
    */
-  private void parseCommand(String command) {
-    Matcher matcher = regexMatching(EDIT_FROM_TO_PATTERN, command);
-    if (matcher.find()) {
-      propertyName = matcher.group(1);
-      eventName = matcher.group(2) != null ? matcher.group(2) : matcher.group(3);
-      startDateTime = matcher.group(4) != null ? matcher.group(4) : matcher.group(5);
-      endDateTime = matcher.group(6) != null ? matcher.group(6) : matcher.group(7);
-      newPropertyValue = matcher.group(8) != null ? matcher.group(8) : matcher.group(9);
-    }
-
-    matcher = regexMatching(EDIT_FROM_PATTERN, command);
-    if (matcher.find()) {
-      propertyName = matcher.group(1);
-      eventName = matcher.group(2) != null ? matcher.group(2) : matcher.group(3);
-      startDateTime = matcher.group(4) != null ? matcher.group(4) : matcher.group(5);
-      newPropertyValue = matcher.group(6) != null ? matcher.group(6) : matcher.group(7);
-    }
-
-    matcher = regexMatching(EDIT_EVENT_NAME_PATTERN, command);
-    if (matcher.find()) {
-      propertyName = matcher.group(1);
-      eventName = matcher.group(2) != null ? matcher.group(2) : matcher.group(3);
-      newPropertyValue = matcher.group(4) != null ? matcher.group(4) : matcher.group(5);
-    }
+  private void parseCommand(String command, ParsedCommand parsed) {
+    propertyName = parsed.getPropertyName();
+    eventName = parsed.getEventName();
+    startDateTime = parsed.getStartDateTime();
+    endDateTime = parsed.getEndDateTime();
+    newPropertyValue = parsed.getPropertyValue();
 
     if (eventName == null || newPropertyValue == null || propertyName == null) {
       throw new InvalidCommandException(command + "\nReason : Required fields are missing.\n");
     }
   }
-}
\ No newline at end of file
+}
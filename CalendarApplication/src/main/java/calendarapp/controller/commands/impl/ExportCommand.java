@@ -1,14 +1,12 @@
 package calendarapp.controller.commands.impl;
 
-import java.util.regex.Matcher;
-
 import calendarapp.controller.ICalendarExporter;
 import calendarapp.controller.InvalidCommandException;
+import calendarapp.controller.commands.parser.ParsedCommand;
 import calendarapp.controller.exporter.Constants;
 import calendarapp.model.ICalendarModel;
 import calendarapp.view.ICalendarView;
 
-import static calendarapp.controller.commands.impl.RegexPatternConstants.EXPORT_FILENAME_PATTERN;
 import static calendarapp.controller.exporter.Constants.EXPORTER_MAP;
 
 /**
@@ -36,16 +34,14 @@ public class ExportCommand extends AbstractCommand {
    * Parses the export command, validates the file format, and exports calendar data.
    *
    * @param command The command string containing export instructions and filename.
+   * @param parsed  The parsed form of the command.
    * @throws InvalidCommandException If the command syntax is invalid, the filename is missing,
    *                                 an unsupported format is used, or an error occurs during
    *                                 export.
    */
   @Override
-  public void execute(String command) throws InvalidCommandException {
-    Matcher matcher = regexMatching(EXPORT_FILENAME_PATTERN, command);
-    if (matcher.find()) {
-      filename = matcher.group(1) != null ? matcher.group(1) : matcher.group(2);
-    }
+  public void execute(String command, ParsedCommand parsed) throws InvalidCommandException {
+    filename = parsed.getFileName();
 
     if (filename == null) {
       throw new InvalidCommandException(command + "\nReason : Required fields are missing.\n");
@@ -60,8 +56,10 @@ public class ExportCommand extends AbstractCommand {
       }
 
       ICalendarExporter exporter = EXPORTER_MAP.get(fileExtension);
-      view.displayMessage("CSV file Location : "
-          + exporter.export(model.getEventsForExport(), filename) + "\n");
+      String location = exporter.supportsRecurrence()
+          ? model.exportSeries(events -> exporter.export(events, filename))
+          : model.exportEvents(events -> exporter.export(events, filename));
+      view.displayMessage(fileExtension.toUpperCase() + " file Location : " + location + "\n");
     } catch (Exception e) {
       throw new InvalidCommandException(command + "\nReason : " + e.getMessage());
     }
@@ -81,4 +79,4 @@ public class ExportCommand extends AbstractCommand {
     }
     return filenameSplit[filenameSplit.length - 1];
   }
-}
\ No newline at end of file
+}
@@ -0,0 +1,61 @@
+package calendarapp.controller.commands.impl;
+
+import java.io.File;
+
+import calendarapp.controller.InvalidCommandException;
+import calendarapp.controller.commands.parser.ParsedCommand;
+import calendarapp.controller.exporter.Constants;
+import calendarapp.controller.importer.CsvCalendarImporter;
+import calendarapp.model.EventConflictException;
+import calendarapp.model.ICalendarModel;
+import calendarapp.model.dto.ImportSummaryDTO;
+import calendarapp.view.ICalendarView;
+
+/**
+ * Command to import events into the active calendar. {@code import cal <fileName>} reads the
+ * events of a CSV file and adds all of them, or none of them if any conflicts. With
+ * {@code --skip-conflicts}, the conflicting events are left out and the others added.
+ */
+public class ImportCommand extends AbstractCommand {
+  private static final CsvCalendarImporter IMPORTER = new CsvCalendarImporter();
+
+  ImportCommand(ICalendarModel model, ICalendarView view) {
+    super(model, view);
+  }
+
+  /**
+   * Executes the import command.
+   *
+   * @param command The command string.
+   * @param parsed  The parsed form of the command.
+   * @throws InvalidCommandException If the file name is missing, the file is not a CSV file or
+   *                                 cannot be read, or one of its rows is invalid.
+   * @throws EventConflictException  If an event conflicts and conflicts are not skipped.
+   */
+  @Override
+  public void execute(String command, ParsedCommand parsed)
+      throws InvalidCommandException, EventConflictException {
+    String filename = parsed.getFileName();
+    if (filename == null) {
+      throw new InvalidCommandException(command + "\nReason : Required fields are missing.\n");
+    }
+    if (!filename.toLowerCase().endsWith("." + Constants.SupportExportFormats.CSV)) {
+      throw new InvalidCommandException(command + "\nReason : Only "
+          + Constants.SupportExportFormats.CSV + " files can be imported.\n");
+    }
+
+    try {
+      ImportSummaryDTO summary = IMPORTER.importEvents(filename,
+          events -> model.importEvents(events, parsed.isSkipConflicts()));
+      view.displayMessage("Imported " + summary.getImportedCount() + " events from : "
+          + new File(filename).getAbsolutePath() + "\n");
+      if (parsed.isSkipConflicts()) {
+        view.displayMessage("Skipped " + summary.getSkippedCount() + " conflicting events.\n");
+      }
+    } catch (EventConflictException e) {
+      throw new EventConflictException(command + "\nReason : " + e.getMessage());
+    } catch (InvalidCommandException e) {
+      throw new InvalidCommandException(command + "\nReason : " + e.getMessage());
+    }
+  }
+}
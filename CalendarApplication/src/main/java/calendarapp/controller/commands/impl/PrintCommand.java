@@ -1,16 +1,13 @@
 package calendarapp.controller.commands.impl;
 
 import java.util.List;
-import java.util.regex.Matcher;
 
 import calendarapp.controller.InvalidCommandException;
+import calendarapp.controller.commands.parser.ParsedCommand;
 import calendarapp.model.ICalendarModel;
 import calendarapp.model.dto.PrintEventsResponseDTO;
 import calendarapp.view.ICalendarView;
 
-import static calendarapp.controller.commands.impl.RegexPatternConstants.PRINT_FROM_TO_PATTERN;
-import static calendarapp.controller.commands.impl.RegexPatternConstants.PRINT_ON_PATTERN;
-
 /**
  * Print Command implementation for printing calendar events within a specified time range.
  * Parses the print command and displays the events through the view.
@@ -47,20 +44,14 @@ public class PrintCommand extends AbstractCommand {
    * and displaying them through the view.
    *
    * @param command The command string containing print instructions.
+   * @param parsed  The parsed form of the command.
    * @throws InvalidCommandException If the syntax is invalid or required fields are missing.
    */
   @Override
-  public void execute(String command) throws InvalidCommandException {
-    Matcher matcher = regexMatching(PRINT_FROM_TO_PATTERN, command);
-    if (matcher.find()) {
-      startDateTime = matcher.group(1) != null ? matcher.group(1) : matcher.group(2);
-      endDateTime = matcher.group(3) != null ? matcher.group(3) : matcher.group(4);
-    }
-
-    matcher = regexMatching(PRINT_ON_PATTERN, command);
-    if (matcher.find()) {
-      on = matcher.group(1) != null ? matcher.group(1) : matcher.group(2);
-    }
+  public void execute(String command, ParsedCommand parsed) throws InvalidCommandException {
+    startDateTime = parsed.getStartDateTime();
+    endDateTime = parsed.getEndDateTime();
+    on = parsed.getOn();
 
     if ((startDateTime == null && endDateTime == null) && on == null) {
       throw new InvalidCommandException(command + "\nReason : Required fields are missing.\n");
@@ -82,5 +73,6 @@ public class PrintCommand extends AbstractCommand {
     } else {
       view.displayMessage("No events found.\n");
     }
+    view.flush();
   }
-}
\ No newline at end of file
+}
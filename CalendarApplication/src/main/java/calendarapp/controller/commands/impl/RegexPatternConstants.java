@@ -1,7 +1,9 @@
 package calendarapp.controller.commands.impl;
 
 /**
- * This class contains the regex patterns used to validate commands.
+ * This class contains the regex patterns that describe the command grammar.
+ * Commands are parsed by {@link calendarapp.controller.commands.parser.CommandParser}, which
+ * follows these patterns word by word without running them.
  */
 public class RegexPatternConstants {
 
@@ -58,6 +60,8 @@ public class RegexPatternConstants {
   Show command regex pattern constants.
    */
   public static final String STATUS_ON_PATTERN = "(?i)\\s+status\\s+on\\s+(?:\"([^\"]+)\"|(\\S+))$";
+  public static final String STATUS_FROM_TO_PATTERN =
+      "(?i)\\s+status\\s+from\\s+(?:\"([^\"]+)\"|(\\S+))\\s+to\\s+(?:\"([^\"]+)\"|(\\S+))$";
 
   /*
   Use calendar command regex pattern constant.
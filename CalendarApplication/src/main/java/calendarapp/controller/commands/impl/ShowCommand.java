@@ -1,15 +1,16 @@
 package calendarapp.controller.commands.impl;
 
-import java.util.regex.Matcher;
+import java.util.List;
 
 import calendarapp.controller.InvalidCommandException;
+import calendarapp.controller.commands.parser.ParsedCommand;
 import calendarapp.model.ICalendarModel;
+import calendarapp.model.dto.StatusIntervalResponseDTO;
 import calendarapp.view.ICalendarView;
 
-import static calendarapp.controller.commands.impl.RegexPatternConstants.STATUS_ON_PATTERN;
-
 /**
- * Show Command implementation for showing calendar status at a specific date and time.
+ * Show Command implementation for showing calendar status at a specific date and time, or the
+ * busy and available intervals within a time range.
  * Parses the show command and displays the status through the view.
  */
 public class ShowCommand extends AbstractCommand {
@@ -19,6 +20,16 @@ public class ShowCommand extends AbstractCommand {
    */
   private String on;
 
+  /**
+   * The start date and time of the range to show status for.
+   */
+  private String startDateTime;
+
+  /**
+   * The end date and time of the range to show status for.
+   */
+  private String endDateTime;
+
   /**
    * Creates a new ShowCommand with the specified model and view.
    *
@@ -35,19 +46,29 @@ public class ShowCommand extends AbstractCommand {
    * and displaying it through the view.
    *
    * @param command The command string containing show instructions.
+   * @param parsed  The parsed form of the command.
    * @throws InvalidCommandException If the syntax is invalid or required fields are missing.
    */
   @Override
-  public void execute(String command) throws InvalidCommandException {
-    Matcher matcher = regexMatching(STATUS_ON_PATTERN, command);
-    if (matcher.find()) {
-      on = matcher.group(1) != null ? matcher.group(1) : matcher.group(2);
-    }
+  public void execute(String command, ParsedCommand parsed) throws InvalidCommandException {
+    on = parsed.getOn();
+    startDateTime = parsed.getStartDateTime();
+    endDateTime = parsed.getEndDateTime();
 
-    if (on == null) {
+    if (on == null && (startDateTime == null || endDateTime == null)) {
       throw new InvalidCommandException(command + "\nReason : Required fields are missing.\n");
     }
 
-    view.displayMessage("Status: " + model.showStatus(on) + "\n");
+    if (on != null) {
+      view.displayMessage("Status: " + model.showStatus(on) + "\n");
+      return;
+    }
+
+    List<StatusIntervalResponseDTO> intervals = model.showStatus(startDateTime, endDateTime);
+    view.displayMessage("Status:\n");
+    for (StatusIntervalResponseDTO interval : intervals) {
+      view.displayMessage(String.format("• %s - %s to %s\n", interval.getStatus(),
+          interval.getStartTime(), interval.getEndTime()));
+    }
   }
-}
\ No newline at end of file
+}
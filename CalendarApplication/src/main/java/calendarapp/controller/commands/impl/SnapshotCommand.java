@@ -0,0 +1,50 @@
+package calendarapp.controller.commands.impl;
+
+import java.io.File;
+
+import calendarapp.controller.InvalidCommandException;
+import calendarapp.controller.commands.CommandProperties;
+import calendarapp.controller.commands.parser.ParsedCommand;
+import calendarapp.model.ICalendarModel;
+import calendarapp.view.ICalendarView;
+
+/**
+ * Command to save and load snapshots. {@code save snapshot <fileName>} writes every calendar
+ * and its events to a binary file, and {@code load snapshot <fileName>} replaces them with the
+ * calendars of such a file.
+ */
+public class SnapshotCommand extends AbstractCommand {
+
+  SnapshotCommand(ICalendarModel model, ICalendarView view) {
+    super(model, view);
+  }
+
+  /**
+   * Executes the save snapshot or load snapshot command.
+   *
+   * @param command The command string.
+   * @param parsed  The parsed form of the command.
+   * @throws InvalidCommandException If the file name is missing, or if the snapshot cannot be
+   *                                 saved or loaded.
+   */
+  @Override
+  public void execute(String command, ParsedCommand parsed) throws InvalidCommandException {
+    String filename = parsed.getFileName();
+    if (filename == null) {
+      throw new InvalidCommandException(command + "\nReason : Required fields are missing.\n");
+    }
+
+    String path = new File(filename).getAbsolutePath();
+    try {
+      if (parsed.getType() == CommandProperties.SAVE_SNAPSHOT) {
+        model.saveSnapshot(filename);
+        view.displayMessage("Snapshot saved to : " + path + "\n");
+      } else {
+        model.loadSnapshot(filename);
+        view.displayMessage("Snapshot loaded from : " + path + "\n");
+      }
+    } catch (InvalidCommandException e) {
+      throw new InvalidCommandException(command + "\nReason : " + e.getMessage());
+    }
+  }
+}
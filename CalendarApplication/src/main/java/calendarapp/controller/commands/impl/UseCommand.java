@@ -1,13 +1,10 @@
 package calendarapp.controller.commands.impl;
 
-import java.util.regex.Matcher;
-
 import calendarapp.controller.InvalidCommandException;
+import calendarapp.controller.commands.parser.ParsedCommand;
 import calendarapp.model.ICalendarModel;
 import calendarapp.view.ICalendarView;
 
-import static calendarapp.controller.commands.impl.RegexPatternConstants.USE_COMMAND;
-
 /**
  * Command to switch the active calendar to the specified one.
  * Parses the input and updates the model to use the selected calendar.
@@ -25,14 +22,12 @@ public class UseCommand extends AbstractCommand {
    * Executes the use calendar command by parsing the command string.
    *
    * @param command The command string containing export instructions.
+   * @param parsed  The parsed form of the command.
    * @throws InvalidCommandException If the command syntax is invalid, the calendar name is missing.
    */
   @Override
-  public void execute(String command) throws InvalidCommandException {
-    Matcher matcher = regexMatching(USE_COMMAND, command);
-    if (matcher.find()) {
-      calendarName = matcher.group(1) != null ? matcher.group(1) : matcher.group(2);
-    }
+  public void execute(String command, ParsedCommand parsed) throws InvalidCommandException {
+    calendarName = parsed.getCalendarName();
 
     if (calendarName == null) {
       throw new InvalidCommandException(command + "\nReason : Required fields are missing.\n");
@@ -0,0 +1,418 @@
+package calendarapp.controller.commands.parser;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import calendarapp.controller.commands.CommandProperties;
+
+/**
+ * Hand-written parser for the command grammar described by the patterns in
+ * {@link calendarapp.controller.commands.impl.RegexPatternConstants}.
+ * A line is split into words once by {@link CommandTokenizer}, and the arguments of the command
+ * are then picked out of the words by position and keyword, so parsing a line compiles and runs
+ * no regular expressions.
+ *
+ * <p>Keywords match whole, unquoted words in any case. Arguments that a pattern anchors to the
+ * end of the line must end the line here too, and where a pattern could match in several places
+ * the leftmost match wins, as it does with the patterns.
+ */
+public final class CommandParser {
+  private static final String CREATE = "create";
+  private static final String EDIT = "edit";
+  private static final String BEGIN = "begin";
+  private static final String SAVE = "save";
+  private static final String LOAD = "load";
+  private static final String EVENT = "event";
+  private static final String EVENTS = "events";
+  private static final String CALENDAR = "calendar";
+  private static final String FROM = "from";
+  private static final String TO = "to";
+  private static final String ON = "on";
+  private static final String REPEATS = "repeats";
+  private static final String FOR = "for";
+  private static final String TIMES = "times";
+  private static final String UNTIL = "until";
+  private static final String WITH = "with";
+  private static final String STATUS = "status";
+  private static final String CAL = "cal";
+  private static final String BETWEEN = "between";
+  private static final String AND = "and";
+  private static final String AUTO_DECLINE = "--autoDecline";
+  private static final String NAME_OPTION = "--name";
+  private static final String TIMEZONE_OPTION = "--timezone";
+  private static final String PROPERTY_OPTION = "--property";
+  private static final String TARGET_OPTION = "--target";
+  private static final String SKIP_CONFLICTS_OPTION = "--skip-conflicts";
+  private static final String DESCRIPTION = "description";
+  private static final String LOCATION = "location";
+  private static final String VISIBILITY = "visibility";
+
+  private CommandParser() {
+  }
+
+  /**
+   * Determines the type of command from the leading words of a line.
+   * Commands starting with {@code create}, {@code edit}, {@code begin}, {@code save} or
+   * {@code load} are typed by their first two words, all others by their first word.
+   *
+   * @param line the command line.
+   * @return the type of the command, or {@link CommandProperties#UNKNOWN} if it is not
+   *     recognized.
+   */
+  public static CommandProperties getCommandType(String line) {
+    if (line == null || line.isEmpty() || CommandTokenizer.skipWhitespace(line, 0) > 0) {
+      return CommandProperties.UNKNOWN;
+    }
+    int firstEnd = CommandTokenizer.skipWord(line, 0);
+    String first = line.substring(0, firstEnd);
+    if (first.equalsIgnoreCase(CREATE) || first.equalsIgnoreCase(EDIT)
+        || first.equalsIgnoreCase(BEGIN) || first.equalsIgnoreCase(SAVE)
+        || first.equalsIgnoreCase(LOAD)) {
+      int secondStart = CommandTokenizer.skipWhitespace(line, firstEnd);
+      if (secondStart < line.length()) {
+        String second = line.substring(secondStart, CommandTokenizer.skipWord(line, secondStart));
+        return CommandProperties.getCommand(first + " " + second);
+      }
+    }
+    return CommandProperties.getCommand(first);
+  }
+
+  /**
+   * Parses a command line into its type and arguments.
+   *
+   * @param line the command line.
+   * @return the parsed command.
+   */
+  public static ParsedCommand parse(String line) {
+    CommandProperties type = getCommandType(line);
+    ParsedCommand.Builder builder = ParsedCommand.builder().type(type);
+    List<Token> tokens = CommandTokenizer.tokenize(line);
+    switch (type) {
+      case CREATE_EVENT:
+        parseCreateEvent(tokens, builder);
+        break;
+      case CREATE_CALENDAR:
+        parseCreateCalendar(tokens, builder);
+        break;
+      case EDIT_EVENT:
+      case EDIT_EVENTS:
+        parseEditEvent(tokens, builder);
+        break;
+      case EDIT_CALENDAR:
+        parseEditCalendar(tokens, builder);
+        break;
+      case PRINT:
+        parsePrint(tokens, builder);
+        break;
+      case SHOW:
+        parseShow(tokens, builder);
+        break;
+      case EXPORT:
+        parseExport(tokens, builder);
+        break;
+      case IMPORT:
+        parseImport(tokens, builder);
+        break;
+      case USE:
+        parseUse(tokens, builder);
+        break;
+      case COPY:
+        parseCopy(tokens, builder);
+        break;
+      case BEGIN_BATCH:
+        parseNoArguments(tokens, 2, builder);
+        break;
+      case COMMIT:
+        parseNoArguments(tokens, 1, builder);
+        break;
+      case SAVE_SNAPSHOT:
+      case LOAD_SNAPSHOT:
+        parseSnapshot(tokens, builder);
+        break;
+      default:
+        break;
+    }
+    return builder.build();
+  }
+
+  /**
+   * Parses {@code create event}, picking up every clause in one pass over the words.
+   * {@code --autoDecline} may appear anywhere and is left out before the clauses are matched.
+   */
+  private static void parseCreateEvent(List<Token> words, ParsedCommand.Builder builder) {
+    List<Token> tokens = new ArrayList<>(words.size());
+    boolean autoDecline = false;
+    for (Token token : words) {
+      if (token.isKeyword(AUTO_DECLINE)) {
+        autoDecline = true;
+      } else {
+        tokens.add(token);
+      }
+    }
+
+    String eventName = null;
+    String startDateTime = null;
+    String endDateTime = null;
+    String on = null;
+    String repeatsForDays = null;
+    String occurrenceCount = null;
+    String repeatsUntilDays = null;
+    String recurrenceEndDate = null;
+    boolean recurring = false;
+    int optionalFrom = 1;
+    int size = tokens.size();
+    for (int i = 1; i < size; i++) {
+      Token token = tokens.get(i);
+      if (eventName == null && token.isKeyword(EVENT) && i + 2 < size
+          && (tokens.get(i + 2).isKeyword(ON) || tokens.get(i + 2).isKeyword(FROM))) {
+        eventName = text(tokens, i + 1);
+      }
+      if (startDateTime == null && token.isKeyword(FROM) && i + 3 < size
+          && tokens.get(i + 2).isKeyword(TO)) {
+        startDateTime = text(tokens, i + 1);
+        endDateTime = text(tokens, i + 3);
+      }
+      if (on == null && token.isKeyword(ON) && i + 1 < size) {
+        on = text(tokens, i + 1);
+      }
+      if (token.isKeyword(REPEATS)) {
+        recurring = true;
+        if (repeatsForDays == null && i + 4 < size && tokens.get(i + 2).isKeyword(FOR)
+            && tokens.get(i + 3).isNumber() && tokens.get(i + 4).isKeyword(TIMES)) {
+          repeatsForDays = text(tokens, i + 1);
+          occurrenceCount = text(tokens, i + 3);
+        }
+        if (repeatsUntilDays == null && i + 3 < size && tokens.get(i + 2).isKeyword(UNTIL)) {
+          repeatsUntilDays = text(tokens, i + 1);
+          recurrenceEndDate = text(tokens, i + 3);
+        }
+      }
+      if (i >= optionalFrom && i + 1 < size) {
+        if (token.isKeyword(DESCRIPTION)) {
+          builder.description(text(tokens, i + 1));
+          optionalFrom = i + 2;
+        } else if (token.isKeyword(LOCATION)) {
+          builder.location(text(tokens, i + 1));
+          optionalFrom = i + 2;
+        } else if (token.isKeyword(VISIBILITY)) {
+          builder.visibility(text(tokens, i + 1));
+          optionalFrom = i + 2;
+        }
+      }
+    }
+
+    builder.eventName(eventName)
+        .startDateTime(startDateTime)
+        .endDateTime(endDateTime)
+        .on(on)
+        .recurringDays(repeatsUntilDays != null ? repeatsUntilDays : repeatsForDays)
+        .occurrenceCount(occurrenceCount)
+        .recurrenceEndDate(recurrenceEndDate)
+        .autoDecline(autoDecline)
+        .recurring(recurring);
+  }
+
+  /**
+   * Parses {@code create calendar --name <name> --timezone <zone>}.
+   */
+  private static void parseCreateCalendar(List<Token> tokens, ParsedCommand.Builder builder) {
+    int i = tokens.size() - 5;
+    if (isKeyword(tokens, i, CALENDAR) && isKeyword(tokens, i + 1, NAME_OPTION)
+        && isKeyword(tokens, i + 3, TIMEZONE_OPTION)) {
+      builder.calendarName(text(tokens, i + 2)).timeZone(text(tokens, i + 4));
+    }
+  }
+
+  /**
+   * Parses the three forms of {@code edit event} and {@code edit events}. When a line fits more
+   * than one form, the later form wins, in the order they are listed in the grammar.
+   */
+  private static void parseEditEvent(List<Token> tokens, ParsedCommand.Builder builder) {
+    int size = tokens.size();
+    int i = size - 9;
+    if (isKeyword(tokens, i, EVENT) && tokens.get(i + 1).isPropertyName()
+        && isKeyword(tokens, i + 3, FROM) && isKeyword(tokens, i + 5, TO)
+        && isKeyword(tokens, i + 7, WITH)) {
+      builder.propertyName(text(tokens, i + 1))
+          .eventName(text(tokens, i + 2))
+          .startDateTime(text(tokens, i + 4))
+          .endDateTime(text(tokens, i + 6))
+          .propertyValue(text(tokens, i + 8));
+    }
+
+    i = size - 7;
+    if (isKeyword(tokens, i, EVENTS) && tokens.get(i + 1).isPropertyName()
+        && isKeyword(tokens, i + 3, FROM) && isKeyword(tokens, i + 5, WITH)) {
+      builder.propertyName(text(tokens, i + 1))
+          .eventName(text(tokens, i + 2))
+          .startDateTime(text(tokens, i + 4))
+          .propertyValue(text(tokens, i + 6));
+    }
+
+    i = size - 4;
+    if (isKeyword(tokens, i, EVENTS) && tokens.get(i + 1).isPropertyName()
+        && tokens.get(i + 2).isPlainValue() && tokens.get(i + 3).isPlainValue()) {
+      builder.propertyName(text(tokens, i + 1))
+          .eventName(text(tokens, i + 2))
+          .propertyValue(text(tokens, i + 3));
+    }
+  }
+
+  /**
+   * Parses {@code edit calendar --name <name> --property <property> <value>}.
+   */
+  private static void parseEditCalendar(List<Token> tokens, ParsedCommand.Builder builder) {
+    int i = tokens.size() - 5;
+    if (isKeyword(tokens, i, NAME_OPTION) && isKeyword(tokens, i + 2, PROPERTY_OPTION)
+        && tokens.get(i + 3).isPropertyName()) {
+      builder.calendarName(text(tokens, i + 1))
+          .propertyName(text(tokens, i + 3))
+          .propertyValue(text(tokens, i + 4));
+    }
+  }
+
+  /**
+   * Parses {@code print events from <start> to <end>} and {@code print events on <date>}.
+   */
+  private static void parsePrint(List<Token> tokens, ParsedCommand.Builder builder) {
+    int size = tokens.size();
+    boolean isRangeFound = false;
+    boolean isDayFound = false;
+    for (int i = 1; i + 2 < size && !(isRangeFound && isDayFound); i++) {
+      if (!tokens.get(i).isKeyword(EVENTS)) {
+        continue;
+      }
+      if (!isRangeFound && tokens.get(i + 1).isKeyword(FROM) && i + 4 < size
+          && tokens.get(i + 3).isKeyword(TO)) {
+        builder.startDateTime(text(tokens, i + 2)).endDateTime(text(tokens, i + 4));
+        isRangeFound = true;
+      }
+      if (!isDayFound && tokens.get(i + 1).isKeyword(ON)) {
+        builder.on(text(tokens, i + 2));
+        isDayFound = true;
+      }
+    }
+  }
+
+  /**
+   * Parses {@code show status on <dateTime>} and {@code show status from <start> to <end>}.
+   */
+  private static void parseShow(List<Token> tokens, ParsedCommand.Builder builder) {
+    int size = tokens.size();
+    int i = size - 3;
+    if (isKeyword(tokens, i, STATUS) && isKeyword(tokens, i + 1, ON)) {
+      builder.on(text(tokens, i + 2));
+    }
+
+    i = size - 5;
+    if (isKeyword(tokens, i, STATUS) && isKeyword(tokens, i + 1, FROM)
+        && isKeyword(tokens, i + 3, TO)) {
+      builder.startDateTime(text(tokens, i + 2)).endDateTime(text(tokens, i + 4));
+    }
+  }
+
+  /**
+   * Parses {@code export cal <fileName>}.
+   */
+  private static void parseExport(List<Token> tokens, ParsedCommand.Builder builder) {
+    int i = tokens.size() - 2;
+    if (isKeyword(tokens, i, CAL)) {
+      builder.fileName(text(tokens, i + 1));
+    }
+  }
+
+  /**
+   * Parses {@code import cal <fileName>}. {@code --skip-conflicts} may appear anywhere and is
+   * left out before the file name is picked up.
+   */
+  private static void parseImport(List<Token> words, ParsedCommand.Builder builder) {
+    List<Token> tokens = new ArrayList<>(words.size());
+    for (Token token : words) {
+      if (token.isKeyword(SKIP_CONFLICTS_OPTION)) {
+        builder.skipConflicts(true);
+      } else {
+        tokens.add(token);
+      }
+    }
+    if (tokens.size() == 3 && isKeyword(tokens, 1, CAL)) {
+      builder.fileName(text(tokens, 2));
+    }
+  }
+
+  /**
+   * Parses {@code save snapshot <fileName>} and {@code load snapshot <fileName>}.
+   */
+  private static void parseSnapshot(List<Token> tokens, ParsedCommand.Builder builder) {
+    if (tokens.size() == 3) {
+      builder.fileName(text(tokens, 2));
+    }
+  }
+
+  /**
+   * Parses {@code use calendar --name <name>}.
+   */
+  private static void parseUse(List<Token> tokens, ParsedCommand.Builder builder) {
+    int i = tokens.size() - 3;
+    if (isKeyword(tokens, i, CALENDAR) && isKeyword(tokens, i + 1, NAME_OPTION)) {
+      builder.calendarName(text(tokens, i + 2));
+    }
+  }
+
+  /**
+   * Parses commands that take no arguments, such as {@code begin batch} and {@code commit}.
+   * Any words after the command leave it untyped.
+   */
+  private static void parseNoArguments(List<Token> tokens, int commandWords,
+                                       ParsedCommand.Builder builder) {
+    if (tokens.size() != commandWords) {
+      builder.type(CommandProperties.UNKNOWN);
+    }
+  }
+
+  /**
+   * Parses the three forms of {@code copy}. A single event is given by its name and start
+   * through {@code eventName} and {@code on}, a day of events through {@code on} alone, and a
+   * range of days through {@code startDateTime} and {@code endDateTime}.
+   */
+  private static void parseCopy(List<Token> tokens, ParsedCommand.Builder builder) {
+    int size = tokens.size();
+    int i = size - 8;
+    if (isKeyword(tokens, i, EVENT) && isKeyword(tokens, i + 2, ON)
+        && isKeyword(tokens, i + 4, TARGET_OPTION) && isKeyword(tokens, i + 6, TO)) {
+      builder.eventName(text(tokens, i + 1))
+          .on(text(tokens, i + 3))
+          .targetCalendarName(text(tokens, i + 5))
+          .targetDateTime(text(tokens, i + 7));
+    }
+
+    i = size - 7;
+    if (isKeyword(tokens, i, EVENTS) && isKeyword(tokens, i + 1, ON)
+        && isKeyword(tokens, i + 3, TARGET_OPTION) && isKeyword(tokens, i + 5, TO)) {
+      builder.on(text(tokens, i + 2))
+          .targetCalendarName(text(tokens, i + 4))
+          .targetDateTime(text(tokens, i + 6));
+    }
+
+    i = size - 9;
+    if (isKeyword(tokens, i, EVENTS) && isKeyword(tokens, i + 1, BETWEEN)
+        && isKeyword(tokens, i + 3, AND) && isKeyword(tokens, i + 5, TARGET_OPTION)
+        && isKeyword(tokens, i + 7, TO)) {
+      builder.startDateTime(text(tokens, i + 2))
+          .endDateTime(text(tokens, i + 4))
+          .targetCalendarName(text(tokens, i + 6))
+          .targetDateTime(text(tokens, i + 8));
+    }
+  }
+
+  /**
+   * Checks whether the word at the given index is the keyword. The first word names the
+   * command, so it never counts.
+   */
+  private static boolean isKeyword(List<Token> tokens, int index, String keyword) {
+    return index >= 1 && index < tokens.size() && tokens.get(index).isKeyword(keyword);
+  }
+
+  private static String text(List<Token> tokens, int index) {
+    return tokens.get(index).getText();
+  }
+}
@@ -0,0 +1,76 @@
+package calendarapp.controller.commands.parser;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Splits a command line into {@link Token}s in a single pass.
+ * Words are separated by whitespace. A word that starts with a quote and has a closing quote
+ * later in the line is a quoted value, as in the patterns' {@code "([^"]+)"} alternative: it may
+ * contain whitespace and ends at the closing quote wherever that is, and any characters right
+ * after the closing quote start the next word. Any other word runs up to the next whitespace,
+ * quotes included.
+ */
+final class CommandTokenizer {
+
+  private CommandTokenizer() {
+  }
+
+  /**
+   * Splits the given command line into words.
+   *
+   * @param line the command line.
+   * @return the words of the line in order.
+   */
+  static List<Token> tokenize(String line) {
+    List<Token> tokens = new ArrayList<>();
+    int length = line.length();
+    int index = skipWhitespace(line, 0);
+    while (index < length) {
+      if (line.charAt(index) == '"') {
+        int close = line.indexOf('"', index + 1);
+        if (close > index + 1) {
+          tokens.add(new Token(line.substring(index + 1, close), true));
+          index = skipWhitespace(line, close + 1);
+          continue;
+        }
+      }
+      int end = skipWord(line, index);
+      tokens.add(new Token(line.substring(index, end), false));
+      index = skipWhitespace(line, end);
+    }
+    return tokens;
+  }
+
+  /**
+   * Returns the index of the first non-whitespace character at or after the given index.
+   *
+   * @param line  the command line.
+   * @param index the index to start from.
+   * @return the index of the next word, or the length of the line if there is none.
+   */
+  static int skipWhitespace(String line, int index) {
+    while (index < line.length() && isWhitespace(line.charAt(index))) {
+      index++;
+    }
+    return index;
+  }
+
+  /**
+   * Returns the index of the first whitespace character at or after the given index.
+   *
+   * @param line  the command line.
+   * @param index the index to start from.
+   * @return the index just past the current word.
+   */
+  static int skipWord(String line, int index) {
+    while (index < line.length() && !isWhitespace(line.charAt(index))) {
+      index++;
+    }
+    return index;
+  }
+
+  private static boolean isWhitespace(char c) {
+    return c == ' ' || c == '\t' || c == '\n' || c == '\r' || c == '\f' || c == '\u000B';
+  }
+}
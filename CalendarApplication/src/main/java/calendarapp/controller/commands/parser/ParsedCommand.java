@@ -0,0 +1,524 @@
+package calendarapp.controller.commands.parser;
+
+import calendarapp.controller.commands.CommandProperties;
+
+/**
+ * Typed result of parsing a command line with {@link CommandParser}.
+ * Holds the command type and the arguments found in the line. Arguments that the line does not
+ * give are null, and it is up to each command to decide which of them are required.
+ */
+public class ParsedCommand {
+  private final CommandProperties type;
+  private final String eventName;
+  private final String startDateTime;
+  private final String endDateTime;
+  private final String on;
+  private final String recurringDays;
+  private final String occurrenceCount;
+  private final String recurrenceEndDate;
+  private final String description;
+  private final String location;
+  private final String visibility;
+  private final boolean autoDecline;
+  private final boolean recurring;
+  private final boolean skipConflicts;
+  private final String propertyName;
+  private final String propertyValue;
+  private final String calendarName;
+  private final String timeZone;
+  private final String fileName;
+  private final String targetCalendarName;
+  private final String targetDateTime;
+
+  /**
+   * Builder for constructing a ParsedCommand object.
+   */
+  private ParsedCommand(ParsedCommand.Builder builder) {
+    this.type = builder.type;
+    this.eventName = builder.eventName;
+    this.startDateTime = builder.startDateTime;
+    this.endDateTime = builder.endDateTime;
+    this.on = builder.on;
+    this.recurringDays = builder.recurringDays;
+    this.occurrenceCount = builder.occurrenceCount;
+    this.recurrenceEndDate = builder.recurrenceEndDate;
+    this.description = builder.description;
+    this.location = builder.location;
+    this.visibility = builder.visibility;
+    this.autoDecline = builder.autoDecline;
+    this.recurring = builder.recurring;
+    this.skipConflicts = builder.skipConflicts;
+    this.propertyName = builder.propertyName;
+    this.propertyValue = builder.propertyValue;
+    this.calendarName = builder.calendarName;
+    this.timeZone = builder.timeZone;
+    this.fileName = builder.fileName;
+    this.targetCalendarName = builder.targetCalendarName;
+    this.targetDateTime = builder.targetDateTime;
+  }
+
+  /**
+   * Returns the type of the command.
+   *
+   * @return the command type.
+   */
+  public CommandProperties getType() {
+    return type;
+  }
+
+  /**
+   * Returns the name of the event.
+   *
+   * @return the name of the event, or null if not given.
+   */
+  public String getEventName() {
+    return eventName;
+  }
+
+  /**
+   * Returns the start date and time.
+   *
+   * @return the start date and time, or null if not given.
+   */
+  public String getStartDateTime() {
+    return startDateTime;
+  }
+
+  /**
+   * Returns the end date and time.
+   *
+   * @return the end date and time, or null if not given.
+   */
+  public String getEndDateTime() {
+    return endDateTime;
+  }
+
+  /**
+   * Returns the date, or date and time, given after {@code on}.
+   *
+   * @return the date, or date and time, given after {@code on}, or null if not given.
+   */
+  public String getOn() {
+    return on;
+  }
+
+  /**
+   * Returns the weekdays a recurring event repeats on.
+   *
+   * @return the weekdays a recurring event repeats on, or null if not given.
+   */
+  public String getRecurringDays() {
+    return recurringDays;
+  }
+
+  /**
+   * Returns the number of times a recurring event repeats.
+   *
+   * @return the number of times a recurring event repeats, or null if not given.
+   */
+  public String getOccurrenceCount() {
+    return occurrenceCount;
+  }
+
+  /**
+   * Returns the date until which a recurring event repeats.
+   *
+   * @return the date until which a recurring event repeats, or null if not given.
+   */
+  public String getRecurrenceEndDate() {
+    return recurrenceEndDate;
+  }
+
+  /**
+   * Returns the description of the event.
+   *
+   * @return the description of the event, or null if not given.
+   */
+  public String getDescription() {
+    return description;
+  }
+
+  /**
+   * Returns the location of the event.
+   *
+   * @return the location of the event, or null if not given.
+   */
+  public String getLocation() {
+    return location;
+  }
+
+  /**
+   * Returns the visibility of the event.
+   *
+   * @return the visibility of the event, or null if not given.
+   */
+  public String getVisibility() {
+    return visibility;
+  }
+
+  /**
+   * Returns whether conflicting events are declined.
+   *
+   * @return true if so, false otherwise.
+   */
+  public boolean isAutoDecline() {
+    return autoDecline;
+  }
+
+  /**
+   * Returns whether the command repeats the event.
+   *
+   * @return true if so, false otherwise.
+   */
+  public boolean isRecurring() {
+    return recurring;
+  }
+
+  /**
+   * Returns whether conflicting rows are skipped instead of failing the import.
+   *
+   * @return true if so, false otherwise.
+   */
+  public boolean isSkipConflicts() {
+    return skipConflicts;
+  }
+
+  /**
+   * Returns the name of the property to edit.
+   *
+   * @return the name of the property to edit, or null if not given.
+   */
+  public String getPropertyName() {
+    return propertyName;
+  }
+
+  /**
+   * Returns the new value of the edited property.
+   *
+   * @return the new value of the edited property, or null if not given.
+   */
+  public String getPropertyValue() {
+    return propertyValue;
+  }
+
+  /**
+   * Returns the name of the calendar.
+   *
+   * @return the name of the calendar, or null if not given.
+   */
+  public String getCalendarName() {
+    return calendarName;
+  }
+
+  /**
+   * Returns the time zone of the calendar.
+   *
+   * @return the time zone of the calendar, or null if not given.
+   */
+  public String getTimeZone() {
+    return timeZone;
+  }
+
+  /**
+   * Returns the name of the file to export to or to save or load a snapshot with.
+   *
+   * @return the name of the file, or null if not given.
+   */
+  public String getFileName() {
+    return fileName;
+  }
+
+  /**
+   * Returns the name of the calendar events are copied to.
+   *
+   * @return the name of the calendar events are copied to, or null if not given.
+   */
+  public String getTargetCalendarName() {
+    return targetCalendarName;
+  }
+
+  /**
+   * Returns the date, or date and time, events are copied to.
+   *
+   * @return the date, or date and time, events are copied to, or null if not given.
+   */
+  public String getTargetDateTime() {
+    return targetDateTime;
+  }
+
+  /**
+   * Creates and returns a new Builder instance for ParsedCommand.
+   *
+   * @return a new Builder instance.
+   */
+  public static ParsedCommand.Builder builder() {
+    return new ParsedCommand.Builder();
+  }
+
+  /**
+   * Builder class for constructing a ParsedCommand object.
+   */
+  public static class Builder {
+    private CommandProperties type;
+    private String eventName;
+    private String startDateTime;
+    private String endDateTime;
+    private String on;
+    private String recurringDays;
+    private String occurrenceCount;
+    private String recurrenceEndDate;
+    private String description;
+    private String location;
+    private String visibility;
+    private boolean autoDecline;
+    private boolean recurring;
+    private boolean skipConflicts;
+    private String propertyName;
+    private String propertyValue;
+    private String calendarName;
+    private String timeZone;
+    private String fileName;
+    private String targetCalendarName;
+    private String targetDateTime;
+
+    /**
+     * Sets the type of the command.
+     *
+     * @param type the command type.
+     * @return this Builder instance.
+     */
+    public ParsedCommand.Builder type(CommandProperties type) {
+      this.type = type;
+      return this;
+    }
+
+    /**
+     * Sets the name of the event.
+     *
+     * @param eventName the name of the event.
+     * @return this Builder instance.
+     */
+    public ParsedCommand.Builder eventName(String eventName) {
+      this.eventName = eventName;
+      return this;
+    }
+
+    /**
+     * Sets the start date and time.
+     *
+     * @param startDateTime the start date and time.
+     * @return this Builder instance.
+     */
+    public ParsedCommand.Builder startDateTime(String startDateTime) {
+      this.startDateTime = startDateTime;
+      return this;
+    }
+
+    /**
+     * Sets the end date and time.
+     *
+     * @param endDateTime the end date and time.
+     * @return this Builder instance.
+     */
+    public ParsedCommand.Builder endDateTime(String endDateTime) {
+      this.endDateTime = endDateTime;
+      return this;
+    }
+
+    /**
+     * Sets the date, or date and time, given after {@code on}.
+     *
+     * @param on the date, or date and time, given after {@code on}.
+     * @return this Builder instance.
+     */
+    public ParsedCommand.Builder on(String on) {
+      this.on = on;
+      return this;
+    }
+
+    /**
+     * Sets the weekdays a recurring event repeats on.
+     *
+     * @param recurringDays the weekdays a recurring event repeats on.
+     * @return this Builder instance.
+     */
+    public ParsedCommand.Builder recurringDays(String recurringDays) {
+      this.recurringDays = recurringDays;
+      return this;
+    }
+
+    /**
+     * Sets the number of times a recurring event repeats.
+     *
+     * @param occurrenceCount the number of times a recurring event repeats.
+     * @return this Builder instance.
+     */
+    public ParsedCommand.Builder occurrenceCount(String occurrenceCount) {
+      this.occurrenceCount = occurrenceCount;
+      return this;
+    }
+
+    /**
+     * Sets the date until which a recurring event repeats.
+     *
+     * @param recurrenceEndDate the date until which a recurring event repeats.
+     * @return this Builder instance.
+     */
+    public ParsedCommand.Builder recurrenceEndDate(String recurrenceEndDate) {
+      this.recurrenceEndDate = recurrenceEndDate;
+      return this;
+    }
+
+    /**
+     * Sets the description of the event.
+     *
+     * @param description the description of the event.
+     * @return this Builder instance.
+     */
+    public ParsedCommand.Builder description(String description) {
+      this.description = description;
+      return this;
+    }
+
+    /**
+     * Sets the location of the event.
+     *
+     * @param location the location of the event.
+     * @return this Builder instance.
+     */
+    public ParsedCommand.Builder location(String location) {
+      this.location = location;
+      return this;
+    }
+
+    /**
+     * Sets the visibility of the event.
+     *
+     * @param visibility the visibility of the event.
+     * @return this Builder instance.
+     */
+    public ParsedCommand.Builder visibility(String visibility) {
+      this.visibility = visibility;
+      return this;
+    }
+
+    /**
+     * Sets whether conflicting events are declined.
+     *
+     * @param autoDecline whether conflicting events are declined.
+     * @return this Builder instance.
+     */
+    public ParsedCommand.Builder autoDecline(boolean autoDecline) {
+      this.autoDecline = autoDecline;
+      return this;
+    }
+
+    /**
+     * Sets whether the command repeats the event.
+     *
+     * @param recurring whether the command repeats the event.
+     * @return this Builder instance.
+     */
+    public ParsedCommand.Builder recurring(boolean recurring) {
+      this.recurring = recurring;
+      return this;
+    }
+
+    /**
+     * Sets whether conflicting rows are skipped instead of failing the import.
+     *
+     * @param skipConflicts whether conflicting rows are skipped.
+     * @return this Builder instance.
+     */
+    public ParsedCommand.Builder skipConflicts(boolean skipConflicts) {
+      this.skipConflicts = skipConflicts;
+      return this;
+    }
+
+    /**
+     * Sets the name of the property to edit.
+     *
+     * @param propertyName the name of the property to edit.
+     * @return this Builder instance.
+     */
+    public ParsedCommand.Builder propertyName(String propertyName) {
+      this.propertyName = propertyName;
+      return this;
+    }
+
+    /**
+     * Sets the new value of the edited property.
+     *
+     * @param propertyValue the new value of the edited property.
+     * @return this Builder instance.
+     */
+    public ParsedCommand.Builder propertyValue(String propertyValue) {
+      this.propertyValue = propertyValue;
+      return this;
+    }
+
+    /**
+     * Sets the name of the calendar.
+     *
+     * @param calendarName the name of the calendar.
+     * @return this Builder instance.
+     */
+    public ParsedCommand.Builder calendarName(String calendarName) {
+      this.calendarName = calendarName;
+      return this;
+    }
+
+    /**
+     * Sets the time zone of the calendar.
+     *
+     * @param timeZone the time zone of the calendar.
+     * @return this Builder instance.
+     */
+    public ParsedCommand.Builder timeZone(String timeZone) {
+      this.timeZone = timeZone;
+      return this;
+    }
+
+    /**
+     * Sets the name of the file to export to or to save or load a snapshot with.
+     *
+     * @param fileName the name of the file.
+     * @return this Builder instance.
+     */
+    public ParsedCommand.Builder fileName(String fileName) {
+      this.fileName = fileName;
+      return this;
+    }
+
+    /**
+     * Sets the name of the calendar events are copied to.
+     *
+     * @param targetCalendarName the name of the calendar events are copied to.
+     * @return this Builder instance.
+     */
+    public ParsedCommand.Builder targetCalendarName(String targetCalendarName) {
+      this.targetCalendarName = targetCalendarName;
+      return this;
+    }
+
+    /**
+     * Sets the date, or date and time, events are copied to.
+     *
+     * @param targetDateTime the date, or date and time, events are copied to.
+     * @return this Builder instance.
+     */
+    public ParsedCommand.Builder targetDateTime(String targetDateTime) {
+      this.targetDateTime = targetDateTime;
+      return this;
+    }
+
+    /**
+     * Builds and returns the final ParsedCommand instance.
+     *
+     * @return the constructed ParsedCommand object.
+     */
+    public ParsedCommand build() {
+      return new ParsedCommand(this);
+    }
+  }
+}
@@ -0,0 +1,88 @@
+package calendarapp.controller.commands.parser;
+
+/**
+ * A single word of a command line.
+ * A word is either a run of non-whitespace characters or a quoted value, which may contain
+ * whitespace and is stored without its surrounding quotes.
+ */
+final class Token {
+  private final String text;
+  private final boolean quoted;
+
+  /**
+   * Constructs a Token.
+   *
+   * @param text   the text of the word, without quotes if it was quoted.
+   * @param quoted whether the word was written in quotes.
+   */
+  Token(String text, boolean quoted) {
+    this.text = text;
+    this.quoted = quoted;
+  }
+
+  /**
+   * Returns the text of the word, without quotes if it was quoted.
+   *
+   * @return the text of the word.
+   */
+  String getText() {
+    return text;
+  }
+
+  /**
+   * Checks whether the word is the given keyword, ignoring case.
+   * Quoted words are values and never count as keywords.
+   *
+   * @param keyword the keyword to compare with.
+   * @return true if the word is the keyword, false otherwise.
+   */
+  boolean isKeyword(String keyword) {
+    return !quoted && text.equalsIgnoreCase(keyword);
+  }
+
+  /**
+   * Checks whether the word can name a property, that is an unquoted run of letters and
+   * underscores.
+   *
+   * @return true if the word is a property name, false otherwise.
+   */
+  boolean isPropertyName() {
+    if (quoted || text.isEmpty()) {
+      return false;
+    }
+    for (int i = 0; i < text.length(); i++) {
+      char c = text.charAt(i);
+      if (!(c >= 'a' && c <= 'z' || c >= 'A' && c <= 'Z' || c == '_')) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Checks whether the word is an unquoted run of decimal digits.
+   *
+   * @return true if the word is a number, false otherwise.
+   */
+  boolean isNumber() {
+    if (quoted || text.isEmpty()) {
+      return false;
+    }
+    for (int i = 0; i < text.length(); i++) {
+      char c = text.charAt(i);
+      if (c < '0' || c > '9') {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Checks whether the word is a quoted value or an unquoted word without any quote in it.
+   *
+   * @return true if the word is a plain value, false otherwise.
+   */
+  boolean isPlainValue() {
+    return quoted || text.indexOf('"') < 0;
+  }
+}
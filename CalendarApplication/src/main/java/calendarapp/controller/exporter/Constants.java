@@ -1,11 +1,15 @@
 package calendarapp.controller.exporter;
 
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
 import calendarapp.controller.ICalendarExporter;
 
 import static calendarapp.controller.exporter.Constants.SupportExportFormats.CSV;
+import static calendarapp.controller.exporter.Constants.SupportExportFormats.ICS;
 
 /**
  * Class containing exporter constants.
@@ -36,18 +40,35 @@ public class Constants {
     public static final String FALSE_VALUE = "FALSE";
   }
 
+  /**
+   * Constants related to iCalendar formatting for calendar export.
+   */
+  public static final class IcsFormat {
+    public static final String LINE_END = "\r\n";
+    public static final int MAX_LINE_OCTETS = 75;
+    public static final String PRODUCT_ID = "-//CalendarApp//Calendar Export//EN";
+    public static final String UID_DOMAIN = "@calendarapp";
+    public static final String DATE_TIME_PATTERN = "yyyyMMdd'T'HHmmss";
+    public static final String DATE_PATTERN = "yyyyMMdd";
+    public static final String PRIVATE_CLASS = "PRIVATE";
+    public static final String PUBLIC_CLASS = "PUBLIC";
+  }
+
   /**
    * Defines supported file formats for exporting calendar data.
    */
   public static final class SupportExportFormats {
     public static final String CSV = "csv";
-    public static final Set<String> SUPPORTED_EXPORT_FORMATS = Set.of(CSV);
+    public static final String ICS = "ics";
+    public static final Set<String> SUPPORTED_EXPORT_FORMATS = Collections.unmodifiableSet(
+        new LinkedHashSet<>(List.of(CSV, ICS)));
   }
 
   /**
    * A map of supported export formats to their corresponding calendar exporter.
    */
   public static final Map<String, ICalendarExporter> EXPORTER_MAP = Map.of(
-      CSV, new CsvCalendarExporter()
+      CSV, new ParallelCsvCalendarExporter(),
+      ICS, new IcsCalendarExporter()
   );
 }
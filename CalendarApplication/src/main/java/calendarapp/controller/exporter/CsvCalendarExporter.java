@@ -1,42 +1,47 @@
 package calendarapp.controller.exporter;
 
 import java.io.File;
-import java.io.FileWriter;
+import java.io.FileOutputStream;
 import java.io.IOException;
-import java.util.List;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.Charset;
+import java.util.Iterator;
 
 import calendarapp.controller.ICalendarExporter;
 import calendarapp.model.EventVisibility;
 import calendarapp.model.dto.CalendarExporterDTO;
 
-import static calendarapp.utils.TimeUtil.formatDate;
-import static calendarapp.utils.TimeUtil.formatTime;
+import static calendarapp.utils.TimeUtil.appendDate;
+import static calendarapp.utils.TimeUtil.appendTime;
 import static calendarapp.utils.TimeUtil.isAllDayEvent;
 
 /**
  * Exports calendar events to a CSV file format.
  * Implements the ICalendarExporter interface.
+ * Rows are formatted one event at a time into a single reused {@link StringBuilder} that also
+ * serves as the write buffer, and are copied out to the file through a reused character array
+ * whenever it fills up, so exporting allocates nothing per row beyond the events themselves and
+ * needs the same memory for any number of events.
  */
 public class CsvCalendarExporter implements ICalendarExporter {
+  private static final int BUFFER_SIZE = 1 << 16;
+
   @Override
-  public String export(List<CalendarExporterDTO> events, String filePath) {
-    try (FileWriter writer = new FileWriter(filePath)) {
-      writer.write(String.join(Constants.CsvFormat.DELIMITER,
-          Constants.CsvHeaders.SUBJECT,
-          Constants.CsvHeaders.START_DATE,
-          Constants.CsvHeaders.START_TIME,
-          Constants.CsvHeaders.END_DATE,
-          Constants.CsvHeaders.END_TIME,
-          Constants.CsvHeaders.ALL_DAY_EVENT,
-          Constants.CsvHeaders.DESCRIPTION,
-          Constants.CsvHeaders.LOCATION,
-          Constants.CsvHeaders.PRIVATE));
-      writer.write(Constants.CsvFormat.LINE_END);
+  public String export(Iterator<CalendarExporterDTO> events, String filePath) {
+    try (Writer writer = new OutputStreamWriter(new FileOutputStream(filePath),
+        Charset.defaultCharset())) {
+      StringBuilder buffer = new StringBuilder(BUFFER_SIZE + BUFFER_SIZE / 4);
+      char[] chunk = new char[BUFFER_SIZE];
+      appendHeader(buffer);
 
-      for (CalendarExporterDTO event : events) {
-        writer.write(formatEventAsCsvRow(event));
-        writer.write(Constants.CsvFormat.LINE_END);
+      while (events.hasNext()) {
+        appendEventAsCsvRow(buffer, events.next());
+        if (buffer.length() >= BUFFER_SIZE) {
+          drain(buffer, chunk, writer);
+        }
       }
+      drain(buffer, chunk, writer);
     } catch (IOException e) {
       throw new RuntimeException("Error while exporting: " + e.getMessage());
     }
@@ -44,6 +49,42 @@ public class CsvCalendarExporter implements ICalendarExporter {
     return new File(filePath).getAbsolutePath();
   }
 
+  /**
+   * Appends the header row, with its line end.
+   *
+   * @param buffer the buffer to append the header to.
+   */
+  protected void appendHeader(StringBuilder buffer) {
+    buffer.append(String.join(Constants.CsvFormat.DELIMITER,
+        Constants.CsvHeaders.SUBJECT,
+        Constants.CsvHeaders.START_DATE,
+        Constants.CsvHeaders.START_TIME,
+        Constants.CsvHeaders.END_DATE,
+        Constants.CsvHeaders.END_TIME,
+        Constants.CsvHeaders.ALL_DAY_EVENT,
+        Constants.CsvHeaders.DESCRIPTION,
+        Constants.CsvHeaders.LOCATION,
+        Constants.CsvHeaders.PRIVATE));
+    buffer.append(Constants.CsvFormat.LINE_END);
+  }
+
+  /**
+   * Writes out and clears the buffered rows, copying them through the given array.
+   *
+   * @param buffer the buffered rows.
+   * @param chunk  the array to copy the rows through.
+   * @param writer the writer of the file.
+   * @throws IOException if writing fails.
+   */
+  private void drain(StringBuilder buffer, char[] chunk, Writer writer) throws IOException {
+    for (int offset = 0; offset < buffer.length(); offset += chunk.length) {
+      int length = Math.min(chunk.length, buffer.length() - offset);
+      buffer.getChars(offset, offset + length, chunk, 0);
+      writer.write(chunk, 0, length);
+    }
+    buffer.setLength(0);
+  }
+
   /**
    * Determines if the event is private or not.
    *
@@ -57,38 +98,55 @@ public class CsvCalendarExporter implements ICalendarExporter {
   }
 
   /**
-   * Escapes a CSV field by wrapping it in quotes and handling internal quotes.
+   * Appends a CSV field, wrapping it in quotes and doubling internal quotes.
    *
-   * @param field the field to escape
-   * @return the escaped field
+   * @param buffer the row being built.
+   * @param field  the field to escape.
    */
-  private String escapeField(String field) {
+  private void appendEscapedField(StringBuilder buffer, String field) {
     if (field == null || field.isEmpty()) {
-      return "";
+      return;
+    }
+    buffer.append('"');
+    for (int i = 0; i < field.length(); i++) {
+      char c = field.charAt(i);
+      if (c == '"') {
+        buffer.append('"');
+      }
+      buffer.append(c);
     }
-    return "\"" + field.replace("\"", "\"\"") + "\"";
+    buffer.append('"');
   }
 
   /**
-   * Formats event details as a CSV row string.
+   * Appends the details of an event as a CSV row, with its line end. Formatting keeps no state
+   * between rows, so rows can be formatted on several threads at once.
    *
-   * @param event is an IEvent instance
-   * @return the formatted CSV row
+   * @param buffer the buffer to append the row to.
+   * @param event  the event to format.
    */
-  private String formatEventAsCsvRow(CalendarExporterDTO event) {
+  protected void appendEventAsCsvRow(StringBuilder buffer, CalendarExporterDTO event) {
     boolean isAllDay = isAllDayEvent(event.getStartDate(), event.getEndDate());
+    String delimiter = Constants.CsvFormat.DELIMITER;
 
-    return String.join(Constants.CsvFormat.DELIMITER,
-        escapeField(event.getSubject()),
-        formatDate(event.getStartDate()),
-        isAllDay ? "" : formatTime(event.getStartDate()),
-        formatDate(event.getEndDate()),
-        isAllDay ? "" : formatTime(event.getEndDate()),
-        isAllDay ? Constants.CsvFormat.TRUE_VALUE : Constants.CsvFormat.FALSE_VALUE,
-        escapeField(event.getDescription()),
-        escapeField(event.getLocation()),
-        determinePrivacyFlag(event.getVisibility())
-    );
+    appendEscapedField(buffer, event.getSubject());
+    appendDate(buffer.append(delimiter), event.getStartDate());
+    buffer.append(delimiter);
+    if (!isAllDay) {
+      appendTime(buffer, event.getStartDate());
+    }
+    appendDate(buffer.append(delimiter), event.getEndDate());
+    buffer.append(delimiter);
+    if (!isAllDay) {
+      appendTime(buffer, event.getEndDate());
+    }
+    buffer.append(delimiter)
+        .append(isAllDay ? Constants.CsvFormat.TRUE_VALUE : Constants.CsvFormat.FALSE_VALUE)
+        .append(delimiter);
+    appendEscapedField(buffer, event.getDescription());
+    buffer.append(delimiter);
+    appendEscapedField(buffer, event.getLocation());
+    buffer.append(delimiter).append(determinePrivacyFlag(event.getVisibility()))
+        .append(Constants.CsvFormat.LINE_END);
   }
 }
-
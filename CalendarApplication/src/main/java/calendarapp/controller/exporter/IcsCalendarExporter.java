@@ -0,0 +1,251 @@
+package calendarapp.controller.exporter;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.DayOfWeek;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.Temporal;
+import java.util.Iterator;
+import java.util.List;
+
+import calendarapp.controller.ICalendarExporter;
+import calendarapp.model.EventVisibility;
+import calendarapp.model.dto.CalendarExporterDTO;
+
+import static calendarapp.utils.TimeUtil.getLocalDateTimeFromTemporal;
+import static calendarapp.utils.TimeUtil.isAllDayEvent;
+
+/**
+ * Exports calendar events to an iCalendar (RFC 5545) file.
+ * Implements the ICalendarExporter interface.
+ * Every event becomes a VEVENT. A recurring series is written as a single VEVENT for its first
+ * occurrence with a weekly RRULE producing the rest, and an EXDATE listing the occurrences that
+ * were edited or removed, so the file grows with the number of series rather than the number of
+ * occurrences. Times are written as floating local times, the way the calendar stores them.
+ * Events are written as they are iterated through a reused buffer, so exporting needs the same
+ * memory for any number of events.
+ */
+public class IcsCalendarExporter implements ICalendarExporter {
+  private static final int BUFFER_SIZE = 1 << 16;
+  private static final DateTimeFormatter DATE_TIME_FORMATTER =
+      DateTimeFormatter.ofPattern(Constants.IcsFormat.DATE_TIME_PATTERN);
+  private static final DateTimeFormatter DATE_FORMATTER =
+      DateTimeFormatter.ofPattern(Constants.IcsFormat.DATE_PATTERN);
+  private static final DateTimeFormatter STAMP_FORMATTER =
+      DateTimeFormatter.ofPattern(Constants.IcsFormat.DATE_TIME_PATTERN + "'Z'")
+          .withZone(ZoneOffset.UTC);
+
+  private final Clock clock;
+
+  /**
+   * Constructs an exporter stamping events with the current time.
+   */
+  public IcsCalendarExporter() {
+    this(Clock.systemUTC());
+  }
+
+  /**
+   * Constructs an exporter stamping events with the time of the given clock.
+   *
+   * @param clock the clock to read the time of the export from.
+   */
+  public IcsCalendarExporter(Clock clock) {
+    this.clock = clock;
+  }
+
+  @Override
+  public boolean supportsRecurrence() {
+    return true;
+  }
+
+  @Override
+  public String export(Iterator<CalendarExporterDTO> events, String filePath) {
+    String stamp = STAMP_FORMATTER.format(clock.instant());
+    try (Writer writer = new OutputStreamWriter(new FileOutputStream(filePath),
+        StandardCharsets.UTF_8)) {
+      StringBuilder buffer = new StringBuilder(BUFFER_SIZE + BUFFER_SIZE / 4);
+      appendLine(buffer, "BEGIN:VCALENDAR");
+      appendLine(buffer, "VERSION:2.0");
+      appendLine(buffer, "PRODID:" + Constants.IcsFormat.PRODUCT_ID);
+      appendLine(buffer, "CALSCALE:GREGORIAN");
+
+      int sequence = 0;
+      while (events.hasNext()) {
+        appendEvent(buffer, events.next(), ++sequence, stamp);
+        if (buffer.length() >= BUFFER_SIZE) {
+          writer.append(buffer);
+          buffer.setLength(0);
+        }
+      }
+      appendLine(buffer, "END:VCALENDAR");
+      writer.append(buffer);
+    } catch (IOException e) {
+      throw new RuntimeException("Error while exporting: " + e.getMessage());
+    }
+
+    return new File(filePath).getAbsolutePath();
+  }
+
+  /**
+   * Appends an event, or a whole recurring series, as a VEVENT.
+   *
+   * @param buffer   the buffer to append the event to.
+   * @param event    the event to format.
+   * @param sequence the position of the event in the file, used to make its UID unique.
+   * @param stamp    the time of the export.
+   */
+  private void appendEvent(StringBuilder buffer, CalendarExporterDTO event, int sequence,
+                           String stamp) {
+    boolean isAllDay = isAllDayEvent(event.getStartDate(), event.getEndDate());
+    appendLine(buffer, "BEGIN:VEVENT");
+    appendLine(buffer, "UID:" + sequence + "-" + formatTemporal(event.getStartDate(), false)
+        + Constants.IcsFormat.UID_DOMAIN);
+    appendLine(buffer, "DTSTAMP:" + stamp);
+    appendLine(buffer, "DTSTART" + valueType(isAllDay) + ":"
+        + formatTemporal(event.getStartDate(), isAllDay));
+    appendLine(buffer, "DTEND" + valueType(isAllDay) + ":"
+        + formatTemporal(event.getEndDate(), isAllDay));
+    if (event.isRecurring()) {
+      appendLine(buffer, "RRULE:FREQ=WEEKLY;BYDAY=" + formatDays(event) + ";COUNT="
+          + event.getOccurrenceCount());
+      List<Temporal> excludedDates = event.getExcludedDates();
+      if (excludedDates != null && !excludedDates.isEmpty()) {
+        StringBuilder exdate = new StringBuilder("EXDATE").append(valueType(isAllDay))
+            .append(':');
+        for (int i = 0; i < excludedDates.size(); i++) {
+          if (i > 0) {
+            exdate.append(',');
+          }
+          exdate.append(formatTemporal(excludedDates.get(i), isAllDay));
+        }
+        appendLine(buffer, exdate);
+      }
+    }
+    appendLine(buffer, "SUMMARY:" + escapeText(event.getSubject()));
+    if (event.getDescription() != null && !event.getDescription().isEmpty()) {
+      appendLine(buffer, "DESCRIPTION:" + escapeText(event.getDescription()));
+    }
+    if (event.getLocation() != null && !event.getLocation().isEmpty()) {
+      appendLine(buffer, "LOCATION:" + escapeText(event.getLocation()));
+    }
+    appendLine(buffer, "CLASS:" + determineClass(event.getVisibility()));
+    appendLine(buffer, "END:VEVENT");
+  }
+
+  /**
+   * Returns the value type parameter of a date property.
+   *
+   * @param isAllDay whether the event lasts a whole day.
+   * @return the parameter marking dates, or nothing for date-times.
+   */
+  private String valueType(boolean isAllDay) {
+    return isAllDay ? ";VALUE=DATE" : "";
+  }
+
+  /**
+   * Formats a time as an iCalendar date or floating date-time.
+   *
+   * @param temporal the time to format.
+   * @param isAllDay whether only the date is written.
+   * @return the formatted time.
+   */
+  private String formatTemporal(Temporal temporal, boolean isAllDay) {
+    return (isAllDay ? DATE_FORMATTER : DATE_TIME_FORMATTER)
+        .format(getLocalDateTimeFromTemporal(temporal));
+  }
+
+  /**
+   * Formats the days of a series as the BYDAY list of a rule, from Monday to Sunday.
+   *
+   * @param event the recurring series.
+   * @return the two-letter days separated by commas.
+   */
+  private String formatDays(CalendarExporterDTO event) {
+    StringBuilder days = new StringBuilder();
+    for (DayOfWeek day : DayOfWeek.values()) {
+      if (event.getRecurrenceDays().contains(day)) {
+        if (days.length() > 0) {
+          days.append(',');
+        }
+        days.append(day.name(), 0, 2);
+      }
+    }
+    return days.toString();
+  }
+
+  /**
+   * Determines the access class of the event.
+   *
+   * @param visibility contains the event visibility.
+   * @return PRIVATE if the event is private, PUBLIC otherwise.
+   */
+  private String determineClass(String visibility) {
+    return EventVisibility.PRIVATE.toString().toLowerCase().equals(visibility)
+        ? Constants.IcsFormat.PRIVATE_CLASS
+        : Constants.IcsFormat.PUBLIC_CLASS;
+  }
+
+  /**
+   * Escapes a text value, prefixing backslashes, semicolons and commas with a backslash and
+   * writing line breaks as {@code \n}.
+   *
+   * @param text the text to escape.
+   * @return the escaped text.
+   */
+  private String escapeText(String text) {
+    if (text == null) {
+      return "";
+    }
+    StringBuilder escaped = new StringBuilder(text.length() + 8);
+    for (int i = 0; i < text.length(); i++) {
+      char c = text.charAt(i);
+      if (c == '\\' || c == ';' || c == ',') {
+        escaped.append('\\').append(c);
+      } else if (c == '\n') {
+        escaped.append("\\n");
+      } else if (c != '\r') {
+        escaped.append(c);
+      }
+    }
+    return escaped.toString();
+  }
+
+  /**
+   * Appends a content line, folding it so that no physical line is longer than 75 octets of
+   * UTF-8. Continuation lines start with a space, and characters are never split.
+   *
+   * @param buffer the buffer to append the line to.
+   * @param line   the content line, without its line end.
+   */
+  private void appendLine(StringBuilder buffer, CharSequence line) {
+    int octets = 0;
+    for (int i = 0; i < line.length(); i++) {
+      char c = line.charAt(i);
+      int size;
+      if (c < 0x80) {
+        size = 1;
+      } else if (c < 0x800) {
+        size = 2;
+      } else if (Character.isHighSurrogate(c)) {
+        size = 4;
+      } else if (Character.isLowSurrogate(c)) {
+        size = 0;
+      } else {
+        size = 3;
+      }
+      if (octets + size > Constants.IcsFormat.MAX_LINE_OCTETS) {
+        buffer.append(Constants.IcsFormat.LINE_END).append(' ');
+        octets = 1;
+      }
+      buffer.append(c);
+      octets += size;
+    }
+    buffer.append(Constants.IcsFormat.LINE_END);
+  }
+}
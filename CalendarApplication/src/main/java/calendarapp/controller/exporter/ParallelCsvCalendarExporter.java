@@ -0,0 +1,136 @@
+package calendarapp.controller.exporter;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+import calendarapp.model.dto.CalendarExporterDTO;
+
+/**
+ * Exports calendar events to a CSV file, formatting the rows on several threads.
+ * Events are read from the iterator in chunks on the calling thread. Each chunk is formatted and
+ * encoded into a byte buffer on a fork-join pool, and the buffers are written to the file through
+ * a {@link FileChannel} in the order their chunks were read, so the file is byte for byte the one
+ * the sequential {@link CsvCalendarExporter} writes. At most two chunks per thread of the pool
+ * are in flight at a time, which bounds the memory used for any number of events. A calendar that
+ * fits in one chunk is formatted on the calling thread.
+ */
+public class ParallelCsvCalendarExporter extends CsvCalendarExporter {
+  private static final int DEFAULT_CHUNK_SIZE = 4096;
+
+  private final ForkJoinPool pool;
+  private final int chunkSize;
+  private final int maxInFlight;
+
+  /**
+   * Constructs an exporter formatting chunks of events on the common fork-join pool.
+   */
+  public ParallelCsvCalendarExporter() {
+    this(ForkJoinPool.commonPool(), DEFAULT_CHUNK_SIZE);
+  }
+
+  /**
+   * Constructs an exporter formatting chunks of events on the given pool.
+   *
+   * @param pool      the pool to format rows on.
+   * @param chunkSize the number of events formatted by one task.
+   */
+  public ParallelCsvCalendarExporter(ForkJoinPool pool, int chunkSize) {
+    if (chunkSize < 1) {
+      throw new IllegalArgumentException("Chunk size must be positive.");
+    }
+    this.pool = pool;
+    this.chunkSize = chunkSize;
+    this.maxInFlight = 2 * pool.getParallelism();
+  }
+
+  @Override
+  public String export(Iterator<CalendarExporterDTO> events, String filePath) {
+    Charset charset = Charset.defaultCharset();
+    Deque<ForkJoinTask<ByteBuffer>> inFlight = new ArrayDeque<>();
+    try (FileChannel channel = FileChannel.open(Paths.get(filePath),
+        StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+        StandardOpenOption.WRITE)) {
+      StringBuilder header = new StringBuilder();
+      appendHeader(header);
+      writeFully(channel, charset.encode(CharBuffer.wrap(header)));
+
+      while (events.hasNext()) {
+        List<CalendarExporterDTO> chunk = nextChunk(events);
+        if (inFlight.isEmpty() && !events.hasNext()) {
+          writeFully(channel, format(chunk, charset));
+          break;
+        }
+        inFlight.addLast(pool.submit(() -> format(chunk, charset)));
+        if (inFlight.size() >= maxInFlight) {
+          writeFully(channel, inFlight.removeFirst().join());
+        }
+      }
+      while (!inFlight.isEmpty()) {
+        writeFully(channel, inFlight.removeFirst().join());
+      }
+    } catch (IOException e) {
+      throw new RuntimeException("Error while exporting: " + e.getMessage());
+    } finally {
+      for (ForkJoinTask<ByteBuffer> task : inFlight) {
+        task.cancel(false);
+      }
+    }
+
+    return new File(filePath).getAbsolutePath();
+  }
+
+  /**
+   * Reads the next chunk of events from the iterator.
+   *
+   * @param events the events left to export.
+   * @return up to a chunk of events, in order.
+   */
+  private List<CalendarExporterDTO> nextChunk(Iterator<CalendarExporterDTO> events) {
+    List<CalendarExporterDTO> chunk = new ArrayList<>(chunkSize);
+    while (chunk.size() < chunkSize && events.hasNext()) {
+      chunk.add(events.next());
+    }
+    return chunk;
+  }
+
+  /**
+   * Formats a chunk of events as CSV rows and encodes them.
+   *
+   * @param chunk   the events to format.
+   * @param charset the charset of the file.
+   * @return the encoded rows, ready to be written.
+   */
+  private ByteBuffer format(List<CalendarExporterDTO> chunk, Charset charset) {
+    StringBuilder rows = new StringBuilder(chunk.size() * 64);
+    for (CalendarExporterDTO event : chunk) {
+      appendEventAsCsvRow(rows, event);
+    }
+    return charset.encode(CharBuffer.wrap(rows));
+  }
+
+  /**
+   * Writes all remaining bytes of the buffer to the channel.
+   *
+   * @param channel the channel of the file.
+   * @param bytes   the bytes to write.
+   * @throws IOException if writing fails.
+   */
+  private void writeFully(FileChannel channel, ByteBuffer bytes) throws IOException {
+    while (bytes.hasRemaining()) {
+      channel.write(bytes);
+    }
+  }
+}
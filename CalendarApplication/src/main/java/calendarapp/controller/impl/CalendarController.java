@@ -1,11 +1,15 @@
 package calendarapp.controller.impl;
 
-import java.util.Scanner;
-
 import calendarapp.controller.ICalendarController;
+import calendarapp.controller.ICommandSource;
 import calendarapp.controller.InvalidCommandException;
 import calendarapp.controller.commands.Command;
+import calendarapp.controller.commands.CommandProperties;
 import calendarapp.controller.commands.impl.CommandFactory;
+import calendarapp.controller.commands.parser.CommandParser;
+import calendarapp.controller.commands.parser.ParsedCommand;
+import calendarapp.controller.metrics.CommandMetrics;
+import calendarapp.controller.source.ScannerCommandSource;
 import calendarapp.model.ICalendarModel;
 import calendarapp.view.ICalendarView;
 
@@ -24,13 +28,18 @@ public class CalendarController implements ICalendarController {
   /**
    * The input source for reading commands.
    */
-  private Readable in;
+  private ICommandSource in;
 
   /**
    * The view used for displaying information to the user.
    */
   private ICalendarView view;
 
+  /**
+   * The counts and latencies of the processed commands.
+   */
+  private CommandMetrics metrics;
+
   /**
    * Creates a new calendar controller with the specified input, model, and view.
    *
@@ -39,15 +48,42 @@ public class CalendarController implements ICalendarController {
    * @param view  The view to display information.
    */
   public CalendarController(Readable in, ICalendarModel model, ICalendarView view) {
+    this(new ScannerCommandSource(in), model, view);
+  }
+
+  /**
+   * Creates a new calendar controller reading commands from the specified command source.
+   *
+   * @param in    The source of command lines.
+   * @param model The calendar model to operate on.
+   * @param view  The view to display information.
+   */
+  public CalendarController(ICommandSource in, ICalendarModel model, ICalendarView view) {
+    this(in, model, view, new CommandMetrics());
+  }
+
+  /**
+   * Creates a new calendar controller reading commands from the specified command source and
+   * recording them in the given metrics, which may be shared with other controllers.
+   *
+   * @param in      The source of command lines.
+   * @param model   The calendar model to operate on.
+   * @param view    The view to display information.
+   * @param metrics The metrics to record the processed commands in.
+   */
+  public CalendarController(ICommandSource in, ICalendarModel model, ICalendarView view,
+                            CommandMetrics metrics) {
     this.in = in;
     this.view = view;
     this.model = model;
+    this.metrics = metrics;
   }
 
   /**
    * Starts the controller and begins processing user commands.
    * Continuously reads commands from the input source until an "exit" command is received.
-   * Displays prompts and results through the view.
+   * Displays prompts and results through the view. The "stats" command displays the counts and
+   * latencies of the commands processed so far.
    *
    * @throws InvalidCommandException If a command is invalid or if the input source ends
    *                                 without an "exit" command.
@@ -55,40 +91,115 @@ public class CalendarController implements ICalendarController {
   @Override
   public void start() throws InvalidCommandException {
     String command;
-    Scanner scanner = new Scanner(in);
 
     while (true) {
-      view.displayMessage("Enter command or enter 'exit' to exit the calendar application.\n");
-      if (!scanner.hasNextLine()) {
+      view.displayProgress("Enter command or enter 'exit' to exit the calendar application.\n");
+      if (!hasNextLine()) {
+        view.flush();
         throw new InvalidCommandException("Command file must end with 'exit' command./n");
       }
-      command = scanner.nextLine();
-      if (command.trim().equalsIgnoreCase("exit")) {
-        view.displayMessage("Exiting application.\n");
+      command = nextLine();
+      if (isExit(command)) {
+        view.displayProgress("Exiting application.\n");
+        view.flush();
         break;
       }
-      view.displayMessage("Processing command: " + command + "\n");
+      view.displayProgress("Processing command: " + command + "\n");
+      if (isStats(command)) {
+        view.displayMessage(metrics.report());
+        view.displayProgress("\n");
+        continue;
+      }
       try {
         processCommand(command);
       } catch (Exception e) {
         view.displayMessage("\nENCOUNTERED ERROR : " + e.getMessage() + "\n");
         view.displayMessage("Exiting application gracefully.\n");
+        view.flush();
         break;
       }
-      view.displayMessage("\n");
+      view.displayProgress("\n");
     }
   }
 
+  /**
+   * Checks whether there is another command line to process.
+   *
+   * @return true if another line can be read from the input source.
+   */
+  protected boolean hasNextLine() {
+    return in.hasNextLine();
+  }
+
+  /**
+   * Reads the next command line. Only called after {@link #hasNextLine()} returned true.
+   *
+   * @return the next line of the input source.
+   */
+  protected String nextLine() {
+    return in.nextLine();
+  }
+
+  /**
+   * Parses the command line last returned by {@link #nextLine()}.
+   *
+   * @param command The command line to parse.
+   * @return the parsed command.
+   */
+  protected ParsedCommand parse(String command) {
+    return CommandParser.parse(command);
+  }
+
+  /**
+   * Checks whether a command line asks the application to exit.
+   *
+   * @param command The command line.
+   * @return true if the line is the exit command.
+   */
+  static boolean isExit(String command) {
+    return command.trim().equalsIgnoreCase("exit");
+  }
+
+  /**
+   * Checks whether a command line asks for the command statistics.
+   *
+   * @param command The command line.
+   * @return true if the line is the stats command.
+   */
+  static boolean isStats(String command) {
+    return command.trim().equalsIgnoreCase("stats");
+  }
+
+  /**
+   * Returns the metrics the processed commands are recorded in.
+   *
+   * @return the command metrics of this controller.
+   */
+  public CommandMetrics getMetrics() {
+    return metrics;
+  }
+
   /**
    * Processes a command string by creating the appropriate {@link Command} object
-   * using the {@link CommandFactory} and executing it.
+   * using the {@link CommandFactory} and executing it. The time spent obtaining the parsed
+   * command and executing it is recorded in the metrics, or an error if the command fails.
    *
    * @param commandString The command string to process.
    * @throws InvalidCommandException If the command is invalid or cannot be executed.
    */
   private void processCommand(String commandString) throws InvalidCommandException {
-    Command command;
-    command = CommandFactory.getCommand(commandString, model, view);
-    command.execute(commandString);
+    long start = System.nanoTime();
+    CommandProperties type = CommandProperties.UNKNOWN;
+    try {
+      Command command = CommandFactory.getCommand(commandString, model, view);
+      ParsedCommand parsed = parse(commandString);
+      type = parsed.getType();
+      long parsedAt = System.nanoTime();
+      command.execute(commandString, parsed);
+      metrics.record(type, parsedAt - start, System.nanoTime() - parsedAt);
+    } catch (RuntimeException e) {
+      metrics.recordError(type);
+      throw e;
+    }
   }
 }
\ No newline at end of file
@@ -1,16 +1,24 @@
 package calendarapp.controller.impl;
 
-import java.io.BufferedReader;
-import java.io.FileNotFoundException;
-import java.io.FileReader;
+import java.io.IOException;
 import java.io.InputStreamReader;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 
 import calendarapp.controller.ICalendarController;
+import calendarapp.controller.ICommandSource;
+import calendarapp.controller.metrics.CommandMetrics;
+import calendarapp.controller.source.MappedFileCommandSource;
+import calendarapp.controller.source.ScannerCommandSource;
 import calendarapp.model.ICalendarModel;
 import calendarapp.view.ICalendarView;
 
 /**
  * Factory class for creating calendar controller instances based on the specified mode.
+ * Interactive controllers read the console, headless ones read their command file through a
+ * {@link MappedFileCommandSource}.
  */
 public class CalendarControllerFactory {
   /**
@@ -30,9 +38,59 @@ public class CalendarControllerFactory {
                                                   String filename,
                                                   ICalendarModel model,
                                                   ICalendarView view) {
+    return getController(mode, filename, model, view, false);
+  }
+
+  /**
+   * Creates and returns a calendar controller based on the specified mode and parameters,
+   * optionally parsing the commands of a headless run ahead of the one being executed with a
+   * {@link PipelinedCalendarController}.
+   *
+   * @param mode      The mode to operate in ("interactive" for console input, "headless"
+   *                  for file input)
+   * @param filename  The name of the file containing commands (only used in headless mode)
+   * @param model     The calendar model to use
+   * @param view      The view to use for output
+   * @param pipelined Whether a headless run parses commands on background threads
+   * @return A controller instance appropriate for the specified mode
+   * @throws IllegalArgumentException If the mode is unknown, the filename is invalid or not found,
+   *                                  or if a text file with .txt extension is not provided in
+   *                                  headless mode
+   */
+  public static ICalendarController getController(String mode,
+                                                  String filename,
+                                                  ICalendarModel model,
+                                                  ICalendarView view,
+                                                  boolean pipelined) {
+    return getController(mode, filename, model, view, pipelined, new CommandMetrics());
+  }
+
+  /**
+   * Creates and returns a calendar controller based on the specified mode and parameters, that
+   * records the commands it processes in the given metrics.
+   *
+   * @param mode      The mode to operate in ("interactive" for console input, "headless"
+   *                  for file input)
+   * @param filename  The name of the file containing commands (only used in headless mode)
+   * @param model     The calendar model to use
+   * @param view      The view to use for output
+   * @param pipelined Whether a headless run parses commands on background threads
+   * @param metrics   The metrics to record the processed commands in
+   * @return A controller instance appropriate for the specified mode
+   * @throws IllegalArgumentException If the mode is unknown, the filename is invalid or not found,
+   *                                  or if a text file with .txt extension is not provided in
+   *                                  headless mode
+   */
+  public static ICalendarController getController(String mode,
+                                                  String filename,
+                                                  ICalendarModel model,
+                                                  ICalendarView view,
+                                                  boolean pipelined,
+                                                  CommandMetrics metrics) {
     switch (mode.toLowerCase()) {
       case "interactive":
-        return new CalendarController(new InputStreamReader(System.in), model, view);
+        return new CalendarController(new ScannerCommandSource(new InputStreamReader(System.in)),
+            model, view, metrics);
       case "headless":
         try {
           String[] filenameSplit = filename.split("\\.");
@@ -42,9 +100,15 @@ public class CalendarControllerFactory {
           if (!filenameSplit[filenameSplit.length - 1].equalsIgnoreCase("txt")) {
             throw new IllegalArgumentException("Only txt files are supported.");
           }
-          return new CalendarController(new BufferedReader(new FileReader(filename)),
-              model, view);
-        } catch (FileNotFoundException e) {
+          Path path = Paths.get(filename);
+          if (!Files.isRegularFile(path)) {
+            throw new IllegalArgumentException("File is not found at " + filename);
+          }
+          ICommandSource source = new MappedFileCommandSource(path);
+          return pipelined ? new PipelinedCalendarController(source, model, view,
+              Runtime.getRuntime().availableProcessors(), metrics)
+              : new CalendarController(source, model, view, metrics);
+        } catch (IOException | InvalidPathException e) {
           throw new IllegalArgumentException("File is not found at " + filename);
         } catch (NullPointerException e) {
           throw new IllegalArgumentException("Filename cannot be null.");
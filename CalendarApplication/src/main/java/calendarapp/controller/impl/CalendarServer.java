@@ -0,0 +1,170 @@
+package calendarapp.controller.impl;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Supplier;
+
+import calendarapp.controller.ICalendarController;
+import calendarapp.controller.InvalidCommandException;
+import calendarapp.controller.metrics.CommandMetrics;
+import calendarapp.controller.source.ScannerCommandSource;
+import calendarapp.model.ICalendarModel;
+import calendarapp.model.ICalendarRepository;
+import calendarapp.model.impl.CalendarModel;
+import calendarapp.model.impl.ConcurrentCalendarRepository;
+import calendarapp.view.ICalendarView;
+import calendarapp.view.impl.BufferedCLIView;
+
+/**
+ * Serves the calendar to local TCP clients, each speaking the same command language as the
+ * interactive mode. Every connection is handled by a {@link CalendarController} on a thread of
+ * its own, with a {@link CalendarModel} of its own, so each client keeps its own active
+ * calendar, while all of them share the calendars of one thread-safe
+ * {@link ICalendarRepository}. The output for a client is buffered and written out whenever its
+ * controller waits for the next command. The connection is closed when the client exits,
+ * disconnects or sends a command that fails. All clients record their commands in the same
+ * {@link CommandMetrics}, so {@code stats} reports the commands of every client.
+ */
+public class CalendarServer implements ICalendarController, Closeable {
+  private final ServerSocket serverSocket;
+  private final Supplier<ICalendarModel> models;
+  private final ExecutorService sessions;
+  private final Set<Socket> clients;
+  private final CommandMetrics metrics;
+
+  /**
+   * Creates a server listening on the given port of the loopback address, serving calendars
+   * shared through a new {@link ConcurrentCalendarRepository}.
+   *
+   * @param port The port to listen on, or 0 to pick a free one.
+   * @throws IllegalArgumentException If the server cannot listen on the port.
+   */
+  public CalendarServer(int port) {
+    this(port, new ConcurrentCalendarRepository());
+  }
+
+  /**
+   * Creates a server listening on the given port of the loopback address.
+   *
+   * @param port               The port to listen on, or 0 to pick a free one.
+   * @param calendarRepository The thread-safe repository holding the calendars of all clients.
+   * @throws IllegalArgumentException If the server cannot listen on the port.
+   */
+  public CalendarServer(int port, ICalendarRepository calendarRepository) {
+    this(port, () -> new CalendarModel(calendarRepository));
+  }
+
+  /**
+   * Creates a server listening on the given port of the loopback address, giving each client a
+   * model of its own from the given supplier. The models must share their calendars through a
+   * thread-safe repository.
+   *
+   * @param port   The port to listen on, or 0 to pick a free one.
+   * @param models Supplies the model of each new client.
+   * @throws IllegalArgumentException If the server cannot listen on the port.
+   */
+  public CalendarServer(int port, Supplier<ICalendarModel> models) {
+    try {
+      this.serverSocket = new ServerSocket(port, 50, InetAddress.getLoopbackAddress());
+    } catch (IOException | IllegalArgumentException e) {
+      throw new IllegalArgumentException("Cannot listen on port " + port + ".");
+    }
+    this.models = models;
+    this.sessions = Executors.newCachedThreadPool(runnable -> {
+      Thread thread = new Thread(runnable, "calendar-client");
+      thread.setDaemon(true);
+      return thread;
+    });
+    this.clients = ConcurrentHashMap.newKeySet();
+    this.metrics = new CommandMetrics();
+  }
+
+  /**
+   * Returns the port the server listens on.
+   *
+   * @return the local port of the server.
+   */
+  public int getPort() {
+    return serverSocket.getLocalPort();
+  }
+
+  /**
+   * Accepts clients until the server is closed, serving each of them on a thread of its own.
+   */
+  @Override
+  public void start() {
+    while (!serverSocket.isClosed()) {
+      Socket client;
+      try {
+        client = serverSocket.accept();
+      } catch (IOException e) {
+        break;
+      }
+      clients.add(client);
+      sessions.execute(() -> serve(client));
+    }
+  }
+
+  /**
+   * Stops accepting clients and closes the connections of the ones still connected.
+   */
+  @Override
+  public void close() {
+    try {
+      serverSocket.close();
+    } catch (IOException e) {
+      // The server is going away either way.
+    }
+    for (Socket client : clients) {
+      closeQuietly(client);
+    }
+    sessions.shutdown();
+  }
+
+  private void serve(Socket client) {
+    try {
+      Writer out = new OutputStreamWriter(client.getOutputStream(), StandardCharsets.UTF_8);
+      ICalendarView view = new BufferedCLIView(out);
+      CalendarController controller = new CalendarController(new ScannerCommandSource(
+          new InputStreamReader(client.getInputStream(), StandardCharsets.UTF_8)),
+          models.get(), view, metrics) {
+        @Override
+        protected boolean hasNextLine() {
+          view.flush();
+          return super.hasNextLine();
+        }
+      };
+      try {
+        controller.start();
+      } catch (InvalidCommandException e) {
+        // The client disconnected without exiting.
+      } finally {
+        view.flush();
+      }
+    } catch (IOException | RuntimeException e) {
+      // The connection was lost; the other clients are unaffected.
+    } finally {
+      clients.remove(client);
+      closeQuietly(client);
+    }
+  }
+
+  private static void closeQuietly(Socket client) {
+    try {
+      client.close();
+    } catch (IOException e) {
+      // Nothing left to release.
+    }
+  }
+}
@@ -0,0 +1,274 @@
+package calendarapp.controller.impl;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+
+import calendarapp.controller.ICommandSource;
+import calendarapp.controller.InvalidCommandException;
+import calendarapp.controller.commands.parser.CommandParser;
+import calendarapp.controller.commands.parser.ParsedCommand;
+import calendarapp.controller.metrics.CommandMetrics;
+import calendarapp.controller.source.ScannerCommandSource;
+import calendarapp.model.ICalendarModel;
+import calendarapp.view.ICalendarView;
+
+/**
+ * Calendar controller for headless runs that parses commands ahead of the one being executed.
+ * A reader thread streams the input in chunks of lines and hands every chunk to a pool of parser
+ * threads, while the thread that called {@link #start()} executes the commands one by one in
+ * their original order, exactly like {@link CalendarController}. Parsing has no side effects,
+ * so the output is the same as a sequential run and the first failing command still stops the
+ * run; lines that were read and parsed past it are dropped. The parse latency recorded for a
+ * command is the time spent waiting for its parse to finish.
+ */
+public class PipelinedCalendarController extends CalendarController {
+  private static final int CHUNK_SIZE = 256;
+  private static final Chunk END = new Chunk(Collections.emptyList(), null);
+
+  /**
+   * The input source for reading commands.
+   */
+  private final ICommandSource in;
+
+  /**
+   * The number of threads parsing commands.
+   */
+  private final int parserThreads;
+
+  /**
+   * Chunks of lines in input order, each with the parse running for it.
+   */
+  private BlockingQueue<Chunk> chunks;
+
+  /**
+   * The chunk the current command line comes from, and the position of the next line in it.
+   */
+  private Chunk chunk;
+  private int position;
+
+  /**
+   * Creates a pipelined controller that parses with one thread per available processor.
+   *
+   * @param in    The input source for reading commands.
+   * @param model The calendar model to operate on.
+   * @param view  The view to display information.
+   */
+  public PipelinedCalendarController(Readable in, ICalendarModel model, ICalendarView view) {
+    this(new ScannerCommandSource(in), model, view);
+  }
+
+  /**
+   * Creates a pipelined controller reading from the specified command source, that parses with
+   * one thread per available processor.
+   *
+   * @param in    The source of command lines.
+   * @param model The calendar model to operate on.
+   * @param view  The view to display information.
+   */
+  public PipelinedCalendarController(ICommandSource in, ICalendarModel model,
+                                     ICalendarView view) {
+    this(in, model, view, Runtime.getRuntime().availableProcessors());
+  }
+
+  /**
+   * Creates a pipelined controller that parses with the given number of threads.
+   *
+   * @param in            The input source for reading commands.
+   * @param model         The calendar model to operate on.
+   * @param view          The view to display information.
+   * @param parserThreads The number of threads parsing commands.
+   * @throws IllegalArgumentException If the number of threads is not positive.
+   */
+  public PipelinedCalendarController(Readable in, ICalendarModel model, ICalendarView view,
+                                     int parserThreads) {
+    this(new ScannerCommandSource(in), model, view, parserThreads);
+  }
+
+  /**
+   * Creates a pipelined controller reading from the specified command source, that parses with
+   * the given number of threads.
+   *
+   * @param in            The source of command lines.
+   * @param model         The calendar model to operate on.
+   * @param view          The view to display information.
+   * @param parserThreads The number of threads parsing commands.
+   * @throws IllegalArgumentException If the number of threads is not positive.
+   */
+  public PipelinedCalendarController(ICommandSource in, ICalendarModel model,
+                                     ICalendarView view, int parserThreads) {
+    this(in, model, view, parserThreads, new CommandMetrics());
+  }
+
+  /**
+   * Creates a pipelined controller reading from the specified command source, that parses with
+   * the given number of threads and records the processed commands in the given metrics.
+   *
+   * @param in            The source of command lines.
+   * @param model         The calendar model to operate on.
+   * @param view          The view to display information.
+   * @param parserThreads The number of threads parsing commands.
+   * @param metrics       The metrics to record the processed commands in.
+   * @throws IllegalArgumentException If the number of threads is not positive.
+   */
+  public PipelinedCalendarController(ICommandSource in, ICalendarModel model,
+                                     ICalendarView view, int parserThreads,
+                                     CommandMetrics metrics) {
+    super(in, model, view, metrics);
+    if (parserThreads < 1) {
+      throw new IllegalArgumentException("Parser threads must be positive.");
+    }
+    this.in = in;
+    this.parserThreads = parserThreads;
+  }
+
+  /**
+   * Starts reading and parsing the input in the background and processes the commands in order
+   * until an "exit" command is received.
+   *
+   * @throws InvalidCommandException If a command is invalid or if the input source ends
+   *                                 without an "exit" command.
+   */
+  @Override
+  public void start() throws InvalidCommandException {
+    ExecutorService parsers = Executors.newFixedThreadPool(parserThreads, runnable -> {
+      Thread thread = new Thread(runnable, "command-parser");
+      thread.setDaemon(true);
+      return thread;
+    });
+    chunks = new ArrayBlockingQueue<>(2 * parserThreads + 1);
+    chunk = null;
+    position = 0;
+    Thread reader = new Thread(() -> readLines(parsers), "command-reader");
+    reader.setDaemon(true);
+    reader.start();
+    try {
+      super.start();
+    } finally {
+      reader.interrupt();
+      parsers.shutdownNow();
+    }
+  }
+
+  @Override
+  protected boolean hasNextLine() {
+    if (chunk != END && (chunk == null || position == chunk.lines.size())) {
+      try {
+        chunk = chunks.take();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        chunk = END;
+      }
+      position = 0;
+      if (chunk.failure != null) {
+        throw chunk.failure;
+      }
+    }
+    return chunk != END;
+  }
+
+  @Override
+  protected String nextLine() {
+    return chunk.lines.get(position++);
+  }
+
+  @Override
+  protected ParsedCommand parse(String command) {
+    ParsedCommand parsed = null;
+    try {
+      parsed = chunk.parsed.get()[position - 1];
+    } catch (ExecutionException e) {
+      // Fall through and parse on this thread, so a failure surfaces where it would have.
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+    return parsed != null ? parsed : super.parse(command);
+  }
+
+  /**
+   * Reads the input up to the "exit" command or its end, queueing the lines in chunks for the
+   * parsers. Stops when interrupted or when the parsers are shut down, either of which means the
+   * run is over. If the input fails, the failure is queued after the lines read before it, to be
+   * thrown when their turn is over.
+   */
+  private void readLines(ExecutorService parsers) {
+    List<String> lines = new ArrayList<>(CHUNK_SIZE);
+    boolean exit = false;
+    try {
+      try {
+        while (!exit && in.hasNextLine()) {
+          String line = in.nextLine();
+          lines.add(line);
+          exit = isExit(line);
+          if (exit || lines.size() == CHUNK_SIZE) {
+            chunks.put(submit(parsers, lines));
+            lines = new ArrayList<>(CHUNK_SIZE);
+          }
+        }
+        if (!lines.isEmpty()) {
+          chunks.put(submit(parsers, lines));
+        }
+        chunks.put(END);
+      } catch (RejectedExecutionException e) {
+        throw e;
+      } catch (RuntimeException e) {
+        if (parsers.isShutdown()) {
+          return;
+        }
+        if (!lines.isEmpty()) {
+          chunks.put(submit(parsers, lines));
+        }
+        chunks.put(new Chunk(e));
+      }
+    } catch (InterruptedException | RejectedExecutionException e) {
+      // The commands stopped running; nobody is waiting for more lines.
+    }
+  }
+
+  /**
+   * Starts parsing a chunk of lines. A line the parser fails on is left unparsed, to be parsed
+   * again when its turn comes.
+   */
+  private static Chunk submit(ExecutorService parsers, List<String> lines) {
+    return new Chunk(lines, parsers.submit(() -> {
+      ParsedCommand[] parsed = new ParsedCommand[lines.size()];
+      for (int i = 0; i < parsed.length; i++) {
+        try {
+          parsed[i] = CommandParser.parse(lines.get(i));
+        } catch (RuntimeException e) {
+          parsed[i] = null;
+        }
+      }
+      return parsed;
+    }));
+  }
+
+  /**
+   * Consecutive command lines and their parses, in input order, or the failure that stopped the
+   * input.
+   */
+  private static class Chunk {
+    private final List<String> lines;
+    private final Future<ParsedCommand[]> parsed;
+    private final RuntimeException failure;
+
+    private Chunk(List<String> lines, Future<ParsedCommand[]> parsed) {
+      this.lines = lines;
+      this.parsed = parsed;
+      this.failure = null;
+    }
+
+    private Chunk(RuntimeException failure) {
+      this.lines = Collections.emptyList();
+      this.parsed = null;
+      this.failure = failure;
+    }
+  }
+}
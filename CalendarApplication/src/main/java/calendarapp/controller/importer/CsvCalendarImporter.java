@@ -0,0 +1,436 @@
+package calendarapp.controller.importer;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.Function;
+
+import calendarapp.controller.InvalidCommandException;
+import calendarapp.controller.exporter.Constants;
+import calendarapp.model.EventVisibility;
+import calendarapp.model.dto.CalendarExporterDTO;
+
+import static calendarapp.utils.TimeUtil.parseExportDate;
+import static calendarapp.utils.TimeUtil.parseExportTime;
+
+/**
+ * Imports calendar events from a CSV file in the format the CSV exporters write.
+ * The file is read on the calling thread one chunk of rows at a time, each chunk is parsed into
+ * events on a fork-join pool, and the events are handed out in the order of the rows. At most
+ * two chunks per thread of the pool are read ahead of the events handed out, so the text of the
+ * file is never held whole. A file that fits in one chunk is parsed on the calling thread.
+ *
+ * <p>The first row names the columns, which may come in any order; the subject and start date
+ * are required and the other columns optional. Fields may be quoted, with quotes inside them
+ * doubled, and quoted fields may span lines. A row that is marked as an all-day event or has no
+ * start time lasts from the start of its start date to the start of its end date, or of the day
+ * after its start date if the end date is not later. A private row is imported as a private
+ * event, and any other row with the default visibility.
+ */
+public class CsvCalendarImporter {
+  private static final int DEFAULT_CHUNK_SIZE = 4096;
+  private static final String[] COLUMNS = {
+      Constants.CsvHeaders.SUBJECT,
+      Constants.CsvHeaders.START_DATE,
+      Constants.CsvHeaders.START_TIME,
+      Constants.CsvHeaders.END_DATE,
+      Constants.CsvHeaders.END_TIME,
+      Constants.CsvHeaders.ALL_DAY_EVENT,
+      Constants.CsvHeaders.DESCRIPTION,
+      Constants.CsvHeaders.LOCATION,
+      Constants.CsvHeaders.PRIVATE
+  };
+  private static final int SUBJECT = 0;
+  private static final int START_DATE = 1;
+  private static final int START_TIME = 2;
+  private static final int END_DATE = 3;
+  private static final int END_TIME = 4;
+  private static final int ALL_DAY_EVENT = 5;
+  private static final int DESCRIPTION = 6;
+  private static final int LOCATION = 7;
+  private static final int PRIVATE = 8;
+  private static final String PRIVATE_VISIBILITY = EventVisibility.PRIVATE.toString()
+      .toLowerCase();
+
+  private final ForkJoinPool pool;
+  private final int chunkSize;
+  private final int maxInFlight;
+
+  /**
+   * Constructs an importer parsing chunks of rows on the common fork-join pool.
+   */
+  public CsvCalendarImporter() {
+    this(ForkJoinPool.commonPool(), DEFAULT_CHUNK_SIZE);
+  }
+
+  /**
+   * Constructs an importer parsing chunks of rows on the given pool.
+   *
+   * @param pool      the pool to parse rows on.
+   * @param chunkSize the number of rows parsed by one task.
+   */
+  public CsvCalendarImporter(ForkJoinPool pool, int chunkSize) {
+    if (chunkSize < 1) {
+      throw new IllegalArgumentException("Chunk size must be positive.");
+    }
+    this.pool = pool;
+    this.chunkSize = chunkSize;
+    this.maxInFlight = 2 * pool.getParallelism();
+  }
+
+  /**
+   * Reads the events of a CSV file and hands them to a consumer as they are parsed. The file is
+   * closed once the consumer returns.
+   *
+   * @param filePath the path of the CSV file.
+   * @param consumer consumes the events, in the order of the rows, and returns the result.
+   * @param <T>      the type of the result.
+   * @return the result of the consumer.
+   * @throws InvalidCommandException if the file cannot be read or a row is invalid, which is
+   *                                 reported when the consumer reaches it.
+   */
+  public <T> T importEvents(String filePath,
+                            Function<Iterator<CalendarExporterDTO>, T> consumer) {
+    ParsedRows rows = null;
+    try (BufferedReader reader = Files.newBufferedReader(Paths.get(filePath),
+        Charset.defaultCharset())) {
+      String header = readRecord(reader, 1);
+      if (header == null) {
+        throw new InvalidCommandException("File has no header row.\n");
+      }
+      List<String> names = split(header, 1);
+      rows = new ParsedRows(reader, columnsOf(names), names.size());
+      return consumer.apply(rows);
+    } catch (NoSuchFileException e) {
+      throw new InvalidCommandException("No such file " + filePath + ".\n");
+    } catch (IOException e) {
+      throw new InvalidCommandException("Cannot read " + filePath + ": " + e.getMessage()
+          + "\n");
+    } catch (UncheckedIOException e) {
+      throw new InvalidCommandException("Cannot read " + filePath + ": "
+          + e.getCause().getMessage() + "\n");
+    } finally {
+      if (rows != null) {
+        rows.cancel();
+      }
+    }
+  }
+
+  /**
+   * Finds the position of every known column in the header row.
+   *
+   * @param names the fields of the header row.
+   * @return the positions, indexed like {@link #COLUMNS}, with -1 for missing columns.
+   */
+  private static int[] columnsOf(List<String> names) {
+    int[] positions = new int[COLUMNS.length];
+    for (int column = 0; column < COLUMNS.length; column++) {
+      positions[column] = -1;
+      for (int position = 0; position < names.size(); position++) {
+        if (names.get(position).trim().equalsIgnoreCase(COLUMNS[column])) {
+          positions[column] = position;
+          break;
+        }
+      }
+    }
+    if (positions[SUBJECT] < 0 || positions[START_DATE] < 0) {
+      throw new InvalidCommandException("Header row must name the " + COLUMNS[SUBJECT]
+          + " and " + COLUMNS[START_DATE] + " columns.\n");
+    }
+    return positions;
+  }
+
+  /**
+   * Reads the next row, joining the lines of quoted fields that span several of them.
+   *
+   * @param reader the reader of the file.
+   * @param row    the number of the row, for errors.
+   * @return the row without its line end, or null at the end of the file.
+   * @throws IOException if reading fails.
+   */
+  private static String readRecord(BufferedReader reader, int row) throws IOException {
+    String line = reader.readLine();
+    if (line == null || !hasOddQuotes(line)) {
+      return line;
+    }
+    StringBuilder record = new StringBuilder(line);
+    boolean quoted = true;
+    while (quoted) {
+      String next = reader.readLine();
+      if (next == null) {
+        throw invalidRow(row, "Quoted field is not closed.");
+      }
+      record.append('\n').append(next);
+      quoted = hasOddQuotes(next) != quoted;
+    }
+    return record.toString();
+  }
+
+  private static boolean hasOddQuotes(String line) {
+    boolean odd = false;
+    for (int i = line.indexOf('"'); i >= 0; i = line.indexOf('"', i + 1)) {
+      odd = !odd;
+    }
+    return odd;
+  }
+
+  /**
+   * Splits a row into its fields, removing the quotes around quoted fields and undoubling the
+   * quotes inside them.
+   *
+   * @param record the row.
+   * @param row    the number of the row, for errors.
+   * @return the fields of the row.
+   */
+  private static List<String> split(String record, int row) {
+    List<String> fields = new ArrayList<>(COLUMNS.length);
+    int length = record.length();
+    int position = 0;
+    while (true) {
+      if (position < length && record.charAt(position) == '"') {
+        StringBuilder field = new StringBuilder();
+        position++;
+        while (true) {
+          int quote = record.indexOf('"', position);
+          if (quote < 0) {
+            throw invalidRow(row, "Quoted field is not closed.");
+          }
+          field.append(record, position, quote);
+          position = quote + 1;
+          if (position < length && record.charAt(position) == '"') {
+            field.append('"');
+            position++;
+          } else {
+            break;
+          }
+        }
+        fields.add(field.toString());
+        if (position < length && record.charAt(position) != ',') {
+          throw invalidRow(row, "Quoted field is followed by text.");
+        }
+      } else {
+        int comma = record.indexOf(',', position);
+        int end = comma < 0 ? length : comma;
+        fields.add(record.substring(position, end));
+        position = end;
+      }
+      if (position >= length) {
+        return fields;
+      }
+      position++;
+    }
+  }
+
+  /**
+   * Parses a chunk of rows into events. Parsing keeps no state between rows, so chunks can be
+   * parsed on several threads at once.
+   *
+   * @param records    the rows of the chunk.
+   * @param firstRow   the number of the first row of the chunk.
+   * @param columns    the positions of the columns.
+   * @param fieldCount the number of fields of every row.
+   * @return the events of the non-empty rows, in order.
+   */
+  private static List<CalendarExporterDTO> parse(List<String> records, int firstRow,
+                                                 int[] columns, int fieldCount) {
+    List<CalendarExporterDTO> events = new ArrayList<>(records.size());
+    for (int i = 0; i < records.size(); i++) {
+      String record = records.get(i);
+      if (!record.isEmpty()) {
+        List<String> fields = split(record, firstRow + i);
+        if (fields.size() != fieldCount) {
+          throw invalidRow(firstRow + i, "Expected " + fieldCount + " fields but found "
+              + fields.size() + ".");
+        }
+        events.add(parseRow(fields, firstRow + i, columns));
+      }
+    }
+    return events;
+  }
+
+  private static CalendarExporterDTO parseRow(List<String> fields, int row, int[] columns) {
+    String subject = field(fields, columns, SUBJECT);
+    if (subject == null) {
+      throw invalidRow(row, COLUMNS[SUBJECT] + " is missing.");
+    }
+    String startDateText = field(fields, columns, START_DATE);
+    if (startDateText == null) {
+      throw invalidRow(row, COLUMNS[START_DATE] + " is missing.");
+    }
+    String endDateText = field(fields, columns, END_DATE);
+    String startTimeText = field(fields, columns, START_TIME);
+    String endTimeText = field(fields, columns, END_TIME);
+    boolean isAllDay = flag(fields, columns, ALL_DAY_EVENT, row) || startTimeText == null;
+
+    LocalDateTime start;
+    LocalDateTime end;
+    try {
+      LocalDate startDate = parseExportDate(startDateText);
+      LocalDate endDate = endDateText == null ? startDate : parseExportDate(endDateText);
+      if (isAllDay) {
+        start = startDate.atStartOfDay();
+        end = endDate.isAfter(startDate) ? endDate.atStartOfDay()
+            : startDate.plusDays(1).atStartOfDay();
+      } else {
+        if (endTimeText == null) {
+          throw invalidRow(row, COLUMNS[END_TIME] + " is missing.");
+        }
+        start = startDate.atTime(parseExportTime(startTimeText));
+        end = endDate.atTime(parseExportTime(endTimeText));
+      }
+    } catch (IllegalArgumentException e) {
+      throw invalidRow(row, e.getMessage() + ".");
+    }
+    if (end.isBefore(start)) {
+      throw invalidRow(row, "Event ends before it starts.");
+    }
+
+    return CalendarExporterDTO.builder()
+        .subject(subject)
+        .startDate(start)
+        .endDate(end)
+        .isAllDayEvent(isAllDay)
+        .description(field(fields, columns, DESCRIPTION))
+        .location(field(fields, columns, LOCATION))
+        .visibility(flag(fields, columns, PRIVATE, row) ? PRIVATE_VISIBILITY : null)
+        .build();
+  }
+
+  /**
+   * Returns a field of a row, or null if its column is missing or the field is empty.
+   */
+  private static String field(List<String> fields, int[] columns, int column) {
+    int position = columns[column];
+    if (position < 0 || fields.get(position).isEmpty()) {
+      return null;
+    }
+    return fields.get(position);
+  }
+
+  /**
+   * Reads a TRUE or FALSE field of a row, which is false if its column is missing or the field
+   * is empty.
+   */
+  private static boolean flag(List<String> fields, int[] columns, int column, int row) {
+    String value = field(fields, columns, column);
+    if (value == null || value.equalsIgnoreCase(Constants.CsvFormat.FALSE_VALUE)) {
+      return false;
+    }
+    if (value.equalsIgnoreCase(Constants.CsvFormat.TRUE_VALUE)) {
+      return true;
+    }
+    throw invalidRow(row, COLUMNS[column] + " must be " + Constants.CsvFormat.TRUE_VALUE
+        + " or " + Constants.CsvFormat.FALSE_VALUE + ".");
+  }
+
+  private static InvalidCommandException invalidRow(int row, String reason) {
+    return new InvalidCommandException("Invalid row " + row + ": " + reason + "\n");
+  }
+
+  /**
+   * The events of the rows after the header, read and parsed ahead in chunks as they are
+   * iterated.
+   */
+  private final class ParsedRows implements Iterator<CalendarExporterDTO> {
+    private final BufferedReader reader;
+    private final int[] columns;
+    private final int fieldCount;
+    private final Deque<ForkJoinTask<List<CalendarExporterDTO>>> inFlight = new ArrayDeque<>();
+    private Iterator<CalendarExporterDTO> current = Collections.emptyIterator();
+    private int nextRow = 2;
+    private boolean endOfFile;
+
+    private ParsedRows(BufferedReader reader, int[] columns, int fieldCount) {
+      this.reader = reader;
+      this.columns = columns;
+      this.fieldCount = fieldCount;
+    }
+
+    @Override
+    public boolean hasNext() {
+      while (!current.hasNext()) {
+        readAhead();
+        if (current.hasNext()) {
+          break;
+        }
+        if (inFlight.isEmpty()) {
+          return false;
+        }
+        // Tasks only throw InvalidCommandException, which join rethrows as it is.
+        current = inFlight.removeFirst().join().iterator();
+      }
+      return true;
+    }
+
+    @Override
+    public CalendarExporterDTO next() {
+      if (!hasNext()) {
+        throw new NoSuchElementException();
+      }
+      return current.next();
+    }
+
+    /**
+     * Reads chunks and starts parsing them until enough are in flight or the file ends.
+     */
+    private void readAhead() {
+      while (!endOfFile && inFlight.size() < maxInFlight) {
+        int firstRow = nextRow;
+        List<String> chunk = nextChunk();
+        if (inFlight.isEmpty() && endOfFile) {
+          current = parse(chunk, firstRow, columns, fieldCount).iterator();
+          return;
+        }
+        inFlight.addLast(pool.submit(() -> parse(chunk, firstRow, columns, fieldCount)));
+      }
+    }
+
+    /**
+     * Reads the next chunk of rows from the file.
+     *
+     * @return up to a chunk of rows, in order.
+     */
+    private List<String> nextChunk() {
+      List<String> chunk = new ArrayList<>(chunkSize);
+      try {
+        while (chunk.size() < chunkSize) {
+          String record = readRecord(reader, nextRow);
+          if (record == null) {
+            endOfFile = true;
+            break;
+          }
+          chunk.add(record);
+          nextRow++;
+        }
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+      return chunk;
+    }
+
+    /**
+     * Stops parsing the chunks still in flight.
+     */
+    private void cancel() {
+      for (ForkJoinTask<List<CalendarExporterDTO>> task : inFlight) {
+        task.cancel(false);
+      }
+      inFlight.clear();
+    }
+  }
+}
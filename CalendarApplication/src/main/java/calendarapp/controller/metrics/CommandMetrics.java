@@ -0,0 +1,149 @@
+package calendarapp.controller.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import calendarapp.controller.commands.CommandProperties;
+
+/**
+ * Counts the commands a controller processes and how long they take, per type of command.
+ * Every type has a count of successful commands, a count of failed ones, and latency histograms
+ * for parsing and for executing. All of them are lock-free and allocated up front, so recording a
+ * command allocates nothing and controllers serving different clients can share one instance.
+ * Commands that cannot be typed are counted as {@link CommandProperties#UNKNOWN}.
+ */
+public class CommandMetrics {
+  private final AtomicLong[] counts;
+  private final AtomicLong[] errors;
+  private final LatencyHistogram[] parseLatencies;
+  private final LatencyHistogram[] executeLatencies;
+
+  /**
+   * Constructs metrics with nothing recorded.
+   */
+  public CommandMetrics() {
+    int types = CommandProperties.values().length;
+    counts = new AtomicLong[types];
+    errors = new AtomicLong[types];
+    parseLatencies = new LatencyHistogram[types];
+    executeLatencies = new LatencyHistogram[types];
+    for (int i = 0; i < types; i++) {
+      counts[i] = new AtomicLong();
+      errors[i] = new AtomicLong();
+      parseLatencies[i] = new LatencyHistogram();
+      executeLatencies[i] = new LatencyHistogram();
+    }
+  }
+
+  /**
+   * Records a command that succeeded.
+   *
+   * @param type         the type of the command.
+   * @param parseNanos   the time spent parsing the command, in nanoseconds.
+   * @param executeNanos the time spent executing the command, in nanoseconds.
+   */
+  public void record(CommandProperties type, long parseNanos, long executeNanos) {
+    int i = type.ordinal();
+    counts[i].incrementAndGet();
+    parseLatencies[i].record(parseNanos);
+    executeLatencies[i].record(executeNanos);
+  }
+
+  /**
+   * Records a command that failed.
+   *
+   * @param type the type of the command.
+   */
+  public void recordError(CommandProperties type) {
+    errors[type.ordinal()].incrementAndGet();
+  }
+
+  /**
+   * Returns the number of commands of a type that succeeded.
+   *
+   * @param type the type of command.
+   * @return the number of successful commands of the type.
+   */
+  public long getCount(CommandProperties type) {
+    return counts[type.ordinal()].get();
+  }
+
+  /**
+   * Returns the number of commands of a type that failed.
+   *
+   * @param type the type of command.
+   * @return the number of failed commands of the type.
+   */
+  public long getErrors(CommandProperties type) {
+    return errors[type.ordinal()].get();
+  }
+
+  /**
+   * Returns the latencies of parsing the successful commands of a type.
+   *
+   * @param type the type of command.
+   * @return the parse latency histogram of the type.
+   */
+  public LatencyHistogram getParseLatencies(CommandProperties type) {
+    return parseLatencies[type.ordinal()];
+  }
+
+  /**
+   * Returns the latencies of executing the successful commands of a type.
+   *
+   * @param type the type of command.
+   * @return the execute latency histogram of the type.
+   */
+  public LatencyHistogram getExecuteLatencies(CommandProperties type) {
+    return executeLatencies[type.ordinal()];
+  }
+
+  /**
+   * Formats the counts and latencies of every type of command seen so far, one type per line.
+   *
+   * @return the report, ending with a new line.
+   */
+  public String report() {
+    StringBuilder report = new StringBuilder("Command statistics:\n");
+    boolean any = false;
+    for (CommandProperties type : CommandProperties.values()) {
+      long count = getCount(type);
+      long failed = getErrors(type);
+      if (count == 0 && failed == 0) {
+        continue;
+      }
+      any = true;
+      report.append("• ").append(type.getCommandName())
+          .append(" - count ").append(count)
+          .append(", errors ").append(failed);
+      if (count > 0) {
+        appendLatencies(report.append(", parse "), getParseLatencies(type));
+        appendLatencies(report.append(", execute "), getExecuteLatencies(type));
+      }
+      report.append('\n');
+    }
+    if (!any) {
+      report.append("No commands processed.\n");
+    }
+    return report.toString();
+  }
+
+  private static void appendLatencies(StringBuilder report, LatencyHistogram histogram) {
+    report.append("mean ").append(formatNanos(histogram.getTotal() / histogram.getCount()))
+        .append(" p50 ").append(formatNanos(histogram.getPercentile(50)))
+        .append(" p99 ").append(formatNanos(histogram.getPercentile(99)))
+        .append(" max ").append(formatNanos(histogram.getMax()));
+  }
+
+  private static String formatNanos(long nanos) {
+    if (nanos < 1_000L) {
+      return nanos + "ns";
+    }
+    if (nanos < 1_000_000L) {
+      return String.format("%.1fus", nanos / 1e3);
+    }
+    if (nanos < 1_000_000_000L) {
+      return String.format("%.1fms", nanos / 1e6);
+    }
+    return String.format("%.2fs", nanos / 1e9);
+  }
+}
@@ -0,0 +1,119 @@
+package calendarapp.controller.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock-free histogram of latencies in nanoseconds with a bounded relative error.
+ * Values below {@value #SUB_BUCKETS} nanoseconds get a bucket each. Every larger power of two
+ * is split into {@value #SUB_BUCKETS} equal buckets, so a value is reported with an error of at
+ * most one in {@value #SUB_BUCKETS} while the whole range of a {@code long} fits in a thousand
+ * counters. Recording a value updates a few atomic counters and allocates nothing, so any
+ * number of threads can record at the same time.
+ */
+public class LatencyHistogram {
+  private static final int SUB_BUCKET_BITS = 4;
+  private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+  private static final int BUCKETS = SUB_BUCKETS + (63 - SUB_BUCKET_BITS) * SUB_BUCKETS;
+
+  private final AtomicLongArray counts;
+  private final AtomicLong count;
+  private final AtomicLong total;
+  private final AtomicLong max;
+
+  /**
+   * Constructs an empty histogram.
+   */
+  public LatencyHistogram() {
+    this.counts = new AtomicLongArray(BUCKETS);
+    this.count = new AtomicLong();
+    this.total = new AtomicLong();
+    this.max = new AtomicLong();
+  }
+
+  /**
+   * Records a latency. Negative values are recorded as zero.
+   *
+   * @param nanos the latency in nanoseconds.
+   */
+  public void record(long nanos) {
+    long value = Math.max(nanos, 0L);
+    counts.incrementAndGet(bucketOf(value));
+    count.incrementAndGet();
+    total.addAndGet(value);
+    max.accumulateAndGet(value, Math::max);
+  }
+
+  /**
+   * Returns the number of recorded latencies.
+   *
+   * @return the number of recorded latencies.
+   */
+  public long getCount() {
+    return count.get();
+  }
+
+  /**
+   * Returns the sum of the recorded latencies.
+   *
+   * @return the sum of the recorded latencies in nanoseconds.
+   */
+  public long getTotal() {
+    return total.get();
+  }
+
+  /**
+   * Returns the largest recorded latency.
+   *
+   * @return the largest recorded latency in nanoseconds, or 0 if none was recorded.
+   */
+  public long getMax() {
+    return max.get();
+  }
+
+  /**
+   * Returns the latency below which the given share of the recorded latencies fall, rounded up
+   * to the upper bound of its bucket and capped at the largest recorded latency.
+   *
+   * @param percentile the share in percent, between 0 and 100.
+   * @return the latency at the percentile in nanoseconds, or 0 if none was recorded.
+   */
+  public long getPercentile(double percentile) {
+    long recorded = 0;
+    for (int i = 0; i < BUCKETS; i++) {
+      recorded += counts.get(i);
+    }
+    if (recorded == 0) {
+      return 0L;
+    }
+    long rank = Math.max(1L, (long) Math.ceil(recorded * percentile / 100.0));
+    long seen = 0;
+    for (int i = 0; i < BUCKETS; i++) {
+      seen += counts.get(i);
+      if (seen >= rank) {
+        return Math.min(upperBoundOf(i), getMax());
+      }
+    }
+    return getMax();
+  }
+
+  private static int bucketOf(long value) {
+    if (value < SUB_BUCKETS) {
+      return (int) value;
+    }
+    int exponent = 63 - Long.numberOfLeadingZeros(value);
+    int shift = exponent - SUB_BUCKET_BITS;
+    int subBucket = (int) (value >>> shift) & (SUB_BUCKETS - 1);
+    return SUB_BUCKETS + shift * SUB_BUCKETS + subBucket;
+  }
+
+  private static long upperBoundOf(int bucket) {
+    if (bucket < SUB_BUCKETS) {
+      return bucket;
+    }
+    int shift = (bucket - SUB_BUCKETS) / SUB_BUCKETS;
+    long subBucket = (bucket - SUB_BUCKETS) % SUB_BUCKETS;
+    long lowerBound = (SUB_BUCKETS + subBucket) << shift;
+    return lowerBound + (1L << shift) - 1;
+  }
+}
@@ -0,0 +1,163 @@
+package calendarapp.controller.source;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.NoSuchElementException;
+
+import calendarapp.controller.ICommandSource;
+
+/**
+ * Command source that reads a UTF-8 file through memory mappings and splits the lines straight
+ * out of the mapped bytes. Only a window of the file is mapped at a time; when a line runs past
+ * the end of the window, the next window is mapped from the start of that line, so files of any
+ * size are read with bounded memory. A window only grows past its usual size for a line that is
+ * longer than the whole window.
+ *
+ * <p>Lines end at {@code \n}, {@code \r\n} or {@code \r}, and a terminator at the very end of
+ * the file does not start another line. The file is closed once its last line has been read.
+ */
+public class MappedFileCommandSource implements ICommandSource {
+  private static final int DEFAULT_WINDOW_SIZE = 64 * 1024 * 1024;
+
+  private final FileChannel channel;
+  private final long size;
+  private final int windowSize;
+  private MappedByteBuffer window;
+  private long windowStart;
+  private long position;
+  private byte[] lineBytes;
+  private String pendingLine;
+
+  /**
+   * Opens a command source over the given file with 64 MB windows.
+   *
+   * @param path the file to read.
+   * @throws IOException if the file cannot be opened.
+   */
+  public MappedFileCommandSource(Path path) throws IOException {
+    this(path, DEFAULT_WINDOW_SIZE);
+  }
+
+  /**
+   * Opens a command source over the given file, mapping the given number of bytes at a time.
+   *
+   * @param path       the file to read.
+   * @param windowSize the number of bytes to map at a time.
+   * @throws IOException              if the file cannot be opened.
+   * @throws IllegalArgumentException if the window size is not positive.
+   */
+  public MappedFileCommandSource(Path path, int windowSize) throws IOException {
+    if (windowSize < 1) {
+      throw new IllegalArgumentException("Window size must be positive.");
+    }
+    this.channel = FileChannel.open(path, StandardOpenOption.READ);
+    this.size = channel.size();
+    this.windowSize = windowSize;
+    this.lineBytes = new byte[128];
+  }
+
+  @Override
+  public boolean hasNextLine() {
+    if (pendingLine == null) {
+      pendingLine = readLine();
+    }
+    return pendingLine != null;
+  }
+
+  @Override
+  public String nextLine() {
+    if (!hasNextLine()) {
+      throw new NoSuchElementException("No line found");
+    }
+    String line = pendingLine;
+    pendingLine = null;
+    return line;
+  }
+
+  @Override
+  public void close() throws IOException {
+    window = null;
+    channel.close();
+  }
+
+  /**
+   * Reads the line starting at the current position, or returns null at the end of the file.
+   */
+  private String readLine() {
+    if (position >= size) {
+      closeQuietly();
+      return null;
+    }
+    if (window == null || position >= windowStart + window.limit()) {
+      map(windowSize);
+    }
+    while (true) {
+      int start = (int) (position - windowStart);
+      int limit = window.limit();
+      boolean lastWindow = windowStart + limit == size;
+      for (int i = start; i < limit; i++) {
+        byte b = window.get(i);
+        if (b == '\n' || b == '\r') {
+          int next = i + 1;
+          if (b == '\r' && next == limit && !lastWindow) {
+            // The \n of a \r\n may start the next window; read the line again from there.
+            break;
+          }
+          if (b == '\r' && next < limit && window.get(next) == '\n') {
+            next++;
+          }
+          String line = decode(start, i - start);
+          position = windowStart + next;
+          return line;
+        }
+      }
+      if (lastWindow) {
+        String line = decode(start, limit - start);
+        position = size;
+        return line;
+      }
+      if (start == 0 && limit == Integer.MAX_VALUE) {
+        throw new UncheckedIOException(new IOException("Line longer than 2 GB at " + position));
+      }
+      map(start == 0 ? (int) Math.min(Integer.MAX_VALUE, 2L * limit) : windowSize);
+    }
+  }
+
+  /**
+   * Maps up to the given number of bytes from the current position.
+   */
+  private void map(int length) {
+    try {
+      window = channel.map(FileChannel.MapMode.READ_ONLY, position,
+          Math.min(length, size - position));
+      windowStart = position;
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  /**
+   * Decodes bytes of the current window, copying them into a reused array first.
+   */
+  private String decode(int offset, int length) {
+    if (lineBytes.length < length) {
+      lineBytes = new byte[Math.max(length, 2 * lineBytes.length)];
+    }
+    window.position(offset);
+    window.get(lineBytes, 0, length);
+    return new String(lineBytes, 0, length, StandardCharsets.UTF_8);
+  }
+
+  private void closeQuietly() {
+    try {
+      close();
+    } catch (IOException e) {
+      // Every line has been read; nothing is lost.
+    }
+  }
+}
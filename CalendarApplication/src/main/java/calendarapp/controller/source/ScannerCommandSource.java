@@ -0,0 +1,40 @@
+package calendarapp.controller.source;
+
+import java.util.Scanner;
+
+import calendarapp.controller.ICommandSource;
+
+/**
+ * Command source reading lines from any {@link Readable} with a {@link Scanner}, as used for
+ * the console of the interactive mode.
+ */
+public class ScannerCommandSource implements ICommandSource {
+  private final Scanner scanner;
+
+  /**
+   * Creates a command source over the given input.
+   *
+   * @param in the input to read lines from.
+   */
+  public ScannerCommandSource(Readable in) {
+    this.scanner = new Scanner(in);
+  }
+
+  @Override
+  public boolean hasNextLine() {
+    return scanner.hasNextLine();
+  }
+
+  @Override
+  public String nextLine() {
+    return scanner.nextLine();
+  }
+
+  /**
+   * Does nothing; the input belongs to whoever created this source.
+   */
+  @Override
+  public void close() {
+    // The readable is not ours to close.
+  }
+}
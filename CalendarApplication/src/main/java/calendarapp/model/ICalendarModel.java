@@ -1,10 +1,14 @@
 package calendarapp.model;
 
+import java.util.Iterator;
 import java.util.List;
+import java.util.function.Function;
 
 import calendarapp.model.dto.CalendarExporterDTO;
 import calendarapp.model.dto.CopyEventRequestDTO;
+import calendarapp.model.dto.ImportSummaryDTO;
 import calendarapp.model.dto.PrintEventsResponseDTO;
+import calendarapp.model.dto.StatusIntervalResponseDTO;
 
 /**
  * Interface for the calendar model component.
@@ -67,6 +71,47 @@ public interface ICalendarModel {
    */
   List<CalendarExporterDTO> getEventsForExport();
 
+  /**
+   * Hands the events of the active calendar, in the order of {@link #getEventsForExport()}, to
+   * an exporter. Implementations stream the events one at a time instead of building the list.
+   *
+   * @param exporter consumes the events and returns the result of the export.
+   * @param <T>      the type of the result of the export.
+   * @return the result of the exporter.
+   */
+  default <T> T exportEvents(Function<Iterator<CalendarExporterDTO>, T> exporter) {
+    return exporter.apply(getEventsForExport().iterator());
+  }
+
+  /**
+   * Hands the events of the active calendar to an exporter with every recurring series as one
+   * entry carrying its weekly rule. Implementations that do not keep series hand over every
+   * occurrence as a single event instead, which describes the same calendar.
+   *
+   * @param exporter consumes the events and returns the result of the export.
+   * @param <T>      the type of the result of the export.
+   * @return the result of the exporter.
+   */
+  default <T> T exportSeries(Function<Iterator<CalendarExporterDTO>, T> exporter) {
+    return exportEvents(exporter);
+  }
+
+  /**
+   * Adds events read from a file to the active calendar. The events are taken as they are
+   * iterated and are checked against the calendar and against each other in one sorted sweep
+   * once all of them are read. Either all of them are added, or, when conflicts are skipped,
+   * every event that conflicts neither with the calendar nor with an imported event starting
+   * before it.
+   *
+   * @param events        the events to add, which must not be recurring.
+   * @param skipConflicts whether conflicting events are left out instead of failing the import.
+   * @return the number of events added and left out.
+   * @throws EventConflictException if an event conflicts and conflicts are not skipped.
+   * @throws calendarapp.controller.InvalidCommandException if a batch is open.
+   */
+  ImportSummaryDTO importEvents(Iterator<CalendarExporterDTO> events, boolean skipConflicts)
+      throws EventConflictException;
+
   /**
    * Checks the availability status at a specific time.
    *
@@ -75,6 +120,15 @@ public interface ICalendarModel {
    */
   String showStatus(String dateTime);
 
+  /**
+   * Lists the busy and available intervals within a time range.
+   *
+   * @param startDateTime the start date and time of the range.
+   * @param endDateTime   the end date and time of the range.
+   * @return the busy and available intervals covering the range, in chronological order.
+   */
+  List<StatusIntervalResponseDTO> showStatus(String startDateTime, String endDateTime);
+
   /**
    * Creates a new calendar with the given name and time zone.
    *
@@ -105,4 +159,43 @@ public interface ICalendarModel {
    * @param copyEventRequestDTO the request containing details for copying the event.
    */
   void copyEvent(CopyEventRequestDTO copyEventRequestDTO);
+
+  /**
+   * Opens a batch. Until it is committed, created and copied events are staged instead of
+   * added, and reads only see the events added before the batch was opened.
+   *
+   * @throws calendarapp.controller.InvalidCommandException if a batch is already open.
+   */
+  void beginBatch();
+
+  /**
+   * Commits the open batch: the staged events of each calendar are checked against that
+   * calendar and against each other, and are only added if none of them conflicts. The batch is
+   * closed whether or not it is committed.
+   *
+   * @throws EventConflictException if a staged event conflicts.
+   * @throws calendarapp.controller.InvalidCommandException if no batch is open.
+   */
+  void commitBatch() throws EventConflictException;
+
+  /**
+   * Saves every calendar and its events to a binary snapshot file.
+   *
+   * @param filePath the path of the snapshot file, which is replaced if it exists.
+   * @throws calendarapp.controller.InvalidCommandException if the file cannot be written.
+   */
+  void saveSnapshot(String filePath);
+
+  /**
+   * Replaces every calendar and its events with those of a snapshot file. The active calendar
+   * stays selected if the snapshot has a calendar of the same name, and the default calendar is
+   * selected otherwise.
+   *
+   * @param filePath the path of the snapshot file.
+   * @throws calendarapp.controller.InvalidCommandException if a batch is open, if the calendars
+   *                                                        are shared with other models or
+   *                                                        logged, or if the file cannot be
+   *                                                        read or is not a snapshot.
+   */
+  void loadSnapshot(String filePath);
 }
\ No newline at end of file
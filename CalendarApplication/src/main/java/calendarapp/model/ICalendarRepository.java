@@ -1,5 +1,7 @@
 package calendarapp.model;
 
+import java.util.List;
+
 import calendarapp.model.dto.CopyEventRequestDTO;
 
 /**
@@ -41,4 +43,18 @@ public interface ICalendarRepository {
    * @return the calendar with the given name
    */
   ICalendar getCalendar(String name);
+
+  /**
+   * Returns every calendar, in the order they were added.
+   *
+   * @return the calendars
+   */
+  List<ICalendar> getCalendars();
+
+  /**
+   * Replaces every calendar with the given ones, such as calendars restored from a snapshot.
+   *
+   * @param calendars the calendars to hold from now on
+   */
+  void replaceCalendars(List<ICalendar> calendars);
 }
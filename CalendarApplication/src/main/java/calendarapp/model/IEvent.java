@@ -27,6 +27,22 @@ public interface IEvent {
    */
   Temporal getEndTime();
 
+  /**
+   * Gets the start time of the event as seconds since the epoch, reading its wall-clock time as
+   * UTC. Used to order and compare events without going through {@link Temporal} arithmetic.
+   *
+   * @return the start time of the event in epoch seconds.
+   */
+  long getStartEpochSecond();
+
+  /**
+   * Gets the end time of the event as seconds since the epoch, reading its wall-clock time as
+   * UTC.
+   *
+   * @return the end time of the event in epoch seconds.
+   */
+  long getEndEpochSecond();
+
   /**
    * Gets the description of the event.
    *
@@ -86,6 +102,8 @@ public interface IEvent {
 
   /**
    * Creates and returns a deep copy of the event.
+   * Events are immutable and may be shared freely, so a copy is only needed by callers that
+   * rely on holding an instance distinct from the one stored in a repository.
    *
    * @return a new IEvent instance with the same values as the original
    */
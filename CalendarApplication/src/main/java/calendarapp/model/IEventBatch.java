@@ -0,0 +1,86 @@
+package calendarapp.model;
+
+import java.time.ZoneId;
+import java.time.temporal.Temporal;
+import java.util.List;
+
+/**
+ * Changes to an {@link IEventRepository} that are staged and then validated and applied
+ * together. Staging builds the new events right away, so invalid events are reported when they
+ * are staged, while conflicts are only looked for when the batch is validated or committed: the
+ * staged events are checked against the events of the repository and against each other in one
+ * sorted sweep.
+ */
+public interface IEventBatch {
+
+  /**
+   * Stages a new event, either recurring or one-time.
+   *
+   * @param eventName         The name of the event.
+   * @param startTime         The start time of the event.
+   * @param endTime           The end time of the event.
+   * @param description       The description of the event.
+   * @param location          The location of the event.
+   * @param visibility        The visibility of the event.
+   * @param recurringDays     A string of characters representing recurring days.
+   * @param occurrenceCount   The number of occurrences of the event (for recurring events).
+   * @param recurrenceEndDate The end date of the recurrence (for recurring events).
+   */
+  void create(String eventName, Temporal startTime, Temporal endTime,
+              String description, String location, String visibility,
+              String recurringDays, String occurrenceCount, Temporal recurrenceEndDate);
+
+  /**
+   * Stages copies of events, shifted so that the first of them starts at the given time.
+   *
+   * @param eventsToCopy The events to copy, in start order.
+   * @param toStartTime  The time the first copy starts at.
+   * @param fromZoneId   The time zone of the events to copy.
+   * @param toZoneId     The time zone of this repository.
+   */
+  void copyEvents(List<IEvent> eventsToCopy, Temporal toStartTime,
+                  ZoneId fromZoneId, ZoneId toZoneId);
+
+  /**
+   * Drops the staged single events that conflict with the events of the repository, with the
+   * staged recurring series, or with a staged event starting before them, so that the rest can
+   * be committed. This takes one sorted sweep like {@link #validate()}.
+   *
+   * @return the number of staged events dropped.
+   */
+  int dropConflicting();
+
+  /**
+   * Returns the single events the last commit added, in the order it added them. After
+   * {@link #dropConflicting()}, these are the events that were kept.
+   *
+   * @return a read-only view of the committed single events, empty before the first commit.
+   */
+  List<IEvent> getCommittedEvents();
+
+  /**
+   * Checks that the staged events conflict neither with the events of the repository nor with
+   * each other, without changing anything.
+   *
+   * @throws EventConflictException if a staged event conflicts.
+   */
+  void validate() throws EventConflictException;
+
+  /**
+   * Validates the staged events and adds all of them to the repository in one step, or none of
+   * them if any conflicts. The staged events are not swept again if they were validated, or had
+   * their conflicts dropped, since the repository and the batch last changed.
+   *
+   * @throws EventConflictException if a staged event conflicts.
+   */
+  void commit() throws EventConflictException;
+
+  /**
+   * Runs the given action while no other writer can change the repository, so that batches of
+   * several repositories can be validated and committed together. The action may validate and
+   * commit this batch, and may run the same for the batch of another repository.
+   *
+   * @param action the action to run.
+   */
+  void runLocked(Runnable action);
+}
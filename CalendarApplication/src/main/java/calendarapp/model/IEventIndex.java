@@ -0,0 +1,50 @@
+package calendarapp.model;
+
+import java.time.temporal.Temporal;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Read-only, start-time ordered view over the events of a repository.
+ * Search strategies use it to narrow down candidate events instead of scanning every event.
+ */
+public interface IEventIndex {
+
+  /**
+   * Returns the events that overlap the given time range, ordered by start time.
+   * An event overlaps when it starts before {@code endTime} and ends after {@code startTime}.
+   *
+   * @param startTime the start of the time range.
+   * @param endTime   the end of the time range.
+   * @return the overlapping events in ascending order of start time.
+   */
+  List<IEvent> getOverlapping(Temporal startTime, Temporal endTime);
+
+  /**
+   * Returns the events whose start time lies within the given bounds, ordered by start time.
+   * Both bounds are inclusive and either may be null to leave that side of the range open.
+   * When an event name is given only events with exactly that name are returned.
+   *
+   * @param eventName the name of the events to return (optional).
+   * @param from      the earliest start time to include (optional).
+   * @param to        the latest start time to include (optional).
+   * @return the events starting within the bounds in ascending order of start time.
+   */
+  List<IEvent> getStartingBetween(String eventName, Temporal from, Temporal to);
+
+  /**
+   * Returns every indexed event ordered by start time.
+   *
+   * @return all events in ascending order of start time.
+   */
+  List<IEvent> getAll();
+
+  /**
+   * Iterates over every indexed event in the same order as {@link #getAll()}, generating the
+   * occurrences of recurring events as it goes instead of collecting them up front. The index
+   * must not change while the iteration is in progress.
+   *
+   * @return an iterator over all events in ascending order of start time.
+   */
+  Iterator<IEvent> iterateAll();
+}
@@ -1,10 +1,15 @@
 package calendarapp.model;
 
+import java.io.DataOutput;
+import java.io.IOException;
 import java.time.ZoneId;
 import java.time.temporal.Temporal;
+import java.util.Iterator;
 import java.util.List;
+import java.util.function.Function;
 
 import calendarapp.model.dto.CalendarExporterDTO;
+import calendarapp.model.dto.StatusIntervalResponseDTO;
 
 /**
  * Interface for managing events in a calendar.
@@ -80,4 +85,68 @@ public interface IEventRepository {
    * @return A list of export-ready event DTOs.
    */
   List<CalendarExporterDTO> getEventsForExport();
+
+  /**
+   * Hands the events of this repository, in the order of {@link #getEventsForExport()}, to an
+   * exporter one at a time, so that exporting needs no list of every event. The events must not
+   * be used after the exporter returns.
+   *
+   * @param exporter consumes the events and returns the result of the export.
+   * @param <T>      the type of the result of the export.
+   * @return the result of the exporter.
+   */
+  <T> T exportEvents(Function<Iterator<CalendarExporterDTO>, T> exporter);
+
+  /**
+   * Hands the events of this repository to an exporter one at a time like
+   * {@link #exportEvents(Function)}, except that every recurring series is handed over as a
+   * single entry carrying its weekly rule instead of one entry per occurrence. Single events come
+   * first in order of start time, followed by the series in order of their first occurrence.
+   *
+   * @param exporter consumes the events and returns the result of the export.
+   * @param <T>      the type of the result of the export.
+   * @return the result of the exporter.
+   */
+  <T> T exportSeries(Function<Iterator<CalendarExporterDTO>, T> exporter);
+
+  /**
+   * Writes every event and recurring series of this repository in a compact binary form, from
+   * which the repository can be restored without validating the events again.
+   *
+   * @param out the output to write to.
+   * @throws IOException if writing fails.
+   */
+  void writeSnapshot(DataOutput out) throws IOException;
+
+  /**
+   * Checks whether an event is in progress at the given time.
+   *
+   * @param dateTime The time to check.
+   * @return true if an event starts before and ends after the given time, false otherwise.
+   */
+  boolean isBusy(Temporal dateTime);
+
+  /**
+   * Splits the given time range into consecutive busy and available intervals.
+   *
+   * @param startTime The start of the time range.
+   * @param endTime   The end of the time range.
+   * @return The busy and available intervals covering the range, in chronological order.
+   */
+  List<StatusIntervalResponseDTO> getStatusIntervals(Temporal startTime, Temporal endTime);
+
+  /**
+   * Starts staging changes to this repository that are validated and applied together.
+   *
+   * @return an empty batch for this repository.
+   */
+  IEventBatch beginBatch();
+
+  /**
+   * Returns the version of the events in this repository. The version grows with every change
+   * to the events, so results computed from them can be reused for as long as it stays the same.
+   *
+   * @return the current version of this repository.
+   */
+  long getVersion();
 }
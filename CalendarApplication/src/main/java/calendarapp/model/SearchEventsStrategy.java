@@ -11,13 +11,13 @@ public interface SearchEventsStrategy {
   /**
    * Searches for events based on the given parameters.
    *
-   * @param events      The list of available events.
+   * @param index       The index over the available events.
    * @param eventName   The name of the event (optional).
    * @param startTime   The start time filter (optional).
    * @param endTime     The end time filter (optional).
    * @param isRecurring Whether to filter only recurring events.
    * @return A list of matching events.
    */
-  List<IEvent> search(List<IEvent> events, String eventName, Temporal startTime, Temporal endTime,
+  List<IEvent> search(IEventIndex index, String eventName, Temporal startTime, Temporal endTime,
                       boolean isRecurring);
 }
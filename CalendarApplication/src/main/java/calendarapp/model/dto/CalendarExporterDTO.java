@@ -1,10 +1,15 @@
 package calendarapp.model.dto;
 
+import java.time.DayOfWeek;
 import java.time.temporal.Temporal;
+import java.util.List;
+import java.util.Set;
 
 /**
  * DTO representing an event to be exported from the calendar.
- * Contains event details such as timing, description, and visibility.
+ * Contains event details such as timing, description, and visibility. An entry may instead stand
+ * for a whole recurring series, in which case the timing is that of its first occurrence and the
+ * recurrence fields describe the weekly rule producing the others.
  */
 public class CalendarExporterDTO {
   private final String subject;
@@ -14,6 +19,9 @@ public class CalendarExporterDTO {
   private final String description;
   private final String location;
   private final String visibility;
+  private final Set<DayOfWeek> recurrenceDays;
+  private final Integer occurrenceCount;
+  private final List<Temporal> excludedDates;
 
   private CalendarExporterDTO(CalendarExporterDTO.Builder builder) {
     this.subject = builder.subject;
@@ -23,6 +31,9 @@ public class CalendarExporterDTO {
     this.description = builder.description;
     this.location = builder.location;
     this.visibility = builder.visibility;
+    this.recurrenceDays = builder.recurrenceDays;
+    this.occurrenceCount = builder.occurrenceCount;
+    this.excludedDates = builder.excludedDates;
   }
 
   /**
@@ -79,6 +90,42 @@ public class CalendarExporterDTO {
     return visibility;
   }
 
+  /**
+   * Returns whether this entry stands for a recurring series rather than a single event.
+   *
+   * @return true if the entry carries a recurrence rule
+   */
+  public boolean isRecurring() {
+    return recurrenceDays != null;
+  }
+
+  /**
+   * Returns the days of the week the occurrences of the series fall on.
+   *
+   * @return the recurrence days, or null if the entry is not recurring
+   */
+  public Set<DayOfWeek> getRecurrenceDays() {
+    return recurrenceDays;
+  }
+
+  /**
+   * Returns the number of occurrences the rule produces, counting the excluded ones.
+   *
+   * @return the occurrence count, or null if the entry is not recurring
+   */
+  public Integer getOccurrenceCount() {
+    return occurrenceCount;
+  }
+
+  /**
+   * Returns the start times of the occurrences produced by the rule that no longer exist.
+   *
+   * @return the excluded start times, or null if the entry is not recurring
+   */
+  public List<Temporal> getExcludedDates() {
+    return excludedDates;
+  }
+
   /**
    * Creates and returns a new Builder instance for CalendarExporterDTO.
    *
@@ -99,6 +146,9 @@ public class CalendarExporterDTO {
     private String description;
     private String location;
     private String visibility;
+    private Set<DayOfWeek> recurrenceDays;
+    private Integer occurrenceCount;
+    private List<Temporal> excludedDates;
 
     /**
      * Sets the subject of the event.
@@ -177,6 +227,39 @@ public class CalendarExporterDTO {
       return this;
     }
 
+    /**
+     * Sets the days of the week the occurrences of the series fall on.
+     *
+     * @param recurrenceDays the recurrence days
+     * @return this Builder instance
+     */
+    public Builder recurrenceDays(Set<DayOfWeek> recurrenceDays) {
+      this.recurrenceDays = recurrenceDays;
+      return this;
+    }
+
+    /**
+     * Sets the number of occurrences the rule produces, counting the excluded ones.
+     *
+     * @param occurrenceCount the occurrence count
+     * @return this Builder instance
+     */
+    public Builder occurrenceCount(Integer occurrenceCount) {
+      this.occurrenceCount = occurrenceCount;
+      return this;
+    }
+
+    /**
+     * Sets the start times of the occurrences produced by the rule that no longer exist.
+     *
+     * @param excludedDates the excluded start times
+     * @return this Builder instance
+     */
+    public Builder excludedDates(List<Temporal> excludedDates) {
+      this.excludedDates = excludedDates;
+      return this;
+    }
+
     /**
      * Builds and returns the final CalendarExporterDTO instance.
      *
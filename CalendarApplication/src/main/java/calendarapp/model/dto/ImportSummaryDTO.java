@@ -0,0 +1,83 @@
+package calendarapp.model.dto;
+
+/**
+ * DTO representing the outcome of importing events into a calendar.
+ */
+public class ImportSummaryDTO {
+  private final int importedCount;
+  private final int skippedCount;
+
+  /**
+   * Builder for constructing an ImportSummaryDTO object.
+   */
+  private ImportSummaryDTO(ImportSummaryDTO.Builder builder) {
+    this.importedCount = builder.importedCount;
+    this.skippedCount = builder.skippedCount;
+  }
+
+  /**
+   * Returns the number of events added to the calendar.
+   *
+   * @return the number of imported events.
+   */
+  public int getImportedCount() {
+    return importedCount;
+  }
+
+  /**
+   * Returns the number of events left out because they conflict.
+   *
+   * @return the number of skipped events.
+   */
+  public int getSkippedCount() {
+    return skippedCount;
+  }
+
+  /**
+   * Creates and returns a new Builder instance for ImportSummaryDTO.
+   *
+   * @return a new Builder instance.
+   */
+  public static ImportSummaryDTO.Builder builder() {
+    return new ImportSummaryDTO.Builder();
+  }
+
+  /**
+   * Builder class for constructing an ImportSummaryDTO object.
+   */
+  public static class Builder {
+    private int importedCount;
+    private int skippedCount;
+
+    /**
+     * Sets the number of events added to the calendar.
+     *
+     * @param importedCount the number of imported events.
+     * @return this Builder instance.
+     */
+    public ImportSummaryDTO.Builder importedCount(int importedCount) {
+      this.importedCount = importedCount;
+      return this;
+    }
+
+    /**
+     * Sets the number of events left out because they conflict.
+     *
+     * @param skippedCount the number of skipped events.
+     * @return this Builder instance.
+     */
+    public ImportSummaryDTO.Builder skippedCount(int skippedCount) {
+      this.skippedCount = skippedCount;
+      return this;
+    }
+
+    /**
+     * Builds and returns the final ImportSummaryDTO instance.
+     *
+     * @return the constructed ImportSummaryDTO object.
+     */
+    public ImportSummaryDTO build() {
+      return new ImportSummaryDTO(this);
+    }
+  }
+}
@@ -0,0 +1,108 @@
+package calendarapp.model.dto;
+
+import java.time.temporal.Temporal;
+
+/**
+ * DTO representing a span of time during which a calendar is either busy or available.
+ */
+public class StatusIntervalResponseDTO {
+  private final String status;
+  private final Temporal startTime;
+  private final Temporal endTime;
+
+  /**
+   * Builder for constructing a StatusIntervalResponseDTO object.
+   */
+  private StatusIntervalResponseDTO(StatusIntervalResponseDTO.Builder builder) {
+    this.status = builder.status;
+    this.startTime = builder.startTime;
+    this.endTime = builder.endTime;
+  }
+
+  /**
+   * Returns the availability status during the interval.
+   *
+   * @return the status.
+   */
+  public String getStatus() {
+    return status;
+  }
+
+  /**
+   * Returns the start time of the interval.
+   *
+   * @return the start time.
+   */
+  public Temporal getStartTime() {
+    return startTime;
+  }
+
+  /**
+   * Returns the end time of the interval.
+   *
+   * @return the end time.
+   */
+  public Temporal getEndTime() {
+    return endTime;
+  }
+
+  /**
+   * Creates and returns a new Builder instance for StatusIntervalResponseDTO.
+   *
+   * @return a new Builder instance.
+   */
+  public static StatusIntervalResponseDTO.Builder builder() {
+    return new StatusIntervalResponseDTO.Builder();
+  }
+
+  /**
+   * Builder class for constructing a StatusIntervalResponseDTO object.
+   */
+  public static class Builder {
+    private String status;
+    private Temporal startTime;
+    private Temporal endTime;
+
+    /**
+     * Sets the availability status during the interval.
+     *
+     * @param status the status.
+     * @return this Builder instance.
+     */
+    public StatusIntervalResponseDTO.Builder status(String status) {
+      this.status = status;
+      return this;
+    }
+
+    /**
+     * Sets the start time of the interval.
+     *
+     * @param startTime the start time.
+     * @return this Builder instance.
+     */
+    public StatusIntervalResponseDTO.Builder startTime(Temporal startTime) {
+      this.startTime = startTime;
+      return this;
+    }
+
+    /**
+     * Sets the end time of the interval.
+     *
+     * @param endTime the end time.
+     * @return this Builder instance.
+     */
+    public StatusIntervalResponseDTO.Builder endTime(Temporal endTime) {
+      this.endTime = endTime;
+      return this;
+    }
+
+    /**
+     * Builds and returns the final StatusIntervalResponseDTO instance.
+     *
+     * @return the constructed StatusIntervalResponseDTO object.
+     */
+    public StatusIntervalResponseDTO build() {
+      return new StatusIntervalResponseDTO(this);
+    }
+  }
+}
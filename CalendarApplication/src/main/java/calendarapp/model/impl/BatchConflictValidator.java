@@ -0,0 +1,413 @@
+package calendarapp.model.impl;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+import calendarapp.model.EventConflictException;
+import calendarapp.model.IEvent;
+
+/**
+ * Validates a batch of new events against the events of an {@link EventIndex} in one pass.
+ * The batch is swept in start order together with the existing events of the window it covers,
+ * so a batch of k events against n existing events costs O((k + n) log s), for s sources of
+ * events, rather than one index lookup per new event.
+ *
+ * <p>Neither side is materialized. Single events are read from the index as they are, and the
+ * occurrences of new and existing series are generated one at a time by a cursor per series;
+ * the cursors are merged in start order as in {@link EventIndex#iterateAll()}. Memory therefore
+ * grows with the number of series and batched single events, not with the number of occurrences
+ * swept over.
+ *
+ * <p>Two intervals conflict when each starts before the other ends. While sweeping, the largest
+ * end seen so far on each side tells whether an earlier interval of the other side still covers
+ * the current start; intervals sharing a start conflict unless one of them is empty.
+ */
+class BatchConflictValidator {
+  private static final Comparator<IEvent> START_ORDER =
+      Comparator.comparingLong(IEvent::getStartEpochSecond);
+
+  /**
+   * A time range of the sweep and the name of the event it belongs to.
+   */
+  private static final class Interval {
+    private final long start;
+    private final long end;
+    private final String name;
+
+    private Interval(long start, long end, String name) {
+      this.start = start;
+      this.end = end;
+      this.name = name;
+    }
+
+    private boolean isEmpty() {
+      return end <= start;
+    }
+  }
+
+  private final IntervalStream batch;
+  private final IntervalStream existing;
+  private final boolean checkWithinBatch;
+
+  private BatchConflictValidator(IntervalStream batch, IntervalStream existing,
+                                 boolean checkWithinBatch) {
+    this.batch = batch;
+    this.existing = existing;
+    this.checkWithinBatch = checkWithinBatch;
+  }
+
+  /**
+   * Checks that the new events and series can be added to the index without conflicts.
+   *
+   * @param index            the index holding the existing events.
+   * @param newEvents        the single events to add.
+   * @param newSeries        the recurring series to add.
+   * @param ignored          existing events that are about to be replaced.
+   * @param checkWithinBatch whether the new events must also not conflict with each other.
+   * @throws EventConflictException naming the conflicting event if there is a conflict.
+   */
+  static void validate(EventIndex index, List<IEvent> newEvents,
+                       List<RecurringSeries> newSeries, Collection<IEvent> ignored,
+                       boolean checkWithinBatch) throws EventConflictException {
+    if (newSeries.isEmpty() && newEvents.size() == 1) {
+      throwIfConflicting(index.findConflict(newEvents.get(0), ignored));
+      return;
+    }
+
+    List<IEvent> singles = new ArrayList<>(newEvents);
+    singles.sort(START_ORDER);
+    long windowStart = Long.MAX_VALUE;
+    long windowEnd = Long.MIN_VALUE;
+    for (IEvent event : singles) {
+      windowStart = Math.min(windowStart, event.getStartEpochSecond());
+      windowEnd = Math.max(windowEnd, event.getEndEpochSecond());
+    }
+    IntervalStream batch = new IntervalStream();
+    batch.add(intervals(singles.iterator(), Collections.emptySet()));
+    for (RecurringSeries series : newSeries) {
+      if (!series.isEmpty()) {
+        windowStart = Math.min(windowStart, series.getSpanStart());
+        windowEnd = Math.max(windowEnd, series.getSpanEnd());
+        batch.add(occurrences(series, series.getFirstIndex(), series.getEndIndex(),
+            Collections.emptySet()));
+      }
+    }
+    if (!batch.hasNext()) {
+      return;
+    }
+
+    IntervalStream existing = new IntervalStream();
+    addExisting(existing, index, windowStart, windowEnd, ignored);
+    String conflictingName = new BatchConflictValidator(batch, existing, checkWithinBatch)
+        .sweep();
+    if (conflictingName != null) {
+      throw conflict(conflictingName);
+    }
+  }
+
+  /**
+   * Picks the new single events that can be added to the index without conflicts. The new
+   * events are swept in start order against the existing events of the window they cover and
+   * the occurrences of the new series, which are kept as they are, and an event is kept unless
+   * it conflicts with one of those or with a kept event starting before it. Of new events that
+   * conflict with each other, the one starting first is thus kept, and of those sharing a start,
+   * the first in the list.
+   *
+   * @param index     the index holding the existing events.
+   * @param newEvents the single events to add.
+   * @param newSeries the recurring series to add, which are not checked here.
+   * @return the new events that do not conflict, in order of start time.
+   */
+  static List<IEvent> withoutConflicts(EventIndex index, List<IEvent> newEvents,
+                                       List<RecurringSeries> newSeries) {
+    List<IEvent> candidates = new ArrayList<>(newEvents);
+    if (candidates.isEmpty()) {
+      return candidates;
+    }
+    candidates.sort(START_ORDER);
+
+    long windowStart = candidates.get(0).getStartEpochSecond();
+    long windowEnd = Long.MIN_VALUE;
+    for (IEvent event : candidates) {
+      windowEnd = Math.max(windowEnd, event.getEndEpochSecond());
+    }
+    IntervalStream fixed = new IntervalStream();
+    addExisting(fixed, index, windowStart, windowEnd, Collections.emptySet());
+    for (RecurringSeries series : newSeries) {
+      if (!series.isEmpty()) {
+        fixed.add(occurrences(series, series.firstOverlappingIndex(windowStart),
+            series.indexAtOrAfterClamped(windowEnd), Collections.emptySet()));
+      }
+    }
+
+    List<IEvent> kept = new ArrayList<>(candidates.size());
+    long fixedEnd = Long.MIN_VALUE;
+    long fixedGroupEnd = Long.MIN_VALUE;
+    boolean fixedGroupHasNonEmpty = false;
+    long keptEnd = Long.MIN_VALUE;
+    long groupStart = Long.MIN_VALUE;
+    long groupEnd = Long.MIN_VALUE;
+    boolean groupHasNonEmpty = false;
+    for (IEvent event : candidates) {
+      long start = event.getStartEpochSecond();
+      long end = event.getEndEpochSecond();
+      if (start != groupStart) {
+        keptEnd = Math.max(keptEnd, groupEnd);
+        fixedEnd = Math.max(fixedEnd, fixedGroupEnd);
+        while (fixed.hasNext() && fixed.peek().start < start) {
+          fixedEnd = Math.max(fixedEnd, fixed.next().end);
+        }
+        groupStart = start;
+        groupEnd = Long.MIN_VALUE;
+        groupHasNonEmpty = false;
+        fixedGroupEnd = Long.MIN_VALUE;
+        fixedGroupHasNonEmpty = false;
+        while (fixed.hasNext() && fixed.peek().start == start) {
+          Interval interval = fixed.next();
+          fixedGroupEnd = Math.max(fixedGroupEnd, interval.end);
+          fixedGroupHasNonEmpty |= !interval.isEmpty();
+        }
+      }
+
+      boolean empty = end <= start;
+      if (fixedEnd > start || keptEnd > start
+          || (!empty && (groupHasNonEmpty || fixedGroupHasNonEmpty))
+          || (fixed.hasNext() && fixed.peek().start < end)) {
+        continue;
+      }
+      kept.add(event);
+      groupEnd = Math.max(groupEnd, end);
+      groupHasNonEmpty |= !empty;
+    }
+    return kept;
+  }
+
+  /**
+   * Adds the existing events that overlap the window (start, end), less the ignored ones, to a
+   * stream: the single events as one source and every overlapping series as a source of its own.
+   */
+  private static void addExisting(IntervalStream stream, EventIndex index, long start,
+                                  long end, Collection<IEvent> ignored) {
+    stream.add(intervals(index.iterateSingleEventsOverlapping(start, end), ignored));
+    for (RecurringSeries series : index.getSeriesOverlapping(start, end)) {
+      stream.add(occurrences(series, series.firstOverlappingIndex(start),
+          series.indexAtOrAfterClamped(end), ignored));
+    }
+  }
+
+  /**
+   * Returns the intervals of start ordered events, skipping the ignored ones.
+   */
+  private static Iterator<Interval> intervals(Iterator<IEvent> events,
+                                              Collection<IEvent> ignored) {
+    return new IntervalIterator() {
+      @Override
+      Interval advance() {
+        while (events.hasNext()) {
+          IEvent event = events.next();
+          if (ignored.isEmpty() || !ignored.contains(event)) {
+            return new Interval(event.getStartEpochSecond(), event.getEndEpochSecond(),
+                event.getName());
+          }
+        }
+        return null;
+      }
+    };
+  }
+
+  /**
+   * Returns the intervals of the occurrences of a series in an index range, generating each one
+   * only when the sweep reaches it. Excluded and ignored occurrences are skipped; an occurrence
+   * is only built as an event to compare it with the ignored events when one of them starts at
+   * the same time.
+   */
+  private static Iterator<Interval> occurrences(RecurringSeries series, int fromIndex,
+                                                int toIndex, Collection<IEvent> ignored) {
+    Set<Long> ignoredStarts = new HashSet<>();
+    for (IEvent event : ignored) {
+      ignoredStarts.add(event.getStartEpochSecond());
+    }
+    return new IntervalIterator() {
+      private int index = fromIndex;
+
+      @Override
+      Interval advance() {
+        while (index < toIndex) {
+          int position = index++;
+          long start = series.startOf(position);
+          if (!series.isExcluded(position) && (ignoredStarts.isEmpty()
+              || !ignoredStarts.contains(start)
+              || !ignored.contains(series.occurrence(position)))) {
+            return new Interval(start, start + series.getDuration(), series.getName());
+          }
+        }
+        return null;
+      }
+    };
+  }
+
+  /**
+   * Sweeps both streams, one group of equal start times at a time.
+   *
+   * @return the name of the first conflicting event, or null if there is no conflict.
+   */
+  private String sweep() {
+    Interval latestBatch = null;
+    Interval latestExisting = null;
+
+    while (batch.hasNext() || (existing.hasNext() && latestBatch != null
+        && existing.peek().start < latestBatch.end)) {
+      long start = Math.min(batch.hasNext() ? batch.peek().start : Long.MAX_VALUE,
+          existing.hasNext() ? existing.peek().start : Long.MAX_VALUE);
+      boolean hasBatchGroup = batch.hasNext() && batch.peek().start == start;
+      boolean hasExistingGroup = existing.hasNext() && existing.peek().start == start;
+
+      if (hasBatchGroup && covers(latestExisting, start)) {
+        return latestExisting.name;
+      }
+      if (hasBatchGroup && checkWithinBatch && covers(latestBatch, start)) {
+        return latestBatch.name;
+      }
+      if (hasExistingGroup && covers(latestBatch, start)) {
+        return existing.peek().name;
+      }
+
+      Interval firstNonEmptyBatch = null;
+      while (batch.hasNext() && batch.peek().start == start) {
+        Interval interval = batch.next();
+        if (!interval.isEmpty()) {
+          if (firstNonEmptyBatch != null && checkWithinBatch) {
+            return firstNonEmptyBatch.name;
+          }
+          if (firstNonEmptyBatch == null) {
+            firstNonEmptyBatch = interval;
+          }
+        }
+        latestBatch = later(latestBatch, interval);
+      }
+      while (existing.hasNext() && existing.peek().start == start) {
+        Interval interval = existing.next();
+        if (firstNonEmptyBatch != null && !interval.isEmpty()) {
+          return interval.name;
+        }
+        latestExisting = later(latestExisting, interval);
+      }
+    }
+    return null;
+  }
+
+  private static boolean covers(Interval interval, long start) {
+    return interval != null && interval.end > start;
+  }
+
+  private static Interval later(Interval current, Interval candidate) {
+    return current == null || candidate.end > current.end ? candidate : current;
+  }
+
+  private static void throwIfConflicting(IEvent existingEvent) throws EventConflictException {
+    if (existingEvent != null) {
+      throw conflict(existingEvent.getName());
+    }
+  }
+
+  private static EventConflictException conflict(String name) {
+    return new EventConflictException("Event conflicts with existing event: " + name);
+  }
+
+  /**
+   * Iterator over intervals that are computed one ahead by {@link #advance()}.
+   */
+  private abstract static class IntervalIterator implements Iterator<Interval> {
+    private Interval next;
+    private boolean started;
+
+    /**
+     * Computes the interval after the last one returned.
+     *
+     * @return the next interval, or null if there are no more.
+     */
+    abstract Interval advance();
+
+    @Override
+    public boolean hasNext() {
+      if (!started) {
+        next = advance();
+        started = true;
+      }
+      return next != null;
+    }
+
+    @Override
+    public Interval next() {
+      if (!hasNext()) {
+        throw new NoSuchElementException();
+      }
+      Interval current = next;
+      next = advance();
+      return current;
+    }
+  }
+
+  /**
+   * Merges start ordered sources of intervals into one start ordered stream through a queue
+   * holding one cursor per source. Ties are broken by the order the sources were added in.
+   */
+  private static final class IntervalStream {
+    private final PriorityQueue<Cursor> cursors = new PriorityQueue<>();
+    private int sources;
+
+    private void add(Iterator<Interval> intervals) {
+      if (intervals.hasNext()) {
+        cursors.add(new Cursor(intervals, sources++));
+      }
+    }
+
+    private boolean hasNext() {
+      return !cursors.isEmpty();
+    }
+
+    private Interval peek() {
+      return cursors.element().head;
+    }
+
+    private Interval next() {
+      Cursor cursor = cursors.remove();
+      Interval interval = cursor.head;
+      if (cursor.intervals.hasNext()) {
+        cursor.head = cursor.intervals.next();
+        cursors.add(cursor);
+      }
+      return interval;
+    }
+  }
+
+  /**
+   * Position in one start ordered source of intervals, ordered by the start of its next interval
+   * and then by the rank of the source.
+   */
+  private static final class Cursor implements Comparable<Cursor> {
+    private final Iterator<Interval> intervals;
+    private final int rank;
+    private Interval head;
+
+    private Cursor(Iterator<Interval> intervals, int rank) {
+      this.intervals = intervals;
+      this.rank = rank;
+      this.head = intervals.next();
+    }
+
+    @Override
+    public int compareTo(Cursor other) {
+      int byStart = Long.compare(head.start, other.head.start);
+      return byStart != 0 ? byStart : Integer.compare(rank, other.rank);
+    }
+  }
+}
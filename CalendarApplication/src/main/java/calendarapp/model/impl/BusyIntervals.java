@@ -0,0 +1,103 @@
+package calendarapp.model.impl;
+
+import java.util.List;
+
+/**
+ * Coalesced set of the busy time of the single events of a calendar.
+ * Every event contributes the open interval (start, end) during which it makes the calendar
+ * busy, and overlapping contributions are merged into a single block, so the set holds disjoint
+ * blocks in start order. Events that only touch stay separate blocks, which keeps the instant
+ * at which one event ends and the next starts available, as it is for a single event.
+ *
+ * <p>Blocks are kept in an {@link IntervalTree}, so checking a point is a single descent
+ * through the tree without allocating. Merging forgets which events formed a block, so the
+ * owner of the set rebuilds a block from its remaining events when one of them is removed.
+ */
+public class BusyIntervals {
+  private final IntervalTree<long[]> blocks;
+
+  /**
+   * Constructs an empty BusyIntervals set.
+   */
+  public BusyIntervals() {
+    this.blocks = new IntervalTree<>();
+  }
+
+  /**
+   * Marks the open interval (start, end) as busy, merging it with the blocks it overlaps.
+   *
+   * @param start the start of the interval in epoch seconds.
+   * @param end   the end of the interval in epoch seconds.
+   */
+  public void add(long start, long end) {
+    if (end <= start) {
+      return;
+    }
+    long mergedStart = start;
+    long mergedEnd = end;
+    for (long[] block : blocks.getOverlapping(start, end)) {
+      mergedStart = Math.min(mergedStart, block[0]);
+      mergedEnd = Math.max(mergedEnd, block[1]);
+      blocks.remove(block, block[0]);
+    }
+    blocks.add(new long[]{mergedStart, mergedEnd}, mergedStart, mergedEnd);
+  }
+
+  /**
+   * Removes the block that contains the open interval (start, end) and returns its bounds, so
+   * that the caller can add back the intervals that still make up that time.
+   *
+   * @param start the start of the interval in epoch seconds.
+   * @param end   the end of the interval in epoch seconds.
+   * @return the start and end of the removed block, or null if no block contains the interval.
+   */
+  public long[] removeBlock(long start, long end) {
+    if (end <= start) {
+      return null;
+    }
+    long[] block = blocks.findFirstOverlapping(start, end);
+    if (block == null) {
+      return null;
+    }
+    blocks.remove(block, block[0]);
+    return block;
+  }
+
+  /**
+   * Checks whether the given time lies strictly inside a busy block.
+   *
+   * @param time the time in epoch seconds.
+   * @return true if the time is busy, false otherwise.
+   */
+  public boolean isBusy(long time) {
+    return blocks.findFirstOverlapping(time, time) != null;
+  }
+
+  /**
+   * Returns the busy blocks overlapping the range (start, end) in start order, each as a
+   * two-element array of start and end.
+   *
+   * @param start the start of the range in epoch seconds.
+   * @param end   the end of the range in epoch seconds.
+   * @return the overlapping blocks.
+   */
+  public List<long[]> getBlocks(long start, long end) {
+    return blocks.getOverlapping(start, end);
+  }
+
+  /**
+   * Returns the number of blocks in the set.
+   *
+   * @return the number of disjoint busy blocks.
+   */
+  public int size() {
+    return blocks.size();
+  }
+
+  /**
+   * Removes every block from the set.
+   */
+  public void clear() {
+    blocks.clear();
+  }
+}
@@ -1,7 +1,16 @@
 package calendarapp.model.impl;
 
+import java.io.IOException;
 import java.time.temporal.Temporal;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 import calendarapp.controller.InvalidCommandException;
@@ -9,34 +18,93 @@ import calendarapp.model.EventConflictException;
 import calendarapp.model.ICalendar;
 import calendarapp.model.ICalendarModel;
 import calendarapp.model.ICalendarRepository;
+import calendarapp.model.IEventBatch;
+import calendarapp.model.IEventRepository;
 import calendarapp.model.SearchType;
 import calendarapp.model.dto.CalendarExporterDTO;
 import calendarapp.model.dto.CopyEventRequestDTO;
+import calendarapp.model.dto.ImportSummaryDTO;
 import calendarapp.model.dto.PrintEventsResponseDTO;
+import calendarapp.model.dto.StatusIntervalResponseDTO;
 
 import static calendarapp.model.impl.Constants.Calendar.DEFAULT_CALENDAR_NAME;
 import static calendarapp.utils.TimeUtil.getEndOfDayFromString;
 import static calendarapp.utils.TimeUtil.getTemporalFromString;
+import static calendarapp.utils.TimeUtil.isFirstBeforeSecond;
 
 /**
  * The CalendarModel class implements the ICalendarModel interface
  * and is responsible for managing calendar events, including creating, editing,
  * and displaying events, handling conflicts, and exporting events in a specific format.
+ * Results of print and show queries are cached per calendar until its events change.
+ * When a {@link WriteAheadLog} is given, every change to the calendars is logged as it is made.
  */
 public class CalendarModel implements ICalendarModel {
+  private static final int QUERY_CACHE_CAPACITY = 256;
 
   private final ICalendarRepository calendarRepository;
+  private final WriteAheadLog log;
+  private final Map<IEventRepository, QueryResultCache> queryCaches = new HashMap<>();
   private ICalendar activeCalendar;
+  private Map<IEventRepository, IEventBatch> batches;
+  private List<byte[]> batchRecords;
 
   /**
    * Constructs a CalendarModel object, initializing the event list and day mapping.
    */
   public CalendarModel() {
     calendarRepository = new CalendarRepository();
+    log = null;
     calendarRepository.addCalendar(DEFAULT_CALENDAR_NAME, null, new EventRepository());
     activeCalendar = calendarRepository.getCalendar(DEFAULT_CALENDAR_NAME);
   }
 
+  /**
+   * Constructs a CalendarModel over calendars of its own that logs every change it makes to them
+   * in a write-ahead log. The calendars and the log are brought up to date with
+   * {@link #recover} before the first change.
+   *
+   * @param log the log of the changes.
+   */
+  public CalendarModel(WriteAheadLog log) {
+    this(new CalendarRepository(), log);
+  }
+
+  /**
+   * Constructs a CalendarModel over a calendar repository that may be shared with other models,
+   * such as a {@link ConcurrentCalendarRepository}. The default calendar is created if the
+   * repository does not have it yet and becomes the active calendar.
+   * Each model tracks its own active calendar, so a model serves a single client while the
+   * repository is shared between them.
+   *
+   * @param calendarRepository the repository holding the calendars.
+   */
+  public CalendarModel(ICalendarRepository calendarRepository) {
+    this(calendarRepository, null);
+  }
+
+  /**
+   * Constructs a CalendarModel over a calendar repository that logs every change it makes to
+   * the calendars in a write-ahead log. Models sharing a repository share its log as well.
+   * The calendars and the log are brought up to date with {@link #recover} before the first
+   * change.
+   *
+   * @param calendarRepository the repository holding the calendars.
+   * @param log                the log of the changes, or null to not log them.
+   */
+  public CalendarModel(ICalendarRepository calendarRepository, WriteAheadLog log) {
+    this.calendarRepository = calendarRepository;
+    this.log = log;
+    if (calendarRepository.getCalendar(DEFAULT_CALENDAR_NAME) == null) {
+      try {
+        calendarRepository.addCalendar(DEFAULT_CALENDAR_NAME, null, new EventRepository());
+      } catch (InvalidCommandException e) {
+        // Another model sharing the repository created it first.
+      }
+    }
+    activeCalendar = calendarRepository.getCalendar(DEFAULT_CALENDAR_NAME);
+  }
+
   /**
    * Creates a new event, either recurring or one-time.
    *
@@ -58,9 +126,22 @@ public class CalendarModel implements ICalendarModel {
                           String recurringDays, String occurrenceCount, String recurrenceEndDate,
                           String description, String location, String visibility,
                           boolean autoDecline) throws EventConflictException {
-    activeCalendar.getEventRepository().create(eventName, getTemporalFromString(startTime),
-        getTemporalFromString(endTime), description, location, visibility, recurringDays,
-        occurrenceCount, getEndOfDayFromString(recurrenceEndDate), true);
+    Temporal start = getTemporalFromString(startTime);
+    Temporal end = getTemporalFromString(endTime);
+    Temporal recurrenceEnd = getEndOfDayFromString(recurrenceEndDate);
+    Supplier<byte[]> record = () -> MutationRecord.createEvent(activeCalendar.getName(),
+        eventName, start, end, recurringDays, occurrenceCount,
+        getTemporalFromString(recurrenceEndDate), description, location, visibility,
+        autoDecline);
+    if (batches != null) {
+      getBatch(activeCalendar).create(eventName, start, end, description, location, visibility,
+          recurringDays, occurrenceCount, recurrenceEnd);
+      stage(record);
+      return;
+    }
+    IEventRepository repository = activeCalendar.getEventRepository();
+    logged(record, () -> repository.create(eventName, start, end, description, location,
+        visibility, recurringDays, occurrenceCount, recurrenceEnd, true));
   }
 
   /**
@@ -75,8 +156,12 @@ public class CalendarModel implements ICalendarModel {
   @Override
   public void editEvent(String eventName, String startTime, String endTime, String property,
                         String value) {
-    activeCalendar.getEventRepository().update(eventName, getTemporalFromString(startTime),
-        getTemporalFromString(endTime), property, value);
+    rejectInBatch();
+    Temporal start = getTemporalFromString(startTime);
+    Temporal end = getTemporalFromString(endTime);
+    IEventRepository repository = activeCalendar.getEventRepository();
+    logged(() -> MutationRecord.editEvent(activeCalendar.getName(), eventName, start, end,
+        property, value), () -> repository.update(eventName, start, end, property, value));
   }
 
   /**
@@ -99,16 +184,20 @@ public class CalendarModel implements ICalendarModel {
       endTemporal = getEndOfDayFromString(on);
     }
 
-    return activeCalendar.getEventRepository()
-        .getEvents(null, startTemporal, endTemporal, SearchType.OVERLAPPING)
-        .stream()
-        .map(event -> PrintEventsResponseDTO.builder()
-            .eventName(event.getName())
-            .startTime(event.getStartTime())
-            .endTime(event.getEndTime())
-            .location(event.getLocation())
-            .build())
-        .collect(Collectors.toList());
+    Temporal start = startTemporal;
+    Temporal end = endTemporal;
+    IEventRepository repository = activeCalendar.getEventRepository();
+    return getQueryCache(repository).get(repository.getVersion(),
+        () -> Collections.unmodifiableList(repository
+            .getEvents(null, start, end, SearchType.OVERLAPPING)
+            .stream()
+            .map(event -> PrintEventsResponseDTO.builder()
+                .eventName(event.getName())
+                .startTime(event.getStartTime())
+                .endTime(event.getEndTime())
+                .location(event.getLocation())
+                .build())
+            .collect(Collectors.toList())), "print", start, end);
   }
 
   @Override
@@ -116,6 +205,62 @@ public class CalendarModel implements ICalendarModel {
     return activeCalendar.getEventRepository().getEventsForExport();
   }
 
+  @Override
+  public <T> T exportEvents(Function<Iterator<CalendarExporterDTO>, T> exporter) {
+    return activeCalendar.getEventRepository().exportEvents(exporter);
+  }
+
+  @Override
+  public <T> T exportSeries(Function<Iterator<CalendarExporterDTO>, T> exporter) {
+    return activeCalendar.getEventRepository().exportSeries(exporter);
+  }
+
+  /**
+   * Imports events into the active calendar through a batch of its own, so that the whole
+   * import takes one conflict sweep however many events it has. With a write-ahead log, the
+   * import is logged once it is committed, as a sequence of records holding the events it added.
+   *
+   * @param events        the events to add.
+   * @param skipConflicts whether conflicting events are left out instead of failing the import.
+   * @return the number of events added and left out.
+   * @throws EventConflictException if an event conflicts and conflicts are not skipped.
+   * @throws InvalidCommandException if a batch is open.
+   */
+  @Override
+  public ImportSummaryDTO importEvents(Iterator<CalendarExporterDTO> events,
+                                       boolean skipConflicts) throws EventConflictException {
+    if (batches != null) {
+      throw new InvalidCommandException("Events cannot be imported in a batch.\n");
+    }
+    IEventBatch batch = activeCalendar.getEventRepository().beginBatch();
+    int count = 0;
+    while (events.hasNext()) {
+      CalendarExporterDTO event = events.next();
+      batch.create(event.getSubject(), event.getStartDate(), event.getEndDate(),
+          event.getDescription(), event.getLocation(), event.getVisibility(), null, null, null);
+      count++;
+    }
+
+    int[] skipped = new int[1];
+    Runnable commit = () -> {
+      if (skipConflicts) {
+        skipped[0] = batch.dropConflicting();
+      }
+      batch.commit();
+    };
+    if (log == null) {
+      commit.run();
+    } else {
+      String calendarName = activeCalendar.getName();
+      log.append(commit, () -> MutationRecord.importEvents(calendarName,
+          batch.getCommittedEvents()));
+    }
+    return ImportSummaryDTO.builder()
+        .importedCount(count - skipped[0])
+        .skippedCount(skipped[0])
+        .build();
+  }
+
   /**
    * Checks the availability status of the user for a given date-time.
    *
@@ -124,20 +269,46 @@ public class CalendarModel implements ICalendarModel {
    */
   @Override
   public String showStatus(String dateTime) {
-    boolean isAvailable = activeCalendar.getEventRepository()
-        .getEvents(null, getTemporalFromString(dateTime),
-            getTemporalFromString(dateTime), SearchType.OVERLAPPING).isEmpty();
-    return isAvailable ? Constants.Status.AVAILABLE : Constants.Status.BUSY;
+    Temporal temporal = getTemporalFromString(dateTime);
+    IEventRepository repository = activeCalendar.getEventRepository();
+    return getQueryCache(repository).get(repository.getVersion(),
+        () -> repository.isBusy(temporal) ? Constants.Status.BUSY : Constants.Status.AVAILABLE,
+        "status", temporal);
+  }
+
+  /**
+   * Lists the busy and available intervals of the active calendar within a time range.
+   *
+   * @param startDateTime The start date-time of the range.
+   * @param endDateTime   The end date-time of the range.
+   * @return The busy and available intervals covering the range, in chronological order.
+   * @throws InvalidCommandException if the range does not end after it starts.
+   */
+  @Override
+  public List<StatusIntervalResponseDTO> showStatus(String startDateTime, String endDateTime) {
+    Temporal startTemporal = getTemporalFromString(startDateTime);
+    Temporal endTemporal = getTemporalFromString(endDateTime);
+    if (!isFirstBeforeSecond(startTemporal, endTemporal)) {
+      throw new InvalidCommandException("End time must be after start time.\n");
+    }
+    IEventRepository repository = activeCalendar.getEventRepository();
+    return getQueryCache(repository).get(repository.getVersion(),
+        () -> Collections.unmodifiableList(
+            repository.getStatusIntervals(startTemporal, endTemporal)),
+        "intervals", startTemporal, endTemporal);
   }
 
   @Override
   public void createCalendar(String calendarName, String timezone) {
-    calendarRepository.addCalendar(calendarName, timezone, new EventRepository());
+    logged(() -> MutationRecord.createCalendar(calendarName, timezone),
+        () -> calendarRepository.addCalendar(calendarName, timezone, new EventRepository()));
   }
 
   @Override
   public void editCalendar(String calendarName, String propertyName, String propertyValue) {
-    calendarRepository.editCalendar(calendarName, propertyName, propertyValue);
+    rejectInBatch();
+    logged(() -> MutationRecord.editCalendar(calendarName, propertyName, propertyValue),
+        () -> calendarRepository.editCalendar(calendarName, propertyName, propertyValue));
   }
 
   @Override
@@ -151,6 +322,200 @@ public class CalendarModel implements ICalendarModel {
 
   @Override
   public void copyEvent(CopyEventRequestDTO copyEventRequestDTO) {
-    calendarRepository.copyCalendarEvents(activeCalendar.getName(), copyEventRequestDTO);
+    Supplier<byte[]> record = () -> MutationRecord.copyEvent(activeCalendar.getName(),
+        copyEventRequestDTO);
+    if (batches == null) {
+      String calendarName = activeCalendar.getName();
+      logged(record,
+          () -> calendarRepository.copyCalendarEvents(calendarName, copyEventRequestDTO));
+      return;
+    }
+    ICalendar currentCalendar = calendarRepository.getCalendar(activeCalendar.getName());
+    ICalendar toCalendar = calendarRepository.getCalendar(
+        copyEventRequestDTO.getCopyCalendarName());
+    if (currentCalendar == null || toCalendar == null) {
+      throw new InvalidCommandException("Calendar does not exist.\n");
+    }
+    getBatch(toCalendar).copyEvents(
+        CalendarRepository.getEventsToCopy(currentCalendar, copyEventRequestDTO),
+        copyEventRequestDTO.getCopyToDate(), currentCalendar.getZoneId(), toCalendar.getZoneId());
+    stage(record);
+  }
+
+  @Override
+  public void beginBatch() {
+    if (batches != null) {
+      throw new InvalidCommandException("A batch is already open.\n");
+    }
+    batches = new LinkedHashMap<>();
+    batchRecords = new ArrayList<>();
+  }
+
+  /**
+   * Commits the open batch. Every calendar's staged events are validated before any of them is
+   * added, so a conflict in one calendar leaves all of them unchanged. The calendars are locked
+   * in the order they were added for the validation and the commit, so other clients sharing
+   * them cannot change any of them in between.
+   *
+   * @throws EventConflictException if a staged event conflicts.
+   * @throws InvalidCommandException if no batch is open.
+   */
+  @Override
+  public void commitBatch() throws EventConflictException {
+    if (batches == null) {
+      throw new InvalidCommandException("No batch is open.\n");
+    }
+    List<IEventBatch> openBatches = new ArrayList<>(batches.size());
+    for (ICalendar calendar : calendarRepository.getCalendars()) {
+      IEventBatch batch = batches.get(calendar.getEventRepository());
+      if (batch != null) {
+        openBatches.add(batch);
+      }
+    }
+    List<byte[]> records = batchRecords;
+    batches = null;
+    batchRecords = null;
+    Runnable commit = () -> {
+      for (IEventBatch batch : openBatches) {
+        batch.validate();
+      }
+      for (IEventBatch batch : openBatches) {
+        batch.commit();
+      }
+    };
+    for (int i = openBatches.size() - 1; i >= 0; i--) {
+      IEventBatch batch = openBatches.get(i);
+      Runnable locked = commit;
+      commit = () -> batch.runLocked(locked);
+    }
+    logged(() -> MutationRecord.batch(records), commit);
+  }
+
+  /**
+   * Saves a snapshot of every calendar. With a write-ahead log, the snapshot is a checkpoint:
+   * no change is made while it is saved, and the log starts over after it.
+   *
+   * @param filePath the path of the snapshot file.
+   * @throws InvalidCommandException if the snapshot cannot be saved.
+   */
+  @Override
+  public void saveSnapshot(String filePath) {
+    try {
+      if (log == null) {
+        CalendarSnapshot.write(filePath, calendarRepository.getCalendars(), 0);
+      } else {
+        log.checkpoint(sequence -> CalendarSnapshot.write(filePath,
+            calendarRepository.getCalendars(), sequence));
+      }
+    } catch (IOException e) {
+      throw new InvalidCommandException("Cannot save snapshot: " + e.getMessage() + "\n");
+    }
+  }
+
+  @Override
+  public void loadSnapshot(String filePath) {
+    if (batches != null) {
+      throw new InvalidCommandException("Snapshots cannot be loaded in a batch.\n");
+    }
+    if (log != null) {
+      throw new InvalidCommandException(
+          "Snapshots cannot be loaded while changes are logged.\n");
+    }
+    if (calendarRepository instanceof ConcurrentCalendarRepository) {
+      // The other models would keep working on the calendars the snapshot replaced.
+      throw new InvalidCommandException(
+          "Snapshots cannot be loaded while the calendars are shared.\n");
+    }
+    restore(filePath);
+  }
+
+  /**
+   * Brings the calendars up to date when the application starts: loads the last snapshot, if
+   * any, then replays the changes of the write-ahead log made after it was saved. The log is
+   * ready for new changes afterwards.
+   *
+   * @param snapshotPath the path of the last snapshot, or null to start without one.
+   * @throws InvalidCommandException if the snapshot cannot be loaded or the log cannot be
+   *                                 replayed.
+   */
+  public void recover(String snapshotPath) {
+    long sequence = snapshotPath == null ? 0 : restore(snapshotPath);
+    if (log == null) {
+      return;
+    }
+    try {
+      log.replay(sequence, new CalendarModel(calendarRepository));
+    } catch (IOException e) {
+      throw new InvalidCommandException("Cannot replay write-ahead log: " + e.getMessage()
+          + "\n");
+    }
+    queryCaches.clear();
+    selectActiveCalendar();
+  }
+
+  private long restore(String filePath) {
+    CalendarSnapshot snapshot;
+    try {
+      snapshot = CalendarSnapshot.read(filePath);
+    } catch (IOException e) {
+      throw new InvalidCommandException("Cannot load snapshot: " + e.getMessage() + "\n");
+    }
+    calendarRepository.replaceCalendars(snapshot.getCalendars());
+    if (calendarRepository.getCalendar(DEFAULT_CALENDAR_NAME) == null) {
+      calendarRepository.addCalendar(DEFAULT_CALENDAR_NAME, null, new EventRepository());
+    }
+    queryCaches.clear();
+    selectActiveCalendar();
+    return snapshot.getLogSequence();
+  }
+
+  /**
+   * Selects the calendar of the active calendar's name again after the calendars were
+   * replaced, or the default calendar if there is none.
+   */
+  private void selectActiveCalendar() {
+    ICalendar active = calendarRepository.getCalendar(activeCalendar.getName());
+    activeCalendar = active != null ? active
+        : calendarRepository.getCalendar(DEFAULT_CALENDAR_NAME);
+  }
+
+  /**
+   * Makes a change to the calendars, logging it if there is a log.
+   */
+  private void logged(Supplier<byte[]> record, Runnable change) {
+    if (log == null) {
+      change.run();
+    } else {
+      log.append(record.get(), change);
+    }
+  }
+
+  /**
+   * Keeps the record of a change staged in the open batch, to log it when the batch commits.
+   */
+  private void stage(Supplier<byte[]> record) {
+    if (log != null) {
+      batchRecords.add(record.get());
+    }
+  }
+
+  /**
+   * Returns the cache of print and show results over the events of a calendar. Results are
+   * dropped as soon as the events change, so a cached result is always the one the query would
+   * compute now.
+   */
+  private QueryResultCache getQueryCache(IEventRepository repository) {
+    return queryCaches.computeIfAbsent(repository,
+        r -> new QueryResultCache(QUERY_CACHE_CAPACITY));
+  }
+
+  private IEventBatch getBatch(ICalendar calendar) {
+    return batches.computeIfAbsent(calendar.getEventRepository(), IEventRepository::beginBatch);
+  }
+
+  private void rejectInBatch() {
+    if (batches != null) {
+      throw new InvalidCommandException("Events and calendars cannot be edited in a batch.\n");
+    }
   }
 }
@@ -8,6 +8,7 @@ import java.util.function.BiConsumer;
 import calendarapp.controller.InvalidCommandException;
 import calendarapp.model.ICalendar;
 import calendarapp.model.ICalendarRepository;
+import calendarapp.model.IEvent;
 import calendarapp.model.IEventRepository;
 import calendarapp.model.SearchType;
 import calendarapp.model.dto.CopyEventRequestDTO;
@@ -76,17 +77,31 @@ public class CalendarRepository implements ICalendarRepository {
       throw new InvalidCommandException("Calendar does not exist.\n");
     }
 
+    toCalendar.getEventRepository().copyEvents(
+        getEventsToCopy(currentCalendar, copyEventRequestDTO),
+        copyEventRequestDTO.getCopyToDate(), currentCalendar.getZoneId(), toCalendar.getZoneId());
+  }
+
+  /**
+   * Finds the events of a calendar that a copy request selects: a single event by name and
+   * start time, or every event overlapping a day or a range.
+   *
+   * @param currentCalendar     the calendar to copy from.
+   * @param copyEventRequestDTO the copy request.
+   * @return the events to copy, in start order.
+   */
+  static List<IEvent> getEventsToCopy(ICalendar currentCalendar,
+                                      CopyEventRequestDTO copyEventRequestDTO) {
     Temporal endTime = copyEventRequestDTO.getEndTime();
     if (copyEventRequestDTO.getEventName() == null && copyEventRequestDTO.getEndTime() == null) {
       endTime = TimeUtil.getEndOfDayFromString(copyEventRequestDTO.getStartTime().toString());
     }
 
-    toCalendar.getEventRepository().copyEvents(currentCalendar.getEventRepository()
-            .getEvents(copyEventRequestDTO.getEventName(),
-                copyEventRequestDTO.getStartTime(), endTime,
-                copyEventRequestDTO.getEventName() == null ? SearchType.MATCHING :
-                    SearchType.EXACT),
-        copyEventRequestDTO.getCopyToDate(), currentCalendar.getZoneId(), toCalendar.getZoneId());
+    return currentCalendar.getEventRepository()
+        .getEvents(copyEventRequestDTO.getEventName(),
+            copyEventRequestDTO.getStartTime(), endTime,
+            copyEventRequestDTO.getEventName() == null ? SearchType.MATCHING :
+                SearchType.EXACT);
   }
 
   @Override
@@ -95,4 +110,14 @@ public class CalendarRepository implements ICalendarRepository {
         .filter(calendar -> calendar.getName().equals(calendarName))
         .findFirst().orElse(null);
   }
+
+  @Override
+  public List<ICalendar> getCalendars() {
+    return new ArrayList<>(calendars);
+  }
+
+  @Override
+  public void replaceCalendars(List<ICalendar> calendars) {
+    this.calendars = new ArrayList<>(calendars);
+  }
 }
@@ -0,0 +1,142 @@
+package calendarapp.model.impl;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.DateTimeException;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+
+import calendarapp.model.ICalendar;
+
+/**
+ * Binary snapshot of every calendar, used to save the state of a model and to restore it much
+ * faster than replaying the commands that built it.
+ *
+ * <p>A snapshot starts with a magic number and a format version, followed by the sequence number
+ * of the last change of the {@link WriteAheadLog} it includes, or 0 if no log was open, and the
+ * number of calendars. Each calendar is written as its name and zone id followed by the events
+ * of its repository, as written by {@link EventRepository#writeSnapshot}. Restoring reads the
+ * events back into new repositories without validating them against each other, since they were
+ * free of conflicts when they were saved.
+ *
+ * <p>Snapshots are written to a temporary file next to the target, synced to the disk and then
+ * moved over it, so an existing snapshot is never left half overwritten.
+ */
+final class CalendarSnapshot {
+  private static final int MAGIC = 0x43414C53;
+  private static final int VERSION = 2;
+  private static final int VERSION_WITHOUT_LOG = 1;
+  private static final int BUFFER_SIZE = 1 << 16;
+
+  private final List<ICalendar> calendars;
+  private final long logSequence;
+
+  private CalendarSnapshot(List<ICalendar> calendars, long logSequence) {
+    this.calendars = calendars;
+    this.logSequence = logSequence;
+  }
+
+  /**
+   * Returns the restored calendars.
+   *
+   * @return the calendars, in the order they were saved.
+   */
+  List<ICalendar> getCalendars() {
+    return calendars;
+  }
+
+  /**
+   * Returns the sequence number of the last logged change included in the snapshot.
+   *
+   * @return the sequence number, or 0 if no changes were logged when it was saved.
+   */
+  long getLogSequence() {
+    return logSequence;
+  }
+
+  /**
+   * Writes a snapshot of the given calendars to a file, replacing any existing file.
+   *
+   * @param filePath    the path of the snapshot file.
+   * @param calendars   the calendars to save.
+   * @param logSequence the sequence number of the last logged change the calendars include.
+   * @throws IOException if the file cannot be written.
+   */
+  static void write(String filePath, List<ICalendar> calendars, long logSequence)
+      throws IOException {
+    Path target = Paths.get(filePath).toAbsolutePath();
+    Path temporary = target.resolveSibling(target.getFileName() + ".tmp");
+    try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE,
+        StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+         DataOutputStream out = new DataOutputStream(new BufferedOutputStream(
+             Channels.newOutputStream(channel), BUFFER_SIZE))) {
+      out.writeInt(MAGIC);
+      out.writeInt(VERSION);
+      out.writeLong(logSequence);
+      out.writeInt(calendars.size());
+      for (ICalendar calendar : calendars) {
+        out.writeUTF(calendar.getName());
+        out.writeUTF(calendar.getZoneId().getId());
+        calendar.getEventRepository().writeSnapshot(out);
+      }
+      out.flush();
+      channel.force(true);
+    } catch (IOException e) {
+      Files.deleteIfExists(temporary);
+      throw e;
+    }
+    Files.move(temporary, target, StandardCopyOption.REPLACE_EXISTING);
+  }
+
+  /**
+   * Reads the calendars of a snapshot file.
+   *
+   * @param filePath the path of the snapshot file.
+   * @return the restored snapshot.
+   * @throws IOException if the file cannot be read or is not a valid snapshot.
+   */
+  static CalendarSnapshot read(String filePath) throws IOException {
+    try (DataInputStream in = new DataInputStream(new BufferedInputStream(
+        Files.newInputStream(Paths.get(filePath)), BUFFER_SIZE))) {
+      if (in.readInt() != MAGIC) {
+        throw new IOException("Not a calendar snapshot.");
+      }
+      int version = in.readInt();
+      if (version != VERSION && version != VERSION_WITHOUT_LOG) {
+        throw new IOException("Unsupported snapshot version " + version + ".");
+      }
+      long logSequence = version == VERSION ? in.readLong() : 0;
+      int count = in.readInt();
+      List<ICalendar> calendars = new ArrayList<>();
+      for (int i = 0; i < count; i++) {
+        String name = in.readUTF();
+        String zoneId = in.readUTF();
+        calendars.add(Calendar.builder()
+            .name(name)
+            .zoneId(ZoneId.of(zoneId))
+            .eventRepository(EventRepository.readSnapshot(in))
+            .build());
+      }
+      return new CalendarSnapshot(calendars, logSequence);
+    } catch (NoSuchFileException e) {
+      throw new IOException("No such file " + filePath + ".");
+    } catch (EOFException e) {
+      throw new IOException("Snapshot is truncated.");
+    } catch (DateTimeException | IllegalArgumentException e) {
+      throw new IOException("Malformed calendar in snapshot.");
+    }
+  }
+}
@@ -0,0 +1,126 @@
+package calendarapp.model.impl;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.StampedLock;
+
+import calendarapp.model.ICalendar;
+import calendarapp.model.ICalendarRepository;
+import calendarapp.model.IEventRepository;
+import calendarapp.model.dto.CopyEventRequestDTO;
+
+/**
+ * Thread-safe {@link ICalendarRepository} that guards a {@link CalendarRepository} with a
+ * {@link StampedLock}, so that several {@link CalendarModel}s can share the same calendars.
+ * Every calendar added through it gets a {@link ConcurrentEventRepository}, so the events of
+ * each calendar are guarded by a lock of their own.
+ *
+ * <p>Looking up a calendar is a short bounded scan, so it runs under an optimistic stamp and
+ * only falls back to the read lock when a writer got in the way. Editing a calendar holds the
+ * write lock across the whole change, including moving its events to a new time zone. Copying
+ * holds the read lock, so neither calendar can be renamed or moved to another zone while the
+ * events are shifted between them.
+ */
+public class ConcurrentCalendarRepository implements ICalendarRepository {
+  private final ICalendarRepository delegate;
+  private final StampedLock lock;
+
+  /**
+   * Constructs an empty ConcurrentCalendarRepository.
+   */
+  public ConcurrentCalendarRepository() {
+    this.delegate = new CalendarRepository();
+    this.lock = new StampedLock();
+  }
+
+  @Override
+  public void addCalendar(String name, String zoneId, IEventRepository eventRepository) {
+    IEventRepository concurrentRepository = eventRepository instanceof ConcurrentEventRepository
+        ? eventRepository : new ConcurrentEventRepository(eventRepository);
+    long stamp = lock.writeLock();
+    try {
+      delegate.addCalendar(name, zoneId, concurrentRepository);
+    } finally {
+      lock.unlockWrite(stamp);
+    }
+  }
+
+  @Override
+  public void editCalendar(String name, String propertyName, String propertyValue) {
+    long stamp = lock.writeLock();
+    try {
+      delegate.editCalendar(name, propertyName, propertyValue);
+    } finally {
+      lock.unlockWrite(stamp);
+    }
+  }
+
+  @Override
+  public void copyCalendarEvents(String currentCalendarName,
+                                 CopyEventRequestDTO copyEventRequestDTO) {
+    long stamp = lock.readLock();
+    try {
+      delegate.copyCalendarEvents(currentCalendarName, copyEventRequestDTO);
+    } finally {
+      lock.unlockRead(stamp);
+    }
+  }
+
+  @Override
+  public ICalendar getCalendar(String name) {
+    long stamp = lock.tryOptimisticRead();
+    if (stamp != 0L) {
+      ICalendar calendar = null;
+      try {
+        calendar = delegate.getCalendar(name);
+      } catch (RuntimeException e) {
+        // A writer resized or reordered the list mid-scan; validation below fails.
+      }
+      if (lock.validate(stamp)) {
+        return calendar;
+      }
+    }
+    stamp = lock.readLock();
+    try {
+      return delegate.getCalendar(name);
+    } finally {
+      lock.unlockRead(stamp);
+    }
+  }
+
+  @Override
+  public List<ICalendar> getCalendars() {
+    long stamp = lock.readLock();
+    try {
+      return delegate.getCalendars();
+    } finally {
+      lock.unlockRead(stamp);
+    }
+  }
+
+  /**
+   * Replaces the calendars under the write lock, giving each of them a
+   * {@link ConcurrentEventRepository} like {@link #addCalendar} does. Models sharing this
+   * repository keep using the calendar they had selected until they select one again, so this is
+   * only meant for restoring the calendars before they are shared.
+   */
+  @Override
+  public void replaceCalendars(List<ICalendar> calendars) {
+    List<ICalendar> concurrentCalendars = new ArrayList<>(calendars.size());
+    for (ICalendar calendar : calendars) {
+      IEventRepository eventRepository = calendar.getEventRepository();
+      concurrentCalendars.add(Calendar.builder()
+          .name(calendar.getName())
+          .zoneId(calendar.getZoneId())
+          .eventRepository(eventRepository instanceof ConcurrentEventRepository
+              ? eventRepository : new ConcurrentEventRepository(eventRepository))
+          .build());
+    }
+    long stamp = lock.writeLock();
+    try {
+      delegate.replaceCalendars(concurrentCalendars);
+    } finally {
+      lock.unlockWrite(stamp);
+    }
+  }
+}
@@ -0,0 +1,241 @@
+package calendarapp.model.impl;
+
+import java.io.DataOutput;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.ZoneId;
+import java.time.temporal.Temporal;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import calendarapp.model.EventConflictException;
+import calendarapp.model.IEvent;
+import calendarapp.model.IEventBatch;
+import calendarapp.model.IEventRepository;
+import calendarapp.model.SearchType;
+import calendarapp.model.dto.CalendarExporterDTO;
+import calendarapp.model.dto.StatusIntervalResponseDTO;
+
+/**
+ * Thread-safe {@link IEventRepository} that guards another repository with a
+ * {@link StampedLock}.
+ * Searches, status checks and exports share the read lock, so any number of them run in
+ * parallel, while creating, updating, copying and changing the time zone take the write lock.
+ * Each write holds the lock across both its conflict check and its insert, so two writers can
+ * never both pass validation against the same state and insert conflicting events.
+ * Batches stage without the lock and commit under one write lock, re-validating there unless no
+ * write came between their validation and the commit. A batch run under the lock validates and
+ * commits without taking it again.
+ * The version is read under an optimistic stamp.
+ *
+ * <p>Reads walk the balanced trees of the index, which writers rotate in place. A walk that
+ * raced a rotation could follow a stale link back up the tree, so reads take the read lock
+ * rather than an optimistic stamp. Events are immutable, so the lists they return remain
+ * valid after the lock is released.
+ */
+public class ConcurrentEventRepository implements IEventRepository {
+  private final IEventRepository delegate;
+  private final StampedLock lock;
+
+  /**
+   * Constructs a ConcurrentEventRepository over a new, empty {@link EventRepository}.
+   */
+  public ConcurrentEventRepository() {
+    this(new EventRepository());
+  }
+
+  /**
+   * Constructs a ConcurrentEventRepository guarding the given repository.
+   * The given repository must not be used directly once it is wrapped.
+   *
+   * @param delegate the repository holding the events.
+   */
+  public ConcurrentEventRepository(IEventRepository delegate) {
+    this.delegate = delegate;
+    this.lock = new StampedLock();
+  }
+
+  @Override
+  public void create(String eventName, Temporal startTime, Temporal endTime,
+                     String description, String location, String visibility,
+                     String recurringDays, String occurrenceCount, Temporal recurrenceEndDate,
+                     boolean autoDecline) throws EventConflictException {
+    write(() -> delegate.create(eventName, startTime, endTime, description, location,
+        visibility, recurringDays, occurrenceCount, recurrenceEndDate, autoDecline));
+  }
+
+  @Override
+  public void update(String eventName, Temporal startTime, Temporal endTime, String property,
+                     String value) {
+    write(() -> delegate.update(eventName, startTime, endTime, property, value));
+  }
+
+  @Override
+  public List<IEvent> getEvents(String eventName, Temporal startTime,
+                                Temporal endTime, SearchType type) {
+    return read(() -> delegate.getEvents(eventName, startTime, endTime, type));
+  }
+
+  @Override
+  public void copyEvents(List<IEvent> eventsToCopy, Temporal toStartTime,
+                         ZoneId fromZoneId, ZoneId toZoneId) {
+    write(() -> delegate.copyEvents(eventsToCopy, toStartTime, fromZoneId, toZoneId));
+  }
+
+  @Override
+  public void changeTimeZone(ZoneId from, ZoneId to) {
+    write(() -> delegate.changeTimeZone(from, to));
+  }
+
+  @Override
+  public List<CalendarExporterDTO> getEventsForExport() {
+    return read(delegate::getEventsForExport);
+  }
+
+  /**
+   * Runs the exporter under the read lock, so the exported events are a consistent snapshot
+   * and writers wait until the export is done.
+   */
+  @Override
+  public <T> T exportEvents(Function<Iterator<CalendarExporterDTO>, T> exporter) {
+    return read(() -> delegate.exportEvents(exporter));
+  }
+
+  /**
+   * Streams the events and series to the exporter under the read lock, like
+   * {@link #exportEvents(Function)}.
+   */
+  @Override
+  public <T> T exportSeries(Function<Iterator<CalendarExporterDTO>, T> exporter) {
+    return read(() -> delegate.exportSeries(exporter));
+  }
+
+  /**
+   * Writes the snapshot under the read lock, so it reflects one consistent state of the events.
+   */
+  @Override
+  public void writeSnapshot(DataOutput out) throws IOException {
+    try {
+      read(() -> {
+        try {
+          delegate.writeSnapshot(out);
+        } catch (IOException e) {
+          throw new UncheckedIOException(e);
+        }
+        return null;
+      });
+    } catch (UncheckedIOException e) {
+      throw e.getCause();
+    }
+  }
+
+  @Override
+  public boolean isBusy(Temporal dateTime) {
+    return read(() -> delegate.isBusy(dateTime));
+  }
+
+  @Override
+  public List<StatusIntervalResponseDTO> getStatusIntervals(Temporal startTime,
+                                                            Temporal endTime) {
+    return read(() -> delegate.getStatusIntervals(startTime, endTime));
+  }
+
+  @Override
+  public IEventBatch beginBatch() {
+    IEventBatch batch = delegate.beginBatch();
+    return new IEventBatch() {
+      private boolean locked;
+
+      @Override
+      public void create(String eventName, Temporal startTime, Temporal endTime,
+                         String description, String location, String visibility,
+                         String recurringDays, String occurrenceCount,
+                         Temporal recurrenceEndDate) {
+        batch.create(eventName, startTime, endTime, description, location, visibility,
+            recurringDays, occurrenceCount, recurrenceEndDate);
+      }
+
+      @Override
+      public void copyEvents(List<IEvent> eventsToCopy, Temporal toStartTime,
+                             ZoneId fromZoneId, ZoneId toZoneId) {
+        batch.copyEvents(eventsToCopy, toStartTime, fromZoneId, toZoneId);
+      }
+
+      @Override
+      public int dropConflicting() {
+        return locked ? batch.dropConflicting() : read(batch::dropConflicting);
+      }
+
+      @Override
+      public List<IEvent> getCommittedEvents() {
+        return batch.getCommittedEvents();
+      }
+
+      @Override
+      public void validate() throws EventConflictException {
+        if (locked) {
+          batch.validate();
+          return;
+        }
+        read(() -> {
+          batch.validate();
+          return null;
+        });
+      }
+
+      @Override
+      public void commit() throws EventConflictException {
+        if (locked) {
+          batch.commit();
+        } else {
+          write(batch::commit);
+        }
+      }
+
+      @Override
+      public void runLocked(Runnable action) {
+        write(() -> {
+          locked = true;
+          try {
+            action.run();
+          } finally {
+            locked = false;
+          }
+        });
+      }
+    };
+  }
+
+  @Override
+  public long getVersion() {
+    long stamp = lock.tryOptimisticRead();
+    if (stamp != 0L) {
+      long version = delegate.getVersion();
+      if (lock.validate(stamp)) {
+        return version;
+      }
+    }
+    return read(delegate::getVersion);
+  }
+
+  private <T> T read(Supplier<T> reader) {
+    long stamp = lock.readLock();
+    try {
+      return reader.get();
+    } finally {
+      lock.unlockRead(stamp);
+    }
+  }
+
+  private void write(Runnable writer) {
+    long stamp = lock.writeLock();
+    try {
+      writer.run();
+    } finally {
+      lock.unlockWrite(stamp);
+    }
+  }
+}
@@ -33,6 +33,16 @@ public class Event implements IEvent {
    */
   private final Temporal endTime;
 
+  /**
+   * The start time of the event in epoch seconds.
+   */
+  private final long startEpochSecond;
+
+  /**
+   * The end time of the event in epoch seconds, equal to the start when no end time is set.
+   */
+  private final long endEpochSecond;
+
   /**
    * The description of the event.
    */
@@ -80,6 +90,14 @@ public class Event implements IEvent {
     return endTime;
   }
 
+  public long getStartEpochSecond() {
+    return startEpochSecond;
+  }
+
+  public long getEndEpochSecond() {
+    return endEpochSecond;
+  }
+
   public String getDescription() {
     return description;
   }
@@ -104,6 +122,15 @@ public class Event implements IEvent {
     return recurrenceEndDate;
   }
 
+  /**
+   * Returns whether this event declines other events that conflict with it.
+   *
+   * @return true if the event auto-declines conflicts, false otherwise.
+   */
+  boolean isAutoDecline() {
+    return isAutoDecline;
+  }
+
   /**
    * Private constructor used by the Builder.
    *
@@ -113,6 +140,8 @@ public class Event implements IEvent {
     this.name = builder.name;
     this.startTime = builder.startTime;
     this.endTime = builder.endTime;
+    this.startEpochSecond = TimeUtil.toEpochSecond(startTime);
+    this.endEpochSecond = endTime == null ? startEpochSecond : TimeUtil.toEpochSecond(endTime);
     this.description = builder.description;
     this.location = builder.location;
     this.visibility = builder.visibility;
@@ -393,6 +422,9 @@ public class Event implements IEvent {
     }
 
     Event other = (Event) obj;
+    if (startEpochSecond != other.startEpochSecond || endEpochSecond != other.endEpochSecond) {
+      return false;
+    }
     if (!name.equals(other.name)) {
       return false;
     }
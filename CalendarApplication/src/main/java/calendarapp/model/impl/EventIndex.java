@@ -0,0 +1,598 @@
+package calendarapp.model.impl;
+
+import java.time.temporal.Temporal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+
+import calendarapp.model.IEvent;
+import calendarapp.model.IEventIndex;
+
+import static calendarapp.utils.TimeUtil.toEpochSecond;
+
+/**
+ * Primary event store of an {@link EventRepository}.
+ * Keeps events in an augmented {@link IntervalTree} so that overlap and conflict queries cost
+ * O(log n + k) instead of a scan over every event, and in a start-time ordered map so that range
+ * bounded lookups are answered from sub-map views already in start order. A second start-time
+ * ordered map per event name serves lookups scoped to one event name.
+ *
+ * <p>Recurring events are held as {@link RecurringSeries} rules, indexed by the time span they
+ * cover, and only the occurrences that fall inside a queried window are generated. Query results
+ * merge these occurrences with the single events in start order.
+ *
+ * <p>The busy time of the single events is also kept coalesced in a {@link BusyIntervals} set,
+ * which is updated on every mutation so that availability checks never have to search them.
+ * Series are left out of that set, which would otherwise hold a block per occurrence; their busy
+ * time is read from the series overlapping the queried time or range instead.
+ */
+public class EventIndex implements IEventIndex {
+  private static final Comparator<IEvent> START_ORDER =
+      Comparator.comparingLong(IEvent::getStartEpochSecond);
+
+  private final IntervalTree<IEvent> intervalTree;
+  private final NavigableMap<Long, List<IEvent>> startIndex;
+  private final Map<String, NavigableMap<Long, List<IEvent>>> nameIndex;
+  private final IntervalTree<RecurringSeries> seriesTree;
+  private final Map<String, List<RecurringSeries>> seriesNameIndex;
+  private final BusyIntervals busyIntervals;
+
+  /**
+   * Constructs an empty EventIndex.
+   */
+  public EventIndex() {
+    this.intervalTree = new IntervalTree<>();
+    this.startIndex = new TreeMap<>();
+    this.nameIndex = new HashMap<>();
+    this.seriesTree = new IntervalTree<>();
+    this.seriesNameIndex = new HashMap<>();
+    this.busyIntervals = new BusyIntervals();
+  }
+
+  /**
+   * Constructs an EventIndex holding the given events.
+   *
+   * @param events the events to index.
+   */
+  public EventIndex(Collection<IEvent> events) {
+    this();
+    addAll(events);
+  }
+
+  /**
+   * Adds an event to the index.
+   *
+   * @param event the event to add.
+   */
+  public void add(IEvent event) {
+    long start = event.getStartEpochSecond();
+    intervalTree.add(event, start, event.getEndEpochSecond());
+    addToBucket(startIndex, start, event);
+    addToBucket(nameIndex.computeIfAbsent(event.getName(), name -> new TreeMap<>()), start,
+        event);
+    busyIntervals.add(start, event.getEndEpochSecond());
+  }
+
+  /**
+   * Adds all the given events to the index, preserving their order for equal start times.
+   *
+   * @param events the events to add.
+   */
+  public void addAll(Collection<IEvent> events) {
+    for (IEvent event : events) {
+      add(event);
+    }
+  }
+
+  /**
+   * Adds a recurring series to the index. Empty series are ignored.
+   *
+   * @param series the series to add.
+   */
+  public void addSeries(RecurringSeries series) {
+    if (series.isEmpty()) {
+      return;
+    }
+    seriesTree.add(series, series.getSpanStart(), series.getSpanEnd());
+    seriesNameIndex.computeIfAbsent(series.getName(), name -> new ArrayList<>()).add(series);
+  }
+
+  /**
+   * Removes an event equal to the given event from the index, whether it is a single event or
+   * an occurrence of a recurring series.
+   *
+   * @param event the event to remove.
+   */
+  public void remove(IEvent event) {
+    removeAll(Collections.singletonList(event));
+  }
+
+  /**
+   * Removes all the given events from the index.
+   *
+   * @param events the events to remove.
+   */
+  public void removeAll(Collection<IEvent> events) {
+    List<IEvent> occurrences = new ArrayList<>();
+    for (IEvent event : events) {
+      if (removeSingle(event)) {
+        rebuildBusyBlock(event.getStartEpochSecond(), event.getEndEpochSecond());
+      } else {
+        occurrences.add(event);
+      }
+    }
+    removeOccurrences(occurrences);
+  }
+
+  /**
+   * Removes every event and series from the index.
+   */
+  public void clear() {
+    intervalTree.clear();
+    startIndex.clear();
+    nameIndex.clear();
+    seriesTree.clear();
+    seriesNameIndex.clear();
+    busyIntervals.clear();
+  }
+
+  /**
+   * Finds the earliest indexed event that conflicts with the given event.
+   *
+   * @param event the event to check.
+   * @return the first conflicting event, or null if the event does not conflict.
+   */
+  public IEvent findConflict(IEvent event) {
+    return findConflict(event, Collections.emptySet());
+  }
+
+  /**
+   * Finds the earliest indexed event that conflicts with the given event, disregarding events
+   * equal to one of the ignored events.
+   *
+   * @param event   the event to check.
+   * @param ignored events that are about to be replaced and should not count as conflicts.
+   * @return the first conflicting event, or null if the event does not conflict.
+   */
+  public IEvent findConflict(IEvent event, Collection<IEvent> ignored) {
+    return findConflict(event.getStartEpochSecond(), event.getEndEpochSecond(), ignored);
+  }
+
+  /**
+   * Checks whether any event is in progress at the given time, i.e. starts before and ends
+   * after it.
+   *
+   * @param time the time in epoch seconds.
+   * @return true if the time is busy, false otherwise.
+   */
+  public boolean isBusy(long time) {
+    if (busyIntervals.isBusy(time)) {
+      return true;
+    }
+    for (RecurringSeries series : seriesTree.getOverlapping(time, time)) {
+      if (series.isInProgress(time)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Returns the coalesced busy blocks overlapping the range (start, end) in start order. The
+   * occurrences of series inside the range are merged into the blocks of the single events, so
+   * the bounds of a block are only exact within the range.
+   *
+   * @param start the start of the range in epoch seconds.
+   * @param end   the end of the range in epoch seconds.
+   * @return the busy blocks, each as a two-element array of start and end.
+   */
+  public List<long[]> getBusyBlocks(long start, long end) {
+    List<long[]> blocks = busyIntervals.getBlocks(start, end);
+    List<RecurringSeries> overlappingSeries = seriesTree.getOverlapping(start, end);
+    if (overlappingSeries.isEmpty()) {
+      return blocks;
+    }
+    List<long[]> intervals = new ArrayList<>(blocks);
+    for (RecurringSeries series : overlappingSeries) {
+      int toIndex = series.indexAtOrAfterClamped(end);
+      for (int index = series.firstOverlappingIndex(start); index < toIndex; index++) {
+        long occurrenceStart = series.startOf(index);
+        if (!series.isExcluded(index) && series.getDuration() > 0) {
+          intervals.add(new long[]{occurrenceStart, occurrenceStart + series.getDuration()});
+        }
+      }
+    }
+    intervals.sort(Comparator.comparingLong(interval -> interval[0]));
+
+    List<long[]> merged = new ArrayList<>();
+    long[] current = null;
+    for (long[] interval : intervals) {
+      if (current != null && interval[0] < current[1]) {
+        current[1] = Math.max(current[1], interval[1]);
+      } else {
+        current = new long[]{interval[0], interval[1]};
+        merged.add(current);
+      }
+    }
+    return merged;
+  }
+
+  /**
+   * Returns the number of coalesced busy blocks kept for the single events. Series add no
+   * blocks, so this stays independent of how many occurrences they have.
+   *
+   * @return the number of busy blocks.
+   */
+  public int getBusyBlockCount() {
+    return busyIntervals.size();
+  }
+
+  /**
+   * Returns the single events of the index, excluding occurrences of recurring series.
+   *
+   * @return the single events in ascending order of start time.
+   */
+  public List<IEvent> getSingleEvents() {
+    return flatten(startIndex);
+  }
+
+  /**
+   * Iterates over the single events of the index, excluding occurrences of recurring series,
+   * without copying them.
+   *
+   * @return the single events in ascending order of start time.
+   */
+  public Iterator<IEvent> iterateSingleEvents() {
+    return startIndex.values().stream().flatMap(List::stream).iterator();
+  }
+
+  /**
+   * Iterates over the single events that overlap the range (start, end), excluding occurrences
+   * of recurring series, without copying the events that start inside the range.
+   *
+   * @param start the start of the range in epoch seconds.
+   * @param end   the end of the range in epoch seconds.
+   * @return the overlapping single events in ascending order of start time.
+   */
+  Iterator<IEvent> iterateSingleEventsOverlapping(long start, long end) {
+    Iterator<IEvent> covering = intervalTree.getOverlapping(start, start).iterator();
+    Iterator<IEvent> inside = startIndex.subMap(start, true, end, false).values().stream()
+        .flatMap(List::stream)
+        .filter(event -> event.getEndEpochSecond() > start)
+        .iterator();
+    return new Iterator<>() {
+      @Override
+      public boolean hasNext() {
+        return covering.hasNext() || inside.hasNext();
+      }
+
+      @Override
+      public IEvent next() {
+        return covering.hasNext() ? covering.next() : inside.next();
+      }
+    };
+  }
+
+  /**
+   * Returns the recurring series with an occurrence span overlapping the range (start, end).
+   *
+   * @param start the start of the range in epoch seconds.
+   * @param end   the end of the range in epoch seconds.
+   * @return the series ordered by the start of their first occurrence.
+   */
+  List<RecurringSeries> getSeriesOverlapping(long start, long end) {
+    return seriesTree.getOverlapping(start, end);
+  }
+
+  /**
+   * Returns the recurring series of the index.
+   *
+   * @return the series ordered by the start of their first occurrence.
+   */
+  public List<RecurringSeries> getSeries() {
+    return seriesTree.getAll();
+  }
+
+  @Override
+  public List<IEvent> getOverlapping(Temporal startTime, Temporal endTime) {
+    return getOverlapping(toEpochSecond(startTime), toEpochSecond(endTime));
+  }
+
+  /**
+   * Returns the events, single or recurring, that overlap the range (start, end).
+   *
+   * @param start the start of the range in epoch seconds.
+   * @param end   the end of the range in epoch seconds.
+   * @return the overlapping events in ascending order of start time.
+   */
+  public List<IEvent> getOverlapping(long start, long end) {
+    List<IEvent> occurrences = new ArrayList<>();
+    for (RecurringSeries series : seriesTree.getOverlapping(start, end)) {
+      occurrences.addAll(series.getOverlapping(start, end));
+    }
+    return merge(intervalTree.getOverlapping(start, end), occurrences);
+  }
+
+  @Override
+  public List<IEvent> getStartingBetween(String eventName, Temporal from, Temporal to) {
+    Long fromKey = from == null ? null : toEpochSecond(from);
+    Long toKey = to == null ? null : toEpochSecond(to);
+    if (fromKey != null && toKey != null && toKey < fromKey) {
+      return new ArrayList<>();
+    }
+
+    List<IEvent> occurrences = new ArrayList<>();
+    for (RecurringSeries series : candidateSeries(eventName, fromKey, toKey)) {
+      occurrences.addAll(series.getStartingBetween(fromKey, toKey));
+    }
+
+    NavigableMap<Long, List<IEvent>> range = startIndex;
+    if (eventName != null) {
+      range = nameIndex.get(eventName);
+      if (range == null) {
+        return merge(new ArrayList<>(), occurrences);
+      }
+    }
+    if (fromKey != null && toKey != null) {
+      range = range.subMap(fromKey, true, toKey, true);
+    } else if (fromKey != null) {
+      range = range.tailMap(fromKey, true);
+    } else if (toKey != null) {
+      range = range.headMap(toKey, true);
+    }
+    return merge(flatten(range), occurrences);
+  }
+
+  @Override
+  public List<IEvent> getAll() {
+    List<IEvent> occurrences = new ArrayList<>();
+    for (RecurringSeries series : seriesTree.getAll()) {
+      series.forEach(occurrences::add);
+    }
+    return merge(flatten(startIndex), occurrences);
+  }
+
+  /**
+   * Iterates over every event by merging the single events and the occurrences of each series,
+   * which are all in start order already, through a queue holding one cursor per series. Ties
+   * are broken as in {@link #getAll()}: single events first, then series in index order.
+   */
+  @Override
+  public Iterator<IEvent> iterateAll() {
+    List<RecurringSeries> allSeries = seriesTree.getAll();
+    PriorityQueue<Cursor> cursors = new PriorityQueue<>(allSeries.size() + 1);
+    Cursor.offer(cursors, iterateSingleEvents(), -1);
+    for (int i = 0; i < allSeries.size(); i++) {
+      Cursor.offer(cursors, allSeries.get(i).iterator(), i);
+    }
+    return new Iterator<>() {
+      @Override
+      public boolean hasNext() {
+        return !cursors.isEmpty();
+      }
+
+      @Override
+      public IEvent next() {
+        Cursor cursor = cursors.poll();
+        if (cursor == null) {
+          throw new NoSuchElementException();
+        }
+        IEvent event = cursor.head;
+        if (cursor.events.hasNext()) {
+          cursor.head = cursor.events.next();
+          cursors.add(cursor);
+        }
+        return event;
+      }
+    };
+  }
+
+  /**
+   * Removes a single event equal to the given event.
+   *
+   * @param event the event to remove.
+   * @return true if a single event was removed, false otherwise.
+   */
+  private boolean removeSingle(IEvent event) {
+    long start = event.getStartEpochSecond();
+    if (!intervalTree.remove(event, start)) {
+      return false;
+    }
+    removeFromBucket(startIndex, start, event);
+    NavigableMap<Long, List<IEvent>> eventsWithName = nameIndex.get(event.getName());
+    removeFromBucket(eventsWithName, start, event);
+    if (eventsWithName.isEmpty()) {
+      nameIndex.remove(event.getName());
+    }
+    return true;
+  }
+
+  /**
+   * Removes the series occurrences equal to the given events, replacing every affected series
+   * once by what remains of it.
+   *
+   * @param events the occurrences to remove.
+   */
+  private void removeOccurrences(List<IEvent> events) {
+    if (events.isEmpty() || seriesTree.size() == 0) {
+      return;
+    }
+    Map<RecurringSeries, List<Integer>> removedIndices = new IdentityHashMap<>();
+    for (IEvent event : events) {
+      List<RecurringSeries> seriesWithName = seriesNameIndex.get(event.getName());
+      if (seriesWithName == null) {
+        continue;
+      }
+      for (RecurringSeries series : seriesWithName) {
+        int index = series.indexOf(event);
+        if (index >= 0) {
+          removedIndices.computeIfAbsent(series, key -> new ArrayList<>()).add(index);
+          break;
+        }
+      }
+    }
+    for (Map.Entry<RecurringSeries, List<Integer>> entry : removedIndices.entrySet()) {
+      RecurringSeries series = entry.getKey();
+      seriesTree.remove(series, series.getSpanStart());
+      List<RecurringSeries> seriesWithName = seriesNameIndex.get(series.getName());
+      seriesWithName.remove(series);
+      if (seriesWithName.isEmpty()) {
+        seriesNameIndex.remove(series.getName());
+      }
+      addSeries(series.without(entry.getValue()));
+    }
+  }
+
+  /**
+   * Rebuilds the busy block that held a removed single event from the single events still
+   * inside it.
+   *
+   * @param start the start of the removed interval in epoch seconds.
+   * @param end   the end of the removed interval in epoch seconds.
+   */
+  private void rebuildBusyBlock(long start, long end) {
+    long[] block = busyIntervals.removeBlock(start, end);
+    if (block == null) {
+      return;
+    }
+    for (IEvent event : intervalTree.getOverlapping(block[0], block[1])) {
+      busyIntervals.add(event.getStartEpochSecond(), event.getEndEpochSecond());
+    }
+  }
+
+  private IEvent findConflict(long start, long end, Collection<IEvent> ignored) {
+    IEvent conflict = intervalTree.findFirstOverlapping(start, end,
+        event -> !ignored.contains(event));
+    for (RecurringSeries series : seriesTree.getOverlapping(start, end)) {
+      IEvent occurrence = series.findFirstOverlapping(start, end, ignored);
+      if (occurrence != null && (conflict == null
+          || START_ORDER.compare(occurrence, conflict) < 0)) {
+        conflict = occurrence;
+      }
+    }
+    return conflict;
+  }
+
+  private List<RecurringSeries> candidateSeries(String eventName, Long from, Long to) {
+    if (eventName != null) {
+      return seriesNameIndex.getOrDefault(eventName, Collections.emptyList());
+    }
+    if (from == null && to == null) {
+      return seriesTree.getAll();
+    }
+    long start = from == null ? Long.MIN_VALUE : from;
+    long end = to == null || to == Long.MAX_VALUE ? Long.MAX_VALUE : to + 1;
+    return seriesTree.getOverlapping(start, end);
+  }
+
+  /**
+   * Merges series occurrences into a start ordered list of single events. Single events come
+   * before occurrences sharing their start time.
+   *
+   * @param singles     the single events in start order.
+   * @param occurrences the occurrences, in start order per series.
+   * @return the merged events in ascending order of start time.
+   */
+  private List<IEvent> merge(List<IEvent> singles, List<IEvent> occurrences) {
+    if (occurrences.isEmpty()) {
+      return singles;
+    }
+    occurrences.sort(START_ORDER);
+    if (singles.isEmpty()) {
+      return occurrences;
+    }
+    List<IEvent> result = new ArrayList<>(singles.size() + occurrences.size());
+    int single = 0;
+    int occurrence = 0;
+    while (single < singles.size() && occurrence < occurrences.size()) {
+      if (START_ORDER.compare(occurrences.get(occurrence), singles.get(single)) < 0) {
+        result.add(occurrences.get(occurrence++));
+      } else {
+        result.add(singles.get(single++));
+      }
+    }
+    result.addAll(singles.subList(single, singles.size()));
+    result.addAll(occurrences.subList(occurrence, occurrences.size()));
+    return result;
+  }
+
+  /**
+   * Appends an event to the bucket stored under the given start time.
+   *
+   * @param map   the start-time ordered map to add to.
+   * @param start the start time of the event in epoch seconds.
+   * @param event the event to add.
+   */
+  private void addToBucket(NavigableMap<Long, List<IEvent>> map, long start, IEvent event) {
+    map.computeIfAbsent(start, key -> new ArrayList<>(1)).add(event);
+  }
+
+  /**
+   * Removes an event from the bucket stored under the given start time, dropping the bucket
+   * once it is empty.
+   *
+   * @param map   the start-time ordered map to remove from.
+   * @param start the start time of the event in epoch seconds.
+   * @param event the event to remove.
+   */
+  private void removeFromBucket(NavigableMap<Long, List<IEvent>> map, long start,
+                                IEvent event) {
+    List<IEvent> bucket = map.get(start);
+    bucket.remove(event);
+    if (bucket.isEmpty()) {
+      map.remove(start);
+    }
+  }
+
+  /**
+   * Flattens the buckets of a start-time map view into a single list in start order.
+   *
+   * @param range the map view to flatten.
+   * @return the events of the view in ascending order of start time.
+   */
+  private List<IEvent> flatten(NavigableMap<Long, List<IEvent>> range) {
+    List<IEvent> result = new ArrayList<>();
+    for (List<IEvent> bucket : range.values()) {
+      result.addAll(bucket);
+    }
+    return result;
+  }
+
+  /**
+   * Position in one start-ordered source of events, ordered by the start of its next event and
+   * then by the rank of the source.
+   */
+  private static final class Cursor implements Comparable<Cursor> {
+    private final Iterator<IEvent> events;
+    private final int rank;
+    private IEvent head;
+
+    private Cursor(Iterator<IEvent> events, int rank) {
+      this.events = events;
+      this.rank = rank;
+      this.head = events.next();
+    }
+
+    private static void offer(PriorityQueue<Cursor> cursors, Iterator<IEvent> events, int rank) {
+      if (events.hasNext()) {
+        cursors.add(new Cursor(events, rank));
+      }
+    }
+
+    @Override
+    public int compareTo(Cursor other) {
+      int byStart = Long.compare(head.getStartEpochSecond(), other.head.getStartEpochSecond());
+      return byStart != 0 ? byStart : Integer.compare(rank, other.rank);
+    }
+  }
+}
@@ -1,70 +1,84 @@
 package calendarapp.model.impl;
 
-import java.time.DayOfWeek;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
 import java.time.Duration;
 import java.time.ZoneId;
-import java.time.temporal.ChronoField;
-import java.time.temporal.ChronoUnit;
 import java.time.temporal.Temporal;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
-import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import calendarapp.controller.InvalidCommandException;
 import calendarapp.model.EventConflictException;
 import calendarapp.model.IEvent;
+import calendarapp.model.IEventBatch;
 import calendarapp.model.IEventRepository;
 import calendarapp.model.SearchType;
 import calendarapp.model.dto.CalendarExporterDTO;
+import calendarapp.model.dto.StatusIntervalResponseDTO;
 import calendarapp.model.impl.searchstrategies.SearchEventFactory;
 import calendarapp.utils.TimeUtil;
 
-import static calendarapp.model.impl.Constants.DaysOfWeek.parseDaysOfWeek;
+import static calendarapp.utils.TimeUtil.fromEpochSecond;
 import static calendarapp.utils.TimeUtil.isAllDayEvent;
-import static calendarapp.utils.TimeUtil.isFirstBeforeSecond;
+import static calendarapp.utils.TimeUtil.toEpochSecond;
 
 /**
  * Implements IEventRepository to manage creation, updating, copying,
  * and retrieval of events including handling recurring events and conflicts.
+ * Events are immutable and every change replaces them in the index, so searches hand out the
+ * stored instances instead of copies.
  */
 public class EventRepository implements IEventRepository {
-  private final List<IEvent> events;
+  private final EventIndex events;
   private final SearchEventFactory searchEventFactory;
+  private long version;
 
   /**
    * Constructs an empty EventRepository.
-   * Initializes an empty list for storing events and sets up the search event factory for
-   * searching events.
+   * Initializes an empty interval-tree backed index for storing events and sets up the search
+   * event factory for searching events.
    */
   public EventRepository() {
-    this.events = new ArrayList<>();
+    this.events = new EventIndex();
     searchEventFactory = new SearchEventFactory();
   }
 
+  /**
+   * Constructs a repository holding the given events and series as they are, without checking
+   * them for conflicts. Used to restore a snapshot of a repository that was valid when it was
+   * saved.
+   *
+   * @param singles the single events.
+   * @param series  the recurring series.
+   */
+  EventRepository(Collection<IEvent> singles, List<RecurringSeries> series) {
+    this();
+    events.addAll(singles);
+    series.forEach(events::addSeries);
+  }
+
   @Override
   public void create(String eventName, Temporal startTime, Temporal endTime,
                      String description, String location, String visibility,
                      String recurringDays, String occurrenceCount, Temporal recurrenceEndDate,
                      boolean autoDecline) throws EventConflictException {
 
-    boolean isRecurring = recurringDays != null;
-    Integer occurrence = occurrenceCount != null ? Integer.parseInt(occurrenceCount) : null;
-
-    if (!isRecurring) {
-      IEvent event = createSingleEvent(eventName, startTime, endTime, description, location,
-          visibility,
-          recurringDays, occurrence, recurrenceEndDate);
-      validateEvents(List.of(event), null);
-      events.add(event);
-    } else {
-      List<IEvent> recurringEvents = createRecurringEvents(eventName, startTime, endTime,
-          description,
-          location, visibility, recurringDays, occurrence, recurrenceEndDate);
-      validateEvents(recurringEvents, null);
-      events.addAll(recurringEvents);
-    }
-
+    List<IEvent> newEvents = new ArrayList<>(1);
+    List<RecurringSeries> newSeries = new ArrayList<>(1);
+    buildNewEvents(newEvents, newSeries, eventName, startTime, endTime, description, location,
+        visibility, recurringDays, occurrenceCount, recurrenceEndDate);
+    validateEvents(newEvents, newSeries, null, false);
+    events.addAll(newEvents);
+    newSeries.forEach(events::addSeries);
+    version++;
   }
 
   @Override
@@ -81,6 +95,7 @@ public class EventRepository implements IEventRepository {
           isRecurringProperty(property), SearchType.MATCHING);
     }
     List<IEvent> updatedEvents = new ArrayList<>();
+    List<RecurringSeries> updatedSeries = new ArrayList<>();
 
     if (!isRecurringProperty(property)) {
       boolean isFirstRecurringEventUpdated = false;
@@ -88,7 +103,7 @@ public class EventRepository implements IEventRepository {
         if (event.getRecurringDays() != null && !isSingleEventUpdate) {
           if (!isFirstRecurringEventUpdated) {
             IEvent firstEvent = event.updateProperty(property, value);
-            updatedEvents.addAll(getUpdatedRecurringEvents(firstEvent));
+            updatedSeries.add(getUpdatedRecurringSeries(firstEvent));
             isFirstRecurringEventUpdated = true;
           }
           continue;
@@ -101,11 +116,13 @@ public class EventRepository implements IEventRepository {
         throw new InvalidCommandException("Cannot update a recurring property for a single event.");
       }
       IEvent firstEvent = eventsToUpdate.get(0).updateProperty(property, value);
-      updatedEvents = getUpdatedRecurringEvents(firstEvent);
+      updatedSeries.add(getUpdatedRecurringSeries(firstEvent));
     }
-    validateEvents(updatedEvents, eventsToUpdate);
-    events.addAll(updatedEvents);
+    validateEvents(updatedEvents, updatedSeries, eventsToUpdate, false);
     events.removeAll(eventsToUpdate);
+    events.addAll(updatedEvents);
+    updatedSeries.forEach(events::addSeries);
+    version++;
   }
 
   @Override
@@ -115,23 +132,16 @@ public class EventRepository implements IEventRepository {
       return;
     }
 
-    Duration differenceBetween = TimeUtil.getDurationDifference(
-        TimeUtil.changeZone(eventsToCopy.get(0).getStartTime(), fromZoneId, toZoneId), toStartTime);
-
-    for (IEvent event : eventsToCopy) {
-      Temporal startTime = TimeUtil.addDuration(TimeUtil.changeZone(event.getStartTime(),
-          fromZoneId, toZoneId), differenceBetween);
-      Temporal endTime = TimeUtil.addDuration(TimeUtil.changeZone(event.getEndTime(), fromZoneId,
-          toZoneId), differenceBetween);
-      create(event.getName(), startTime, endTime, event.getDescription(), event.getLocation(),
-          event.getVisibility().getValue(), null, null, null, true);
-    }
+    List<IEvent> copiedEvents = buildCopies(eventsToCopy, toStartTime, fromZoneId, toZoneId);
+    validateEvents(copiedEvents, List.of(), null, true);
+    events.addAll(copiedEvents);
+    version++;
   }
 
   @Override
   public void changeTimeZone(ZoneId fromZoneId, ZoneId toZoneId) {
     List<IEvent> updatedEvents = new ArrayList<>();
-    for (IEvent event : events) {
+    for (IEvent event : events.getSingleEvents()) {
       Temporal startTime = TimeUtil.changeZone(event.getStartTime(),
           fromZoneId, toZoneId);
       Temporal endTime = TimeUtil.changeZone(event.getEndTime(), fromZoneId,
@@ -146,30 +156,227 @@ public class EventRepository implements IEventRepository {
           event.getLocation(), event.getVisibility().getValue(), event.getRecurringDays(),
           event.getOccurrenceCount(), recurrenceEndDate));
     }
+    List<RecurringSeries> updatedSeries = new ArrayList<>();
+    for (RecurringSeries series : events.getSeries()) {
+      updatedSeries.addAll(series.changeZone(fromZoneId, toZoneId));
+    }
     events.clear();
     events.addAll(updatedEvents);
+    updatedSeries.forEach(events::addSeries);
+    version++;
   }
 
   @Override
   public List<CalendarExporterDTO> getEventsForExport() {
-    return events.stream()
-        .map(event -> CalendarExporterDTO.builder()
-            .subject(event.getName())
-            .startDate(event.getStartTime())
-            .endDate(event.getEndTime())
-            .isAllDayEvent(isAllDayEvent(event.getStartTime(), event.getEndTime()))
-            .description(event.getDescription())
-            .location(event.getLocation())
-            .visibility(event.getVisibility() != null ? event.getVisibility().getValue() : null)
-            .build())
+    return events.getAll().stream()
+        .map(EventRepository::toExportDTO)
         .collect(Collectors.toList());
   }
 
+  @Override
+  public <T> T exportEvents(Function<Iterator<CalendarExporterDTO>, T> exporter) {
+    Iterator<IEvent> all = events.iterateAll();
+    return exporter.apply(new Iterator<>() {
+      @Override
+      public boolean hasNext() {
+        return all.hasNext();
+      }
+
+      @Override
+      public CalendarExporterDTO next() {
+        return toExportDTO(all.next());
+      }
+    });
+  }
+
+  @Override
+  public <T> T exportSeries(Function<Iterator<CalendarExporterDTO>, T> exporter) {
+    Iterator<IEvent> singles = events.iterateSingleEvents();
+    Iterator<RecurringSeries> series = events.getSeries().iterator();
+    return exporter.apply(new Iterator<>() {
+      @Override
+      public boolean hasNext() {
+        return singles.hasNext() || series.hasNext();
+      }
+
+      @Override
+      public CalendarExporterDTO next() {
+        return singles.hasNext() ? toExportDTO(singles.next()) : toExportDTO(series.next());
+      }
+    });
+  }
+
+  private static CalendarExporterDTO toExportDTO(IEvent event) {
+    return exportBuilder(event).build();
+  }
+
+  private static CalendarExporterDTO toExportDTO(RecurringSeries series) {
+    return exportBuilder(series.occurrence(series.getFirstIndex()))
+        .recurrenceDays(series.getOccurrenceDays())
+        .occurrenceCount(series.getEndIndex() - series.getFirstIndex())
+        .excludedDates(series.getExcludedStarts())
+        .build();
+  }
+
+  private static CalendarExporterDTO.Builder exportBuilder(IEvent event) {
+    return CalendarExporterDTO.builder()
+        .subject(event.getName())
+        .startDate(event.getStartTime())
+        .endDate(event.getEndTime())
+        .isAllDayEvent(isAllDayEvent(event.getStartTime(), event.getEndTime()))
+        .description(event.getDescription())
+        .location(event.getLocation())
+        .visibility(event.getVisibility() != null ? event.getVisibility().getValue() : null);
+  }
+
+  /**
+   * Writes the single events in start order with each start as a delta from the previous one
+   * and each end as a duration, followed by the recurring series as their rules.
+   */
+  @Override
+  public void writeSnapshot(DataOutput out) throws IOException {
+    SnapshotOutput snapshot = new SnapshotOutput(out);
+    List<IEvent> singles = events.getSingleEvents();
+    snapshot.writeUnsigned(singles.size());
+    long previousStart = 0;
+    for (IEvent event : singles) {
+      long start = event.getStartEpochSecond();
+      snapshot.writeSigned(start - previousStart);
+      snapshot.writeSigned(event.getEndEpochSecond() - start);
+      snapshot.writeString(event.getName());
+      snapshot.writeString(event.getDescription());
+      snapshot.writeString(event.getLocation());
+      snapshot.writeString(event.getVisibility() != null ? event.getVisibility().getValue()
+          : null);
+      snapshot.writeString(event.getRecurringDays());
+      snapshot.writeNullableInt(event.getOccurrenceCount());
+      snapshot.writeNullableTime(event.getRecurrenceEndDate(), start);
+      snapshot.writeBoolean(!(event instanceof Event) || ((Event) event).isAutoDecline());
+      previousStart = start;
+    }
+
+    List<RecurringSeries> allSeries = events.getSeries();
+    snapshot.writeUnsigned(allSeries.size());
+    long previousAnchor = 0;
+    for (RecurringSeries series : allSeries) {
+      series.writeSnapshot(snapshot, previousAnchor);
+      previousAnchor = series.getAnchor();
+    }
+  }
+
+  /**
+   * Reads a repository written by {@link #writeSnapshot(DataOutput)}, adding its events and
+   * series to the index directly instead of creating and validating them one by one.
+   *
+   * @param in the snapshot to read from.
+   * @return the restored repository.
+   * @throws IOException if reading fails or the snapshot is malformed.
+   */
+  static EventRepository readSnapshot(DataInput in) throws IOException {
+    SnapshotInput snapshot = new SnapshotInput(in);
+    int count = snapshot.readCount();
+    List<IEvent> singles = new ArrayList<>(Math.min(count, 1 << 16));
+    long start = 0;
+    for (int i = 0; i < count; i++) {
+      start += snapshot.readSigned();
+      long end = start + snapshot.readSigned();
+      try {
+        singles.add(Event.builder()
+            .name(snapshot.readString())
+            .startTime(fromEpochSecond(start))
+            .endTime(fromEpochSecond(end))
+            .description(snapshot.readString())
+            .location(snapshot.readString())
+            .visibility(snapshot.readString())
+            .recurringDays(snapshot.readString())
+            .occurrenceCount(snapshot.readNullableInt())
+            .recurrenceEndDate(snapshot.readNullableTime(start))
+            .isAutoDecline(snapshot.readBoolean())
+            .build());
+      } catch (IllegalArgumentException | IllegalStateException e) {
+        throw new IOException("Malformed event in snapshot.");
+      }
+    }
+
+    int seriesCount = snapshot.readCount();
+    List<RecurringSeries> series = new ArrayList<>(Math.min(seriesCount, 1 << 16));
+    long previousAnchor = 0;
+    for (int i = 0; i < seriesCount; i++) {
+      RecurringSeries restored = RecurringSeries.readSnapshot(snapshot, previousAnchor);
+      series.add(restored);
+      previousAnchor = restored.getAnchor();
+    }
+    return new EventRepository(singles, series);
+  }
+
   @Override
   public List<IEvent> getEvents(String eventName, Temporal startTime,
                                 Temporal endTime, SearchType type) {
-    return searchEventFactory.search(events, eventName, startTime, endTime, false, type)
-        .stream().map(IEvent::deepCopyEvent).collect(Collectors.toList());
+    return searchEventFactory.search(events, eventName, startTime, endTime, false, type);
+  }
+
+  @Override
+  public boolean isBusy(Temporal dateTime) {
+    return events.isBusy(toEpochSecond(dateTime));
+  }
+
+  @Override
+  public List<StatusIntervalResponseDTO> getStatusIntervals(Temporal startTime,
+                                                            Temporal endTime) {
+    long start = toEpochSecond(startTime);
+    long end = toEpochSecond(endTime);
+    List<StatusIntervalResponseDTO> intervals = new ArrayList<>();
+    long cursor = start;
+    long busyFrom = start;
+    boolean isBusy = false;
+    for (long[] block : events.getBusyBlocks(start, end)) {
+      long blockStart = Math.max(block[0], start);
+      if (isBusy && blockStart > cursor) {
+        intervals.add(createStatusInterval(Constants.Status.BUSY, busyFrom, cursor));
+        isBusy = false;
+      }
+      if (!isBusy) {
+        if (blockStart > cursor) {
+          intervals.add(createStatusInterval(Constants.Status.AVAILABLE, cursor, blockStart));
+        }
+        busyFrom = blockStart;
+        isBusy = true;
+      }
+      cursor = Math.min(block[1], end);
+    }
+    if (isBusy) {
+      intervals.add(createStatusInterval(Constants.Status.BUSY, busyFrom, cursor));
+    }
+    if (cursor < end) {
+      intervals.add(createStatusInterval(Constants.Status.AVAILABLE, cursor, end));
+    }
+    return intervals;
+  }
+
+  @Override
+  public IEventBatch beginBatch() {
+    return new Batch();
+  }
+
+  @Override
+  public long getVersion() {
+    return version;
+  }
+
+  /**
+   * Builds a status interval between two times given in epoch seconds.
+   *
+   * @param status The availability status during the interval.
+   * @param start  The start of the interval in epoch seconds.
+   * @param end    The end of the interval in epoch seconds.
+   * @return A newly created status interval.
+   */
+  private StatusIntervalResponseDTO createStatusInterval(String status, long start, long end) {
+    return StatusIntervalResponseDTO.builder()
+        .status(status)
+        .startTime(fromEpochSecond(start))
+        .endTime(fromEpochSecond(end))
+        .build();
   }
 
   /**
@@ -204,73 +411,83 @@ public class EventRepository implements IEventRepository {
   }
 
   /**
-   * Builds a list of recurring events based on the provided parameters.
+   * Builds the single event or the recurring series described by a create request.
    *
+   * @param newEvents         the list the single event is added to.
+   * @param newSeries         the list the recurring series is added to.
    * @param eventName         The name of the event.
    * @param startTime         The start time of the event.
    * @param endTime           The end time of the event.
    * @param description       The description of the event.
    * @param location          The location of the event.
    * @param visibility        The visibility of the event.
-   * @param recurringDays     A string of characters representing recurring days.
+   * @param recurringDays     The recurring days, or null for a single event.
    * @param occurrenceCount   The number of occurrences of the event (for recurring events).
    * @param recurrenceEndDate The end date of the recurrence (for recurring events).
-   * @return A list of recurring events.
    */
-  private List<IEvent> createRecurringEvents(String eventName, Temporal startTime, Temporal endTime,
-                                             String description, String location, String visibility,
-                                             String recurringDays, Integer occurrenceCount,
-                                             Temporal recurrenceEndDate) {
-
-    Set<DayOfWeek> daysOfWeek = parseDaysOfWeek(recurringDays);
-    Duration eventDuration = Duration.between(startTime, endTime == null
-        ? startTime.plus(1, ChronoUnit.DAYS) : endTime);
-
-    List<IEvent> recurringEvents = new ArrayList<>();
-    Temporal currentStartTime = startTime;
-    int occurrencesCreated = 0;
-
-    while ((occurrenceCount != null && occurrencesCreated < occurrenceCount)
-        || (recurrenceEndDate != null && isFirstBeforeSecond(currentStartTime,
-        recurrenceEndDate))) {
-
-      DayOfWeek currentDay = DayOfWeek.of(currentStartTime.get(ChronoField.DAY_OF_WEEK));
-      if (daysOfWeek.contains(currentDay)) {
-        recurringEvents.add(createSingleEvent(eventName, currentStartTime,
-            currentStartTime.plus(eventDuration), description, location, visibility,
-            recurringDays, occurrenceCount, recurrenceEndDate));
-        occurrencesCreated++;
-      }
-      currentStartTime = currentStartTime.plus(1, ChronoUnit.DAYS);
+  private void buildNewEvents(List<IEvent> newEvents, List<RecurringSeries> newSeries,
+                              String eventName, Temporal startTime, Temporal endTime,
+                              String description, String location, String visibility,
+                              String recurringDays, String occurrenceCount,
+                              Temporal recurrenceEndDate) {
+    boolean isRecurring = recurringDays != null;
+    Integer occurrence = occurrenceCount != null ? Integer.parseInt(occurrenceCount) : null;
+
+    if (!isRecurring) {
+      newEvents.add(createSingleEvent(eventName, startTime, endTime, description, location,
+          visibility,
+          recurringDays, occurrence, recurrenceEndDate));
+    } else {
+      newSeries.add(RecurringSeries.of(eventName, startTime, endTime,
+          description, location, visibility, recurringDays, occurrence, recurrenceEndDate));
     }
-    return recurringEvents;
   }
 
   /**
-   * validateEvents checks for conflicts before adding a new event.
+   * Builds copies of events, moved to another time zone and shifted so that the first copy
+   * starts at the given time.
    *
-   * @param newEvents contains list of new events that needs to be added
-   * @param oldEvents contains list of old events that are to be updated if present
-   * @throws EventConflictException if there is conflict while adding a new event
+   * @param eventsToCopy the events to copy, in start order.
+   * @param toStartTime  the time the first copy starts at.
+   * @param fromZoneId   the time zone of the events to copy.
+   * @param toZoneId     the time zone of the copies.
+   * @return the copies.
    */
-  private void validateEvents(List<IEvent> newEvents, List<IEvent> oldEvents)
-      throws EventConflictException {
-    if (oldEvents != null) {
-      events.removeAll(oldEvents);
-    }
+  private List<IEvent> buildCopies(List<IEvent> eventsToCopy, Temporal toStartTime,
+                                   ZoneId fromZoneId, ZoneId toZoneId) {
+    Duration differenceBetween = TimeUtil.getDurationDifference(
+        TimeUtil.changeZone(eventsToCopy.get(0).getStartTime(), fromZoneId, toZoneId), toStartTime);
 
-    for (IEvent newEvent : newEvents) {
-      for (IEvent existingEvent : events) {
-        if (TimeUtil.isConflicting(newEvent.getStartTime(), newEvent.getEndTime(),
-            existingEvent.getStartTime(), existingEvent.getEndTime())) {
-          if (oldEvents != null) {
-            events.addAll(oldEvents);
-          }
-          throw new EventConflictException("Event conflicts with existing event: "
-              + existingEvent.getName());
-        }
-      }
+    List<IEvent> copiedEvents = new ArrayList<>(eventsToCopy.size());
+    for (IEvent event : eventsToCopy) {
+      Temporal startTime = TimeUtil.addDuration(TimeUtil.changeZone(event.getStartTime(),
+          fromZoneId, toZoneId), differenceBetween);
+      Temporal endTime = TimeUtil.addDuration(TimeUtil.changeZone(event.getEndTime(), fromZoneId,
+          toZoneId), differenceBetween);
+      copiedEvents.add(createSingleEvent(event.getName(), startTime, endTime,
+          event.getDescription(), event.getLocation(), event.getVisibility().getValue(), null,
+          null, null));
     }
+    return copiedEvents;
+  }
+
+  /**
+   * validateEvents checks for conflicts before adding new events.
+   * The new events are validated together in a single sorted sweep over the existing events.
+   *
+   * @param newEvents        contains list of new events that needs to be added
+   * @param newSeries        contains list of new recurring series that needs to be added
+   * @param oldEvents        contains list of old events that are to be updated if present
+   * @param checkWithinBatch whether the new events must also not conflict with each other
+   * @throws EventConflictException if there is conflict while adding a new event
+   */
+  private void validateEvents(List<IEvent> newEvents, List<RecurringSeries> newSeries,
+                              List<IEvent> oldEvents, boolean checkWithinBatch)
+      throws EventConflictException {
+    Collection<IEvent> ignoredEvents = oldEvents == null || oldEvents.isEmpty()
+        ? Collections.emptySet() : new HashSet<>(oldEvents);
+    BatchConflictValidator.validate(events, newEvents, newSeries, ignoredEvents,
+        checkWithinBatch);
   }
 
   /**
@@ -287,16 +504,91 @@ public class EventRepository implements IEventRepository {
   }
 
   /**
-   * Reconstructs the list of recurring events based on the updated first event.
+   * Reconstructs the recurring series based on the updated first event.
    *
    * @param firstEvent the modified base event
-   * @return the list of updated recurring events
+   * @return the updated recurring series
    */
-  private List<IEvent> getUpdatedRecurringEvents(IEvent firstEvent) {
-    return createRecurringEvents(firstEvent.getName(), firstEvent.getStartTime(),
+  private RecurringSeries getUpdatedRecurringSeries(IEvent firstEvent) {
+    return RecurringSeries.of(firstEvent.getName(), firstEvent.getStartTime(),
         firstEvent.getEndTime(), firstEvent.getDescription(), firstEvent.getLocation(),
         firstEvent.getVisibility().getValue(), firstEvent.getRecurringDays(),
         firstEvent.getOccurrenceCount(),
         firstEvent.getRecurrenceEndDate());
   }
+
+  /**
+   * Events staged for this repository. The whole batch goes through one conflict sweep, in
+   * which the staged events are also checked against each other, as they would have been had
+   * they been added one at a time.
+   */
+  private final class Batch implements IEventBatch {
+    private List<IEvent> newEvents = new ArrayList<>();
+    private final List<RecurringSeries> newSeries = new ArrayList<>();
+    private List<IEvent> committedEvents = Collections.emptyList();
+    // The version of the repository the staged events were last found free of conflicts in,
+    // or -1 if they were not since they last changed.
+    private long validatedVersion = -1;
+
+    @Override
+    public void create(String eventName, Temporal startTime, Temporal endTime,
+                       String description, String location, String visibility,
+                       String recurringDays, String occurrenceCount,
+                       Temporal recurrenceEndDate) {
+      buildNewEvents(newEvents, newSeries, eventName, startTime, endTime, description, location,
+          visibility, recurringDays, occurrenceCount, recurrenceEndDate);
+      validatedVersion = -1;
+    }
+
+    @Override
+    public void copyEvents(List<IEvent> eventsToCopy, Temporal toStartTime,
+                           ZoneId fromZoneId, ZoneId toZoneId) {
+      if (!eventsToCopy.isEmpty()) {
+        newEvents.addAll(buildCopies(eventsToCopy, toStartTime, fromZoneId, toZoneId));
+        validatedVersion = -1;
+      }
+    }
+
+    @Override
+    public int dropConflicting() {
+      List<IEvent> kept = BatchConflictValidator.withoutConflicts(events, newEvents, newSeries);
+      int dropped = newEvents.size() - kept.size();
+      newEvents.clear();
+      newEvents.addAll(kept);
+      // Series are kept as they are, so only a batch without them is free of conflicts now.
+      validatedVersion = newSeries.isEmpty() ? version : -1;
+      return dropped;
+    }
+
+    @Override
+    public List<IEvent> getCommittedEvents() {
+      return Collections.unmodifiableList(committedEvents);
+    }
+
+    @Override
+    public void validate() throws EventConflictException {
+      validateEvents(newEvents, newSeries, null, true);
+      validatedVersion = version;
+    }
+
+    @Override
+    public void commit() throws EventConflictException {
+      if (validatedVersion != version) {
+        validate();
+      }
+      events.addAll(newEvents);
+      newSeries.forEach(events::addSeries);
+      // The staged list is handed over rather than cleared, so the committed events can be read
+      // back without a copy.
+      committedEvents = newEvents;
+      newEvents = new ArrayList<>();
+      newSeries.clear();
+      version++;
+    }
+
+    @Override
+    public void runLocked(Runnable action) {
+      action.run();
+    }
+  }
 }
@@ -0,0 +1,299 @@
+package calendarapp.model.impl;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * Augmented AVL interval tree over half-open second ranges [start, end).
+ * Entries are ordered by start time and then by insertion sequence, so entries sharing a start
+ * time keep their insertion order. Every node tracks the maximum end time of its subtree, which
+ * lets overlap queries skip whole subtrees and run in O(log n + k).
+ *
+ * @param <T> the type of value stored against each interval.
+ */
+public class IntervalTree<T> {
+
+  /**
+   * A single tree node holding one interval and its value.
+   */
+  private static final class Node<T> {
+    private final T value;
+    private final long start;
+    private final long end;
+    private final long sequence;
+    private long maxEnd;
+    private int height;
+    private Node<T> left;
+    private Node<T> right;
+
+    private Node(T value, long start, long end, long sequence) {
+      this.value = value;
+      this.start = start;
+      this.end = end;
+      this.sequence = sequence;
+      this.maxEnd = end;
+      this.height = 1;
+    }
+  }
+
+  private Node<T> root;
+  private int size;
+  private long nextSequence;
+
+  /**
+   * Adds a value for the interval [start, end).
+   *
+   * @param value the value to store.
+   * @param start the inclusive start of the interval in epoch seconds.
+   * @param end   the exclusive end of the interval in epoch seconds.
+   */
+  public void add(T value, long start, long end) {
+    root = insert(root, new Node<>(value, start, end, nextSequence++));
+    size++;
+  }
+
+  /**
+   * Removes one value equal to the given value that was stored with the given start time.
+   *
+   * @param value the value to remove.
+   * @param start the start time the value was stored with.
+   * @return true if a value was removed, false otherwise.
+   */
+  public boolean remove(T value, long start) {
+    Node<T> target = find(root, value, start);
+    if (target == null) {
+      return false;
+    }
+    root = delete(root, target.start, target.sequence);
+    size--;
+    return true;
+  }
+
+  /**
+   * Returns the values whose interval overlaps the range (start, end), i.e. every interval with
+   * an interval start before {@code end} and an interval end after {@code start}, in start order.
+   *
+   * @param start the start of the queried range in epoch seconds.
+   * @param end   the end of the queried range in epoch seconds.
+   * @return the overlapping values ordered by start time.
+   */
+  public List<T> getOverlapping(long start, long end) {
+    List<T> result = new ArrayList<>();
+    collectOverlapping(root, start, end, result::add);
+    return result;
+  }
+
+  /**
+   * Returns the first value, in start order, whose interval overlaps the range (start, end).
+   *
+   * @param start the start of the queried range in epoch seconds.
+   * @param end   the end of the queried range in epoch seconds.
+   * @return the first overlapping value, or null if there is none.
+   */
+  public T findFirstOverlapping(long start, long end) {
+    return findFirstOverlapping(start, end, value -> true);
+  }
+
+  /**
+   * Returns the first value, in start order, whose interval overlaps the range (start, end) and
+   * that satisfies the given filter.
+   *
+   * @param start  the start of the queried range in epoch seconds.
+   * @param end    the end of the queried range in epoch seconds.
+   * @param filter the condition the returned value must satisfy.
+   * @return the first matching overlapping value, or null if there is none.
+   */
+  public T findFirstOverlapping(long start, long end, Predicate<T> filter) {
+    Node<T> node = firstOverlapping(root, start, end, filter);
+    return node == null ? null : node.value;
+  }
+
+  /**
+   * Returns every stored value in start order.
+   *
+   * @return all values ordered by start time.
+   */
+  public List<T> getAll() {
+    List<T> result = new ArrayList<>(size);
+    inOrder(root, result::add);
+    return result;
+  }
+
+  /**
+   * Returns the number of stored intervals.
+   *
+   * @return the size of the tree.
+   */
+  public int size() {
+    return size;
+  }
+
+  /**
+   * Removes every interval from the tree.
+   */
+  public void clear() {
+    root = null;
+    size = 0;
+  }
+
+  private Node<T> insert(Node<T> node, Node<T> newNode) {
+    if (node == null) {
+      return newNode;
+    }
+    if (compare(newNode.start, newNode.sequence, node) < 0) {
+      node.left = insert(node.left, newNode);
+    } else {
+      node.right = insert(node.right, newNode);
+    }
+    return rebalance(node);
+  }
+
+  private Node<T> delete(Node<T> node, long start, long sequence) {
+    if (node == null) {
+      return null;
+    }
+    int comparison = compare(start, sequence, node);
+    if (comparison < 0) {
+      node.left = delete(node.left, start, sequence);
+    } else if (comparison > 0) {
+      node.right = delete(node.right, start, sequence);
+    } else {
+      if (node.left == null) {
+        return node.right;
+      }
+      if (node.right == null) {
+        return node.left;
+      }
+      Node<T> successor = node.right;
+      while (successor.left != null) {
+        successor = successor.left;
+      }
+      successor.right = delete(node.right, successor.start, successor.sequence);
+      successor.left = node.left;
+      return rebalance(successor);
+    }
+    return rebalance(node);
+  }
+
+  private Node<T> find(Node<T> node, T value, long start) {
+    if (node == null) {
+      return null;
+    }
+    if (start < node.start) {
+      return find(node.left, value, start);
+    }
+    if (start > node.start) {
+      return find(node.right, value, start);
+    }
+    Node<T> found = find(node.left, value, start);
+    if (found != null) {
+      return found;
+    }
+    if (Objects.equals(node.value, value)) {
+      return node;
+    }
+    return find(node.right, value, start);
+  }
+
+  private void collectOverlapping(Node<T> node, long start, long end, Consumer<T> consumer) {
+    if (node == null || node.maxEnd <= start) {
+      return;
+    }
+    collectOverlapping(node.left, start, end, consumer);
+    if (node.start >= end) {
+      return;
+    }
+    if (node.end > start) {
+      consumer.accept(node.value);
+    }
+    collectOverlapping(node.right, start, end, consumer);
+  }
+
+  private Node<T> firstOverlapping(Node<T> node, long start, long end, Predicate<T> filter) {
+    if (node == null || node.maxEnd <= start) {
+      return null;
+    }
+    Node<T> found = firstOverlapping(node.left, start, end, filter);
+    if (found != null) {
+      return found;
+    }
+    if (node.start >= end) {
+      return null;
+    }
+    if (node.end > start && filter.test(node.value)) {
+      return node;
+    }
+    return firstOverlapping(node.right, start, end, filter);
+  }
+
+  private void inOrder(Node<T> node, Consumer<T> consumer) {
+    if (node == null) {
+      return;
+    }
+    inOrder(node.left, consumer);
+    consumer.accept(node.value);
+    inOrder(node.right, consumer);
+  }
+
+  private int compare(long start, long sequence, Node<T> node) {
+    if (start != node.start) {
+      return Long.compare(start, node.start);
+    }
+    return Long.compare(sequence, node.sequence);
+  }
+
+  private int height(Node<T> node) {
+    return node == null ? 0 : node.height;
+  }
+
+  private void update(Node<T> node) {
+    node.height = 1 + Math.max(height(node.left), height(node.right));
+    long maxEnd = node.end;
+    if (node.left != null) {
+      maxEnd = Math.max(maxEnd, node.left.maxEnd);
+    }
+    if (node.right != null) {
+      maxEnd = Math.max(maxEnd, node.right.maxEnd);
+    }
+    node.maxEnd = maxEnd;
+  }
+
+  private Node<T> rebalance(Node<T> node) {
+    update(node);
+    int balance = height(node.left) - height(node.right);
+    if (balance > 1) {
+      if (height(node.left.left) < height(node.left.right)) {
+        node.left = rotateLeft(node.left);
+      }
+      return rotateRight(node);
+    }
+    if (balance < -1) {
+      if (height(node.right.right) < height(node.right.left)) {
+        node.right = rotateRight(node.right);
+      }
+      return rotateLeft(node);
+    }
+    return node;
+  }
+
+  private Node<T> rotateRight(Node<T> node) {
+    Node<T> pivot = node.left;
+    node.left = pivot.right;
+    pivot.right = node;
+    update(node);
+    update(pivot);
+    return pivot;
+  }
+
+  private Node<T> rotateLeft(Node<T> node) {
+    Node<T> pivot = node.right;
+    node.right = pivot.left;
+    pivot.left = node;
+    update(node);
+    update(pivot);
+    return pivot;
+  }
+}
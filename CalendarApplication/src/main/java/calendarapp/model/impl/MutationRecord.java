@@ -0,0 +1,419 @@
+package calendarapp.model.impl;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.temporal.Temporal;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import calendarapp.model.ICalendarModel;
+import calendarapp.model.IEvent;
+import calendarapp.model.dto.CalendarExporterDTO;
+import calendarapp.model.dto.CopyEventRequestDTO;
+
+/**
+ * Encodes the changes a {@link CalendarModel} makes to the calendars as the records of a
+ * {@link WriteAheadLog}, and replays them on a model.
+ *
+ * <p>A record starts with the type of the change, followed by the arguments of the model call
+ * that made it, written with a {@link SnapshotOutput}. Changes to events also record the active
+ * calendar they were made in, since the arguments alone do not name it. Times are recorded once
+ * parsed, so a record takes a few bytes per time instead of its text. The changes staged in a
+ * batch are recorded together in a single batch record when it is committed, so a batch is
+ * replayed whole or, if the log ends inside it, not at all.
+ *
+ * <p>An import can add more events than a record should hold, so it is recorded as a sequence
+ * of records: one naming the calendar, chunks of at most about {@value #IMPORT_CHUNK_SIZE} bytes
+ * of the events it added, and one marking its end. The sequence is replayed as one import, and
+ * not at all if the log ends before its end.
+ */
+final class MutationRecord {
+  private static final int CREATE_EVENT = 1;
+  private static final int EDIT_EVENT = 2;
+  private static final int CREATE_CALENDAR = 3;
+  private static final int EDIT_CALENDAR = 4;
+  private static final int COPY_EVENT = 5;
+  private static final int BATCH = 6;
+  private static final int IMPORT_EVENTS = 7;
+  private static final int IMPORT_CHUNK = 8;
+  private static final int IMPORT_END = 9;
+  private static final int IMPORT_CHUNK_SIZE = 1 << 16;
+
+  private MutationRecord() {
+  }
+
+  /**
+   * Records the creation of an event.
+   *
+   * @param calendarName      the active calendar.
+   * @param eventName         the name of the event.
+   * @param startTime         the start time of the event.
+   * @param endTime           the end time of the event, or null.
+   * @param recurringDays     the days the event repeats on, or null.
+   * @param occurrenceCount   the number of occurrences, or null.
+   * @param recurrenceEndDate the day the recurrence ends on, or null.
+   * @param description       the description, or null.
+   * @param location          the location, or null.
+   * @param visibility        the visibility, or null.
+   * @param autoDecline       whether conflicting events are declined.
+   * @return the record.
+   */
+  static byte[] createEvent(String calendarName, String eventName, Temporal startTime,
+                            Temporal endTime, String recurringDays, String occurrenceCount,
+                            Temporal recurrenceEndDate, String description, String location,
+                            String visibility, boolean autoDecline) {
+    return encode(CREATE_EVENT, out -> {
+      out.writeString(calendarName);
+      out.writeString(eventName);
+      out.writeTemporal(startTime);
+      out.writeTemporal(endTime);
+      out.writeString(recurringDays);
+      out.writeString(occurrenceCount);
+      out.writeTemporal(recurrenceEndDate);
+      out.writeString(description);
+      out.writeString(location);
+      out.writeString(visibility);
+      out.writeBoolean(autoDecline);
+    });
+  }
+
+  /**
+   * Records the edit of an event.
+   *
+   * @param calendarName the active calendar.
+   * @param eventName    the name of the event.
+   * @param startTime    the start time of the event.
+   * @param endTime      the end time of the event, or null.
+   * @param property     the edited property.
+   * @param value        the new value of the property.
+   * @return the record.
+   */
+  static byte[] editEvent(String calendarName, String eventName, Temporal startTime,
+                          Temporal endTime, String property, String value) {
+    return encode(EDIT_EVENT, out -> {
+      out.writeString(calendarName);
+      out.writeString(eventName);
+      out.writeTemporal(startTime);
+      out.writeTemporal(endTime);
+      out.writeString(property);
+      out.writeString(value);
+    });
+  }
+
+  /**
+   * Records the creation of a calendar.
+   *
+   * @param calendarName the name of the calendar.
+   * @param timezone     the time zone of the calendar, or null.
+   * @return the record.
+   */
+  static byte[] createCalendar(String calendarName, String timezone) {
+    return encode(CREATE_CALENDAR, out -> {
+      out.writeString(calendarName);
+      out.writeString(timezone);
+    });
+  }
+
+  /**
+   * Records the edit of a calendar.
+   *
+   * @param calendarName the name of the calendar.
+   * @param property     the edited property.
+   * @param value        the new value of the property.
+   * @return the record.
+   */
+  static byte[] editCalendar(String calendarName, String property, String value) {
+    return encode(EDIT_CALENDAR, out -> {
+      out.writeString(calendarName);
+      out.writeString(property);
+      out.writeString(value);
+    });
+  }
+
+  /**
+   * Records the copy of events to another calendar.
+   *
+   * @param calendarName the active calendar, copied from.
+   * @param request      the copy request.
+   * @return the record.
+   */
+  static byte[] copyEvent(String calendarName, CopyEventRequestDTO request) {
+    return encode(COPY_EVENT, out -> {
+      out.writeString(calendarName);
+      out.writeString(request.getEventName());
+      out.writeTemporal(request.getStartTime());
+      out.writeTemporal(request.getEndTime());
+      out.writeString(request.getCopyCalendarName());
+      out.writeTemporal(request.getCopyToDate());
+    });
+  }
+
+  /**
+   * Records a committed batch. The events of a batch are copied from the source calendar as it
+   * is when the batch is replayed, which is also how it was at the commit unless another client
+   * changed it between staging the copy and committing.
+   *
+   * @param records the records of the changes staged in the batch, in order.
+   * @return the record.
+   */
+  static byte[] batch(List<byte[]> records) {
+    return encode(BATCH, out -> {
+      out.writeUnsigned(records.size());
+      for (byte[] record : records) {
+        out.writeUnsigned(record.length);
+        out.writeBytes(record);
+      }
+    });
+  }
+
+  /**
+   * Records an import of events as a sequence of records, which are encoded one at a time as
+   * they are iterated over.
+   *
+   * @param calendarName the active calendar.
+   * @param events       the events the import added.
+   * @return the records, starting with the one naming the calendar and ending with the one
+   *     marking the end of the import.
+   */
+  static Iterator<byte[]> importEvents(String calendarName, List<IEvent> events) {
+    return new Iterator<>() {
+      private int position = -1;
+
+      @Override
+      public boolean hasNext() {
+        return position <= events.size();
+      }
+
+      @Override
+      public byte[] next() {
+        if (!hasNext()) {
+          throw new NoSuchElementException();
+        }
+        if (position < 0) {
+          position = 0;
+          return encode(IMPORT_EVENTS, out -> out.writeString(calendarName));
+        }
+        if (position == events.size()) {
+          position++;
+          return encode(IMPORT_END, out -> {
+          });
+        }
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        SnapshotOutput out = new SnapshotOutput(new DataOutputStream(bytes));
+        write(out, data -> {
+          data.writeUnsigned(IMPORT_CHUNK);
+          while (position < events.size() && bytes.size() < IMPORT_CHUNK_SIZE) {
+            IEvent event = events.get(position++);
+            data.writeBoolean(true);
+            data.writeString(event.getName());
+            data.writeTemporal(event.getStartTime());
+            data.writeTemporal(event.getEndTime());
+            data.writeString(event.getDescription());
+            data.writeString(event.getLocation());
+            data.writeString(event.getVisibility().getValue());
+          }
+          data.writeBoolean(false);
+        });
+        return bytes.toByteArray();
+      }
+    };
+  }
+
+  /**
+   * Makes the recorded change again on a model.
+   *
+   * @param record    the record.
+   * @param following the records logged after it, which a change recorded as a sequence of
+   *                  records reads the rest of its records from.
+   * @param model     the model to change, which must not log the change again.
+   * @throws IOException if the record is malformed.
+   * @throws CutOffException if the log ends inside the sequence of records of the change, in
+   *                         which case nothing was changed.
+   */
+  static void replay(byte[] record, RecordSource following, ICalendarModel model)
+      throws IOException {
+    SnapshotInput in = new SnapshotInput(new DataInputStream(new ByteArrayInputStream(record)));
+    int type = (int) in.readUnsigned();
+    switch (type) {
+      case CREATE_EVENT: {
+        model.setCalendar(in.readString());
+        model.createEvent(in.readString(), text(in.readTemporal()), text(in.readTemporal()),
+            in.readString(), in.readString(), text(in.readTemporal()), in.readString(),
+            in.readString(), in.readString(), in.readBoolean());
+        break;
+      }
+      case EDIT_EVENT: {
+        model.setCalendar(in.readString());
+        model.editEvent(in.readString(), text(in.readTemporal()), text(in.readTemporal()),
+            in.readString(), in.readString());
+        break;
+      }
+      case CREATE_CALENDAR:
+        model.createCalendar(in.readString(), in.readString());
+        break;
+      case EDIT_CALENDAR:
+        model.editCalendar(in.readString(), in.readString(), in.readString());
+        break;
+      case COPY_EVENT: {
+        model.setCalendar(in.readString());
+        model.copyEvent(CopyEventRequestDTO.builder()
+            .eventName(in.readString())
+            .startTime(in.readTemporal())
+            .endTime(in.readTemporal())
+            .copyCalendarName(in.readString())
+            .copyStartDate(in.readTemporal())
+            .build());
+        break;
+      }
+      case BATCH: {
+        int count = in.readCount();
+        model.beginBatch();
+        for (int i = 0; i < count; i++) {
+          replay(in.readBytes(in.readCount()), () -> {
+            throw malformed();
+          }, model);
+        }
+        model.commitBatch();
+        break;
+      }
+      case IMPORT_EVENTS: {
+        model.setCalendar(in.readString());
+        try {
+          model.importEvents(new ImportedEvents(following), false);
+        } catch (UncheckedIOException e) {
+          throw e.getCause();
+        }
+        break;
+      }
+      default:
+        throw malformed();
+    }
+  }
+
+  private static IOException malformed() {
+    return new IOException("Malformed change in log.");
+  }
+
+  private static String text(Temporal time) {
+    return time == null ? null : time.toString();
+  }
+
+  private static byte[] encode(int type, Encoder encoder) {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    SnapshotOutput out = new SnapshotOutput(new DataOutputStream(bytes));
+    write(out, data -> {
+      data.writeUnsigned(type);
+      encoder.encode(data);
+    });
+    return bytes.toByteArray();
+  }
+
+  private static void write(SnapshotOutput out, Encoder encoder) {
+    try {
+      encoder.encode(out);
+    } catch (IOException e) {
+      // Writing to memory does not fail.
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  private interface Encoder {
+    void encode(SnapshotOutput out) throws IOException;
+  }
+
+  /**
+   * Source of the records logged after the one being replayed.
+   */
+  interface RecordSource {
+
+    /**
+     * Reads the next record of the log.
+     *
+     * @return the record, or null if the log ends.
+     * @throws IOException if the log cannot be read.
+     */
+    byte[] next() throws IOException;
+  }
+
+  /**
+   * Thrown when the log ends inside the sequence of records of a change.
+   */
+  static final class CutOffException extends RuntimeException {
+    private CutOffException() {
+      super("The log ends inside a change.");
+    }
+  }
+
+  /**
+   * The events of an import, read chunk by chunk from the records following the one that
+   * started it, up to the one marking its end.
+   */
+  private static final class ImportedEvents implements Iterator<CalendarExporterDTO> {
+    private final RecordSource records;
+    private SnapshotInput chunk;
+    private boolean hasEvent;
+    private boolean ended;
+
+    private ImportedEvents(RecordSource records) {
+      this.records = records;
+    }
+
+    @Override
+    public boolean hasNext() {
+      try {
+        while (!hasEvent && !ended) {
+          if (chunk != null && chunk.readBoolean()) {
+            hasEvent = true;
+          } else {
+            readChunk();
+          }
+        }
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+      return hasEvent;
+    }
+
+    @Override
+    public CalendarExporterDTO next() {
+      if (!hasNext()) {
+        throw new NoSuchElementException();
+      }
+      hasEvent = false;
+      try {
+        return CalendarExporterDTO.builder()
+            .subject(chunk.readString())
+            .startDate(chunk.readTemporal())
+            .endDate(chunk.readTemporal())
+            .description(chunk.readString())
+            .location(chunk.readString())
+            .visibility(chunk.readString())
+            .build();
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+    }
+
+    private void readChunk() throws IOException {
+      byte[] record = records.next();
+      if (record == null) {
+        throw new CutOffException();
+      }
+      SnapshotInput in = new SnapshotInput(new DataInputStream(new ByteArrayInputStream(record)));
+      int type = (int) in.readUnsigned();
+      if (type == IMPORT_END) {
+        ended = true;
+        chunk = null;
+      } else if (type == IMPORT_CHUNK) {
+        chunk = in;
+      } else {
+        throw malformed();
+      }
+    }
+  }
+}
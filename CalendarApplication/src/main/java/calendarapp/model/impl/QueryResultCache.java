@@ -0,0 +1,96 @@
+package calendarapp.model.impl;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Least recently used cache of query results over the events of one calendar.
+ * Results are keyed by the shape of the query and its arguments, and are only valid for the
+ * version of the event repository they were computed from: the first lookup that sees a newer
+ * version drops every cached result. Results are handed out as they were cached, so they must
+ * not be modified.
+ *
+ * <p>The version is read before a result is computed, so a result computed while the events
+ * changed is stored under the older version and is never served for the newer one.
+ */
+public class QueryResultCache {
+  private final Map<Key, Object> results;
+  private long version;
+
+  /**
+   * Constructs an empty cache holding at most the given number of results.
+   *
+   * @param capacity the number of results to keep before evicting the least recently used one.
+   */
+  public QueryResultCache(int capacity) {
+    this.results = new LinkedHashMap<Key, Object>(16, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<Key, Object> eldest) {
+        return size() > capacity;
+      }
+    };
+  }
+
+  /**
+   * Returns the cached result of a query, computing and caching it if it is missing or was
+   * computed from an older version of the events.
+   *
+   * @param version the current version of the event repository.
+   * @param loader  computes the result of the query.
+   * @param shape   the kind of query.
+   * @param args    the arguments of the query.
+   * @param <T>     the type of the result.
+   * @return the result of the query.
+   */
+  @SuppressWarnings("unchecked")
+  public <T> T get(long version, Supplier<T> loader, String shape, Object... args) {
+    if (version != this.version) {
+      results.clear();
+      this.version = version;
+    }
+    Key key = new Key(shape, args);
+    T result = (T) results.get(key);
+    if (result == null) {
+      result = loader.get();
+      results.put(key, result);
+    }
+    return result;
+  }
+
+  /**
+   * Returns the number of cached results.
+   *
+   * @return the number of cached results.
+   */
+  public int size() {
+    return results.size();
+  }
+
+  private static final class Key {
+    private final String shape;
+    private final Object[] args;
+    private final int hash;
+
+    private Key(String shape, Object[] args) {
+      this.shape = shape;
+      this.args = args;
+      this.hash = 31 * shape.hashCode() + Arrays.hashCode(args);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (!(o instanceof Key)) {
+        return false;
+      }
+      Key other = (Key) o;
+      return shape.equals(other.shape) && Arrays.equals(args, other.args);
+    }
+
+    @Override
+    public int hashCode() {
+      return hash;
+    }
+  }
+}
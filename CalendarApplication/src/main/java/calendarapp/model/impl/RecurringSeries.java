@@ -0,0 +1,701 @@
+package calendarapp.model.impl;
+
+import java.io.IOException;
+import java.time.DayOfWeek;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.temporal.ChronoField;
+import java.time.temporal.Temporal;
+import java.time.zone.ZoneOffsetTransition;
+import java.time.zone.ZoneRules;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.TreeSet;
+
+import calendarapp.model.IEvent;
+import calendarapp.utils.TimeUtil;
+
+import static calendarapp.model.impl.Constants.DaysOfWeek.parseDaysOfWeek;
+import static calendarapp.utils.TimeUtil.fromEpochSecond;
+import static calendarapp.utils.TimeUtil.toEpochSecond;
+
+/**
+ * Rule based representation of a recurring event.
+ * Instead of holding one {@link Event} per occurrence, a series holds the properties shared by
+ * all of its occurrences together with its weekly pattern, and generates the occurrences that
+ * fall inside a queried window on demand. Memory is therefore proportional to the number of
+ * series rather than the number of occurrences.
+ *
+ * <p>Occurrences are numbered by their position in the pattern, starting at 0 for the first
+ * matching day on or after the series start. A series covers a contiguous range of those
+ * indices, from which individual occurrences can be excluded once they are edited or removed.
+ * Series are immutable; removing occurrences or moving the series to another time zone returns
+ * new series.
+ */
+public class RecurringSeries implements Iterable<IEvent> {
+  private static final long SECONDS_PER_DAY = 24 * 60 * 60;
+  private static final int DAYS_PER_WEEK = 7;
+
+  private final String name;
+  private final String description;
+  private final String location;
+  private final String visibility;
+  private final String recurringDays;
+  private final Integer occurrenceCount;
+  private final Temporal recurrenceEndDate;
+
+  /**
+   * Epoch second of the day the pattern is counted from, before any shift is applied.
+   */
+  private final long anchor;
+
+  /**
+   * Sorted day offsets, within a week, of the matching days relative to the anchor day.
+   */
+  private final int[] weekOffsets;
+
+  /**
+   * Length of every occurrence in seconds.
+   */
+  private final long duration;
+
+  /**
+   * Seconds added to every occurrence, accumulated by time zone changes.
+   */
+  private final long shift;
+
+  /**
+   * Index of the first occurrence covered by this series, inclusive.
+   */
+  private final int firstIndex;
+
+  /**
+   * Index after the last occurrence covered by this series, exclusive.
+   */
+  private final int endIndex;
+
+  /**
+   * Start times, in epoch seconds, of the covered occurrences that no longer exist.
+   */
+  private final NavigableSet<Long> exclusions;
+
+  private RecurringSeries(RecurringSeries template, long duration, long shift, int firstIndex,
+                          int endIndex, NavigableSet<Long> exclusions,
+                          Temporal recurrenceEndDate) {
+    this.name = template.name;
+    this.description = template.description;
+    this.location = template.location;
+    this.visibility = template.visibility;
+    this.recurringDays = template.recurringDays;
+    this.occurrenceCount = template.occurrenceCount;
+    this.recurrenceEndDate = recurrenceEndDate;
+    this.anchor = template.anchor;
+    this.weekOffsets = template.weekOffsets;
+    this.duration = duration;
+    this.shift = shift;
+    this.exclusions = exclusions;
+    int first = firstIndex;
+    int end = endIndex;
+    while (first < end && exclusions.remove(startOf(first))) {
+      first++;
+    }
+    while (first < end && exclusions.remove(startOf(end - 1))) {
+      end--;
+    }
+    this.firstIndex = first;
+    this.endIndex = end;
+  }
+
+  private RecurringSeries(String name, String description, String location, String visibility,
+                          String recurringDays, Integer occurrenceCount,
+                          Temporal recurrenceEndDate, long anchor, int[] weekOffsets,
+                          long duration, long shift, int firstIndex, int endIndex,
+                          NavigableSet<Long> exclusions) {
+    this.name = name;
+    this.description = description;
+    this.location = location;
+    this.visibility = visibility;
+    this.recurringDays = recurringDays;
+    this.occurrenceCount = occurrenceCount;
+    this.recurrenceEndDate = recurrenceEndDate;
+    this.anchor = anchor;
+    this.weekOffsets = weekOffsets;
+    this.duration = duration;
+    this.shift = shift;
+    this.firstIndex = firstIndex;
+    this.endIndex = endIndex;
+    this.exclusions = exclusions;
+  }
+
+  private RecurringSeries(String name, Temporal startTime, Temporal endTime, String description,
+                          String location, String visibility, String recurringDays,
+                          Integer occurrenceCount, Temporal recurrenceEndDate) {
+    this.name = name;
+    this.description = description;
+    this.location = location;
+    this.visibility = visibility;
+    this.recurringDays = recurringDays;
+    this.occurrenceCount = occurrenceCount;
+    this.recurrenceEndDate = recurrenceEndDate;
+    this.anchor = toEpochSecond(startTime);
+    this.weekOffsets = computeWeekOffsets(parseDaysOfWeek(recurringDays),
+        DayOfWeek.of(startTime.get(ChronoField.DAY_OF_WEEK)));
+    this.duration = endTime == null ? SECONDS_PER_DAY : toEpochSecond(endTime) - anchor;
+    this.shift = 0;
+    this.firstIndex = 0;
+    this.exclusions = new TreeSet<>();
+
+    long untilCount = recurrenceEndDate == null ? 0
+        : indexAtOrAfter(toEpochSecond(recurrenceEndDate));
+    long count = occurrenceCount == null ? 0 : occurrenceCount;
+    this.endIndex = (int) Math.min(Integer.MAX_VALUE, Math.max(count, untilCount));
+  }
+
+  /**
+   * Creates the series of occurrences described by a recurrence rule. Occurrences fall on the
+   * given days of the week, starting on the day of {@code startTime}, and continue while fewer
+   * than {@code occurrenceCount} occurrences exist or while they start before
+   * {@code recurrenceEndDate}.
+   *
+   * @param eventName         The name of the event.
+   * @param startTime         The start time of the first candidate occurrence.
+   * @param endTime           The end time of the first candidate occurrence, or null for a
+   *                          whole day.
+   * @param description       The description of the event.
+   * @param location          The location of the event.
+   * @param visibility        The visibility of the event.
+   * @param recurringDays     A string of characters representing recurring days.
+   * @param occurrenceCount   The number of occurrences of the event (optional).
+   * @param recurrenceEndDate The end date of the recurrence (optional).
+   * @return the series, which is empty if the rule produces no occurrences.
+   * @throws IllegalArgumentException if an occurrence would not be a valid event.
+   */
+  public static RecurringSeries of(String eventName, Temporal startTime, Temporal endTime,
+                                   String description, String location, String visibility,
+                                   String recurringDays, Integer occurrenceCount,
+                                   Temporal recurrenceEndDate) {
+    RecurringSeries series = new RecurringSeries(eventName, startTime, endTime, description,
+        location, visibility, recurringDays, occurrenceCount, recurrenceEndDate);
+    series.validate();
+    return series;
+  }
+
+  /**
+   * Writes this series to a snapshot. The anchor and the exclusions are written as deltas, the
+   * anchor from that of the previously written series, so that series created close together
+   * take few bytes.
+   *
+   * @param out            the snapshot to write to.
+   * @param previousAnchor the anchor of the previously written series, or 0 for the first.
+   * @throws IOException if writing fails.
+   */
+  void writeSnapshot(SnapshotOutput out, long previousAnchor) throws IOException {
+    out.writeString(name);
+    out.writeString(description);
+    out.writeString(location);
+    out.writeString(visibility);
+    out.writeString(recurringDays);
+    out.writeNullableInt(occurrenceCount);
+    out.writeNullableTime(recurrenceEndDate, anchor);
+    out.writeSigned(anchor - previousAnchor);
+    out.writeUnsigned(weekOffsets.length);
+    for (int offset : weekOffsets) {
+      out.writeUnsigned(offset);
+    }
+    out.writeSigned(duration);
+    out.writeSigned(shift);
+    out.writeUnsigned(firstIndex);
+    out.writeUnsigned(endIndex);
+    out.writeUnsigned(exclusions.size());
+    long previous = anchor + shift;
+    for (long excluded : exclusions) {
+      out.writeSigned(excluded - previous);
+      previous = excluded;
+    }
+  }
+
+  /**
+   * Reads a series written by {@link #writeSnapshot(SnapshotOutput, long)}. The series is
+   * restored as it was written, without generating or validating any occurrence.
+   *
+   * @param in             the snapshot to read from.
+   * @param previousAnchor the anchor of the previously read series, or 0 for the first.
+   * @return the series.
+   * @throws IOException if reading fails or the series is malformed.
+   */
+  static RecurringSeries readSnapshot(SnapshotInput in, long previousAnchor)
+      throws IOException {
+    String name = in.readString();
+    String description = in.readString();
+    String location = in.readString();
+    String visibility = in.readString();
+    String recurringDays = in.readString();
+    Integer occurrenceCount = in.readNullableInt();
+    long recurrenceEndDelta = 0;
+    boolean hasRecurrenceEnd = in.readBoolean();
+    if (hasRecurrenceEnd) {
+      recurrenceEndDelta = in.readSigned();
+    }
+    long anchor = previousAnchor + in.readSigned();
+    int[] weekOffsets = new int[in.readCount()];
+    if (weekOffsets.length == 0 || weekOffsets.length > DAYS_PER_WEEK) {
+      throw new IOException("Malformed series in snapshot.");
+    }
+    for (int i = 0; i < weekOffsets.length; i++) {
+      weekOffsets[i] = in.readCount();
+      if (weekOffsets[i] >= DAYS_PER_WEEK) {
+        throw new IOException("Malformed series in snapshot.");
+      }
+    }
+    long duration = in.readSigned();
+    long shift = in.readSigned();
+    int firstIndex = in.readCount();
+    int endIndex = in.readCount();
+    int excluded = in.readCount();
+    NavigableSet<Long> exclusions = new TreeSet<>();
+    long previous = anchor + shift;
+    for (int i = 0; i < excluded; i++) {
+      previous += in.readSigned();
+      exclusions.add(previous);
+    }
+    return new RecurringSeries(name, description, location, visibility, recurringDays,
+        occurrenceCount, hasRecurrenceEnd ? fromEpochSecond(anchor + recurrenceEndDelta) : null,
+        anchor, weekOffsets, duration, shift, firstIndex, endIndex, exclusions);
+  }
+
+  /**
+   * Returns the epoch second of the day the pattern is counted from.
+   *
+   * @return the anchor of the series.
+   */
+  long getAnchor() {
+    return anchor;
+  }
+
+  /**
+   * Returns the name shared by all occurrences.
+   *
+   * @return the event name.
+   */
+  public String getName() {
+    return name;
+  }
+
+  /**
+   * Returns whether this series has no remaining occurrences.
+   *
+   * @return true if the series is empty, false otherwise.
+   */
+  public boolean isEmpty() {
+    return firstIndex >= endIndex;
+  }
+
+  /**
+   * Returns the start of the first occurrence in epoch seconds.
+   *
+   * @return the start of the time span covered by this series.
+   */
+  public long getSpanStart() {
+    return startOf(firstIndex);
+  }
+
+  /**
+   * Returns the end of the last occurrence in epoch seconds.
+   *
+   * @return the end of the time span covered by this series.
+   */
+  public long getSpanEnd() {
+    return startOf(endIndex - 1) + duration;
+  }
+
+  /**
+   * Returns the occurrences that overlap the range (start, end) in start order, i.e. every
+   * occurrence starting before {@code end} and ending after {@code start}.
+   *
+   * @param start the start of the queried range in epoch seconds.
+   * @param end   the end of the queried range in epoch seconds.
+   * @return the overlapping occurrences.
+   */
+  public List<IEvent> getOverlapping(long start, long end) {
+    return occurrences(firstOverlappingIndex(start), indexAtOrAfterClamped(end));
+  }
+
+  /**
+   * Returns the occurrences starting within the given inclusive bounds, in start order.
+   *
+   * @param from the earliest start in epoch seconds, or null for no lower bound.
+   * @param to   the latest start in epoch seconds, or null for no upper bound.
+   * @return the occurrences starting within the bounds.
+   */
+  public List<IEvent> getStartingBetween(Long from, Long to) {
+    int fromIndex = from == null ? firstIndex : indexAtOrAfterClamped(from);
+    int toIndex = to == null || to == Long.MAX_VALUE ? endIndex : indexAtOrAfterClamped(to + 1);
+    return occurrences(fromIndex, toIndex);
+  }
+
+  /**
+   * Returns the first occurrence, in start order, that overlaps the range (start, end) and is
+   * not one of the ignored events.
+   *
+   * @param start   the start of the queried range in epoch seconds.
+   * @param end     the end of the queried range in epoch seconds.
+   * @param ignored events that should not be reported.
+   * @return the first overlapping occurrence, or null if there is none.
+   */
+  public IEvent findFirstOverlapping(long start, long end, Collection<IEvent> ignored) {
+    int toIndex = indexAtOrAfterClamped(end);
+    for (int index = firstOverlappingIndex(start); index < toIndex; index++) {
+      if (!isExcluded(index)) {
+        IEvent occurrence = occurrence(index);
+        if (!ignored.contains(occurrence)) {
+          return occurrence;
+        }
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Returns whether an occurrence is in progress at the given time, i.e. starts before and ends
+   * after it, without building any occurrence.
+   *
+   * @param time the time in epoch seconds.
+   * @return true if an occurrence is in progress, false otherwise.
+   */
+  boolean isInProgress(long time) {
+    int toIndex = indexAtOrAfterClamped(time);
+    for (int index = firstOverlappingIndex(time); index < toIndex; index++) {
+      if (!isExcluded(index)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Returns the position of the given event in this series.
+   *
+   * @param event the event to look up.
+   * @return the index of the occurrence equal to the event, or -1 if there is none.
+   */
+  public int indexOf(IEvent event) {
+    if (!name.equals(event.getName())) {
+      return -1;
+    }
+    long start = event.getStartEpochSecond();
+    int index = indexAtOrAfterClamped(start);
+    if (index >= endIndex || startOf(index) != start || isExcluded(index)
+        || !occurrence(index).equals(event)) {
+      return -1;
+    }
+    return index;
+  }
+
+  /**
+   * Returns a copy of this series without the occurrences at the given indices.
+   *
+   * @param indices the indices of the occurrences to remove.
+   * @return the remaining series, which may be empty.
+   */
+  public RecurringSeries without(Collection<Integer> indices) {
+    NavigableSet<Long> remaining = new TreeSet<>(exclusions);
+    for (int index : indices) {
+      remaining.add(startOf(index));
+    }
+    return new RecurringSeries(this, duration, shift, firstIndex, endIndex, remaining,
+        recurrenceEndDate);
+  }
+
+  /**
+   * Moves this series from one time zone to another, converting every occurrence the way a
+   * single event is converted. Where a daylight saving transition changes the conversion
+   * part-way through the series, the series is split into segments that each convert by a
+   * constant amount.
+   *
+   * @param fromZoneId the current time zone of the series.
+   * @param toZoneId   the target time zone.
+   * @return the converted segments of this series.
+   * @throws IllegalArgumentException if a converted occurrence would not be a valid event.
+   */
+  public List<RecurringSeries> changeZone(ZoneId fromZoneId, ZoneId toZoneId) {
+    Temporal convertedEndDate = recurrenceEndDate == null ? null
+        : TimeUtil.changeZone(recurrenceEndDate, fromZoneId, toZoneId);
+    ZoneRules fromRules = fromZoneId.getRules();
+    ZoneRules toRules = toZoneId.getRules();
+    List<RecurringSeries> segments = new ArrayList<>();
+
+    int index = firstIndex;
+    while (index < endIndex) {
+      long start = startOf(index);
+      long startDelta = zoneDelta(start, fromZoneId, toZoneId);
+      long endDelta = zoneDelta(start + duration, fromZoneId, toZoneId);
+      int segmentEnd = index + 1;
+      if (startDelta == endDelta) {
+        Instant startInstant = fromEpochSecondInZone(start, fromZoneId);
+        Instant nextTransition = earliest(fromRules.nextTransition(startInstant),
+            toRules.nextTransition(startInstant));
+        if (nextTransition == null) {
+          segmentEnd = endIndex;
+        } else {
+          long limit = nextTransition.getEpochSecond()
+              + fromRules.getOffset(startInstant).getTotalSeconds();
+          segmentEnd = Math.max(segmentEnd, indexAtOrAfterClamped(limit - duration));
+        }
+      }
+
+      NavigableSet<Long> segmentExclusions = new TreeSet<>();
+      for (long excluded : exclusions.subSet(start, true, startOf(segmentEnd - 1), true)) {
+        segmentExclusions.add(excluded + startDelta);
+      }
+      RecurringSeries segment = new RecurringSeries(this, duration + endDelta - startDelta,
+          shift + startDelta, index, segmentEnd, segmentExclusions, convertedEndDate);
+      segment.validate();
+      segments.add(segment);
+      index = segmentEnd;
+    }
+    return segments;
+  }
+
+  @Override
+  public Iterator<IEvent> iterator() {
+    return new Iterator<>() {
+      private int index = nextActive(firstIndex);
+
+      @Override
+      public boolean hasNext() {
+        return index < endIndex;
+      }
+
+      @Override
+      public IEvent next() {
+        if (!hasNext()) {
+          throw new NoSuchElementException();
+        }
+        IEvent occurrence = occurrence(index);
+        index = nextActive(index + 1);
+        return occurrence;
+      }
+    };
+  }
+
+  /**
+   * Returns the covered occurrence index range, inclusive of the first index.
+   *
+   * @return the index of the first covered occurrence.
+   */
+  int getFirstIndex() {
+    return firstIndex;
+  }
+
+  /**
+   * Returns the index after the last covered occurrence.
+   *
+   * @return the exclusive end of the covered index range.
+   */
+  int getEndIndex() {
+    return endIndex;
+  }
+
+  /**
+   * Returns the length of every occurrence in seconds.
+   *
+   * @return the occurrence duration.
+   */
+  long getDuration() {
+    return duration;
+  }
+
+  /**
+   * Returns whether the occurrence at the given index has been removed from the series.
+   *
+   * @param index the occurrence index.
+   * @return true if the occurrence is excluded, false otherwise.
+   */
+  boolean isExcluded(int index) {
+    return !exclusions.isEmpty() && exclusions.contains(startOf(index));
+  }
+
+  /**
+   * Returns the days of the week the occurrences fall on. Time zone changes can move every
+   * occurrence to another day, so the days are read from the occurrences of one pattern week
+   * rather than from the recurring days the series was created with.
+   *
+   * @return the days of the week of the occurrences.
+   */
+  Set<DayOfWeek> getOccurrenceDays() {
+    Set<DayOfWeek> days = EnumSet.noneOf(DayOfWeek.class);
+    for (int index = firstIndex; index < firstIndex + weekOffsets.length; index++) {
+      days.add(DayOfWeek.from(TimeUtil.getLocalDateTimeFromTemporal(
+          fromEpochSecond(startOf(index)))));
+    }
+    return days;
+  }
+
+  /**
+   * Returns the start times of the covered occurrences that no longer exist.
+   *
+   * @return the excluded start times in ascending order.
+   */
+  List<Temporal> getExcludedStarts() {
+    List<Temporal> starts = new ArrayList<>(exclusions.size());
+    for (long start : exclusions) {
+      starts.add(fromEpochSecond(start));
+    }
+    return starts;
+  }
+
+  /**
+   * Returns the start of the occurrence at the given index in epoch seconds.
+   *
+   * @param index the occurrence index.
+   * @return the start of the occurrence.
+   */
+  long startOf(int index) {
+    int daysPerWeek = weekOffsets.length;
+    long dayOffset = (long) (index / daysPerWeek) * DAYS_PER_WEEK
+        + weekOffsets[index % daysPerWeek];
+    return anchor + shift + dayOffset * SECONDS_PER_DAY;
+  }
+
+  /**
+   * Builds the occurrence at the given index as an event.
+   *
+   * @param index the occurrence index.
+   * @return the occurrence.
+   */
+  IEvent occurrence(int index) {
+    long start = startOf(index);
+    return Event.builder()
+        .name(name)
+        .startTime(fromEpochSecond(start))
+        .endTime(fromEpochSecond(start + duration))
+        .description(description)
+        .location(location)
+        .visibility(visibility)
+        .recurringDays(recurringDays)
+        .occurrenceCount(occurrenceCount)
+        .recurrenceEndDate(recurrenceEndDate)
+        .isAutoDecline(true)
+        .build();
+  }
+
+  /**
+   * Builds the first and last occurrence, which are the ones most likely to violate the event
+   * constraints, so that invalid series are rejected up front rather than on a later read.
+   *
+   * @throws IllegalArgumentException if an occurrence would not be a valid event.
+   */
+  private void validate() {
+    if (!isEmpty()) {
+      occurrence(firstIndex);
+      occurrence(endIndex - 1);
+    }
+  }
+
+  private List<IEvent> occurrences(int fromIndex, int toIndex) {
+    if (fromIndex >= toIndex) {
+      return Collections.emptyList();
+    }
+    List<IEvent> result = new ArrayList<>(toIndex - fromIndex);
+    for (int index = fromIndex; index < toIndex; index++) {
+      if (!isExcluded(index)) {
+        result.add(occurrence(index));
+      }
+    }
+    return result;
+  }
+
+  private int nextActive(int index) {
+    while (index < endIndex && isExcluded(index)) {
+      index++;
+    }
+    return index;
+  }
+
+  /**
+   * Returns the index of the first covered occurrence that ends after the given time.
+   *
+   * @param start the time in epoch seconds.
+   * @return the index of the first occurrence ending after the time, or the end index if none.
+   */
+  int firstOverlappingIndex(long start) {
+    if (start <= Long.MIN_VALUE + duration) {
+      return firstIndex;
+    }
+    return indexAtOrAfterClamped(start - duration + 1);
+  }
+
+  /**
+   * Returns the index of the first covered occurrence starting at or after the given time.
+   *
+   * @param epochSecond the time in epoch seconds.
+   * @return the index of the first occurrence starting at or after the time, clamped to the
+   *     covered index range.
+   */
+  int indexAtOrAfterClamped(long epochSecond) {
+    return (int) Math.max(firstIndex, Math.min(endIndex, indexAtOrAfter(epochSecond)));
+  }
+
+  /**
+   * Counts the pattern days that start before the given time, which is also the index of the
+   * first occurrence starting at or after it.
+   *
+   * @param epochSecond the time in epoch seconds.
+   * @return the index of the first occurrence starting at or after the given time.
+   */
+  private long indexAtOrAfter(long epochSecond) {
+    long origin = anchor + shift;
+    if (epochSecond <= origin || weekOffsets.length == 0) {
+      return 0;
+    }
+    long days = (epochSecond - origin + SECONDS_PER_DAY - 1) / SECONDS_PER_DAY;
+    long index = (days / DAYS_PER_WEEK) * weekOffsets.length;
+    int remainder = (int) (days % DAYS_PER_WEEK);
+    for (int offset : weekOffsets) {
+      if (offset < remainder) {
+        index++;
+      }
+    }
+    return index;
+  }
+
+  private static int[] computeWeekOffsets(Set<DayOfWeek> days, DayOfWeek firstDay) {
+    int[] offsets = new int[days.size()];
+    int position = 0;
+    for (DayOfWeek day : days) {
+      offsets[position++] = (day.getValue() - firstDay.getValue() + DAYS_PER_WEEK)
+          % DAYS_PER_WEEK;
+    }
+    Arrays.sort(offsets);
+    return offsets;
+  }
+
+  private static long zoneDelta(long epochSecond, ZoneId fromZoneId, ZoneId toZoneId) {
+    Temporal local = fromEpochSecond(epochSecond);
+    return toEpochSecond(TimeUtil.changeZone(local, fromZoneId, toZoneId)) - epochSecond;
+  }
+
+  private static Instant fromEpochSecondInZone(long epochSecond, ZoneId zoneId) {
+    return TimeUtil.getLocalDateTimeFromTemporal(fromEpochSecond(epochSecond))
+        .atZone(zoneId).toInstant();
+  }
+
+  private static Instant earliest(ZoneOffsetTransition first, ZoneOffsetTransition second) {
+    if (first == null) {
+      return second == null ? null : second.getInstant();
+    }
+    if (second == null) {
+      return first.getInstant();
+    }
+    return first.getInstant().isBefore(second.getInstant())
+        ? first.getInstant() : second.getInstant();
+  }
+}
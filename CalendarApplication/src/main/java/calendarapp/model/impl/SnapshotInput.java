@@ -0,0 +1,160 @@
+package calendarapp.model.impl;
+
+import java.io.DataInput;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.temporal.Temporal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static calendarapp.utils.TimeUtil.fromEpochSecond;
+
+/**
+ * Reads the values written by a {@link SnapshotOutput}, rebuilding its string dictionary as the
+ * strings are first seen.
+ */
+class SnapshotInput {
+  private final DataInput in;
+  private final List<String> dictionary;
+
+  /**
+   * Constructs a reader with an empty dictionary.
+   *
+   * @param in the input to read from.
+   */
+  SnapshotInput(DataInput in) {
+    this.in = in;
+    this.dictionary = new ArrayList<>();
+  }
+
+  /**
+   * Reads a non-negative number.
+   *
+   * @return the number.
+   * @throws IOException if reading fails or the number is malformed.
+   */
+  long readUnsigned() throws IOException {
+    long value = 0;
+    for (int shift = 0; shift < 64; shift += 7) {
+      int b = in.readUnsignedByte();
+      value |= (long) (b & 0x7F) << shift;
+      if ((b & 0x80) == 0) {
+        return value;
+      }
+    }
+    throw new IOException("Malformed number in snapshot.");
+  }
+
+  /**
+   * Reads a non-negative number that fits an int.
+   *
+   * @return the number.
+   * @throws IOException if reading fails or the number is out of range.
+   */
+  int readCount() throws IOException {
+    long value = readUnsigned();
+    if (value > Integer.MAX_VALUE) {
+      throw new IOException("Malformed count in snapshot.");
+    }
+    return (int) value;
+  }
+
+  /**
+   * Reads a number of either sign.
+   *
+   * @return the number.
+   * @throws IOException if reading fails or the number is malformed.
+   */
+  long readSigned() throws IOException {
+    long value = readUnsigned();
+    return (value >>> 1) ^ -(value & 1);
+  }
+
+  /**
+   * Reads a boolean.
+   *
+   * @return the boolean.
+   * @throws IOException if reading fails.
+   */
+  boolean readBoolean() throws IOException {
+    return in.readBoolean();
+  }
+
+  /**
+   * Reads raw bytes.
+   *
+   * @param count the number of bytes to read.
+   * @return the bytes.
+   * @throws IOException if reading fails.
+   */
+  byte[] readBytes(int count) throws IOException {
+    byte[] bytes = new byte[count];
+    in.readFully(bytes);
+    return bytes;
+  }
+
+  /**
+   * Reads a string, or null, through the dictionary.
+   *
+   * @return the string.
+   * @throws IOException if reading fails or the string refers to an unknown id.
+   */
+  String readString() throws IOException {
+    long id = readUnsigned();
+    if (id == 0) {
+      return null;
+    }
+    if (id <= dictionary.size()) {
+      return dictionary.get((int) (id - 1));
+    }
+    if (id != dictionary.size() + 1L) {
+      throw new IOException("Malformed string in snapshot.");
+    }
+    byte[] bytes = readBytes(readCount());
+    String value = new String(bytes, StandardCharsets.UTF_8);
+    dictionary.add(value);
+    return value;
+  }
+
+  /**
+   * Reads a number, or null.
+   *
+   * @return the number.
+   * @throws IOException if reading fails.
+   */
+  Integer readNullableInt() throws IOException {
+    long value = readUnsigned();
+    return value == 0 ? null : (int) (value - 1);
+  }
+
+  /**
+   * Reads a time, or null, written relative to a nearby time.
+   *
+   * @param base the epoch second the time was written relative to.
+   * @return the time.
+   * @throws IOException if reading fails.
+   */
+  Temporal readNullableTime(long base) throws IOException {
+    return readBoolean() ? fromEpochSecond(base + readSigned()) : null;
+  }
+
+  /**
+   * Reads a date, a date-time or null.
+   *
+   * @return the date or date-time.
+   * @throws IOException if reading fails or the value is malformed.
+   */
+  Temporal readTemporal() throws IOException {
+    switch (in.readUnsignedByte()) {
+      case 0:
+        return null;
+      case 1:
+        return fromEpochSecond(readSigned());
+      case 2:
+        return LocalDate.ofEpochDay(readSigned());
+      default:
+        throw new IOException("Malformed time in snapshot.");
+    }
+  }
+}
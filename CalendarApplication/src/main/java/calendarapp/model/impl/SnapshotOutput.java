@@ -0,0 +1,147 @@
+package calendarapp.model.impl;
+
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.temporal.Temporal;
+import java.util.HashMap;
+import java.util.Map;
+
+import static calendarapp.utils.TimeUtil.toEpochSecond;
+
+/**
+ * Writes the values of a binary snapshot compactly.
+ * Numbers are written as variable-length integers, seven bits per byte, with signed numbers
+ * zigzag encoded first so that small deltas of either sign take a single byte. Strings go
+ * through a dictionary: the first use of a string writes it out and assigns it the next id, and
+ * every later use writes only the id. Names, locations and visibilities repeat across events, so
+ * most of them cost a byte or two. The records of a {@link WriteAheadLog} are written the same
+ * way.
+ *
+ * @see SnapshotInput
+ */
+class SnapshotOutput {
+  private final DataOutput out;
+  private final Map<String, Integer> dictionary;
+
+  /**
+   * Constructs a writer with an empty dictionary.
+   *
+   * @param out the output to write to.
+   */
+  SnapshotOutput(DataOutput out) {
+    this.out = out;
+    this.dictionary = new HashMap<>();
+  }
+
+  /**
+   * Writes a non-negative number in as few bytes as it needs.
+   *
+   * @param value the number to write.
+   * @throws IOException if writing fails.
+   */
+  void writeUnsigned(long value) throws IOException {
+    while ((value & ~0x7FL) != 0) {
+      out.writeByte((int) ((value & 0x7F) | 0x80));
+      value >>>= 7;
+    }
+    out.writeByte((int) value);
+  }
+
+  /**
+   * Writes a number of either sign in as few bytes as its magnitude needs.
+   *
+   * @param value the number to write.
+   * @throws IOException if writing fails.
+   */
+  void writeSigned(long value) throws IOException {
+    writeUnsigned((value << 1) ^ (value >> 63));
+  }
+
+  /**
+   * Writes a boolean as a single byte.
+   *
+   * @param value the boolean to write.
+   * @throws IOException if writing fails.
+   */
+  void writeBoolean(boolean value) throws IOException {
+    out.writeBoolean(value);
+  }
+
+  /**
+   * Writes raw bytes, without their length.
+   *
+   * @param bytes the bytes to write.
+   * @throws IOException if writing fails.
+   */
+  void writeBytes(byte[] bytes) throws IOException {
+    out.write(bytes);
+  }
+
+  /**
+   * Writes a string, or null, through the dictionary.
+   *
+   * @param value the string to write.
+   * @throws IOException if writing fails.
+   */
+  void writeString(String value) throws IOException {
+    if (value == null) {
+      writeUnsigned(0);
+      return;
+    }
+    Integer id = dictionary.get(value);
+    if (id != null) {
+      writeUnsigned(id + 1L);
+      return;
+    }
+    int newId = dictionary.size();
+    dictionary.put(value, newId);
+    writeUnsigned(newId + 1L);
+    byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+    writeUnsigned(bytes.length);
+    out.write(bytes);
+  }
+
+  /**
+   * Writes a number, or null.
+   *
+   * @param value the number to write.
+   * @throws IOException if writing fails.
+   */
+  void writeNullableInt(Integer value) throws IOException {
+    writeUnsigned(value == null ? 0 : (value & 0xFFFFFFFFL) + 1);
+  }
+
+  /**
+   * Writes a time, or null, as its distance in seconds from a nearby time.
+   *
+   * @param value the time to write.
+   * @param base  the epoch second the time is written relative to.
+   * @throws IOException if writing fails.
+   */
+  void writeNullableTime(Temporal value, long base) throws IOException {
+    writeBoolean(value != null);
+    if (value != null) {
+      writeSigned(toEpochSecond(value) - base);
+    }
+  }
+
+  /**
+   * Writes a date, a date-time or null, keeping which of them it is.
+   *
+   * @param value the date or date-time to write.
+   * @throws IOException if writing fails.
+   */
+  void writeTemporal(Temporal value) throws IOException {
+    if (value == null) {
+      out.writeByte(0);
+    } else if (value instanceof LocalDate) {
+      out.writeByte(2);
+      writeSigned(((LocalDate) value).toEpochDay());
+    } else {
+      out.writeByte(1);
+      writeSigned(toEpochSecond(value));
+    }
+  }
+}
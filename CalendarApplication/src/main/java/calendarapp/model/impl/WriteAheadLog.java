@@ -0,0 +1,633 @@
+package calendarapp.model.impl;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+import java.util.zip.CRC32;
+
+import calendarapp.controller.InvalidCommandException;
+import calendarapp.model.ICalendarModel;
+
+/**
+ * Append-only log of the changes made to the calendars since the last snapshot, so that they
+ * survive a restart. Every change gets the next sequence number and is appended to the log as
+ * a {@link MutationRecord}, in the same critical section that makes it, so the order of the log
+ * is the order the changes were made in even when several models share it.
+ *
+ * <p>The log is a header holding the sequence number of its first change, followed by one frame
+ * per change: the length and the CRC-32 of the record, then the record. Records are appended to
+ * a buffer in memory and written through a {@link FileChannel} by a flusher thread, which syncs
+ * every record it has collected since its last sync at once, so concurrent changes share one
+ * sync. The {@link SyncPolicy} decides when the flusher syncs and whether a change waits for it.
+ *
+ * <p>A change too large for one record, such as an import, is appended as a sequence of records
+ * that no other change can come between. While it is appended, the buffer is written out
+ * whenever it fills, so the change never has to fit in memory as a whole. If the log ends
+ * inside such a sequence, the whole change is cut off.
+ *
+ * <p>Saving a snapshot is a checkpoint: the snapshot records the sequence number of the last
+ * change it includes and the log starts over after it. On startup the log is replayed on top of
+ * the snapshot, skipping the changes the snapshot already includes. A frame that was only partly
+ * written when the application stopped ends the log and is cut off.
+ */
+public final class WriteAheadLog implements AutoCloseable {
+  private static final int MAGIC = 0x43414C57;
+  private static final int VERSION = 1;
+  private static final int HEADER_SIZE = 16;
+  private static final int FRAME_HEADER_SIZE = 8;
+  private static final int BUFFER_SIZE = 1 << 16;
+
+  private final Path path;
+  private final SyncPolicy policy;
+  private final ReentrantLock lock;
+  private final Condition flushNeeded;
+  private final Condition flushed;
+  private final Condition sequenceAppended;
+  private FileChannel channel;
+  private long firstSequence;
+  private long lastSequence;
+  private long syncedSequence;
+  private byte[] pending;
+  private byte[] spare;
+  private int pendingLength;
+  private int pendingRecords;
+  private long pendingSince;
+  private boolean flushing;
+  private boolean appendingSequence;
+  private boolean closed;
+  private IOException failure;
+  private Thread flusher;
+
+  private WriteAheadLog(Path path, FileChannel channel, long firstSequence, SyncPolicy policy) {
+    this.path = path;
+    this.channel = channel;
+    this.firstSequence = firstSequence;
+    this.policy = policy;
+    this.lock = new ReentrantLock();
+    this.flushNeeded = lock.newCondition();
+    this.flushed = lock.newCondition();
+    this.sequenceAppended = lock.newCondition();
+    this.pending = new byte[BUFFER_SIZE];
+    this.spare = new byte[BUFFER_SIZE];
+  }
+
+  /**
+   * Opens a log file, creating it if it does not exist. Changes can be appended once the log
+   * has been replayed with {@link #replay}.
+   *
+   * @param filePath the path of the log file.
+   * @param policy   when to sync appended changes to the disk.
+   * @return the opened log.
+   * @throws IOException if the file cannot be opened or is not a log.
+   */
+  public static WriteAheadLog open(String filePath, SyncPolicy policy) throws IOException {
+    Path path = Paths.get(filePath).toAbsolutePath();
+    FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE,
+        StandardOpenOption.READ, StandardOpenOption.WRITE);
+    try {
+      if (channel.size() == 0) {
+        channel.write(header(1));
+        channel.force(true);
+        return new WriteAheadLog(path, channel, 1, policy);
+      }
+      ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+      while (header.hasRemaining() && channel.read(header, header.position()) > 0) {
+        // Read the whole header.
+      }
+      header.flip();
+      if (header.remaining() < HEADER_SIZE || header.getInt() != MAGIC) {
+        throw new IOException("Not a write-ahead log.");
+      }
+      int version = header.getInt();
+      if (version != VERSION) {
+        throw new IOException("Unsupported write-ahead log version " + version + ".");
+      }
+      return new WriteAheadLog(path, channel, header.getLong(), policy);
+    } catch (IOException e) {
+      channel.close();
+      throw e;
+    }
+  }
+
+  /**
+   * Replays the logged changes made after a snapshot on a model, then gets the log ready to
+   * append the next changes. A frame that was only partly written ends the log and is cut off.
+   *
+   * @param afterSequence the sequence number of the last change the snapshot includes, or 0.
+   * @param model         the model to replay the changes on, which must not log them again.
+   * @throws IOException if the log cannot be read, starts after the snapshot or holds a change
+   *                     that cannot be replayed.
+   */
+  void replay(long afterSequence, ICalendarModel model) throws IOException {
+    if (afterSequence + 1 < firstSequence) {
+      throw new IOException("Log starts at change " + firstSequence
+          + ", after the snapshot; start from a newer snapshot.");
+    }
+    long end = HEADER_SIZE;
+    long sequence = firstSequence - 1;
+    try (InputStream file = Files.newInputStream(path)) {
+      FrameReader frames = new FrameReader(file, channel.size(), sequence);
+      byte[] record;
+      while ((record = frames.next()) != null) {
+        if (frames.sequence > afterSequence && !replay(frames.sequence, record, frames, model)) {
+          break;
+        }
+        end = frames.end;
+        sequence = frames.sequence;
+      }
+    }
+
+    if (sequence < afterSequence) {
+      // The snapshot includes changes the log lost, so the log starts over after it.
+      reset(afterSequence + 1);
+      sequence = afterSequence;
+    } else {
+      channel.truncate(end);
+      channel.position(end);
+    }
+    lastSequence = sequence;
+    syncedSequence = sequence;
+    flusher = new Thread(this::flush, "write-ahead-log");
+    flusher.setDaemon(true);
+    flusher.start();
+  }
+
+  /**
+   * Makes a change and appends its record to the log, so that no other change of the log can
+   * be made between the two. Nothing is logged if the change fails. Depending on the policy, it
+   * returns once the record is synced to the disk or as soon as it is appended.
+   *
+   * @param record the record of the change.
+   * @param change the change to make.
+   * @throws InvalidCommandException if the log cannot be written.
+   */
+  void append(byte[] record, Runnable change) {
+    lock.lock();
+    try {
+      checkWritable();
+      change.run();
+      long sequence = ++lastSequence;
+      appendFrame(record);
+      awaitSync(sequence);
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Makes a change and appends its records to the log as one sequence, so that no other change
+   * of the log can be made before the last of them is appended. The records are only produced
+   * once the change is made, one at a time, and the buffer is written out whenever it fills, so
+   * they never have to be in memory together. Nothing is logged if the change fails. Depending
+   * on the policy, it returns once the records are synced to the disk or as soon as they are
+   * appended.
+   *
+   * @param change  the change to make.
+   * @param records produces the records of the change once it is made.
+   * @throws InvalidCommandException if the log cannot be written.
+   */
+  void append(Runnable change, Supplier<Iterator<byte[]>> records) {
+    lock.lock();
+    try {
+      checkWritable();
+      change.run();
+      appendingSequence = true;
+      long sequence = lastSequence;
+      try {
+        Iterator<byte[]> sequenceRecords = records.get();
+        while (sequenceRecords.hasNext()) {
+          byte[] record = sequenceRecords.next();
+          sequence = ++lastSequence;
+          appendFrame(record);
+          if (pendingLength >= BUFFER_SIZE) {
+            writePending();
+          }
+        }
+      } finally {
+        appendingSequence = false;
+        sequenceAppended.signalAll();
+      }
+      awaitSync(sequence);
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Saves a snapshot that includes every logged change and starts the log over after it. No
+   * change can be made while the snapshot is saved.
+   *
+   * @param snapshot saves the snapshot, given the sequence number of the last change.
+   * @throws IOException if the snapshot cannot be saved or the log cannot start over.
+   * @throws InvalidCommandException if the log cannot be written.
+   */
+  void checkpoint(Checkpoint snapshot) throws IOException {
+    lock.lock();
+    try {
+      checkWritable();
+      while (flushing) {
+        flushed.awaitUninterruptibly();
+      }
+      long sequence = lastSequence;
+      snapshot.save(sequence);
+      pendingLength = 0;
+      pendingRecords = 0;
+      try {
+        reset(sequence + 1);
+      } catch (IOException e) {
+        failure = e;
+        throw e;
+      } finally {
+        syncedSequence = sequence;
+        flushed.signalAll();
+      }
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Syncs the changes appended so far and closes the log. Closing a closed log does nothing.
+   *
+   * @throws InvalidCommandException if the last changes cannot be written.
+   */
+  @Override
+  public void close() {
+    lock.lock();
+    try {
+      while (appendingSequence) {
+        sequenceAppended.awaitUninterruptibly();
+      }
+      if (closed) {
+        return;
+      }
+      closed = true;
+      flushNeeded.signal();
+    } finally {
+      lock.unlock();
+    }
+    if (flusher != null) {
+      boolean interrupted = false;
+      while (flusher.isAlive()) {
+        try {
+          flusher.join();
+        } catch (InterruptedException e) {
+          interrupted = true;
+        }
+      }
+      if (interrupted) {
+        Thread.currentThread().interrupt();
+      }
+    }
+    try {
+      channel.close();
+    } catch (IOException e) {
+      // The changes were already synced.
+    }
+    if (failure != null) {
+      throw writeError(failure);
+    }
+  }
+
+  /**
+   * Replays one change, reading the rest of its records from the frames if it has several.
+   *
+   * @return true if the change was replayed, false if the log ends inside its records.
+   */
+  private boolean replay(long sequence, byte[] record, FrameReader frames, ICalendarModel model)
+      throws IOException {
+    try {
+      MutationRecord.replay(record, frames, model);
+      return true;
+    } catch (MutationRecord.CutOffException e) {
+      return false;
+    } catch (RuntimeException e) {
+      throw new IOException("Change " + sequence + " cannot be replayed: "
+          + String.valueOf(e.getMessage()).trim());
+    }
+  }
+
+  /**
+   * Waits for any sequence of records another thread is appending, then checks that the log
+   * can be appended to.
+   */
+  private void checkWritable() {
+    while (appendingSequence) {
+      sequenceAppended.awaitUninterruptibly();
+    }
+    if (flusher == null || closed) {
+      throw new IllegalStateException("The write-ahead log is not open for changes.");
+    }
+    if (failure != null) {
+      throw writeError(failure);
+    }
+  }
+
+  private void appendFrame(byte[] record) {
+    int frameLength = FRAME_HEADER_SIZE + record.length;
+    if (pendingLength + frameLength > pending.length) {
+      pending = Arrays.copyOf(pending, Math.max(pending.length * 2, pendingLength + frameLength));
+    }
+    CRC32 checksum = new CRC32();
+    checksum.update(record);
+    ByteBuffer frame = ByteBuffer.wrap(pending, pendingLength, frameLength);
+    frame.putInt(record.length).putInt((int) checksum.getValue()).put(record);
+    pendingLength += frameLength;
+    if (pendingRecords++ == 0) {
+      pendingSince = System.nanoTime();
+    }
+  }
+
+  /**
+   * Signals the flusher once the first pending record is appended or enough are, then, if the
+   * policy says so, waits until the given change is synced.
+   */
+  private void awaitSync(long sequence) {
+    if (pendingRecords == 1 || pendingRecords >= policy.maxRecords) {
+      flushNeeded.signal();
+    }
+    if (!policy.waitForSync) {
+      return;
+    }
+    while (syncedSequence < sequence && failure == null) {
+      flushed.awaitUninterruptibly();
+    }
+    if (syncedSequence < sequence) {
+      throw writeError(failure);
+    }
+  }
+
+  /**
+   * Has the flusher write out the pending records now, while a sequence of records is appended,
+   * and waits until they are taken. Other changes wait for the sequence in the meantime.
+   */
+  private void writePending() {
+    while (pendingLength > 0 && failure == null) {
+      flushNeeded.signal();
+      flushed.awaitUninterruptibly();
+    }
+    if (failure != null) {
+      throw writeError(failure);
+    }
+  }
+
+  /**
+   * Runs on the flusher thread: waits until the policy calls for a sync, then writes and syncs
+   * the records appended so far while changes keep being appended to the other buffer.
+   */
+  private void flush() {
+    lock.lock();
+    try {
+      while (true) {
+        long wait;
+        while ((wait = flushDelay()) > 0) {
+          if (closed && pendingRecords == 0) {
+            return;
+          }
+          try {
+            if (wait == Long.MAX_VALUE) {
+              flushNeeded.await();
+            } else {
+              flushNeeded.awaitNanos(wait);
+            }
+          } catch (InterruptedException e) {
+            closed = true;
+          }
+        }
+        byte[] buffer = pending;
+        int length = pendingLength;
+        long sequence = lastSequence;
+        pending = spare;
+        spare = buffer;
+        pendingLength = 0;
+        pendingRecords = 0;
+        flushing = true;
+        lock.unlock();
+        IOException error = null;
+        try {
+          ByteBuffer bytes = ByteBuffer.wrap(buffer, 0, length);
+          while (bytes.hasRemaining()) {
+            channel.write(bytes);
+          }
+          channel.force(false);
+        } catch (IOException e) {
+          error = e;
+        }
+        lock.lock();
+        flushing = false;
+        if (error == null) {
+          syncedSequence = sequence;
+        } else {
+          failure = error;
+        }
+        flushed.signalAll();
+        if (failure != null) {
+          return;
+        }
+      }
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Returns how long the flusher still has to wait before the pending records are due to be
+   * synced, 0 if they are due now, or {@link Long#MAX_VALUE} if it should wait to be signalled.
+   */
+  private long flushDelay() {
+    if (pendingRecords == 0) {
+      return Long.MAX_VALUE;
+    }
+    if (closed || appendingSequence || pendingRecords >= policy.maxRecords) {
+      return 0;
+    }
+    if (policy.maxDelayNanos == 0) {
+      return Long.MAX_VALUE;
+    }
+    return Math.max(0, policy.maxDelayNanos - (System.nanoTime() - pendingSince));
+  }
+
+  private void reset(long sequence) throws IOException {
+    Path temporary = path.resolveSibling(path.getFileName() + ".tmp");
+    try (FileChannel empty = FileChannel.open(temporary, StandardOpenOption.CREATE,
+        StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+      empty.write(header(sequence));
+      empty.force(true);
+    }
+    Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING);
+    channel.close();
+    channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE);
+    channel.position(HEADER_SIZE);
+    firstSequence = sequence;
+  }
+
+  private static ByteBuffer header(long firstSequence) {
+    ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+    header.putInt(MAGIC).putInt(VERSION).putLong(firstSequence).flip();
+    return header;
+  }
+
+  private static InvalidCommandException writeError(IOException e) {
+    return new InvalidCommandException("Cannot write to the write-ahead log: " + e.getMessage()
+        + "\n");
+  }
+
+  /**
+   * Reads the frames of a log file one at a time, keeping the end and the sequence number of
+   * the last whole frame read. A frame that was only partly written ends the log.
+   */
+  private static final class FrameReader implements MutationRecord.RecordSource {
+    private final DataInputStream in;
+    private final long size;
+    private final CRC32 checksum = new CRC32();
+    private long end;
+    private long sequence;
+
+    private FrameReader(InputStream file, long size, long sequence) throws IOException {
+      this.in = new DataInputStream(new BufferedInputStream(file, BUFFER_SIZE));
+      this.size = size;
+      this.end = HEADER_SIZE;
+      this.sequence = sequence;
+      in.readFully(new byte[HEADER_SIZE]);
+    }
+
+    @Override
+    public byte[] next() throws IOException {
+      if (end + FRAME_HEADER_SIZE > size) {
+        return null;
+      }
+      try {
+        int length = in.readInt();
+        int crc = in.readInt();
+        if (length < 0 || length > size - end - FRAME_HEADER_SIZE) {
+          return null;
+        }
+        byte[] record = new byte[length];
+        in.readFully(record);
+        checksum.reset();
+        checksum.update(record);
+        if ((int) checksum.getValue() != crc) {
+          return null;
+        }
+        sequence++;
+        end += FRAME_HEADER_SIZE + length;
+        return record;
+      } catch (EOFException e) {
+        // The file is shorter than it was when its size was read; the rest is cut off.
+        return null;
+      }
+    }
+  }
+
+  /**
+   * Saves a snapshot during a {@link #checkpoint}.
+   */
+  interface Checkpoint {
+
+    /**
+     * Saves a snapshot of the calendars.
+     *
+     * @param logSequence the sequence number of the last change the snapshot includes.
+     * @throws IOException if the snapshot cannot be saved.
+     */
+    void save(long logSequence) throws IOException;
+  }
+
+  /**
+   * When the changes appended to a {@link WriteAheadLog} are synced to the disk, trading the
+   * latency of a change for how many of the latest changes a crash can lose.
+   */
+  public static final class SyncPolicy {
+    private final int maxRecords;
+    private final long maxDelayNanos;
+    private final boolean waitForSync;
+
+    private SyncPolicy(int maxRecords, long maxDelayNanos, boolean waitForSync) {
+      this.maxRecords = maxRecords;
+      this.maxDelayNanos = maxDelayNanos;
+      this.waitForSync = waitForSync;
+    }
+
+    /**
+     * Syncs every change before it returns. Changes made at the same time share a sync, so no
+     * change is ever lost.
+     *
+     * @return the policy.
+     */
+    public static SyncPolicy always() {
+      return new SyncPolicy(1, 0, true);
+    }
+
+    /**
+     * Syncs once the given number of changes are waiting. Changes return without waiting for
+     * the sync, so a crash can lose fewer than that many of them.
+     *
+     * @param records the number of changes synced together.
+     * @return the policy.
+     * @throws IllegalArgumentException if the number is not positive.
+     */
+    public static SyncPolicy everyRecords(int records) {
+      if (records <= 0) {
+        throw new IllegalArgumentException("The number of records must be positive.");
+      }
+      return new SyncPolicy(records, 0, false);
+    }
+
+    /**
+     * Syncs the changes waiting at most the given time after the first of them was made.
+     * Changes return without waiting for the sync, so a crash can lose the changes of that
+     * time.
+     *
+     * @param millis the longest time a change waits to be synced, in milliseconds.
+     * @return the policy.
+     * @throws IllegalArgumentException if the time is not positive.
+     */
+    public static SyncPolicy everyMillis(long millis) {
+      if (millis <= 0) {
+        throw new IllegalArgumentException("The sync interval must be positive.");
+      }
+      return new SyncPolicy(Integer.MAX_VALUE, TimeUnit.MILLISECONDS.toNanos(millis), false);
+    }
+
+    /**
+     * Parses a policy: {@code always}, {@code <n>ms} to sync every n milliseconds or
+     * {@code <n>records} to sync every n changes.
+     *
+     * @param policy the text of the policy.
+     * @return the policy.
+     * @throws IllegalArgumentException if the text is not a policy.
+     */
+    public static SyncPolicy parse(String policy) {
+      try {
+        if (policy.equalsIgnoreCase("always")) {
+          return always();
+        }
+        if (policy.endsWith("records")) {
+          return everyRecords(Integer.parseInt(
+              policy.substring(0, policy.length() - "records".length())));
+        }
+        if (policy.endsWith("ms")) {
+          return everyMillis(Long.parseLong(policy.substring(0, policy.length() - 2)));
+        }
+      } catch (IllegalArgumentException e) {
+        // Reported below.
+      }
+      throw new IllegalArgumentException("Invalid write-ahead log sync policy: " + policy);
+    }
+  }
+}
@@ -2,37 +2,32 @@ package calendarapp.model.impl.searchstrategies;
 
 import java.time.temporal.Temporal;
 import java.util.List;
-import java.util.stream.Collectors;
 
 import calendarapp.model.IEvent;
+import calendarapp.model.IEventIndex;
 import calendarapp.model.SearchEventsStrategy;
-import calendarapp.utils.TimeUtil;
 
 /**
  * Implementation of {@link SearchEventsStrategy} for finding overlapping events.
- * This strategy filters events that conflict with the given time range.
+ * This strategy filters events that conflict with the given time range, delegating the range
+ * query to the index so only overlapping events are visited. Events are immutable, so the
+ * indexed instances are returned as they are rather than copied.
  */
 public class OverlappingEventsSearch implements SearchEventsStrategy {
 
   /**
    * Searches for events that overlap with the specified time range.
    *
-   * @param events      The list of available events to search through.
+   * @param index       The index over the available events to search through.
    * @param eventName   The name of the event to search for (optional, unused in this strategy).
    * @param startTime   The start time of the time range to check for conflicts.
    * @param endTime     The end time of the time range to check for conflicts.
    * @param isRecurring This parameter is ignored in this strategy since recurrence is not relevant.
-   * @return A list of overlapping events sorted in descending order of start time.
+   * @return A list of overlapping events sorted in ascending order of start time.
    */
   @Override
-  public List<IEvent> search(List<IEvent> events, String eventName, Temporal startTime,
+  public List<IEvent> search(IEventIndex index, String eventName, Temporal startTime,
                              Temporal endTime, boolean isRecurring) {
-    return events.stream()
-        .filter(event -> TimeUtil.isConflicting(event.getStartTime(),
-            event.getEndTime(), startTime, endTime))
-        .sorted((event1, event2) ->
-            Math.toIntExact(TimeUtil.difference(event2.getStartTime(), event1.getStartTime())))
-        .map(IEvent::deepCopyEvent)
-        .collect(Collectors.toList());
+    return index.getOverlapping(startTime, endTime);
   }
 }
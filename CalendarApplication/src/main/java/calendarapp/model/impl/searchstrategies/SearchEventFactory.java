@@ -7,8 +7,10 @@ import java.util.Map;
 import java.util.function.Supplier;
 
 import calendarapp.model.IEvent;
+import calendarapp.model.IEventIndex;
 import calendarapp.model.SearchEventsStrategy;
 import calendarapp.model.SearchType;
+import calendarapp.model.impl.EventIndex;
 
 /**
  * Factory class for selecting and executing different event search strategies.
@@ -44,10 +46,28 @@ public class SearchEventFactory {
    */
   public List<IEvent> search(List<IEvent> events, String eventName, Temporal startTime,
                              Temporal endTime, boolean isRecurring, SearchType searchType) {
+    return search(new EventIndex(events), eventName, startTime, endTime, isRecurring,
+        searchType);
+  }
+
+  /**
+   * Searches the indexed events based on the specified criteria and search type.
+   *
+   * @param index       The index over the available events to search through.
+   * @param eventName   The name of the event to search for (optional).
+   * @param startTime   The start time to filter events (optional).
+   * @param endTime     The end time to filter events (optional).
+   * @param isRecurring Whether to filter only recurring events.
+   * @param searchType  The type of search strategy to apply.
+   * @return A list of events matching the search criteria.
+   * @throws IllegalArgumentException If an invalid search type is provided.
+   */
+  public List<IEvent> search(IEventIndex index, String eventName, Temporal startTime,
+                             Temporal endTime, boolean isRecurring, SearchType searchType) {
     SearchEventsStrategy strategy = STRATEGY_MAP.getOrDefault(searchType, null).get();
     if (strategy == null) {
       throw new IllegalArgumentException("No strategy found for search type: " + searchType);
     }
-    return strategy.search(events, eventName, startTime, endTime, isRecurring);
+    return strategy.search(index, eventName, startTime, endTime, isRecurring);
   }
 }
@@ -3,7 +3,11 @@ package calendarapp.utils;
 import java.time.Duration;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.Month;
+import java.time.Year;
 import java.time.ZoneId;
+import java.time.ZoneOffset;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
 import java.time.temporal.ChronoUnit;
@@ -14,6 +18,18 @@ import java.time.temporal.Temporal;
  * Provides methods for parsing, formatting, and comparing temporal values.
  */
 public class TimeUtil {
+  private static final DateTimeFormatter DATE_TIME_FORMATTER =
+      DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm");
+  private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd");
+  private static final DateTimeFormatter EXPORT_DATE_FORMATTER =
+      DateTimeFormatter.ofPattern("MM/dd/yyyy");
+  private static final DateTimeFormatter EXPORT_TIME_FORMATTER =
+      DateTimeFormatter.ofPattern("h:mm:ss a");
+  private static final DateTimeFormatter AM_PM_FORMATTER = DateTimeFormatter.ofPattern("a");
+  private static final String AM = AM_PM_FORMATTER.format(LocalTime.MIDNIGHT);
+  private static final String PM = AM_PM_FORMATTER.format(LocalTime.NOON);
+  private static final int DATE_LENGTH = 10;
+  private static final int DATE_TIME_LENGTH = 16;
 
   /**
    * Converts a string representation of date/time to a Temporal object.
@@ -26,18 +42,25 @@ public class TimeUtil {
    * @throws IllegalArgumentException if the date/time string cannot be parsed.
    */
   public static Temporal getTemporalFromString(String dateTime) {
-    DateTimeFormatter dateTimeFormatter = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm");
-    DateTimeFormatter dateFormatter = DateTimeFormatter.ofPattern("yyyy-MM-dd");
-
     if (dateTime == null) {
       return null;
     }
+    if (isFixedDate(dateTime)) {
+      if (dateTime.length() == DATE_LENGTH) {
+        return LocalDateTime.of(digits(dateTime, 0, 4), digits(dateTime, 5, 2),
+            digits(dateTime, 8, 2), 0, 0);
+      }
+      if (isFixedTime(dateTime)) {
+        return LocalDateTime.of(digits(dateTime, 0, 4), digits(dateTime, 5, 2),
+            digits(dateTime, 8, 2), digits(dateTime, 11, 2), digits(dateTime, 14, 2));
+      }
+    }
 
     try {
-      return LocalDateTime.parse(dateTime, dateTimeFormatter);
+      return LocalDateTime.parse(dateTime, DATE_TIME_FORMATTER);
     } catch (DateTimeParseException e2) {
       try {
-        return LocalDate.parse(dateTime, dateFormatter).atStartOfDay();
+        return LocalDate.parse(dateTime, DATE_FORMATTER).atStartOfDay();
       } catch (DateTimeParseException e3) {
         throw new IllegalArgumentException("Invalid date format: " + dateTime);
       }
@@ -52,17 +75,66 @@ public class TimeUtil {
    * @throws IllegalArgumentException if the date string cannot be parsed.
    */
   public static Temporal getDateFromString(String dateTime) {
-    DateTimeFormatter dateFormatter = DateTimeFormatter.ofPattern("yyyy-MM-dd");
     if (dateTime == null) {
       return null;
     }
+    if (dateTime.length() == DATE_LENGTH && isFixedDate(dateTime)) {
+      return LocalDate.of(digits(dateTime, 0, 4), digits(dateTime, 5, 2),
+          digits(dateTime, 8, 2));
+    }
     try {
-      return LocalDate.parse(dateTime, dateFormatter);
+      return LocalDate.parse(dateTime, DATE_FORMATTER);
     } catch (DateTimeParseException e3) {
       throw new IllegalArgumentException("Invalid date format: " + dateTime);
     }
   }
 
+  /**
+   * Checks whether the string is "yyyy-MM-dd" or starts a "yyyy-MM-dd'T'HH:mm" value with a date
+   * that exists as written. Dates the formatters would adjust, such as the 31st of a 30-day
+   * month, are left to them.
+   */
+  private static boolean isFixedDate(String dateTime) {
+    int length = dateTime.length();
+    if ((length != DATE_LENGTH && length != DATE_TIME_LENGTH)
+        || dateTime.charAt(4) != '-' || dateTime.charAt(7) != '-') {
+      return false;
+    }
+    int year = digits(dateTime, 0, 4);
+    int month = digits(dateTime, 5, 2);
+    int day = digits(dateTime, 8, 2);
+    return year >= 1 && month >= 1 && month <= 12 && day >= 1
+        && day <= Month.of(month).length(Year.isLeap(year));
+  }
+
+  /**
+   * Checks whether the string ends in a "'T'HH:mm" time within the day. 24:00, which the
+   * formatters roll over to the next day, is left to them.
+   */
+  private static boolean isFixedTime(String dateTime) {
+    if (dateTime.charAt(10) != 'T' || dateTime.charAt(13) != ':') {
+      return false;
+    }
+    int hour = digits(dateTime, 11, 2);
+    int minute = digits(dateTime, 14, 2);
+    return hour >= 0 && hour <= 23 && minute >= 0 && minute <= 59;
+  }
+
+  /**
+   * Reads a run of ASCII digits as a number, returning -1 if any of them is not a digit.
+   */
+  private static int digits(String text, int from, int count) {
+    int value = 0;
+    for (int i = from; i < from + count; i++) {
+      int digit = text.charAt(i) - '0';
+      if (digit < 0 || digit > 9) {
+        return -1;
+      }
+      value = value * 10 + digit;
+    }
+    return value;
+  }
+
   /**
    * Gets the end of the day (Start of the next day at 00:00) from a string representation of
    * date/time.
@@ -102,7 +174,18 @@ public class TimeUtil {
    * @return true if the first temporal is before the second, false otherwise.
    */
   public static boolean isFirstBeforeSecond(Temporal temporal1, Temporal temporal2) {
-    return ChronoUnit.SECONDS.between(temporal1, temporal2) > 0;
+    return difference(temporal1, temporal2) > 0;
+  }
+
+  /**
+   * Checks if the first time, in epoch seconds, is before the second.
+   *
+   * @param epochSecond1 the first time to compare.
+   * @param epochSecond2 the second time to compare.
+   * @return true if the first time is before the second, false otherwise.
+   */
+  public static boolean isFirstBeforeSecond(long epochSecond1, long epochSecond2) {
+    return epochSecond1 < epochSecond2;
   }
 
   /**
@@ -113,17 +196,37 @@ public class TimeUtil {
    * @return true if the first temporal is after the second, false otherwise.
    */
   public static boolean isFirstAfterSecond(Temporal temporal1, Temporal temporal2) {
-    return ChronoUnit.SECONDS.between(temporal1, temporal2) < 0;
+    return difference(temporal1, temporal2) < 0;
+  }
+
+  /**
+   * Checks if the first time, in epoch seconds, is after the second.
+   *
+   * @param epochSecond1 the first time to compare.
+   * @param epochSecond2 the second time to compare.
+   * @return true if the first time is after the second, false otherwise.
+   */
+  public static boolean isFirstAfterSecond(long epochSecond1, long epochSecond2) {
+    return epochSecond1 > epochSecond2;
   }
 
   /**
    * Returns the difference in seconds between two Temporal objects.
+   * Whole-second date-times, which is what the calendar stores, are compared through their
+   * epoch seconds without going through the generic {@link ChronoUnit} arithmetic.
    *
    * @param temporal1 the first temporal to compare.
    * @param temporal2 the second temporal to compare.
    * @return the difference between the two temporals in seconds.
    */
-  public static Long difference(Temporal temporal1, Temporal temporal2) {
+  public static long difference(Temporal temporal1, Temporal temporal2) {
+    if (temporal1 instanceof LocalDateTime && temporal2 instanceof LocalDateTime) {
+      LocalDateTime dateTime1 = (LocalDateTime) temporal1;
+      LocalDateTime dateTime2 = (LocalDateTime) temporal2;
+      if (dateTime1.getNano() == 0 && dateTime2.getNano() == 0) {
+        return dateTime2.toEpochSecond(ZoneOffset.UTC) - dateTime1.toEpochSecond(ZoneOffset.UTC);
+      }
+    }
     return ChronoUnit.SECONDS.between(temporal1, temporal2);
   }
 
@@ -135,7 +238,41 @@ public class TimeUtil {
    * @return true if both temporals represent the same time, false otherwise.
    */
   public static boolean isEqual(Temporal temporal1, Temporal temporal2) {
-    return ChronoUnit.SECONDS.between(temporal1, temporal2) == 0;
+    return difference(temporal1, temporal2) == 0;
+  }
+
+  /**
+   * Checks if two times, in epoch seconds, are the same.
+   *
+   * @param epochSecond1 the first time to compare.
+   * @param epochSecond2 the second time to compare.
+   * @return true if both times are the same, false otherwise.
+   */
+  public static boolean isEqual(long epochSecond1, long epochSecond2) {
+    return epochSecond1 == epochSecond2;
+  }
+
+  /**
+   * Converts a temporal value to seconds since the epoch, reading its wall-clock fields as UTC.
+   * Events carry zone-less local times, so the result is only meaningful for ordering and
+   * comparing temporals of the same calendar.
+   *
+   * @param temporal the temporal value to convert.
+   * @return the number of seconds between 1970-01-01T00:00 and the temporal.
+   */
+  public static long toEpochSecond(Temporal temporal) {
+    return getLocalDateTimeFromTemporal(temporal).toEpochSecond(ZoneOffset.UTC);
+  }
+
+  /**
+   * Converts seconds since the epoch back to a temporal value, the inverse of
+   * {@link #toEpochSecond(Temporal)}.
+   *
+   * @param epochSecond the number of seconds since 1970-01-01T00:00.
+   * @return the LocalDateTime at the given number of seconds.
+   */
+  public static Temporal fromEpochSecond(long epochSecond) {
+    return LocalDateTime.ofEpochSecond(epochSecond, 0, ZoneOffset.UTC);
   }
 
   /**
@@ -181,12 +318,28 @@ public class TimeUtil {
    * @return a string representation of the date in MM/dd/yyyy format.
    */
   public static String formatDate(Temporal temporal) {
-    DateTimeFormatter formatter = DateTimeFormatter.ofPattern("MM/dd/yyyy");
+    return appendDate(new StringBuilder(DATE_LENGTH), temporal).toString();
+  }
 
-    if (temporal instanceof LocalDate) {
-      return ((LocalDate) temporal).format(formatter);
+  /**
+   * Appends a temporal object as a date in the format MM/dd/yyyy, writing the digits straight
+   * into the builder.
+   *
+   * @param builder  the builder to append to.
+   * @param temporal the temporal object to format.
+   * @return the builder.
+   */
+  public static StringBuilder appendDate(StringBuilder builder, Temporal temporal) {
+    LocalDate date = temporal instanceof LocalDate
+        ? (LocalDate) temporal : ((LocalDateTime) temporal).toLocalDate();
+    int year = date.getYear();
+    if (year < 1 || year > 9999) {
+      return builder.append(date.format(EXPORT_DATE_FORMATTER));
     }
-    return ((LocalDateTime) temporal).format(formatter);
+    appendTwoDigits(builder, date.getMonthValue()).append('/');
+    appendTwoDigits(builder, date.getDayOfMonth()).append('/');
+    appendTwoDigits(builder, year / 100);
+    return appendTwoDigits(builder, year % 100);
   }
 
   /**
@@ -198,11 +351,88 @@ public class TimeUtil {
    */
   public static String formatTime(Temporal temporal) {
     if (temporal instanceof LocalDateTime) {
-      return ((LocalDateTime) temporal).format(DateTimeFormatter.ofPattern("h:mm:ss a"));
+      return appendTime(new StringBuilder(11), temporal).toString();
     }
     return "";
   }
 
+  /**
+   * Appends a temporal object as a time in the format h:mm:ss a, writing the digits straight
+   * into the builder. Nothing is appended if the temporal is not a LocalDateTime.
+   *
+   * @param builder  the builder to append to.
+   * @param temporal the temporal object to format.
+   * @return the builder.
+   */
+  public static StringBuilder appendTime(StringBuilder builder, Temporal temporal) {
+    if (!(temporal instanceof LocalDateTime)) {
+      return builder;
+    }
+    LocalDateTime dateTime = (LocalDateTime) temporal;
+    int hour = dateTime.getHour();
+    builder.append(hour % 12 == 0 ? 12 : hour % 12).append(':');
+    appendTwoDigits(builder, dateTime.getMinute()).append(':');
+    appendTwoDigits(builder, dateTime.getSecond()).append(' ');
+    return builder.append(hour < 12 ? AM : PM);
+  }
+
+  /**
+   * Parses a date in the format MM/dd/yyyy, as {@link #appendDate} writes it.
+   *
+   * @param date the text of the date.
+   * @return the date.
+   * @throws IllegalArgumentException if the text is not such a date.
+   */
+  public static LocalDate parseExportDate(String date) {
+    if (date.length() == DATE_LENGTH && date.charAt(2) == '/' && date.charAt(5) == '/') {
+      int month = digits(date, 0, 2);
+      int day = digits(date, 3, 2);
+      int year = digits(date, 6, 4);
+      if (year >= 1 && month >= 1 && month <= 12 && day >= 1
+          && day <= Month.of(month).length(Year.isLeap(year))) {
+        return LocalDate.of(year, month, day);
+      }
+    }
+    try {
+      return LocalDate.parse(date, EXPORT_DATE_FORMATTER);
+    } catch (DateTimeParseException e) {
+      throw new IllegalArgumentException("Invalid date format: " + date);
+    }
+  }
+
+  /**
+   * Parses a time in the format h:mm:ss a, as {@link #appendTime} writes it.
+   *
+   * @param time the text of the time.
+   * @return the time.
+   * @throws IllegalArgumentException if the text is not such a time.
+   */
+  public static LocalTime parseExportTime(String time) {
+    int colon = time.indexOf(':');
+    if ((colon == 1 || colon == 2) && time.length() > colon + 6
+        && time.charAt(colon + 3) == ':' && time.charAt(colon + 6) == ' ') {
+      int hour = digits(time, 0, colon);
+      int minute = digits(time, colon + 1, 2);
+      int second = digits(time, colon + 4, 2);
+      int markerLength = time.length() - colon - 7;
+      boolean am = markerLength == AM.length() && time.startsWith(AM, colon + 7);
+      boolean pm = markerLength == PM.length() && time.startsWith(PM, colon + 7);
+      if (hour >= 1 && hour <= 12 && minute >= 0 && minute <= 59 && second >= 0
+          && second <= 59 && (am || pm)) {
+        return LocalTime.of(hour % 12 + (pm ? 12 : 0), minute, second);
+      }
+    }
+    try {
+      return LocalTime.parse(time, EXPORT_TIME_FORMATTER);
+    } catch (DateTimeParseException e) {
+      throw new IllegalArgumentException("Invalid time format: " + time);
+    }
+  }
+
+  private static StringBuilder appendTwoDigits(StringBuilder builder, int value) {
+    return builder.append((char) ('0' + value / 10)).append((char) ('0' + value % 10));
+  }
+
   /**
    * Determines if the given start and end times represent an all-day event.
    * An event is considered all-day if it starts at midnight and ends at the start of the next day.
@@ -238,6 +468,20 @@ public class TimeUtil {
         && isFirstAfterSecond(endTime1, startTime2);
   }
 
+  /**
+   * Determines if two time ranges, given in epoch seconds, conflict.
+   *
+   * @param startTime1 the start time of the first event.
+   * @param endTime1   the end time of the first event.
+   * @param startTime2 the start time of the second event.
+   * @param endTime2   the end time of the second event.
+   * @return true if the two ranges overlap, false otherwise.
+   */
+  public static boolean isConflicting(long startTime1, long endTime1,
+                                      long startTime2, long endTime2) {
+    return startTime1 < endTime2 && endTime1 > startTime2;
+  }
+
   /**
    * Converts a temporal value from one time zone to another.
    *
@@ -12,4 +12,21 @@ public interface ICalendarView {
    * @param message the message to be displayed
    */
   void displayMessage(String message);
+
+  /**
+   * Displays a message about the progress of a run rather than its results, such as the prompt
+   * and the echo of each command. Views that only report results may leave these out.
+   *
+   * @param message the message to be displayed
+   */
+  default void displayProgress(String message) {
+    displayMessage(message);
+  }
+
+  /**
+   * Makes sure everything displayed so far has reached the user. Views that display messages
+   * right away have nothing to do.
+   */
+  default void flush() {
+  }
 }
\ No newline at end of file
@@ -0,0 +1,96 @@
+package calendarapp.view.impl;
+
+import java.io.Flushable;
+import java.io.IOException;
+
+import calendarapp.view.ICalendarView;
+
+/**
+ * Command line view for headless runs that collects messages in a buffer and writes them out
+ * in large blocks: when the buffer fills up and whenever the controller or a command asks for
+ * a {@link #flush()}. A quiet view leaves out progress messages and keeps only results and
+ * errors.
+ */
+public class BufferedCLIView implements ICalendarView {
+  private static final int BUFFER_SIZE = 64 * 1024;
+
+  private final Appendable out;
+  private final boolean quiet;
+  private final StringBuilder buffer;
+
+  /**
+   * Constructs a buffered command-line view that displays every message.
+   *
+   * @param out the output destination to which the buffered messages are written.
+   */
+  public BufferedCLIView(Appendable out) {
+    this(out, false);
+  }
+
+  /**
+   * Constructs a buffered command-line view.
+   *
+   * @param out   the output destination to which the buffered messages are written.
+   * @param quiet whether progress messages are left out.
+   */
+  public BufferedCLIView(Appendable out, boolean quiet) {
+    this.out = out;
+    this.quiet = quiet;
+    this.buffer = new StringBuilder(BUFFER_SIZE);
+  }
+
+  /**
+   * Displays a message, writing the buffer out once it is full.
+   *
+   * @param message the message to be displayed.
+   * @throws RuntimeException if appending to the output destination fails.
+   */
+  @Override
+  public void displayMessage(String message) {
+    buffer.append(message);
+    if (buffer.length() >= BUFFER_SIZE) {
+      write();
+    }
+  }
+
+  /**
+   * Displays a progress message, unless the view is quiet.
+   *
+   * @param message the message to be displayed.
+   */
+  @Override
+  public void displayProgress(String message) {
+    if (!quiet) {
+      displayMessage(message);
+    }
+  }
+
+  /**
+   * Writes out the buffered messages and flushes the output destination if it can be flushed.
+   *
+   * @throws RuntimeException if writing to the output destination fails.
+   */
+  @Override
+  public void flush() {
+    write();
+    if (out instanceof Flushable) {
+      try {
+        ((Flushable) out).flush();
+      } catch (IOException e) {
+        throw new RuntimeException("Flush failed : ", e);
+      }
+    }
+  }
+
+  private void write() {
+    if (buffer.length() == 0) {
+      return;
+    }
+    try {
+      out.append(buffer);
+    } catch (IOException e) {
+      throw new RuntimeException("Append failed : ", e);
+    }
+    buffer.setLength(0);
+  }
+}
@@ -0,0 +1,147 @@
+import org.junit.Before;
+import org.junit.Test;
+
+import calendarapp.controller.InvalidCommandException;
+import calendarapp.controller.commands.CommandProperties;
+import calendarapp.controller.commands.impl.CommandFactory;
+import calendarapp.controller.commands.parser.CommandParser;
+import calendarapp.model.EventConflictException;
+import calendarapp.model.ICalendarModel;
+import calendarapp.model.impl.CalendarModel;
+import calendarapp.view.ICalendarView;
+import calendarapp.view.impl.CLIView;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Test class for staging commands in a batch and committing them together.
+ */
+public class BatchCommandTest {
+  private ICalendarModel model;
+  private ICalendarView view;
+  private StringBuilder output;
+
+  @Before
+  public void setUp() {
+    output = new StringBuilder();
+    model = new CalendarModel();
+    view = new CLIView(output);
+  }
+
+  private void run(String... commands) {
+    for (String command : commands) {
+      CommandFactory.getCommand(command, model, view).execute(command);
+    }
+  }
+
+  private String print(String on) {
+    output.setLength(0);
+    run("print events on " + on);
+    return output.toString();
+  }
+
+  @Test
+  public void testParsing() {
+    assertEquals(CommandProperties.BEGIN_BATCH, CommandParser.parse("BEGIN  batch").getType());
+    assertEquals(CommandProperties.COMMIT, CommandParser.parse("commit").getType());
+    assertEquals(CommandProperties.UNKNOWN, CommandParser.parse("commit now").getType());
+    assertEquals(CommandProperties.UNKNOWN, CommandParser.getCommandType("begin"));
+  }
+
+  @Test
+  public void testStagedEventsAreAddedOnCommit() {
+    run("begin batch",
+        "create event A from 2025-03-10T09:00 to 2025-03-10T10:00",
+        "create event B on 2025-03-11 repeats MW for 3 times");
+    assertEquals("No events found.\n", print("2025-03-10"));
+
+    run("commit");
+    assertEquals("Events:\n• A - 2025-03-10T09:00 to 2025-03-10T10:00 \n",
+        print("2025-03-10"));
+    assertEquals("Events:\n• B - 2025-03-12T00:00 to 2025-03-13T00:00 \n",
+        print("2025-03-12"));
+  }
+
+  @Test
+  public void testConflictWithinBatchRollsBackEverything() {
+    run("begin batch",
+        "create event A from 2025-03-10T09:00 to 2025-03-10T10:00",
+        "create event B from 2025-03-11T09:00 to 2025-03-11T10:00",
+        "create event C from 2025-03-10T09:30 to 2025-03-10T10:30");
+    try {
+      run("commit");
+      fail("Expected a conflict");
+    } catch (EventConflictException e) {
+      assertTrue(e.getMessage().startsWith("commit\nReason : "));
+    }
+    assertEquals("No events found.\n", print("2025-03-10"));
+    assertEquals("No events found.\n", print("2025-03-11"));
+
+    run("create event A from 2025-03-10T09:00 to 2025-03-10T10:00");
+    assertEquals("Events:\n• A - 2025-03-10T09:00 to 2025-03-10T10:00 \n",
+        print("2025-03-10"));
+  }
+
+  @Test
+  public void testConflictWithExistingEventRollsBackEveryCalendar() {
+    run("create calendar --name work --timezone America/New_York",
+        "create event A from 2025-03-10T09:00 to 2025-03-10T10:00",
+        "begin batch",
+        "create event B from 2025-03-11T09:00 to 2025-03-11T10:00",
+        "copy events on 2025-03-10 --target work to 2025-03-12",
+        "create event C from 2025-03-10T09:30 to 2025-03-10T10:30");
+    try {
+      run("commit");
+      fail("Expected a conflict");
+    } catch (EventConflictException e) {
+      // expected
+    }
+    assertEquals("No events found.\n", print("2025-03-11"));
+    run("use calendar --name work");
+    assertEquals("No events found.\n", print("2025-03-12"));
+  }
+
+  @Test
+  public void testCopiesAreStagedInTheTargetCalendar() {
+    run("create calendar --name work --timezone America/New_York",
+        "create event A from 2025-03-10T09:00 to 2025-03-10T10:00",
+        "begin batch",
+        "copy events on 2025-03-10 --target work to 2025-03-12",
+        "copy event A on 2025-03-10T09:00 --target work to 2025-03-13T11:00",
+        "commit",
+        "use calendar --name work");
+    assertEquals("Events:\n• A - 2025-03-12T09:00 to 2025-03-12T10:00 \n",
+        print("2025-03-12"));
+    assertEquals("Events:\n• A - 2025-03-13T11:00 to 2025-03-13T12:00 \n",
+        print("2025-03-13"));
+  }
+
+  @Test
+  public void testBatchStateErrors() {
+    assertInvalid("commit", "commit\nReason : No batch is open.\n");
+    run("begin batch");
+    assertInvalid("begin batch", "begin batch\nReason : A batch is already open.\n");
+    assertInvalid("edit events location A Room", "Events and calendars cannot be edited");
+    assertInvalid("edit calendar --name default --property name x",
+        "Events and calendars cannot be edited");
+    run("commit");
+    assertInvalid("commit", "commit\nReason : No batch is open.\n");
+  }
+
+  @Test
+  public void testArgumentsAreRejected() {
+    assertInvalid("commit now", "commit now\nReason : Unexpected arguments.\n");
+    assertInvalid("begin batch now", "begin batch now\nReason : Unexpected arguments.\n");
+  }
+
+  private void assertInvalid(String command, String message) {
+    try {
+      run(command);
+      fail("Expected " + command + " to fail");
+    } catch (InvalidCommandException e) {
+      assertTrue(e.getMessage(), e.getMessage().contains(message));
+    }
+  }
+}
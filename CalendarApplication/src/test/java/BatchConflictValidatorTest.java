@@ -0,0 +1,169 @@
+import org.junit.Before;
+import org.junit.Test;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import calendarapp.model.EventConflictException;
+import calendarapp.model.IEvent;
+import calendarapp.model.SearchType;
+import calendarapp.model.impl.Event;
+import calendarapp.model.impl.EventRepository;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+/**
+ * Test class for the sorted sweep that validates batches of new events for conflicts.
+ */
+public class BatchConflictValidatorTest {
+  private static final ZoneId ZONE = ZoneId.of("America/New_York");
+  private static final LocalDateTime BASE = LocalDateTime.of(2025, 4, 1, 0, 0);
+
+  private EventRepository repository;
+
+  @Before
+  public void setUp() {
+    repository = new EventRepository();
+  }
+
+  @Test
+  public void testCopyConflictingWithExistingEvent() {
+    repository.create("Existing", BASE.plusHours(10), BASE.plusHours(11), null, null, null,
+        null, null, null, false);
+    try {
+      copy(List.of(event("First", 8, 9), event("Second", 10, 12)));
+      fail("Expected a conflict");
+    } catch (EventConflictException e) {
+      assertEquals("Event conflicts with existing event: Existing", e.getMessage());
+    }
+    assertEquals(1, getAll().size());
+  }
+
+  @Test
+  public void testCopyConflictingWithinBatch() {
+    try {
+      copy(List.of(event("First", 8, 10), event("Second", 9, 11)));
+      fail("Expected a conflict");
+    } catch (EventConflictException e) {
+      assertEquals("Event conflicts with existing event: First", e.getMessage());
+    }
+    assertEquals(0, getAll().size());
+  }
+
+  @Test
+  public void testTouchingEventsDoNotConflict() {
+    repository.create("Existing", BASE.plusHours(10), BASE.plusHours(11), null, null, null,
+        null, null, null, false);
+    copy(List.of(event("Before", 9, 10), event("After", 11, 12), event("Empty", 10, 10)));
+    assertEquals(4, getAll().size());
+  }
+
+  @Test
+  public void testSeriesConflictingWithExistingEvent() {
+    repository.create("Existing", BASE.plusDays(20).plusHours(9), BASE.plusDays(20).plusHours(11),
+        null, null, null, null, null, null, false);
+    try {
+      repository.create("Series", BASE.plusHours(10), BASE.plusHours(12), null, null, null,
+          "MTWRFSU", "30", null, false);
+      fail("Expected a conflict");
+    } catch (EventConflictException e) {
+      assertEquals("Event conflicts with existing event: Existing", e.getMessage());
+    }
+    assertEquals(1, getAll().size());
+  }
+
+  @Test
+  public void testLongSeriesAgainstLongSeries() {
+    LocalDateTime until = BASE.plusYears(100);
+    repository.create("Morning", BASE.plusHours(10), BASE.plusHours(11), null, null, null,
+        "MTWRFSU", null, until, false);
+    repository.create("Noon", BASE.plusHours(11), BASE.plusHours(12), null, null, null,
+        "MTWRFSU", null, until, false);
+    try {
+      repository.create("Late", BASE.plusYears(99).plusHours(10).plusMinutes(30),
+          BASE.plusYears(99).plusHours(11), null, null, null, "S", "3", null, false);
+      fail("Expected a conflict");
+    } catch (EventConflictException e) {
+      assertEquals("Event conflicts with existing event: Morning", e.getMessage());
+    }
+    repository.create("Evening", BASE.plusHours(12), BASE.plusHours(13), null, null, null,
+        "MTWRFSU", null, until, false);
+    assertEquals(3, repository.getEvents(null, BASE.plusYears(99),
+        BASE.plusYears(99).plusHours(23), SearchType.MATCHING).size());
+  }
+
+  @Test
+  public void testMatchesPairwiseCheck() {
+    Random random = new Random(3);
+    for (int round = 0; round < 300; round++) {
+      repository = new EventRepository();
+      List<IEvent> existing = new ArrayList<>();
+      for (int i = 0; i < 20; i++) {
+        IEvent candidate = randomEvent(random, "Existing" + i);
+        if (!conflictsWithAny(candidate, existing)) {
+          repository.create(candidate.getName(), candidate.getStartTime(),
+              candidate.getEndTime(), null, null, null, null, null, null, false);
+          existing.add(candidate);
+        }
+      }
+
+      List<IEvent> batch = new ArrayList<>();
+      for (int i = 0; i < 1 + random.nextInt(6); i++) {
+        batch.add(randomEvent(random, "Batch" + i));
+      }
+      boolean expectConflict = false;
+      for (int i = 0; i < batch.size(); i++) {
+        expectConflict |= conflictsWithAny(batch.get(i), existing)
+            || conflictsWithAny(batch.get(i), batch.subList(0, i));
+      }
+
+      boolean conflicted = false;
+      try {
+        copy(batch);
+      } catch (EventConflictException e) {
+        conflicted = true;
+      }
+      assertEquals(expectConflict, conflicted);
+      assertEquals(existing.size() + (conflicted ? 0 : batch.size()), getAll().size());
+    }
+  }
+
+  private void copy(List<IEvent> batch) {
+    repository.copyEvents(batch, batch.get(0).getStartTime(), ZONE, ZONE);
+  }
+
+  private List<IEvent> getAll() {
+    return repository.getEvents(null, null, null, SearchType.EXACT);
+  }
+
+  private IEvent event(String name, int startHour, int endHour) {
+    return Event.builder()
+        .name(name)
+        .startTime(BASE.plusHours(startHour))
+        .endTime(BASE.plusHours(endHour))
+        .build();
+  }
+
+  private IEvent randomEvent(Random random, String name) {
+    LocalDateTime start = BASE.plusMinutes(30L * random.nextInt(48));
+    return Event.builder()
+        .name(name)
+        .startTime(start)
+        .endTime(start.plusMinutes(30L * random.nextInt(5)))
+        .build();
+  }
+
+  private boolean conflictsWithAny(IEvent event, List<IEvent> others) {
+    for (IEvent other : others) {
+      if (event.getStartEpochSecond() < other.getEndEpochSecond()
+          && event.getEndEpochSecond() > other.getStartEpochSecond()) {
+        return true;
+      }
+    }
+    return false;
+  }
+}
@@ -0,0 +1,71 @@
+import org.junit.Test;
+
+import java.io.StringReader;
+
+import calendarapp.controller.impl.CalendarController;
+import calendarapp.model.impl.CalendarModel;
+import calendarapp.view.impl.BufferedCLIView;
+import calendarapp.view.impl.CLIView;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Test class for {@link BufferedCLIView}.
+ */
+public class BufferedCLIViewTest {
+  private static final String COMMANDS = "create event Standup from 2025-03-10T09:00 to "
+      + "2025-03-10T09:15\nprint events on 2025-03-10\nshow status on 2025-03-10T09:05\nexit\n";
+
+  @Test
+  public void testMessagesWaitForFlush() {
+    StringBuilder out = new StringBuilder();
+    BufferedCLIView view = new BufferedCLIView(out);
+    view.displayMessage("Events:\n");
+    view.displayProgress("Processing command: x\n");
+    assertEquals("", out.toString());
+    view.flush();
+    assertEquals("Events:\nProcessing command: x\n", out.toString());
+    view.flush();
+    assertEquals("Events:\nProcessing command: x\n", out.toString());
+  }
+
+  @Test
+  public void testFullBufferIsWrittenOut() {
+    StringBuilder out = new StringBuilder();
+    BufferedCLIView view = new BufferedCLIView(out);
+    String line = "• Event - 2025-03-10T09:00 to 2025-03-10T09:15 \n";
+    for (int i = 0; i < 5000; i++) {
+      view.displayMessage(line);
+    }
+    int written = out.length();
+    assertEquals(0, written % line.length());
+    assertTrue(written > 0 && written < 5000 * line.length());
+    view.flush();
+    assertEquals(5000 * line.length(), out.length());
+  }
+
+  @Test
+  public void testControllerOutputMatchesUnbufferedView() {
+    StringBuilder expected = new StringBuilder();
+    new CalendarController(new StringReader(COMMANDS), new CalendarModel(), new CLIView(expected))
+        .start();
+    StringBuilder out = new StringBuilder();
+    new CalendarController(new StringReader(COMMANDS), new CalendarModel(),
+        new BufferedCLIView(out)).start();
+    assertEquals(expected.toString(), out.toString());
+  }
+
+  @Test
+  public void testQuietViewKeepsResultsAndErrors() {
+    StringBuilder out = new StringBuilder();
+    new CalendarController(new StringReader(COMMANDS.replace("exit", "print events\nexit")),
+        new CalendarModel(), new BufferedCLIView(out, true)).start();
+    assertEquals("Events:\n"
+        + "• Standup - 2025-03-10T09:00 to 2025-03-10T09:15 \n"
+        + "Status: Busy\n"
+        + "\nENCOUNTERED ERROR : print events\n"
+        + "Reason : Required fields are missing.\n\n"
+        + "Exiting application gracefully.\n", out.toString());
+  }
+}
@@ -0,0 +1,128 @@
+import org.junit.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import calendarapp.model.IEvent;
+import calendarapp.model.impl.BusyIntervals;
+import calendarapp.model.impl.Event;
+import calendarapp.model.impl.EventIndex;
+import calendarapp.model.impl.RecurringSeries;
+import calendarapp.utils.TimeUtil;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Test class for the coalesced busy-interval set kept by the event index.
+ */
+public class BusyIntervalsTest {
+  private static final LocalDateTime BASE = LocalDateTime.of(2025, 4, 1, 0, 0);
+
+  @Test
+  public void testOverlappingIntervalsAreMerged() {
+    BusyIntervals busy = new BusyIntervals();
+    busy.add(10, 20);
+    busy.add(15, 30);
+    busy.add(40, 50);
+    List<long[]> blocks = busy.getBlocks(0, 100);
+    assertEquals(2, blocks.size());
+    assertArrayEquals(new long[]{10, 30}, blocks.get(0));
+    assertArrayEquals(new long[]{40, 50}, blocks.get(1));
+  }
+
+  @Test
+  public void testTouchingIntervalsKeepBoundaryAvailable() {
+    BusyIntervals busy = new BusyIntervals();
+    busy.add(10, 20);
+    busy.add(20, 30);
+    busy.add(25, 25);
+    assertFalse(busy.isBusy(10));
+    assertTrue(busy.isBusy(15));
+    assertFalse(busy.isBusy(20));
+    assertTrue(busy.isBusy(25));
+    assertFalse(busy.isBusy(30));
+    assertEquals(2, busy.getBlocks(0, 100).size());
+  }
+
+  @Test
+  public void testSeriesAddNoBusyBlocks() {
+    EventIndex index = new EventIndex();
+    index.add(Event.builder()
+        .name("Single")
+        .startTime(BASE.plusHours(8))
+        .endTime(BASE.plusHours(10))
+        .build());
+    RecurringSeries series = RecurringSeries.of("Daily", BASE.plusHours(9), BASE.plusHours(11),
+        null, null, null, "MTWRFSU", null, BASE.plusYears(100));
+    index.addSeries(series);
+    assertEquals(1, index.getBusyBlockCount());
+
+    IEvent second = series.getOverlapping(TimeUtil.toEpochSecond(BASE.plusDays(1)),
+        TimeUtil.toEpochSecond(BASE.plusDays(2))).get(0);
+    index.remove(second);
+    assertEquals(1, index.getBusyBlockCount());
+
+    long day = 24 * 60 * 60;
+    long base = TimeUtil.toEpochSecond(BASE);
+    assertTrue(index.isBusy(base + 10 * 60 * 60));
+    assertFalse(index.isBusy(base + day + 10 * 60 * 60));
+    assertTrue(index.isBusy(TimeUtil.toEpochSecond(BASE.plusYears(99).plusHours(10))));
+    List<long[]> blocks = index.getBusyBlocks(base, base + 3 * day);
+    assertEquals(2, blocks.size());
+    assertArrayEquals(new long[]{base + 8 * 60 * 60, base + 11 * 60 * 60}, blocks.get(0));
+    assertArrayEquals(new long[]{base + 2 * day + 9 * 60 * 60, base + 2 * day + 11 * 60 * 60},
+        blocks.get(1));
+  }
+
+  @Test
+  public void testIndexMatchesEventScan() {
+    Random random = new Random(5);
+    EventIndex index = new EventIndex();
+    List<IEvent> events = new ArrayList<>();
+    RecurringSeries series = RecurringSeries.of("Series", BASE.plusHours(9),
+        BASE.plusHours(11), null, null, null, "MWF", 10, null);
+    index.addSeries(series);
+    series.forEach(events::add);
+
+    for (int step = 0; step < 400; step++) {
+      if (events.isEmpty() || random.nextInt(3) > 0) {
+        LocalDateTime start = BASE.plusMinutes(30L * random.nextInt(48 * 14));
+        IEvent event = Event.builder()
+            .name("Event" + step)
+            .startTime(start)
+            .endTime(start.plusMinutes(30L * random.nextInt(8)))
+            .build();
+        index.add(event);
+        events.add(event);
+      } else {
+        IEvent event = events.remove(random.nextInt(events.size()));
+        index.remove(event);
+      }
+
+      for (int query = 0; query < 20; query++) {
+        long time = TimeUtil.toEpochSecond(BASE.plusMinutes(15L * random.nextInt(96 * 14)));
+        boolean expected = false;
+        for (IEvent event : events) {
+          expected |= event.getStartEpochSecond() < time && event.getEndEpochSecond() > time;
+        }
+        assertEquals(expected, index.isBusy(time));
+      }
+
+      long from = TimeUtil.toEpochSecond(BASE.plusHours(random.nextInt(24 * 14)));
+      long to = from + 60L * 60 * random.nextInt(48);
+      List<long[]> blocks = index.getBusyBlocks(from, to);
+      for (long time = from + 15 * 60; time < to; time += 15 * 60) {
+        boolean inBlock = false;
+        for (long[] block : blocks) {
+          inBlock |= block[0] < time && block[1] > time;
+        }
+        assertEquals(index.isBusy(time), inBlock);
+      }
+    }
+  }
+}
@@ -2,15 +2,19 @@ import org.junit.Before;
 import org.junit.Test;
 
 import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
 
 import calendarapp.controller.ICalendarController;
 import calendarapp.controller.impl.CalendarController;
 import calendarapp.controller.impl.CalendarControllerFactory;
+import calendarapp.controller.impl.PipelinedCalendarController;
 import calendarapp.model.ICalendarModel;
 import calendarapp.model.dto.CalendarExporterDTO;
 import calendarapp.model.dto.CopyEventRequestDTO;
+import calendarapp.model.dto.ImportSummaryDTO;
 import calendarapp.model.dto.PrintEventsResponseDTO;
+import calendarapp.model.dto.StatusIntervalResponseDTO;
 import calendarapp.view.ICalendarView;
 
 import static org.junit.Assert.assertEquals;
@@ -60,6 +64,15 @@ public class CalendarControllerFactoryTest {
     assertEquals(CalendarController.class, controller.getClass());
   }
 
+  @Test
+  public void testPipelinedHeadlessController() {
+    controller = CalendarControllerFactory.getController("headless",
+        filepath + "/src/test/java/positiveTestcase.txt", model, view, true);
+    assertEquals(PipelinedCalendarController.class, controller.getClass());
+    controller = CalendarControllerFactory.getController("interactive", null, model, view, true);
+    assertEquals(CalendarController.class, controller.getClass());
+  }
+
   @Test(expected = IllegalArgumentException.class)
   public void testControllerFactory4() {
     controller = CalendarControllerFactory.getController("unknown",
@@ -171,6 +184,12 @@ public class CalendarControllerFactoryTest {
       return "";
     }
 
+    @Override
+    public List<StatusIntervalResponseDTO> showStatus(String startDateTime,
+                                                     String endDateTime) {
+      return new ArrayList<>();
+    }
+
     @Override
     public void createCalendar(String calendarName, String timezone) {
       // empty for test purposes.
@@ -190,5 +209,31 @@ public class CalendarControllerFactoryTest {
     public void copyEvent(CopyEventRequestDTO copyEventRequestDTO) {
       // empty for test purposes.
     }
+
+    @Override
+    public void beginBatch() {
+      // empty for test purposes.
+    }
+
+    @Override
+    public void commitBatch() {
+      // empty for test purposes.
+    }
+
+    @Override
+    public void saveSnapshot(String filePath) {
+      // empty for test purposes.
+    }
+
+    @Override
+    public void loadSnapshot(String filePath) {
+      // empty for test purposes.
+    }
+
+    @Override
+    public ImportSummaryDTO importEvents(Iterator<CalendarExporterDTO> events,
+                                         boolean skipConflicts) {
+      return null;
+    }
   }
 }
@@ -11,17 +11,22 @@ import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
 import java.util.stream.Collectors;
 
 import calendarapp.controller.ICalendarExporter;
 import calendarapp.controller.exporter.Constants;
 import calendarapp.controller.exporter.CsvCalendarExporter;
+import calendarapp.controller.exporter.ParallelCsvCalendarExporter;
 import calendarapp.model.EventVisibility;
 import calendarapp.model.IEvent;
+import calendarapp.model.IEventRepository;
 import calendarapp.model.dto.CalendarExporterDTO;
 import calendarapp.model.impl.Event;
+import calendarapp.model.impl.EventRepository;
 
 import static calendarapp.utils.TimeUtil.isAllDayEvent;
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 
 /**
@@ -190,6 +195,105 @@ public class CalendarExporterTest {
     assertEquals("\"Room \"\"42\"\"\"", fields[7]);
   }
 
+  @Test
+  public void testStreamedExportSpansManyBuffers() throws IOException {
+    List<CalendarExporterDTO> exported = new ArrayList<>();
+    for (int i = 0; i < 5000; i++) {
+      exported.add(CalendarExporterDTO.builder()
+          .subject("Event " + i)
+          .startDate(LocalDateTime.of(2025, 3, 10, 9, 0).plusHours(i))
+          .endDate(LocalDateTime.of(2025, 3, 10, 9, 30).plusHours(i))
+          .description("x".repeat(i % 100))
+          .visibility("public")
+          .build());
+    }
+
+    exporter.export(exported.iterator(), csvFile.getAbsolutePath());
+    List<String> lines = Files.readAllLines(csvFile.toPath());
+
+    assertEquals(5001, lines.size());
+    assertEquals("\"Event 0\",03/10/2025,9:00:00 AM,03/10/2025,9:30:00 AM,FALSE,,,FALSE",
+        lines.get(1));
+    assertEquals("\"Event 4999\",10/04/2025,4:00:00 PM,10/04/2025,4:30:00 PM,FALSE,\""
+        + "x".repeat(99) + "\",,FALSE", lines.get(5000));
+  }
+
+  @Test
+  public void testParallelExportMatchesSequentialExport() throws IOException {
+    List<CalendarExporterDTO> exported = new ArrayList<>();
+    for (int i = 0; i < 1000; i++) {
+      LocalDateTime start = LocalDateTime.of(2025, 3, 10, 0, 0).plusHours(i * 7L);
+      boolean allDay = i % 5 == 0;
+      exported.add(CalendarExporterDTO.builder()
+          .subject("Réunion \"" + i + "\"")
+          .startDate(allDay ? start.toLocalDate().atStartOfDay() : start)
+          .endDate(allDay ? start.toLocalDate().plusDays(1).atStartOfDay() : start.plusMinutes(45))
+          .description(i % 3 == 0 ? null : "Notes, " + i)
+          .location(i % 4 == 0 ? "Room " + i : "")
+          .visibility(i % 2 == 0 ? "private" : "public")
+          .build());
+    }
+    File parallelFile = tempFolder.newFile("parallel.csv");
+    ForkJoinPool pool = new ForkJoinPool(3);
+    try {
+      exporter.export(exported.iterator(), csvFile.getAbsolutePath());
+      new ParallelCsvCalendarExporter(pool, 7).export(exported.iterator(),
+          parallelFile.getAbsolutePath());
+    } finally {
+      pool.shutdown();
+    }
+
+    assertArrayEquals(Files.readAllBytes(csvFile.toPath()),
+        Files.readAllBytes(parallelFile.toPath()));
+  }
+
+  @Test
+  public void testParallelExportOfOneChunkAndOfNothing() throws IOException {
+    ICalendarExporter parallel = new ParallelCsvCalendarExporter();
+    events.add(Event.builder()
+        .name("Meeting")
+        .startTime(LocalDateTime.of(2025, 3, 10, 10, 0))
+        .endTime(LocalDateTime.of(2025, 3, 10, 11, 0))
+        .description("Discuss")
+        .location("Room")
+        .visibility(String.valueOf(EventVisibility.PUBLIC))
+        .build());
+    List<CalendarExporterDTO> exported = getEventsForExport(events);
+
+    parallel.export(exported, csvFile.getAbsolutePath());
+    List<String> lines = Files.readAllLines(csvFile.toPath());
+    assertEquals(2, lines.size());
+    assertEquals("\"Meeting\",03/10/2025,10:00:00 AM,03/10/2025,11:00:00 AM,FALSE,"
+        + "\"Discuss\",\"Room\",FALSE", lines.get(1));
+
+    parallel.export(new ArrayList<>(), csvFile.getAbsolutePath());
+    assertEquals(1, Files.readAllLines(csvFile.toPath()).size());
+  }
+
+  @Test
+  public void testRepositoryStreamsEventsInExportOrder() {
+    IEventRepository repository = new EventRepository();
+    repository.create("Standup", LocalDateTime.of(2025, 3, 10, 9, 0),
+        LocalDateTime.of(2025, 3, 10, 9, 15), null, null, null, "MWF", "6", null, true);
+    repository.create("Review", LocalDateTime.of(2025, 3, 10, 10, 0),
+        LocalDateTime.of(2025, 3, 10, 11, 0), null, null, null, "TR", "4", null, true);
+    repository.create("Planning", LocalDateTime.of(2025, 3, 12, 8, 0),
+        LocalDateTime.of(2025, 3, 12, 8, 30), null, null, null, null, null, null, true);
+    repository.create("Offsite", LocalDateTime.of(2025, 3, 15, 0, 0),
+        LocalDateTime.of(2025, 3, 16, 0, 0), null, null, null, null, null, null, true);
+
+    List<String> streamed = repository.exportEvents(events -> {
+      List<String> subjects = new ArrayList<>();
+      events.forEachRemaining(event -> subjects.add(event.getSubject() + " "
+          + event.getStartDate()));
+      return subjects;
+    });
+    assertEquals(repository.getEventsForExport().stream()
+        .map(event -> event.getSubject() + " " + event.getStartDate())
+        .collect(Collectors.toList()), streamed);
+    assertEquals(12, streamed.size());
+  }
+
   private List<CalendarExporterDTO> getEventsForExport(List<IEvent> events) {
     return events.stream()
         .map(event -> CalendarExporterDTO.builder()
@@ -0,0 +1,141 @@
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+
+import calendarapp.controller.impl.CalendarServer;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Test class for serving several clients over TCP.
+ */
+public class CalendarServerTest {
+  private static final String PROMPT =
+      "Enter command or enter 'exit' to exit the calendar application.\n";
+
+  private CalendarServer server;
+  private Thread acceptor;
+
+  @Before
+  public void setUp() {
+    server = new CalendarServer(0);
+    acceptor = new Thread(server::start);
+    acceptor.start();
+  }
+
+  @After
+  public void tearDown() throws InterruptedException {
+    server.close();
+    acceptor.join(5000);
+  }
+
+  @Test
+  public void testClientsShareCalendars() throws IOException {
+    String output = session("create event A from 2025-03-10T09:00 to 2025-03-10T10:00\nexit\n");
+    assertTrue(output.startsWith(PROMPT + "Processing command: create event A"));
+    assertTrue(output.endsWith("Exiting application.\n"));
+
+    output = session("print events on 2025-03-10\nexit\n");
+    assertTrue(output, output.contains("• A - 2025-03-10T09:00 to 2025-03-10T10:00 \n"));
+  }
+
+  @Test
+  public void testEachClientHasItsOwnActiveCalendar() throws IOException {
+    try (Client first = new Client(); Client second = new Client()) {
+      first.send("create calendar --name work --timezone America/New_York");
+      first.send("use calendar --name work");
+      second.send("create event Default from 2025-03-10T09:00 to 2025-03-10T10:00");
+      first.send("create event Work from 2025-03-10T09:00 to 2025-03-10T10:00");
+      first.send("print events on 2025-03-10");
+      second.send("print events on 2025-03-10");
+      first.send("exit");
+      second.send("exit");
+
+      String firstOutput = first.readAll();
+      String secondOutput = second.readAll();
+      assertTrue(firstOutput.contains("• Work - "));
+      assertFalse(firstOutput.contains("• Default - "));
+      assertTrue(secondOutput.contains("• Default - "));
+      assertFalse(secondOutput.contains("• Work - "));
+    }
+  }
+
+  @Test
+  public void testOutputIsSentBeforeTheNextCommand() throws IOException {
+    try (Client client = new Client()) {
+      client.send("show status on 2025-03-10T09:30");
+      assertEquals(PROMPT.trim(), client.in.readLine());
+      assertEquals("Processing command: show status on 2025-03-10T09:30", client.in.readLine());
+      assertEquals("Status: Available", client.in.readLine());
+      client.send("exit");
+    }
+  }
+
+  @Test
+  public void testFailingCommandClosesOnlyItsConnection() throws IOException {
+    try (Client other = new Client()) {
+      String output = session("create event\nexit\n");
+      assertTrue(output.contains("ENCOUNTERED ERROR"));
+      assertFalse(output.contains("Exiting application.\n"));
+
+      other.send("exit");
+      assertTrue(other.readAll().endsWith("Exiting application.\n"));
+    }
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testPortInUse() {
+    new CalendarServer(server.getPort());
+  }
+
+  private String session(String commands) throws IOException {
+    try (Client client = new Client()) {
+      client.out.write(commands);
+      client.out.flush();
+      return client.readAll();
+    }
+  }
+
+  private class Client implements AutoCloseable {
+    private final Socket socket;
+    private final Writer out;
+    private final BufferedReader in;
+
+    Client() throws IOException {
+      socket = new Socket(InetAddress.getLoopbackAddress(), server.getPort());
+      out = new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8);
+      in = new BufferedReader(new InputStreamReader(socket.getInputStream(),
+          StandardCharsets.UTF_8));
+    }
+
+    void send(String command) throws IOException {
+      out.write(command + "\n");
+      out.flush();
+    }
+
+    String readAll() throws IOException {
+      StringBuilder output = new StringBuilder();
+      String line;
+      while ((line = in.readLine()) != null) {
+        output.append(line).append('\n');
+      }
+      return output.toString();
+    }
+
+    @Override
+    public void close() throws IOException {
+      socket.close();
+    }
+  }
+}
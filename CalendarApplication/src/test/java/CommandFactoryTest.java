@@ -1,6 +1,7 @@
 import org.junit.Test;
 
 import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
 
 import calendarapp.controller.InvalidCommandException;
@@ -18,7 +19,9 @@ import calendarapp.controller.commands.impl.UseCommand;
 import calendarapp.model.ICalendarModel;
 import calendarapp.model.dto.CalendarExporterDTO;
 import calendarapp.model.dto.CopyEventRequestDTO;
+import calendarapp.model.dto.ImportSummaryDTO;
 import calendarapp.model.dto.PrintEventsResponseDTO;
+import calendarapp.model.dto.StatusIntervalResponseDTO;
 import calendarapp.view.ICalendarView;
 
 import static org.junit.Assert.assertEquals;
@@ -293,6 +296,12 @@ public class CommandFactoryTest {
       return "";
     }
 
+    @Override
+    public List<StatusIntervalResponseDTO> showStatus(String startDateTime,
+                                                     String endDateTime) {
+      return new ArrayList<>();
+    }
+
     @Override
     public void createCalendar(String calendarName, String timezone) {
       // empty for test purposes.
@@ -312,5 +321,31 @@ public class CommandFactoryTest {
     public void copyEvent(CopyEventRequestDTO copyEventRequestDTO) {
       // empty for test purposes.
     }
+
+    @Override
+    public void beginBatch() {
+      // empty for test purposes.
+    }
+
+    @Override
+    public void commitBatch() {
+      // empty for test purposes.
+    }
+
+    @Override
+    public void saveSnapshot(String filePath) {
+      // empty for test purposes.
+    }
+
+    @Override
+    public void loadSnapshot(String filePath) {
+      // empty for test purposes.
+    }
+
+    @Override
+    public ImportSummaryDTO importEvents(Iterator<CalendarExporterDTO> events,
+                                         boolean skipConflicts) {
+      return null;
+    }
   }
 }
\ No newline at end of file
@@ -0,0 +1,114 @@
+import org.junit.Test;
+
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import calendarapp.controller.commands.CommandProperties;
+import calendarapp.controller.impl.CalendarController;
+import calendarapp.controller.metrics.CommandMetrics;
+import calendarapp.controller.metrics.LatencyHistogram;
+import calendarapp.controller.source.ScannerCommandSource;
+import calendarapp.model.impl.CalendarModel;
+import calendarapp.view.impl.CLIView;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Test class for the command counters and latency histograms.
+ */
+public class CommandMetricsTest {
+
+  @Test
+  public void testHistogramIsExactForSmallValues() {
+    LatencyHistogram histogram = new LatencyHistogram();
+    for (long i = 1; i <= 10; i++) {
+      histogram.record(i);
+    }
+    histogram.record(-5);
+    assertEquals(11, histogram.getCount());
+    assertEquals(55, histogram.getTotal());
+    assertEquals(10, histogram.getMax());
+    assertEquals(5, histogram.getPercentile(50));
+    assertEquals(10, histogram.getPercentile(100));
+    assertEquals(0, histogram.getPercentile(0));
+    assertEquals(0, new LatencyHistogram().getPercentile(99));
+  }
+
+  @Test
+  public void testHistogramErrorIsBounded() {
+    LatencyHistogram histogram = new LatencyHistogram();
+    for (long i = 1; i <= 100_000; i++) {
+      histogram.record(i * 1_000L);
+    }
+    histogram.record(Long.MAX_VALUE);
+    long p50 = histogram.getPercentile(50);
+    long p99 = histogram.getPercentile(99);
+    assertTrue(p50 >= 50_000_000L && p50 <= 50_000_000L * 17 / 16);
+    assertTrue(p99 >= 99_000_000L && p99 <= 99_000_000L * 17 / 16);
+    assertEquals(Long.MAX_VALUE, histogram.getPercentile(100));
+  }
+
+  @Test
+  public void testConcurrentRecordsAreAllCounted() throws InterruptedException {
+    CommandMetrics metrics = new CommandMetrics();
+    List<Thread> threads = new ArrayList<>();
+    for (int t = 0; t < 4; t++) {
+      Thread thread = new Thread(() -> {
+        for (int i = 0; i < 10_000; i++) {
+          metrics.record(CommandProperties.PRINT, i, i);
+          metrics.recordError(CommandProperties.SHOW);
+        }
+      });
+      threads.add(thread);
+      thread.start();
+    }
+    for (Thread thread : threads) {
+      thread.join();
+    }
+    assertEquals(40_000, metrics.getCount(CommandProperties.PRINT));
+    assertEquals(40_000, metrics.getExecuteLatencies(CommandProperties.PRINT).getCount());
+    assertEquals(40_000, metrics.getErrors(CommandProperties.SHOW));
+  }
+
+  @Test
+  public void testControllerRecordsCommandsAndReportsStats() {
+    CommandMetrics metrics = new CommandMetrics();
+    StringBuilder output = new StringBuilder();
+    new CalendarController(new ScannerCommandSource(
+        new StringReader("create event A on 2025-03-10\n"
+            + "create event B on 2025-03-11\n"
+            + "print events on 2025-03-10\n"
+            + "STATS\n"
+            + "exit\n")), new CalendarModel(), new CLIView(output), metrics).start();
+
+    assertEquals(2, metrics.getCount(CommandProperties.CREATE_EVENT));
+    assertEquals(1, metrics.getCount(CommandProperties.PRINT));
+    assertEquals(0, metrics.getCount(CommandProperties.SHOW));
+    assertEquals(2, metrics.getParseLatencies(CommandProperties.CREATE_EVENT).getCount());
+    assertTrue(output.toString().contains("Processing command: STATS\nCommand statistics:\n"
+        + "• create event - count 2, errors 0, parse mean "));
+    assertTrue(output.toString().contains("\n• print - count 1, errors 0, parse "));
+  }
+
+  @Test
+  public void testFailedCommandsAreCountedAsErrors() {
+    CommandMetrics metrics = new CommandMetrics();
+    new CalendarController(new ScannerCommandSource(
+        new StringReader("frobnicate\nexit\n")), new CalendarModel(),
+        new CLIView(new StringBuilder()), metrics).start();
+    new CalendarController(new ScannerCommandSource(
+        new StringReader("print events\nexit\n")), new CalendarModel(),
+        new CLIView(new StringBuilder()), metrics).start();
+
+    assertEquals(1, metrics.getErrors(CommandProperties.UNKNOWN));
+    assertEquals(1, metrics.getErrors(CommandProperties.PRINT));
+    assertEquals(0, metrics.getCount(CommandProperties.PRINT));
+    assertEquals("Command statistics:\n"
+        + "• print - count 0, errors 1\n"
+        + "• unknown - count 0, errors 1\n", metrics.report());
+    assertEquals("Command statistics:\nNo commands processed.\n",
+        new CommandMetrics().report());
+  }
+}
@@ -0,0 +1,200 @@
+import org.junit.Test;
+
+import calendarapp.controller.commands.CommandProperties;
+import calendarapp.controller.commands.parser.CommandParser;
+import calendarapp.controller.commands.parser.ParsedCommand;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Test class for the hand-written command parser.
+ */
+public class CommandParserTest {
+
+  @Test
+  public void testCommandType() {
+    assertEquals(CommandProperties.CREATE_EVENT, CommandParser.getCommandType(
+        "CREATE   Event x on 2025-01-01"));
+    assertEquals(CommandProperties.EDIT_EVENTS, CommandParser.getCommandType(
+        "edit\tevents location x y"));
+    assertEquals(CommandProperties.PRINT, CommandParser.getCommandType("Print events"));
+    assertEquals(CommandProperties.UNKNOWN, CommandParser.getCommandType("create"));
+    assertEquals(CommandProperties.UNKNOWN, CommandParser.getCommandType("createx event"));
+    assertEquals(CommandProperties.UNKNOWN, CommandParser.getCommandType(" print events"));
+    assertEquals(CommandProperties.UNKNOWN, CommandParser.getCommandType(""));
+  }
+
+  @Test
+  public void testCreateSingleEvent() {
+    ParsedCommand parsed = CommandParser.parse("create event --autoDecline \"Team Meeting\" "
+        + "from 2025-03-10T10:00 to 2025-03-10T11:00 location \"Room 1\" description Weekly");
+    assertEquals(CommandProperties.CREATE_EVENT, parsed.getType());
+    assertTrue(parsed.isAutoDecline());
+    assertFalse(parsed.isRecurring());
+    assertEquals("Team Meeting", parsed.getEventName());
+    assertEquals("2025-03-10T10:00", parsed.getStartDateTime());
+    assertEquals("2025-03-10T11:00", parsed.getEndDateTime());
+    assertEquals("Room 1", parsed.getLocation());
+    assertEquals("Weekly", parsed.getDescription());
+    assertNull(parsed.getVisibility());
+    assertNull(parsed.getOn());
+  }
+
+  @Test
+  public void testCreateRecurringEvent() {
+    ParsedCommand parsed = CommandParser.parse("CREATE EVENT Standup ON 2025-03-10 "
+        + "REPEATS MTW FOR 5 TIMES");
+    assertTrue(parsed.isRecurring());
+    assertEquals("Standup", parsed.getEventName());
+    assertEquals("2025-03-10", parsed.getOn());
+    assertEquals("MTW", parsed.getRecurringDays());
+    assertEquals("5", parsed.getOccurrenceCount());
+    assertNull(parsed.getRecurrenceEndDate());
+
+    parsed = CommandParser.parse("create event Standup from 2025-03-10T09:00 to "
+        + "2025-03-10T09:15 repeats \"MTW\" until 2025-03-31");
+    assertEquals("MTW", parsed.getRecurringDays());
+    assertEquals("2025-03-31", parsed.getRecurrenceEndDate());
+    assertNull(parsed.getOccurrenceCount());
+
+    parsed = CommandParser.parse("create event Standup on 2025-03-10 repeats MTW for five "
+        + "times");
+    assertTrue(parsed.isRecurring());
+    assertNull(parsed.getRecurringDays());
+  }
+
+  @Test
+  public void testKeywordsInsideQuotesAreValues() {
+    ParsedCommand parsed = CommandParser.parse("create event \"Trip from home to office\" on "
+        + "2025-03-10 location \"on the way\"");
+    assertEquals("Trip from home to office", parsed.getEventName());
+    assertNull(parsed.getStartDateTime());
+    assertEquals("2025-03-10", parsed.getOn());
+    assertEquals("on the way", parsed.getLocation());
+  }
+
+  @Test
+  public void testOptionalParameterConsumesItsValue() {
+    ParsedCommand parsed = CommandParser.parse("create event x on 2025-03-10 description "
+        + "location visibility public");
+    assertEquals("location", parsed.getDescription());
+    assertNull(parsed.getLocation());
+    assertEquals("public", parsed.getVisibility());
+  }
+
+  @Test
+  public void testQuotedValueEndsAtClosingQuote() {
+    ParsedCommand parsed = CommandParser.parse("create event Lunch from 2025-03-01T12:00 to "
+        + "2025-03-01T13:00 location \"Room 1\";");
+    assertEquals("Lunch", parsed.getEventName());
+    assertEquals("2025-03-01T13:00", parsed.getEndDateTime());
+    assertEquals("Room 1", parsed.getLocation());
+
+    parsed = CommandParser.parse("create event x on 2025-03-10 description \"a b\"location "
+        + "home");
+    assertEquals("a b", parsed.getDescription());
+    assertEquals("home", parsed.getLocation());
+  }
+
+  @Test
+  public void testUnterminatedQuoteIsAPlainWord() {
+    ParsedCommand parsed = CommandParser.parse("create event \"Team Meeting from "
+        + "2025-03-10T10:00 to 2025-03-10T11:00");
+    assertNull(parsed.getEventName());
+    assertEquals("2025-03-10T10:00", parsed.getStartDateTime());
+
+    parsed = CommandParser.parse("create event \"\" on 2025-03-10");
+    assertEquals("\"\"", parsed.getEventName());
+  }
+
+  @Test
+  public void testEditForms() {
+    ParsedCommand parsed = CommandParser.parse("edit event location \"Event 2\" from "
+        + "2025-03-10T14:00 to 2025-03-10T15:00 with \"Dodge Hall\"");
+    assertEquals("location", parsed.getPropertyName());
+    assertEquals("Event 2", parsed.getEventName());
+    assertEquals("2025-03-10T14:00", parsed.getStartDateTime());
+    assertEquals("2025-03-10T15:00", parsed.getEndDateTime());
+    assertEquals("Dodge Hall", parsed.getPropertyValue());
+
+    parsed = CommandParser.parse("edit events eventname Standup from 2025-03-10T09:00 with Sync");
+    assertEquals("Standup", parsed.getEventName());
+    assertEquals("2025-03-10T09:00", parsed.getStartDateTime());
+    assertNull(parsed.getEndDateTime());
+    assertEquals("Sync", parsed.getPropertyValue());
+
+    parsed = CommandParser.parse("edit events location Standup \"Room 2\"");
+    assertEquals("Standup", parsed.getEventName());
+    assertEquals("Room 2", parsed.getPropertyValue());
+
+    parsed = CommandParser.parse("edit events location Standup Room\"2");
+    assertNull(parsed.getEventName());
+
+    parsed = CommandParser.parse("edit events loc-ation Standup Room");
+    assertNull(parsed.getPropertyName());
+
+    parsed = CommandParser.parse("edit events location Standup Room extra");
+    assertNull(parsed.getEventName());
+  }
+
+  @Test
+  public void testCalendarCommands() {
+    ParsedCommand parsed = CommandParser.parse("create calendar --name \"Work Cal\" "
+        + "--timezone America/New_York");
+    assertEquals("Work Cal", parsed.getCalendarName());
+    assertEquals("America/New_York", parsed.getTimeZone());
+
+    parsed = CommandParser.parse("edit calendar --name work --property timezone Europe/London");
+    assertEquals("work", parsed.getCalendarName());
+    assertEquals("timezone", parsed.getPropertyName());
+    assertEquals("Europe/London", parsed.getPropertyValue());
+
+    parsed = CommandParser.parse("use calendar --name work");
+    assertEquals("work", parsed.getCalendarName());
+
+    parsed = CommandParser.parse("use calendar --name work now");
+    assertNull(parsed.getCalendarName());
+  }
+
+  @Test
+  public void testPrintShowAndExport() {
+    ParsedCommand parsed = CommandParser.parse("print events from 2025-03-10T09:00 to "
+        + "2025-03-20T16:00");
+    assertEquals("2025-03-10T09:00", parsed.getStartDateTime());
+    assertEquals("2025-03-20T16:00", parsed.getEndDateTime());
+    assertNull(parsed.getOn());
+
+    assertEquals("2025-03-10", CommandParser.parse("print events on 2025-03-10").getOn());
+    assertEquals("2025-03-10T10:30",
+        CommandParser.parse("show status on 2025-03-10T10:30").getOn());
+    assertNull(CommandParser.parse("show status on 2025-03-10T10:30 now").getOn());
+    assertEquals("2025-03-10T11:00",
+        CommandParser.parse("show status from 2025-03-10T10:30 to 2025-03-10T11:00")
+            .getEndDateTime());
+    assertEquals("my file.csv", CommandParser.parse("export cal \"my file.csv\"").getFileName());
+  }
+
+  @Test
+  public void testCopyForms() {
+    ParsedCommand parsed = CommandParser.parse("copy event \"Updated Event 1\" on "
+        + "2025-03-10T10:00 --target calendar2 to 2025-03-15T10:00");
+    assertEquals("Updated Event 1", parsed.getEventName());
+    assertEquals("2025-03-10T10:00", parsed.getOn());
+    assertEquals("calendar2", parsed.getTargetCalendarName());
+    assertEquals("2025-03-15T10:00", parsed.getTargetDateTime());
+
+    parsed = CommandParser.parse("copy events on 2025-03-11 --target calendar2 to 2025-03-20");
+    assertNull(parsed.getEventName());
+    assertEquals("2025-03-11", parsed.getOn());
+    assertEquals("2025-03-20", parsed.getTargetDateTime());
+
+    parsed = CommandParser.parse("copy events between 2025-03-10 and 2025-03-15 --target "
+        + "calendar2 to 2025-03-25");
+    assertEquals("2025-03-10", parsed.getStartDateTime());
+    assertEquals("2025-03-15", parsed.getEndDateTime());
+    assertEquals("calendar2", parsed.getTargetCalendarName());
+  }
+}
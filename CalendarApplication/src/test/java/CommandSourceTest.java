@@ -0,0 +1,79 @@
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import calendarapp.controller.ICommandSource;
+import calendarapp.controller.source.MappedFileCommandSource;
+import calendarapp.controller.source.ScannerCommandSource;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+/**
+ * Test class for the command sources.
+ */
+public class CommandSourceTest {
+  private static final String[] CONTENTS = {"", "\n", "exit", "a\nb\n", "a\r\nb\r\n\r\nc",
+      "a\rb\r", "\n\nx\n\n", "create event \"Tëam ☕\" on 2025-03-10\nexit\n",
+      "a very long line that does not fit in a small window\r\nshort\r\n"};
+
+  @Rule
+  public TemporaryFolder folder = new TemporaryFolder();
+
+  @Test
+  public void testMappedLinesMatchScanner() throws IOException {
+    for (String content : CONTENTS) {
+      List<String> expected = readAll(new ScannerCommandSource(new StringReader(content)));
+      Path file = write(content);
+      for (int windowSize : new int[]{1, 2, 3, 5, 8, 64, 1 << 20}) {
+        assertEquals(content + " / " + windowSize, expected,
+            readAll(new MappedFileCommandSource(file, windowSize)));
+      }
+    }
+  }
+
+  @Test
+  public void testManyWindows() throws IOException {
+    StringBuilder content = new StringBuilder();
+    List<String> expected = new ArrayList<>();
+    for (int i = 0; i < 5000; i++) {
+      String line = "print events on 2025-03-" + (10 + i % 20) + " " + "x".repeat(i % 37);
+      expected.add(line);
+      content.append(line).append(i % 3 == 0 ? "\r\n" : "\n");
+    }
+    try (ICommandSource source = new MappedFileCommandSource(write(content.toString()), 4096)) {
+      assertEquals(expected, readAll(source));
+    }
+  }
+
+  @Test(expected = NoSuchElementException.class)
+  public void testNextLineAtEnd() throws IOException {
+    ICommandSource source = new MappedFileCommandSource(write("exit\n"));
+    assertEquals("exit", source.nextLine());
+    assertFalse(source.hasNextLine());
+    source.nextLine();
+  }
+
+  private Path write(String content) throws IOException {
+    Path file = folder.newFile().toPath();
+    Files.write(file, content.getBytes(StandardCharsets.UTF_8));
+    return file;
+  }
+
+  private static List<String> readAll(ICommandSource source) {
+    List<String> lines = new ArrayList<>();
+    while (source.hasNextLine()) {
+      lines.add(source.nextLine());
+    }
+    return lines;
+  }
+}
@@ -1002,6 +1002,35 @@ public class CommandsE2ETest {
         stringOutput.toString());
   }
 
+  @Test
+  public void ShowCommandRange() {
+    controller = new MockController("create event \"Sprint Planning\" " +
+        "from 2025-11-11T11:00 to 2025-11-11T12:00\n" +
+        "create event \"Sprint Planning2\" from 2025-11-11T12:00 to 2025-11-11T13:00\n" +
+        "create event Review from 2025-11-11T15:00 to 2025-11-11T18:00\n" +
+        "show status from 2025-11-11T09:00 to 2025-11-11T16:00\n" +
+        "edit event eventname \"Sprint Planning2\" from 2025-11-11T12:00 to 2025-11-11T13:00 " +
+        "with Retro\n" +
+        "edit event from Retro from 2025-11-11T12:00 to 2025-11-11T13:00 " +
+        "with 2025-11-11T12:30\n" +
+        "show status from \"2025-11-11T11:00\" to \"2025-11-11T14:00\"\n" +
+        "show status on 2025-11-11T12:15"
+        , model, view);
+    controller.start();
+    assertEquals("Status:\n" +
+            "• Available - 2025-11-11T09:00 to 2025-11-11T11:00\n" +
+            "• Busy - 2025-11-11T11:00 to 2025-11-11T13:00\n" +
+            "• Available - 2025-11-11T13:00 to 2025-11-11T15:00\n" +
+            "• Busy - 2025-11-11T15:00 to 2025-11-11T16:00\n" +
+            "Status:\n" +
+            "• Busy - 2025-11-11T11:00 to 2025-11-11T12:00\n" +
+            "• Available - 2025-11-11T12:00 to 2025-11-11T12:30\n" +
+            "• Busy - 2025-11-11T12:30 to 2025-11-11T13:00\n" +
+            "• Available - 2025-11-11T13:00 to 2025-11-11T14:00\n" +
+            "Status: Available\n",
+        stringOutput.toString());
+  }
+
   @Test(expected = InvalidCommandException.class)
   public void ShowCommandInvalid() {
     try {
@@ -1473,7 +1502,7 @@ public class CommandsE2ETest {
       controller.start();
     } catch (InvalidCommandException e) {
       assertEquals("export cal exportTest.xlsx\n"
-              + "Reason : Unsupported export format: xlsx. Supported formats are: [csv]",
+              + "Reason : Unsupported export format: xlsx. Supported formats are: [csv, ics]",
           e.getMessage());
       throw e;
     }
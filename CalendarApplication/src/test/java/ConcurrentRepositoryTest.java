@@ -0,0 +1,181 @@
+import org.junit.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import calendarapp.controller.InvalidCommandException;
+import calendarapp.model.EventConflictException;
+import calendarapp.model.IEventRepository;
+import calendarapp.model.SearchType;
+import calendarapp.model.dto.CalendarExporterDTO;
+import calendarapp.model.impl.CalendarModel;
+import calendarapp.model.impl.ConcurrentCalendarRepository;
+import calendarapp.model.impl.ConcurrentEventRepository;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Test class for the thread-safe event and calendar repositories.
+ */
+public class ConcurrentRepositoryTest {
+  private static final LocalDateTime BASE = LocalDateTime.of(2025, 4, 1, 9, 0);
+  private static final int THREADS = 8;
+
+  @Test
+  public void testConflictingCreatesAdmitExactlyOne() throws Exception {
+    IEventRepository repository = new ConcurrentEventRepository();
+    AtomicInteger created = new AtomicInteger();
+    AtomicInteger conflicts = new AtomicInteger();
+    runConcurrently(thread -> {
+      try {
+        repository.create("Meeting" + thread, BASE.plusMinutes(thread * 10L),
+            BASE.plusHours(2), null, null, null, null, null, null, true);
+        created.incrementAndGet();
+      } catch (EventConflictException e) {
+        conflicts.incrementAndGet();
+      }
+      return null;
+    });
+    assertEquals(1, created.get());
+    assertEquals(THREADS - 1, conflicts.get());
+    assertEquals(1, repository.getEvents(null, BASE, BASE.plusHours(2),
+        SearchType.OVERLAPPING).size());
+  }
+
+  @Test
+  public void testReadersRunAlongsideWriters() throws Exception {
+    IEventRepository repository = new ConcurrentEventRepository();
+    ConcurrentLinkedQueue<Throwable> failures = new ConcurrentLinkedQueue<>();
+    runConcurrently(thread -> {
+      for (int i = 0; i < 200; i++) {
+        try {
+          if (thread % 2 == 0) {
+            LocalDateTime start = BASE.plusDays(i).plusHours(thread);
+            repository.create("Event", start, start.plusMinutes(30), null, null, null, null,
+                null, null, true);
+          } else {
+            List<?> events = repository.getEvents(null, BASE, BASE.plusDays(i + 1),
+                SearchType.OVERLAPPING);
+            repository.isBusy(BASE.plusDays(i).plusMinutes(15));
+            repository.getStatusIntervals(BASE, BASE.plusDays(i + 1));
+            assertTrue(events.size() <= 200 * THREADS / 2);
+          }
+        } catch (Throwable e) {
+          failures.add(e);
+        }
+      }
+      return null;
+    });
+    assertTrue(failures.toString(), failures.isEmpty());
+    assertEquals(200 * THREADS / 2, repository.getEventsForExport().size());
+  }
+
+  @Test
+  public void testModelsShareCalendars() throws Exception {
+    ConcurrentCalendarRepository calendars = new ConcurrentCalendarRepository();
+    List<CalendarModel> models = new ArrayList<>();
+    for (int i = 0; i < THREADS; i++) {
+      models.add(new CalendarModel(calendars));
+    }
+    AtomicInteger created = new AtomicInteger();
+    runConcurrently(thread -> {
+      CalendarModel model = models.get(thread);
+      try {
+        model.createCalendar("Work", "America/New_York");
+        created.incrementAndGet();
+      } catch (InvalidCommandException e) {
+        assertEquals("Calendar already exists.\n", e.getMessage());
+      }
+      model.setCalendar("Work");
+      model.createEvent("Standup" + thread, "2025-04-0" + (thread + 1) + "T09:00",
+          "2025-04-0" + (thread + 1) + "T09:30", null, null, null, null, null, null, true);
+      return null;
+    });
+    assertEquals(1, created.get());
+    CalendarModel reader = new CalendarModel(calendars);
+    reader.setCalendar("Work");
+    assertEquals(THREADS, reader.getEventsForPrinting("2025-04-01T00:00",
+        "2025-04-10T00:00", null).size());
+  }
+
+  @Test
+  public void testBatchesCommitEveryCalendarOrNone() throws Exception {
+    ConcurrentCalendarRepository calendars = new ConcurrentCalendarRepository();
+    List<CalendarModel> models = new ArrayList<>();
+    for (int i = 0; i < THREADS; i++) {
+      models.add(new CalendarModel(calendars));
+    }
+    models.get(0).createCalendar("Work", null);
+    models.get(0).createCalendar("Home", null);
+    runConcurrently(thread -> {
+      CalendarModel model = models.get(thread);
+      String first = thread % 2 == 0 ? "Work" : "Home";
+      String second = thread % 2 == 0 ? "Home" : "Work";
+      for (int i = 0; i < 200; i++) {
+        String start = LocalDateTime.of(2025, 1, 1, 0, 0).plusHours(i).toString();
+        String end = LocalDateTime.of(2025, 1, 1, 0, 30).plusHours(i).toString();
+        model.beginBatch();
+        model.setCalendar(first);
+        model.createEvent("Sync" + thread + "-" + i, start, end, null, null, null, null, null,
+            null, true);
+        model.setCalendar(second);
+        model.createEvent("Sync" + thread + "-" + i, start, end, null, null, null, null, null,
+            null, true);
+        try {
+          model.commitBatch();
+        } catch (EventConflictException e) {
+          // Another thread took the slot.
+        }
+      }
+      return null;
+    });
+    CalendarModel reader = new CalendarModel(calendars);
+    reader.setCalendar("Work");
+    List<String> work = subjects(reader);
+    reader.setCalendar("Home");
+    assertEquals(work, subjects(reader));
+    assertEquals(200, work.size());
+  }
+
+  private static List<String> subjects(CalendarModel model) {
+    List<String> subjects = new ArrayList<>();
+    for (CalendarExporterDTO event : model.getEventsForExport()) {
+      subjects.add(event.getSubject());
+    }
+    return subjects;
+  }
+
+  private interface ThreadTask {
+    Void run(int thread) throws Exception;
+  }
+
+  private void runConcurrently(ThreadTask task) throws Exception {
+    ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+    CountDownLatch start = new CountDownLatch(1);
+    List<Future<Void>> futures = new ArrayList<>();
+    for (int i = 0; i < THREADS; i++) {
+      int thread = i;
+      Callable<Void> callable = () -> {
+        start.await();
+        return task.run(thread);
+      };
+      futures.add(executor.submit(callable));
+    }
+    start.countDown();
+    for (Future<Void> future : futures) {
+      future.get();
+    }
+    executor.shutdown();
+    assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+  }
+}
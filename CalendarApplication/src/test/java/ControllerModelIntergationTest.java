@@ -2,6 +2,7 @@ import org.junit.Before;
 import org.junit.Test;
 
 import java.io.StringReader;
+import java.util.Iterator;
 import java.util.List;
 
 import calendarapp.controller.ICalendarController;
@@ -11,7 +12,9 @@ import calendarapp.model.EventConflictException;
 import calendarapp.model.ICalendarModel;
 import calendarapp.model.dto.CalendarExporterDTO;
 import calendarapp.model.dto.CopyEventRequestDTO;
+import calendarapp.model.dto.ImportSummaryDTO;
 import calendarapp.model.dto.PrintEventsResponseDTO;
+import calendarapp.model.dto.StatusIntervalResponseDTO;
 import calendarapp.utils.TimeUtil;
 import calendarapp.view.ICalendarView;
 import calendarapp.view.impl.CLIView;
@@ -407,6 +410,14 @@ public class ControllerModelIntergationTest {
       return "Status Available/Busy!";
     }
 
+    @Override
+    public List<StatusIntervalResponseDTO> showStatus(String startDateTime,
+                                                     String endDateTime) {
+      log.append("Status from: ").append(startDateTime).append(" to: ")
+          .append(endDateTime).append("\n");
+      return List.of();
+    }
+
     @Override
     public void createCalendar(String calendarName, String timezone) {
       log.append("Calendar Name: ").append(calendarName).append("\n")
@@ -433,5 +444,33 @@ public class ControllerModelIntergationTest {
           .append("Calendar Name: ").append(copyEventRequestDTO.getCopyCalendarName()).append("\n")
           .append("Copy to: ").append(copyEventRequestDTO.getCopyToDate()).append("\n");
     }
+
+    @Override
+    public void beginBatch() {
+      log.append("Begin batch\n");
+    }
+
+    @Override
+    public void commitBatch() {
+      log.append("Commit batch\n");
+    }
+
+    @Override
+    public void saveSnapshot(String filePath) {
+      log.append("Save snapshot ").append(filePath).append("\n");
+    }
+
+    @Override
+    public void loadSnapshot(String filePath) {
+      log.append("Load snapshot ").append(filePath).append("\n");
+    }
+
+    @Override
+    public ImportSummaryDTO importEvents(Iterator<CalendarExporterDTO> events,
+                                         boolean skipConflicts) {
+      log.append("Import events").append(skipConflicts ? " skipping conflicts" : "")
+          .append("\n");
+      return ImportSummaryDTO.builder().build();
+    }
   }
 }
@@ -0,0 +1,265 @@
+import org.junit.After;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import calendarapp.controller.InvalidCommandException;
+import calendarapp.controller.exporter.CsvCalendarExporter;
+import calendarapp.controller.impl.CalendarController;
+import calendarapp.controller.importer.CsvCalendarImporter;
+import calendarapp.controller.source.ScannerCommandSource;
+import calendarapp.model.EventConflictException;
+import calendarapp.model.ICalendarModel;
+import calendarapp.model.dto.CalendarExporterDTO;
+import calendarapp.model.dto.ImportSummaryDTO;
+import calendarapp.model.impl.CalendarModel;
+import calendarapp.model.impl.WriteAheadLog;
+import calendarapp.model.impl.WriteAheadLog.SyncPolicy;
+import calendarapp.view.impl.CLIView;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Test class for importing events from CSV files.
+ */
+public class CsvImportTest {
+  private static final String HEADER = "Subject,Start Date,Start Time,End Date,End Time,"
+      + "All Day Event,Description,Location,Private\n";
+
+  @Rule
+  public TemporaryFolder tempFolder = new TemporaryFolder();
+
+  private final ForkJoinPool pool = new ForkJoinPool(4);
+  private final CsvCalendarImporter importer = new CsvCalendarImporter(pool, 3);
+
+  @After
+  public void shutDownPool() {
+    pool.shutdown();
+  }
+
+  @Test
+  public void testExportedCalendarImportsBack() throws IOException {
+    ICalendarModel model = new CalendarModel();
+    model.createEvent("Review \"Q1\", part 2", "2025-03-10T09:30", "2025-03-10T10:00", null,
+        null, null, "Notes\nover two lines", "Room 1", "private", true);
+    model.createEvent("Holiday", "2025-03-15", null, null, null, null, null, null, null, true);
+    model.createEvent("Standup", "2025-03-10T08:00", "2025-03-10T08:15", "MWF", "20", null,
+        null, "Hall", null, true);
+    model.createEvent("Late", "2025-03-21T23:00", "2025-03-22T01:30", null, null, null, null,
+        null, null, true);
+    File file = new File(tempFolder.getRoot(), "calendar.csv");
+    model.exportEvents(events -> new CsvCalendarExporter().export(events, file.getPath()));
+
+    ICalendarModel restored = new CalendarModel();
+    ImportSummaryDTO summary = importer.importEvents(file.getPath(),
+        events -> restored.importEvents(events, false));
+
+    assertEquals(23, summary.getImportedCount());
+    assertEquals(0, summary.getSkippedCount());
+    assertEquals(describe(model), describe(restored));
+    assertEquals("Busy", restored.showStatus("2025-03-15T12:00"));
+  }
+
+  @Test
+  public void testConflictFailsTheWholeImport() throws IOException {
+    ICalendarModel model = new CalendarModel();
+    model.createEvent("Existing", "2025-03-10T09:00", "2025-03-10T10:00", null, null, null,
+        null, null, null, true);
+    File file = write("clash.csv", HEADER
+        + "First,03/10/2025,7:00:00 AM,03/10/2025,8:00:00 AM,FALSE,,,FALSE\n"
+        + "Clash,03/10/2025,9:30:00 AM,03/10/2025,10:30:00 AM,FALSE,,,FALSE\n");
+    try {
+      importer.importEvents(file.getPath(), events -> model.importEvents(events, false));
+      fail("Expected the import to conflict");
+    } catch (EventConflictException e) {
+      assertEquals("Event conflicts with existing event: Existing", e.getMessage());
+    }
+    assertEquals(1, model.getEventsForExport().size());
+
+    file = write("within.csv", HEADER
+        + "First,03/11/2025,9:00:00 AM,03/11/2025,10:00:00 AM,FALSE,,,FALSE\n"
+        + "Second,03/11/2025,9:30:00 AM,03/11/2025,10:30:00 AM,FALSE,,,FALSE\n");
+    String path = file.getPath();
+    try {
+      importer.importEvents(path, events -> model.importEvents(events, false));
+      fail("Expected the rows to conflict with each other");
+    } catch (EventConflictException e) {
+      // expected
+    }
+    assertEquals(1, model.getEventsForExport().size());
+  }
+
+  @Test
+  public void testSkippedConflictsKeepTheRest() throws IOException {
+    ICalendarModel model = new CalendarModel();
+    model.createEvent("Existing", "2025-03-10T09:00", "2025-03-10T10:00", null, null, null,
+        null, null, null, true);
+    model.createEvent("Series", "2025-03-10T15:00", "2025-03-10T16:00", "MTWRF", "5", null,
+        null, null, null, true);
+    File file = write("mixed.csv", HEADER
+        + "Overlaps existing,03/10/2025,9:30:00 AM,03/10/2025,10:30:00 AM,FALSE,,,FALSE\n"
+        + "Later,03/10/2025,11:30:00 AM,03/10/2025,12:30:00 PM,FALSE,,,FALSE\n"
+        + "Kept,03/10/2025,11:00:00 AM,03/10/2025,12:00:00 PM,FALSE,,,FALSE\n"
+        + "Marker,03/10/2025,11:00:00 AM,03/10/2025,11:00:00 AM,FALSE,,,FALSE\n"
+        + "Same start,03/10/2025,11:00:00 AM,03/10/2025,11:15:00 AM,FALSE,,,FALSE\n"
+        + "Covers existing,03/10/2025,8:00:00 AM,03/10/2025,9:30:00 AM,FALSE,,,FALSE\n"
+        + "Before,03/10/2025,8:00:00 AM,03/10/2025,9:00:00 AM,FALSE,,,FALSE\n"
+        + "Overlaps series,03/12/2025,2:30:00 PM,03/12/2025,3:30:00 PM,FALSE,,,FALSE\n"
+        + "Weekend,03/15/2025,,03/16/2025,,TRUE,,,TRUE\n");
+
+    ImportSummaryDTO summary = importer.importEvents(file.getPath(),
+        events -> model.importEvents(events, true));
+
+    assertEquals(4, summary.getImportedCount());
+    assertEquals(5, summary.getSkippedCount());
+    List<String> names = new ArrayList<>();
+    for (CalendarExporterDTO event : model.getEventsForExport()) {
+      names.add(event.getSubject());
+    }
+    assertTrue(names.contains("Kept"));
+    assertTrue(names.contains("Marker"));
+    assertTrue(names.contains("Before"));
+    assertTrue(names.contains("Weekend"));
+    assertEquals(10, names.size());
+  }
+
+  @Test
+  public void testColumnsMayBeReorderedOrLeftOut() throws IOException {
+    ICalendarModel model = new CalendarModel();
+    File file = write("short.csv", "Start Date,Subject,Location\n"
+        + "03/10/2025,Offsite,\"Lake, north shore\"\n"
+        + "\n"
+        + "03/12/2025,Retro,\n");
+
+    importer.importEvents(file.getPath(), events -> model.importEvents(events, false));
+
+    assertEquals(List.of("Offsite|2025-03-10T00:00|2025-03-11T00:00|null|Lake, north shore"
+            + "|default", "Retro|2025-03-12T00:00|2025-03-13T00:00|null|null|default"),
+        describe(model));
+  }
+
+  @Test
+  public void testInvalidRowsAreReported() throws IOException {
+    ICalendarModel model = new CalendarModel();
+    String rows = "Good,03/10/2025,9:00:00 AM,03/10/2025,10:00:00 AM,FALSE,,,FALSE\n";
+    assertImportFails(model, HEADER + rows + rows + rows
+            + "Bad,13/45/2025,9:00:00 AM,03/10/2025,10:00:00 AM,FALSE,,,FALSE\n",
+        "Invalid row 5: Invalid date format: 13/45/2025.\n");
+    assertImportFails(model, HEADER
+            + "Bad,03/10/2025,9:00 AM,03/10/2025,10:00:00 AM,FALSE,,,FALSE\n",
+        "Invalid row 2: Invalid time format: 9:00 AM.\n");
+    assertImportFails(model, HEADER
+            + "Bad,03/10/2025,11:00:00 AM,03/10/2025,10:00:00 AM,FALSE,,,FALSE\n",
+        "Invalid row 2: Event ends before it starts.\n");
+    assertImportFails(model, HEADER
+            + "Bad,03/10/2025,9:00:00 AM,03/10/2025,10:00:00 AM,MAYBE,,,FALSE\n",
+        "Invalid row 2: All Day Event must be TRUE or FALSE.\n");
+    assertImportFails(model, HEADER + ",03/10/2025,9:00:00 AM,03/10/2025,10:00:00 AM\n",
+        "Invalid row 2: Expected 9 fields but found 5.\n");
+    assertImportFails(model, HEADER + "\"Bad,03/10/2025,,,,,,,\n",
+        "Invalid row 2: Quoted field is not closed.\n");
+    assertImportFails(model, "Name,Date\nBad,03/10/2025\n",
+        "Header row must name the Subject and Start Date columns.\n");
+    assertImportFails(model, "", "File has no header row.\n");
+    assertEquals(0, model.getEventsForExport().size());
+  }
+
+  @Test
+  public void testImportCommand() throws IOException {
+    File file = write("events.csv", HEADER
+        + "Gym,03/10/2025,6:00:00 PM,03/10/2025,7:00:00 PM,FALSE,,,FALSE\n"
+        + "Clash,03/10/2025,6:30:00 PM,03/10/2025,7:30:00 PM,FALSE,,,FALSE\n");
+    StringBuilder output = new StringBuilder();
+    new CalendarController(new ScannerCommandSource(new StringReader(
+        "import cal " + file.getPath() + " --skip-conflicts\n"
+            + "print events on 2025-03-10\n"
+            + "import cal notes.txt\n"
+            + "exit\n")), new CalendarModel(), new CLIView(output)).start();
+
+    String result = output.toString();
+    assertTrue(result.contains("Imported 1 events from : " + file.getAbsolutePath() + "\n"
+        + "Skipped 1 conflicting events.\n"));
+    assertTrue(result.contains("Gym"));
+    assertTrue(result.contains("import cal notes.txt\nReason : Only csv files can be "
+        + "imported.\n"));
+  }
+
+  @Test
+  public void testImportIsLogged() throws IOException {
+    File file = write("events.csv", HEADER
+        + "Gym,03/10/2025,6:00:00 PM,03/10/2025,7:00:00 PM,FALSE,\"Bring \"\"shoes\"\"\","
+        + "Club,TRUE\n"
+        + "Clash,03/10/2025,6:30:00 PM,03/10/2025,7:30:00 PM,FALSE,,,FALSE\n"
+        + "Holiday,03/14/2025,,03/15/2025,,TRUE,,,FALSE\n");
+    String logPath = new File(tempFolder.getRoot(), "calendar.wal").getPath();
+    WriteAheadLog log = WriteAheadLog.open(logPath, SyncPolicy.always());
+    CalendarModel model = new CalendarModel(log);
+    model.recover(null);
+    model.createCalendar("work", null);
+    model.setCalendar("work");
+    importer.importEvents(file.getPath(), events -> model.importEvents(events, true));
+    List<String> events = describe(model);
+    log.close();
+    assertEquals(2, events.size());
+
+    WriteAheadLog reopened = WriteAheadLog.open(logPath, SyncPolicy.always());
+    try {
+      CalendarModel restored = new CalendarModel(reopened);
+      restored.recover(null);
+      restored.setCalendar("work");
+      assertEquals(events, describe(restored));
+    } finally {
+      reopened.close();
+    }
+  }
+
+  @Test
+  public void testImportIsRejectedInABatch() throws IOException {
+    ICalendarModel model = new CalendarModel();
+    File file = write("events.csv", HEADER);
+    model.beginBatch();
+    try {
+      importer.importEvents(file.getPath(), events -> model.importEvents(events, false));
+      fail("Expected the import to be rejected");
+    } catch (InvalidCommandException e) {
+      assertEquals("Events cannot be imported in a batch.\n", e.getMessage());
+    }
+  }
+
+  private void assertImportFails(ICalendarModel model, String content, String message)
+      throws IOException {
+    File file = write("invalid.csv", content);
+    try {
+      importer.importEvents(file.getPath(), events -> model.importEvents(events, false));
+      fail("Expected the import of " + content + " to fail");
+    } catch (InvalidCommandException e) {
+      assertEquals(message, e.getMessage());
+    }
+  }
+
+  private File write(String name, String content) throws IOException {
+    File file = new File(tempFolder.getRoot(), name);
+    Files.writeString(file.toPath(), content);
+    return file;
+  }
+
+  private List<String> describe(ICalendarModel model) {
+    List<String> events = new ArrayList<>();
+    for (CalendarExporterDTO event : model.getEventsForExport()) {
+      events.add(event.getSubject() + "|" + event.getStartDate() + "|" + event.getEndDate()
+          + "|" + event.getDescription() + "|" + event.getLocation() + "|"
+          + event.getVisibility());
+    }
+    return events;
+  }
+}
@@ -1,14 +1,27 @@
 import org.junit.Before;
 import org.junit.Test;
 
+import java.io.StringReader;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Scanner;
+import java.util.concurrent.CountDownLatch;
+
 import calendarapp.controller.ICalendarController;
+import calendarapp.controller.ICommandSource;
 import calendarapp.controller.InvalidCommandException;
+import calendarapp.controller.impl.CalendarController;
 import calendarapp.controller.impl.CalendarControllerFactory;
+import calendarapp.controller.impl.PipelinedCalendarController;
 import calendarapp.model.ICalendarModel;
 import calendarapp.model.impl.CalendarModel;
 import calendarapp.view.ICalendarView;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 
 /**
  * Test for Headless controller mode.
@@ -100,6 +113,127 @@ public class HeadlessControllerTest {
         + "Exiting application gracefully.\n", view.getResult());
   }
 
+  @Test
+  public void testPipelinedOutputMatchesSequential() {
+    String commands = script(1000, false);
+    MockView sequentialView = new MockView();
+    new CalendarController(new StringReader(commands), new CalendarModel(), sequentialView)
+        .start();
+    new PipelinedCalendarController(new StringReader(commands), model, view, 4).start();
+    assertEquals(sequentialView.getResult(), view.getResult());
+    assertTrue(view.getResult().endsWith("Exiting application.\n"));
+  }
+
+  @Test
+  public void testPipelinedStopsAtFirstError() {
+    String commands = script(1000, true);
+    MockView sequentialView = new MockView();
+    new CalendarController(new StringReader(commands), new CalendarModel(), sequentialView)
+        .start();
+    new PipelinedCalendarController(new StringReader(commands), model, view, 3).start();
+    assertEquals(sequentialView.getResult(), view.getResult());
+    assertTrue(view.getResult().endsWith("Exiting application gracefully.\n"));
+    assertEquals(700, model.getEventsForPrinting("2025-01-01", "2030-01-01", null).size());
+  }
+
+  @Test(expected = InvalidCommandException.class)
+  public void testPipelinedWithoutExitCommand() {
+    new PipelinedCalendarController(new StringReader("print events on 2025-01-01\n"), model,
+        view, 2).start();
+  }
+
+  @Test
+  public void testPipelinedReaderStopsQuietlyAfterEarlyError() throws InterruptedException {
+    StringBuilder commands = new StringBuilder("create event \"Broken\" from 2025-01-01\n");
+    for (int i = 0; i < 2000; i++) {
+      commands.append("print events on 2025-01-01\n");
+    }
+    CountDownLatch stopped = new CountDownLatch(1);
+    StalledSource source = new StalledSource(commands.append("exit\n").toString(), 300,
+        stopped);
+    List<Throwable> uncaught = new ArrayList<>();
+    Thread.UncaughtExceptionHandler handler = Thread.getDefaultUncaughtExceptionHandler();
+    Thread.setDefaultUncaughtExceptionHandler((thread, e) -> {
+      synchronized (uncaught) {
+        uncaught.add(e);
+      }
+    });
+    try {
+      new PipelinedCalendarController(source, model, view, 2).start();
+      Thread reader = source.reader;
+      stopped.countDown();
+      reader.join(10000);
+      assertFalse(reader.isAlive());
+    } finally {
+      Thread.setDefaultUncaughtExceptionHandler(handler);
+    }
+    assertTrue(view.getResult().endsWith("Exiting application gracefully.\n"));
+    assertTrue(uncaught.isEmpty());
+  }
+
+  private static String script(int events, boolean conflict) {
+    StringBuilder commands = new StringBuilder();
+    for (int i = 0; i < events; i++) {
+      int hour = conflict && i == 700 ? 0 : i;
+      commands.append("create event \"Event ").append(i).append("\" from ")
+          .append(LocalDateTime.of(2025, 1, 1, 0, 0).plusHours(hour)).append(" to ")
+          .append(LocalDateTime.of(2025, 1, 1, 0, 30).plusHours(hour)).append('\n');
+      if (i % 100 == 0) {
+        commands.append("print events on ").append(LocalDate.of(2025, 1, 1).plusDays(i / 24))
+            .append('\n').append("show status on 2025-01-01T00:10\n");
+      }
+    }
+    return commands.append("exit\nprint events on 2025-01-01\n").toString();
+  }
+
+  /**
+   * Command source that holds the thread reading it before the given line until released, the way
+   * a slow input would, without giving up when interrupted.
+   */
+  private static class StalledSource implements ICommandSource {
+    private final Scanner lines;
+    private final int stallBefore;
+    private final CountDownLatch release;
+    private volatile Thread reader;
+    private int read;
+
+    private StalledSource(String text, int stallBefore, CountDownLatch release) {
+      this.lines = new Scanner(text);
+      this.stallBefore = stallBefore;
+      this.release = release;
+    }
+
+    @Override
+    public boolean hasNextLine() {
+      reader = Thread.currentThread();
+      if (read == stallBefore) {
+        boolean interrupted = false;
+        while (release.getCount() > 0) {
+          try {
+            release.await();
+          } catch (InterruptedException e) {
+            interrupted = true;
+          }
+        }
+        if (interrupted) {
+          Thread.currentThread().interrupt();
+        }
+      }
+      return lines.hasNextLine();
+    }
+
+    @Override
+    public String nextLine() {
+      read++;
+      return lines.nextLine();
+    }
+
+    @Override
+    public void close() {
+      lines.close();
+    }
+  }
+
   private static class MockView implements ICalendarView {
     private final StringBuilder resultBuilder = new StringBuilder();
 
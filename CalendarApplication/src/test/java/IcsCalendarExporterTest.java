@@ -0,0 +1,168 @@
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+import calendarapp.controller.ICalendarExporter;
+import calendarapp.controller.exporter.IcsCalendarExporter;
+import calendarapp.controller.impl.CalendarController;
+import calendarapp.controller.source.ScannerCommandSource;
+import calendarapp.model.ICalendarModel;
+import calendarapp.model.dto.CalendarExporterDTO;
+import calendarapp.model.impl.CalendarModel;
+import calendarapp.view.impl.CLIView;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Test class for exporting calendars to iCalendar files.
+ */
+public class IcsCalendarExporterTest {
+
+  @Rule
+  public TemporaryFolder tempFolder = new TemporaryFolder();
+
+  private final ICalendarExporter exporter = new IcsCalendarExporter(
+      Clock.fixed(Instant.parse("2025-03-01T12:00:00Z"), ZoneOffset.UTC));
+
+  @Test
+  public void testExportSingleEvents() throws IOException {
+    List<CalendarExporterDTO> events = new ArrayList<>();
+    events.add(CalendarExporterDTO.builder()
+        .subject("Review; part 1, draft")
+        .startDate(LocalDateTime.of(2025, 3, 10, 9, 30))
+        .endDate(LocalDateTime.of(2025, 3, 10, 10, 0))
+        .description("Line one\nLine \\two")
+        .location("")
+        .visibility("private")
+        .build());
+    events.add(CalendarExporterDTO.builder()
+        .subject("Holiday")
+        .startDate(LocalDateTime.of(2025, 3, 14, 0, 0))
+        .endDate(LocalDateTime.of(2025, 3, 15, 0, 0))
+        .location("Home")
+        .visibility("public")
+        .build());
+
+    String content = export(events.iterator());
+
+    assertEquals("BEGIN:VCALENDAR\r\n"
+        + "VERSION:2.0\r\n"
+        + "PRODID:-//CalendarApp//Calendar Export//EN\r\n"
+        + "CALSCALE:GREGORIAN\r\n"
+        + "BEGIN:VEVENT\r\n"
+        + "UID:1-20250310T093000@calendarapp\r\n"
+        + "DTSTAMP:20250301T120000Z\r\n"
+        + "DTSTART:20250310T093000\r\n"
+        + "DTEND:20250310T100000\r\n"
+        + "SUMMARY:Review\\; part 1\\, draft\r\n"
+        + "DESCRIPTION:Line one\\nLine \\\\two\r\n"
+        + "CLASS:PRIVATE\r\n"
+        + "END:VEVENT\r\n"
+        + "BEGIN:VEVENT\r\n"
+        + "UID:2-20250314T000000@calendarapp\r\n"
+        + "DTSTAMP:20250301T120000Z\r\n"
+        + "DTSTART;VALUE=DATE:20250314\r\n"
+        + "DTEND;VALUE=DATE:20250315\r\n"
+        + "SUMMARY:Holiday\r\n"
+        + "LOCATION:Home\r\n"
+        + "CLASS:PUBLIC\r\n"
+        + "END:VEVENT\r\n"
+        + "END:VCALENDAR\r\n", content);
+  }
+
+  @Test
+  public void testLongLinesAreFoldedWithoutSplittingCharacters() throws IOException {
+    String subject = "é".repeat(40) + "x".repeat(100);
+    List<CalendarExporterDTO> events = new ArrayList<>();
+    events.add(CalendarExporterDTO.builder()
+        .subject(subject)
+        .startDate(LocalDateTime.of(2025, 3, 10, 9, 0))
+        .endDate(LocalDateTime.of(2025, 3, 10, 10, 0))
+        .visibility("public")
+        .build());
+
+    String content = export(events.iterator());
+
+    StringBuilder unfolded = new StringBuilder();
+    for (String line : content.split("\r\n")) {
+      assertTrue(line.getBytes(StandardCharsets.UTF_8).length <= 75);
+      if (line.startsWith(" ")) {
+        unfolded.append(line.substring(1));
+      } else {
+        unfolded.append('\n').append(line);
+      }
+    }
+    assertTrue(unfolded.toString().contains("\nSUMMARY:" + subject + "\n"));
+  }
+
+  @Test
+  public void testSeriesIsExportedAsOneRule() throws IOException {
+    ICalendarModel model = new CalendarModel();
+    model.createEvent("Standup", "2025-03-10T09:00", "2025-03-10T09:15", "MWF", "30", null,
+        null, null, null, true);
+    model.createEvent("Offsite", "2025-03-15", null, "SU", null, "2025-04-06", null, null,
+        null, true);
+    model.createEvent("Lunch", "2025-03-11T12:00", "2025-03-11T13:00", null, null, null, null,
+        null, null, true);
+    model.editEvent("Standup", "2025-03-12T09:00", "2025-03-12T09:15", "location", "Room 4");
+
+    File file = tempFolder.newFile("calendar.ics");
+    model.exportSeries(events -> exporter.export(events, file.getAbsolutePath()));
+    String content = Files.readString(file.toPath());
+
+    assertEquals(4, content.split("BEGIN:VEVENT", -1).length - 1);
+    assertTrue(content.contains("DTSTART:20250310T090000\r\n"
+        + "DTEND:20250310T091500\r\n"
+        + "RRULE:FREQ=WEEKLY;BYDAY=MO,WE,FR;COUNT=30\r\n"
+        + "EXDATE:20250312T090000\r\n"
+        + "SUMMARY:Standup\r\n"));
+    assertTrue(content.contains("DTSTART;VALUE=DATE:20250315\r\n"
+        + "DTEND;VALUE=DATE:20250316\r\n"
+        + "RRULE:FREQ=WEEKLY;BYDAY=SA,SU;COUNT=8\r\n"
+        + "SUMMARY:Offsite\r\n"));
+    assertTrue(content.contains("DTSTART:20250312T090000\r\n"
+        + "DTEND:20250312T091500\r\n"
+        + "SUMMARY:Standup\r\n"
+        + "LOCATION:Room 4\r\n"));
+    assertTrue(content.contains("DTSTART:20250311T120000\r\n"
+        + "DTEND:20250311T130000\r\n"
+        + "SUMMARY:Lunch\r\n"));
+  }
+
+  @Test
+  public void testExportCommandWritesIcsFile() throws IOException {
+    File file = new File(tempFolder.getRoot(), "commands.ics");
+    StringBuilder output = new StringBuilder();
+    new CalendarController(new ScannerCommandSource(new StringReader(
+        "create event Gym from 2025-03-10T18:00 to 2025-03-10T19:00 repeats TR for 8 times\n"
+            + "export cal " + file.getAbsolutePath() + "\n"
+            + "exit\n")), new CalendarModel(), new CLIView(output)).start();
+
+    assertTrue(output.toString().contains("ICS file Location : " + file.getAbsolutePath()));
+    String content = Files.readString(file.toPath());
+    assertTrue(content.contains("RRULE:FREQ=WEEKLY;BYDAY=TU,TH;COUNT=8\r\n"));
+    assertFalse(content.contains("EXDATE"));
+    assertEquals(1, content.split("BEGIN:VEVENT", -1).length - 1);
+  }
+
+  private String export(Iterator<CalendarExporterDTO> events) throws IOException {
+    File file = tempFolder.newFile();
+    exporter.export(events, file.getAbsolutePath());
+    return Files.readString(file.toPath());
+  }
+}
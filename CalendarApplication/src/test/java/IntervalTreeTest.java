@@ -0,0 +1,100 @@
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import calendarapp.model.impl.IntervalTree;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Test class for the augmented interval tree backing the event repository.
+ */
+public class IntervalTreeTest {
+  private IntervalTree<String> tree;
+
+  @Before
+  public void setUp() {
+    tree = new IntervalTree<>();
+  }
+
+  @Test
+  public void testEmptyTree() {
+    assertEquals(0, tree.size());
+    assertTrue(tree.getAll().isEmpty());
+    assertTrue(tree.getOverlapping(0, 100).isEmpty());
+    assertNull(tree.findFirstOverlapping(0, 100));
+  }
+
+  @Test
+  public void testOverlappingIsOrderedByStart() {
+    tree.add("c", 30, 40);
+    tree.add("a", 10, 20);
+    tree.add("b", 15, 35);
+    assertEquals(List.of("a", "b", "c"), tree.getOverlapping(0, 100));
+    assertEquals(List.of("b", "c"), tree.getOverlapping(25, 31));
+    assertEquals("a", tree.findFirstOverlapping(12, 13));
+  }
+
+  @Test
+  public void testTouchingIntervalsDoNotOverlap() {
+    tree.add("a", 10, 20);
+    assertTrue(tree.getOverlapping(20, 30).isEmpty());
+    assertTrue(tree.getOverlapping(0, 10).isEmpty());
+    assertTrue(tree.getOverlapping(10, 10).isEmpty());
+    assertEquals(List.of("a"), tree.getOverlapping(15, 15));
+  }
+
+  @Test
+  public void testEqualStartsKeepInsertionOrder() {
+    tree.add("first", 10, 20);
+    tree.add("second", 10, 15);
+    tree.add("third", 10, 30);
+    assertEquals(List.of("first", "second", "third"), tree.getAll());
+  }
+
+  @Test
+  public void testRemove() {
+    tree.add("a", 10, 20);
+    tree.add("b", 10, 20);
+    assertTrue(tree.remove("a", 10));
+    assertFalse(tree.remove("a", 10));
+    assertFalse(tree.remove("b", 11));
+    assertEquals(List.of("b"), tree.getAll());
+    assertEquals(1, tree.size());
+  }
+
+  @Test
+  public void testMatchesLinearScan() {
+    Random random = new Random(42);
+    List<long[]> intervals = new ArrayList<>();
+    for (int i = 0; i < 2000; i++) {
+      long start = random.nextInt(10000);
+      long end = start + random.nextInt(50);
+      intervals.add(new long[]{start, end});
+      tree.add(String.valueOf(i), start, end);
+    }
+    for (int i = 0; i < 1000; i += 2) {
+      assertTrue(tree.remove(String.valueOf(i), intervals.get(i)[0]));
+    }
+
+    for (int query = 0; query < 200; query++) {
+      long start = random.nextInt(10000);
+      long end = start + random.nextInt(200);
+      int expected = 0;
+      for (int i = 0; i < intervals.size(); i++) {
+        boolean removed = i < 1000 && i % 2 == 0;
+        if (!removed && intervals.get(i)[0] < end && intervals.get(i)[1] > start) {
+          expected++;
+        }
+      }
+      assertEquals(expected, tree.getOverlapping(start, end).size());
+    }
+    assertEquals(1500, tree.size());
+  }
+}
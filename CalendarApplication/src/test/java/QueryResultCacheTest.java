@@ -0,0 +1,85 @@
+import org.junit.Test;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import calendarapp.model.ICalendarModel;
+import calendarapp.model.dto.PrintEventsResponseDTO;
+import calendarapp.model.dto.StatusIntervalResponseDTO;
+import calendarapp.model.impl.CalendarModel;
+import calendarapp.model.impl.QueryResultCache;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+/**
+ * Test class for caching the results of print and show queries.
+ */
+public class QueryResultCacheTest {
+
+  @Test
+  public void testResultsAreReusedUntilTheVersionChanges() {
+    QueryResultCache cache = new QueryResultCache(4);
+    AtomicInteger loads = new AtomicInteger();
+    assertEquals(1, (int) cache.get(0, loads::incrementAndGet, "print", "a", "b"));
+    assertEquals(1, (int) cache.get(0, loads::incrementAndGet, "print", "a", "b"));
+    assertEquals(2, (int) cache.get(0, loads::incrementAndGet, "print", "a", "c"));
+    assertEquals(3, (int) cache.get(0, loads::incrementAndGet, "status", "a", "b"));
+    assertEquals(3, cache.size());
+
+    assertEquals(4, (int) cache.get(1, loads::incrementAndGet, "print", "a", "b"));
+    assertEquals(1, cache.size());
+    assertEquals(4, (int) cache.get(1, loads::incrementAndGet, "print", "a", "b"));
+  }
+
+  @Test
+  public void testLeastRecentlyUsedResultIsEvicted() {
+    QueryResultCache cache = new QueryResultCache(2);
+    AtomicInteger loads = new AtomicInteger();
+    cache.get(0, loads::incrementAndGet, "q", 1);
+    cache.get(0, loads::incrementAndGet, "q", 2);
+    cache.get(0, loads::incrementAndGet, "q", 1);
+    cache.get(0, loads::incrementAndGet, "q", 3);
+    assertEquals(2, cache.size());
+    assertEquals(1, (int) cache.get(0, loads::incrementAndGet, "q", 1));
+    assertEquals(4, (int) cache.get(0, loads::incrementAndGet, "q", 2));
+  }
+
+  @Test
+  public void testModelServesCachedResultsUntilEventsChange() {
+    ICalendarModel model = new CalendarModel();
+    model.createEvent("A", "2025-03-10T09:00", "2025-03-10T10:00", null, null, null, null,
+        null, null, true);
+
+    List<PrintEventsResponseDTO> first = model.getEventsForPrinting(null, null, "2025-03-10");
+    assertSame(first, model.getEventsForPrinting(null, null, "2025-03-10"));
+    List<StatusIntervalResponseDTO> intervals = model.showStatus("2025-03-10T08:00",
+        "2025-03-10T12:00");
+    assertSame(intervals, model.showStatus("2025-03-10T08:00", "2025-03-10T12:00"));
+    assertEquals("Available", model.showStatus("2025-03-10T10:30"));
+
+    model.createEvent("B", "2025-03-10T10:00", "2025-03-10T11:00", null, null, null, null,
+        null, null, true);
+    List<PrintEventsResponseDTO> second = model.getEventsForPrinting(null, null, "2025-03-10");
+    assertNotSame(first, second);
+    assertEquals(2, second.size());
+    assertNotSame(intervals, model.showStatus("2025-03-10T08:00", "2025-03-10T12:00"));
+    assertEquals("Busy", model.showStatus("2025-03-10T10:30"));
+
+    model.editEvent("B", "2025-03-10T10:00", "2025-03-10T11:00", "location", "Room");
+    assertEquals("Room", model.getEventsForPrinting(null, null, "2025-03-10").get(1)
+        .getLocation());
+  }
+
+  @Test
+  public void testCalendarsHaveSeparateResults() {
+    ICalendarModel model = new CalendarModel();
+    model.createEvent("A", "2025-03-10T09:00", "2025-03-10T10:00", null, null, null, null,
+        null, null, true);
+    assertEquals(1, model.getEventsForPrinting(null, null, "2025-03-10").size());
+    model.createCalendar("work", "America/New_York");
+    model.setCalendar("work");
+    assertEquals(0, model.getEventsForPrinting(null, null, "2025-03-10").size());
+  }
+}
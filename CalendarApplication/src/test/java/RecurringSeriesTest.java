@@ -0,0 +1,247 @@
+import org.junit.Before;
+import org.junit.Test;
+
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoField;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.Temporal;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import calendarapp.model.EventConflictException;
+import calendarapp.model.IEvent;
+import calendarapp.model.SearchType;
+import calendarapp.model.impl.Event;
+import calendarapp.model.impl.EventRepository;
+import calendarapp.model.impl.RecurringSeries;
+import calendarapp.utils.TimeUtil;
+
+import static calendarapp.model.impl.Constants.DaysOfWeek.parseDaysOfWeek;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Test class for recurring series, comparing the occurrences generated on demand with the
+ * occurrences of an eagerly expanded recurrence rule.
+ */
+public class RecurringSeriesTest {
+  private static final String DAYS = "MTWRFSU";
+
+  private EventRepository repository;
+
+  @Before
+  public void setUp() {
+    repository = new EventRepository();
+  }
+
+  @Test
+  public void testCountBasedSeries() {
+    repository.create("Standup", LocalDateTime.of(2025, 4, 2, 9, 0),
+        LocalDateTime.of(2025, 4, 2, 9, 30), null, null, null, "MF", "5", null, false);
+    List<IEvent> all = getAll();
+    assertEquals(5, all.size());
+    assertEquals(LocalDateTime.of(2025, 4, 4, 9, 0), all.get(0).getStartTime());
+    assertEquals(LocalDateTime.of(2025, 4, 7, 9, 0), all.get(1).getStartTime());
+    assertEquals(LocalDateTime.of(2025, 4, 14, 9, 0), all.get(3).getStartTime());
+    assertEquals(LocalDateTime.of(2025, 4, 18, 9, 30), all.get(4).getEndTime());
+  }
+
+  @Test
+  public void testEmptySeriesIsNotStored() {
+    RecurringSeries series = RecurringSeries.of("Review", LocalDateTime.of(2025, 4, 2, 9, 0),
+        LocalDateTime.of(2025, 4, 2, 10, 0), null, null, null, "M", null,
+        LocalDateTime.of(2025, 4, 1, 23, 59, 59));
+    assertTrue(series.isEmpty());
+  }
+
+  @Test
+  public void testConflictWithOccurrence() {
+    repository.create("Gym", LocalDateTime.of(2025, 4, 1, 18, 0),
+        LocalDateTime.of(2025, 4, 1, 19, 0), null, null, null, "T", "52", null, false);
+    try {
+      repository.create("Dinner", LocalDateTime.of(2025, 12, 23, 18, 30),
+          LocalDateTime.of(2025, 12, 23, 20, 0), null, null, null, null, null, null, false);
+      fail("Expected a conflict with the last occurrence");
+    } catch (EventConflictException e) {
+      assertEquals("Event conflicts with existing event: Gym", e.getMessage());
+    }
+    repository.create("Dinner", LocalDateTime.of(2026, 3, 31, 18, 30),
+        LocalDateTime.of(2026, 3, 31, 20, 0), null, null, null, null, null, null, false);
+    assertEquals(53, getAll().size());
+  }
+
+  @Test
+  public void testEditSingleOccurrence() {
+    repository.create("Gym", LocalDateTime.of(2025, 4, 1, 18, 0),
+        LocalDateTime.of(2025, 4, 1, 19, 0), null, null, null, "TR", "6", null, false);
+    repository.update("Gym", LocalDateTime.of(2025, 4, 8, 18, 0),
+        LocalDateTime.of(2025, 4, 8, 19, 0), "location", "Park");
+    List<IEvent> all = getAll();
+    assertEquals(6, all.size());
+    for (IEvent event : all) {
+      boolean isEdited = event.getStartTime().equals(LocalDateTime.of(2025, 4, 8, 18, 0));
+      assertEquals(isEdited ? "Park" : null, event.getLocation());
+    }
+  }
+
+  @Test
+  public void testMatchesEagerExpansion() {
+    Random random = new Random(7);
+    for (int round = 0; round < 200; round++) {
+      repository = new EventRepository();
+      LocalDateTime start = LocalDateTime.of(2024, 1, 1, 0, 0)
+          .plusDays(random.nextInt(900))
+          .plusMinutes(15L * random.nextInt(64));
+      LocalDateTime end = start.plusMinutes(15L * (1 + random.nextInt(12)));
+      String days = randomDays(random);
+      Integer count = random.nextBoolean() ? 1 + random.nextInt(60) : null;
+      LocalDateTime until = count == null || random.nextInt(4) == 0
+          ? start.plusDays(random.nextInt(200)).withHour(23).withMinute(59).withSecond(59)
+          : null;
+
+      List<IEvent> expected;
+      try {
+        expected = expand("Series", start, end, days, count, until);
+      } catch (IllegalArgumentException e) {
+        try {
+          repository.create("Series", start, end, null, null, null, days,
+              String.valueOf(count), until, false);
+          fail("Expected an invalid series to be rejected");
+        } catch (IllegalArgumentException rejected) {
+          assertEquals(e.getMessage(), rejected.getMessage());
+        }
+        continue;
+      }
+      repository.create("Series", start, end, null, null, null, days,
+          count == null ? null : String.valueOf(count), until, false);
+      assertEquals(expected, getAll());
+
+      for (int query = 0; query < 10; query++) {
+        LocalDateTime from = start.plusHours(random.nextInt(24 * 120) - 24 * 10);
+        LocalDateTime to = from.plusMinutes(random.nextInt(60 * 24 * 20));
+        assertEquals(overlapping(expected, from, to),
+            repository.getEvents(null, from, to, SearchType.OVERLAPPING));
+        assertEquals(startingBetween(expected, from, to),
+            repository.getEvents("Series", from, null, SearchType.MATCHING).stream()
+                .filter(event -> !TimeUtil.isFirstAfterSecond(event.getStartTime(), to))
+                .collect(Collectors.toList()));
+      }
+
+      if (!expected.isEmpty()) {
+        IEvent removed = expected.get(random.nextInt(expected.size()));
+        repository.update("Series", removed.getStartTime(), removed.getEndTime(), "eventname",
+            "Moved");
+        List<IEvent> remaining = getAll();
+        assertEquals(expected.size(), remaining.size());
+        assertEquals(1, remaining.stream().filter(e -> e.getName().equals("Moved")).count());
+      }
+    }
+  }
+
+  @Test
+  public void testChangeZoneAcrossDaylightSaving() {
+    Random random = new Random(11);
+    ZoneId newYork = ZoneId.of("America/New_York");
+    ZoneId london = ZoneId.of("Europe/London");
+    for (int round = 0; round < 100; round++) {
+      repository = new EventRepository();
+      LocalDateTime start = LocalDateTime.of(2024, 1, 1, 0, 0)
+          .plusDays(random.nextInt(700))
+          .plusMinutes(30L * random.nextInt(30));
+      LocalDateTime end = start.plusMinutes(30L * (1 + random.nextInt(6)));
+      String days = randomDays(random);
+      int count = 1 + random.nextInt(120);
+
+      List<IEvent> expected = new ArrayList<>();
+      for (IEvent event : expand("Series", start, end, days, count, null)) {
+        expected.add(Event.builder()
+            .name(event.getName())
+            .startTime(TimeUtil.changeZone(event.getStartTime(), newYork, london))
+            .endTime(TimeUtil.changeZone(event.getEndTime(), newYork, london))
+            .recurringDays(days)
+            .occurrenceCount(count)
+            .isAutoDecline(true)
+            .build());
+      }
+      expected.sort(Comparator.comparing(event -> (LocalDateTime) event.getStartTime()));
+
+      repository.create("Series", start, end, null, null, null, days, String.valueOf(count),
+          null, false);
+      repository.changeTimeZone(newYork, london);
+      assertEquals(expected, getAll());
+    }
+  }
+
+  private List<IEvent> getAll() {
+    return repository.getEvents(null, null, null, SearchType.EXACT);
+  }
+
+  private String randomDays(Random random) {
+    StringBuilder days = new StringBuilder();
+    for (char day : DAYS.toCharArray()) {
+      if (random.nextInt(3) == 0) {
+        days.append(day);
+      }
+    }
+    return days.length() == 0 ? "W" : days.toString();
+  }
+
+  private List<IEvent> overlapping(List<IEvent> events, Temporal from, Temporal to) {
+    List<IEvent> result = new ArrayList<>();
+    for (IEvent event : events) {
+      if (TimeUtil.isFirstBeforeSecond(event.getStartTime(), to)
+          && TimeUtil.isFirstAfterSecond(event.getEndTime(), from)) {
+        result.add(event);
+      }
+    }
+    return result;
+  }
+
+  private List<IEvent> startingBetween(List<IEvent> events, Temporal from, Temporal to) {
+    List<IEvent> result = new ArrayList<>();
+    for (IEvent event : events) {
+      if (!TimeUtil.isFirstBeforeSecond(event.getStartTime(), from)
+          && !TimeUtil.isFirstAfterSecond(event.getStartTime(), to)) {
+        result.add(event);
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Expands a recurrence rule into its occurrences one day at a time.
+   */
+  private List<IEvent> expand(String name, Temporal startTime, Temporal endTime, String days,
+                              Integer count, Temporal until) {
+    Set<DayOfWeek> daysOfWeek = parseDaysOfWeek(days);
+    Duration duration = Duration.between(startTime, endTime);
+    List<IEvent> events = new ArrayList<>();
+    Temporal current = startTime;
+    int created = 0;
+    while ((count != null && created < count)
+        || (until != null && TimeUtil.isFirstBeforeSecond(current, until))) {
+      if (daysOfWeek.contains(DayOfWeek.of(current.get(ChronoField.DAY_OF_WEEK)))) {
+        events.add(Event.builder()
+            .name(name)
+            .startTime(current)
+            .endTime(current.plus(duration))
+            .recurringDays(days)
+            .occurrenceCount(count)
+            .recurrenceEndDate(until)
+            .isAutoDecline(true)
+            .build());
+        created++;
+      }
+      current = current.plus(1, ChronoUnit.DAYS);
+    }
+    return events;
+  }
+}
@@ -12,6 +12,7 @@ import calendarapp.model.impl.Event;
 import calendarapp.model.impl.searchstrategies.SearchEventFactory;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
 
 /**
  * Test class to Search strategy events.
@@ -177,4 +178,41 @@ public class SearchStrategyTestCases {
     assertEquals(0, results.size());
   }
 
+  @Test
+  public void testSearchByEndTimeOnly() {
+    List<IEvent> results = searchStrategy.search(events,
+        null,
+        null,
+        LocalDateTime.of(2025, 4, 11, 10, 0),
+        false, SearchType.MATCHING);
+
+    assertEquals(2, results.size());
+    assertEquals(LocalDateTime.of(2025, 4, 10, 9, 0), results.get(0).getStartTime());
+    assertEquals(LocalDateTime.of(2025, 4, 11, 9, 0), results.get(1).getStartTime());
+  }
+
+  @Test
+  public void testSearchWithInvertedTimeRange() {
+    List<IEvent> results = searchStrategy.search(events,
+        null,
+        LocalDateTime.of(2025, 4, 14, 0, 0),
+        LocalDateTime.of(2025, 4, 10, 0, 0),
+        false, SearchType.MATCHING);
+
+    assertEquals(0, results.size());
+  }
+
+  @Test
+  public void testOverlappingSearchSharesEventInstances() {
+    List<IEvent> results = searchStrategy.search(events,
+        null,
+        LocalDateTime.of(2025, 4, 10, 0, 0),
+        LocalDateTime.of(2025, 4, 12, 0, 0),
+        false, SearchType.OVERLAPPING);
+
+    assertEquals(2, results.size());
+    assertSame(events.get(0), results.get(0));
+    assertSame(events.get(3), results.get(1));
+  }
+
 }
@@ -0,0 +1,215 @@
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.file.Files;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+
+import calendarapp.controller.InvalidCommandException;
+import calendarapp.controller.impl.CalendarController;
+import calendarapp.controller.source.ScannerCommandSource;
+import calendarapp.model.EventConflictException;
+import calendarapp.model.ICalendarModel;
+import calendarapp.model.dto.CalendarExporterDTO;
+import calendarapp.model.impl.CalendarModel;
+import calendarapp.model.impl.ConcurrentCalendarRepository;
+import calendarapp.view.impl.CLIView;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Test class for saving and loading binary snapshots of the calendars.
+ */
+public class SnapshotTest {
+
+  @Rule
+  public TemporaryFolder tempFolder = new TemporaryFolder();
+
+  @Test
+  public void testSnapshotRestoresEveryCalendar() throws IOException {
+    ICalendarModel model = new CalendarModel();
+    model.createEvent("Review \"Q1\"", "2025-03-10T09:30", "2025-03-10T10:00", null, null,
+        null, "Notes, with ünïcode", "Room 1", "private", true);
+    model.createEvent("Holiday", "2025-03-15", null, null, null, null, null, null, null,
+        true);
+    model.createEvent("Standup", "2025-03-10T08:00", "2025-03-10T08:15", "MWF", "20", null,
+        null, "Hall", "public", true);
+    model.editEvent("Standup", "2025-03-12T08:00", "2025-03-12T08:15", "location", "Lab");
+    model.createCalendar("work", "America/Los_Angeles");
+    model.setCalendar("work");
+    model.createEvent("Gym", "2025-03-01T23:00", "2025-03-01T23:45", "SU", null,
+        "2025-04-30", null, null, null, true);
+    model.editCalendar("work", "timezone", "Asia/Kolkata");
+    List<String> personal = describe(model, "Personal");
+    List<String> work = describe(model, "work");
+
+    File file = tempFolder.newFile("calendars.snap");
+    model.saveSnapshot(file.getAbsolutePath());
+    ICalendarModel restored = new CalendarModel();
+    restored.loadSnapshot(file.getAbsolutePath());
+
+    assertEquals(personal, describe(restored, "Personal"));
+    assertEquals(work, describe(restored, "work"));
+    restored.setCalendar("Personal");
+    assertEquals(4, (int) restored.exportSeries(this::count));
+    assertEquals("Busy", restored.showStatus("2025-03-15T12:00"));
+    try {
+      restored.createEvent("Clash", "2025-03-17T08:05", "2025-03-17T08:10", null, null, null,
+          null, null, null, true);
+      fail("Expected the restored series to conflict");
+    } catch (EventConflictException e) {
+      // expected
+    }
+    restored.editEvent("Standup", "2025-03-14T08:00", "2025-03-14T08:15", "location", "Roof");
+    assertEquals("Roof", restored.getEventsForPrinting(null, null, "2025-03-14").get(0)
+        .getLocation());
+  }
+
+  @Test
+  public void testSnapshotIsCompact() throws IOException {
+    ICalendarModel model = new CalendarModel();
+    LocalDateTime start = LocalDateTime.of(2025, 1, 1, 0, 0);
+    for (int i = 0; i < 10_000; i++) {
+      model.createEvent("Focus", start.plusHours(i).toString(),
+          start.plusHours(i).plusMinutes(30).toString(), null, null, null, "Deep work", "Desk",
+          null, true);
+    }
+    File file = tempFolder.newFile("compact.snap");
+    model.saveSnapshot(file.getAbsolutePath());
+    assertTrue(Files.size(file.toPath()) < 10_000 * 16);
+
+    ICalendarModel restored = new CalendarModel();
+    restored.loadSnapshot(file.getAbsolutePath());
+    assertEquals(describe(model, "Personal"), describe(restored, "Personal"));
+  }
+
+  @Test
+  public void testLoadingKeepsTheActiveCalendarByName() throws IOException {
+    ICalendarModel model = new CalendarModel();
+    model.createCalendar("work", "Europe/Paris");
+    File file = tempFolder.newFile("calendars.snap");
+    model.saveSnapshot(file.getAbsolutePath());
+
+    ICalendarModel other = new CalendarModel();
+    other.createCalendar("work", null);
+    other.setCalendar("work");
+    other.createEvent("Old", "2025-03-10T09:00", "2025-03-10T10:00", null, null, null, null,
+        null, null, true);
+    assertEquals(1, other.getEventsForExport().size());
+    other.loadSnapshot(file.getAbsolutePath());
+    assertEquals(0, other.getEventsForExport().size());
+    other.createEvent("New", "2025-03-10T09:00", "2025-03-10T10:00", null, null, null, null,
+        null, null, true);
+    other.setCalendar("Personal");
+    assertEquals(0, other.getEventsForExport().size());
+
+    other.createCalendar("home", null);
+    other.setCalendar("home");
+    other.loadSnapshot(file.getAbsolutePath());
+    other.createEvent("Default", "2025-03-10T09:00", "2025-03-10T10:00", null, null, null,
+        null, null, null, true);
+    other.setCalendar("Personal");
+    assertEquals(1, other.getEventsForExport().size());
+  }
+
+  @Test
+  public void testSharedCalendarsCannotBeReplaced() throws IOException {
+    ConcurrentCalendarRepository calendars = new ConcurrentCalendarRepository();
+    ICalendarModel model = new CalendarModel(calendars);
+    ICalendarModel other = new CalendarModel(calendars);
+    model.createEvent("Kept", "2025-03-10T09:00", "2025-03-10T10:00", null, null, null, null,
+        null, null, true);
+    File file = tempFolder.newFile("shared.snap");
+    new CalendarModel().saveSnapshot(file.getAbsolutePath());
+
+    assertLoadFails(model, file.getAbsolutePath(),
+        "Snapshots cannot be loaded while the calendars are shared.\n");
+    other.createEvent("Added", "2025-03-10T11:00", "2025-03-10T12:00", null, null, null, null,
+        null, null, true);
+    assertEquals(2, model.getEventsForExport().size());
+  }
+
+  @Test
+  public void testInvalidSnapshotsAreRejected() throws IOException {
+    ICalendarModel model = new CalendarModel();
+    File text = tempFolder.newFile("commands.txt");
+    Files.writeString(text.toPath(), "create event A on 2025-03-10\n");
+    assertLoadFails(model, text.getAbsolutePath(), "Cannot load snapshot: Not a calendar "
+        + "snapshot.\n");
+    assertLoadFails(model, new File(tempFolder.getRoot(), "missing.snap").getPath(),
+        "Cannot load snapshot: No such file "
+            + new File(tempFolder.getRoot(), "missing.snap").getPath() + ".\n");
+
+    model.createEvent("A", "2025-03-10T09:00", "2025-03-10T10:00", null, null, null, null,
+        null, null, true);
+    File file = tempFolder.newFile("truncated.snap");
+    model.saveSnapshot(file.getAbsolutePath());
+    byte[] bytes = Files.readAllBytes(file.toPath());
+    Files.write(file.toPath(), Arrays.copyOf(bytes, bytes.length - 3));
+    assertLoadFails(model, file.getAbsolutePath(), "Cannot load snapshot: Snapshot is "
+        + "truncated.\n");
+    assertEquals(1, model.getEventsForExport().size());
+
+    model.beginBatch();
+    assertLoadFails(model, file.getAbsolutePath(), "Snapshots cannot be loaded in a batch.\n");
+  }
+
+  @Test
+  public void testSnapshotCommands() throws IOException {
+    File file = new File(tempFolder.getRoot(), "session.snap");
+    StringBuilder output = new StringBuilder();
+    new CalendarController(new ScannerCommandSource(new StringReader(
+        "create event Gym from 2025-03-10T18:00 to 2025-03-10T19:00 repeats TR for 8 times\n"
+            + "save snapshot " + file.getPath() + "\n"
+            + "create event Extra on 2025-03-21\n"
+            + "load snapshot " + file.getPath() + "\n"
+            + "print events on 2025-03-21\n"
+            + "save snapshot\n"
+            + "exit\n")), new CalendarModel(), new CLIView(output)).start();
+
+    String result = output.toString();
+    assertTrue(result.contains("Snapshot saved to : " + file.getAbsolutePath() + "\n"));
+    assertTrue(result.contains("Snapshot loaded from : " + file.getAbsolutePath() + "\n"));
+    assertTrue(result.contains("Processing command: print events on 2025-03-21\n"
+        + "No events found.\n"));
+    assertTrue(result.contains("save snapshot\nReason : Required fields are missing.\n"));
+  }
+
+  private void assertLoadFails(ICalendarModel model, String filePath, String message) {
+    try {
+      model.loadSnapshot(filePath);
+      fail("Expected loading " + filePath + " to fail");
+    } catch (InvalidCommandException e) {
+      assertEquals(message, e.getMessage());
+    }
+  }
+
+  private Integer count(Iterator<CalendarExporterDTO> events) {
+    int count = 0;
+    while (events.hasNext()) {
+      events.next();
+      count++;
+    }
+    return count;
+  }
+
+  private List<String> describe(ICalendarModel model, String calendarName) {
+    model.setCalendar(calendarName);
+    List<String> events = new ArrayList<>();
+    for (CalendarExporterDTO event : model.getEventsForExport()) {
+      events.add(event.getSubject() + "|" + event.getStartDate() + "|" + event.getEndDate()
+          + "|" + event.getDescription() + "|" + event.getLocation() + "|"
+          + event.getVisibility());
+    }
+    return events;
+  }
+}
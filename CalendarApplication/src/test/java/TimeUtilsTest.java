@@ -4,6 +4,8 @@ import org.junit.Test;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
 import java.time.temporal.Temporal;
 
 import calendarapp.utils.TimeUtil;
@@ -90,6 +92,26 @@ public class TimeUtilsTest {
     assertFalse(TimeUtil.isEqual(sampleDateTime, sampleDateTime.plusHours(1)));
   }
 
+  @Test
+  public void testDifferenceWithFractionalSeconds() {
+    assertEquals(0, TimeUtil.difference(sampleDateTime.withNano(500_000_000),
+        sampleDateTime.plusSeconds(1)));
+    assertFalse(TimeUtil.isFirstBeforeSecond(sampleDateTime.withNano(500_000_000),
+        sampleDateTime.plusSeconds(1)));
+  }
+
+  @Test
+  public void testEpochSecondComparisons() {
+    long start = TimeUtil.toEpochSecond(sampleDateTime);
+    long end = TimeUtil.toEpochSecond(sampleDateTime.plusHours(1));
+    assertEquals(sampleDateTime, TimeUtil.fromEpochSecond(start));
+    assertTrue(TimeUtil.isFirstBeforeSecond(start, end));
+    assertTrue(TimeUtil.isFirstAfterSecond(end, start));
+    assertTrue(TimeUtil.isEqual(start, start));
+    assertTrue(TimeUtil.isConflicting(start, end, end - 1, end + 60));
+    assertFalse(TimeUtil.isConflicting(start, end, end, end + 60));
+  }
+
   @Test
   public void testGetZonedDateTime() {
     assertEquals(sampleDateTime, TimeUtil.getLocalDateTimeFromTemporal(sampleDateTime));
@@ -166,4 +188,51 @@ public class TimeUtilsTest {
       throw e;
     }
   }
-}
\ No newline at end of file
+
+  @Test
+  public void testFastParsingMatchesFormatters() {
+    String[] inputs = {"2024-02-29T10:00", "2025-02-29T10:00", "2025-04-31T23:59",
+        "2025-01-01T24:00", "2025-01-01t10:00", "2025-01-01T10:60", "2025-01-32",
+        "0000-01-01", "9999-12-31T00:00", "2025-1-01T10:00", "2025-03-10T10:00:30",
+        "+12345-01-01T10:00", "2025-0a-01", "2025/01/01"};
+    DateTimeFormatter dateTimeFormatter = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm");
+    DateTimeFormatter dateFormatter = DateTimeFormatter.ofPattern("yyyy-MM-dd");
+    for (String input : inputs) {
+      Temporal expected;
+      try {
+        expected = LocalDateTime.parse(input, dateTimeFormatter);
+      } catch (DateTimeParseException e) {
+        try {
+          expected = LocalDate.parse(input, dateFormatter).atStartOfDay();
+        } catch (DateTimeParseException e2) {
+          expected = null;
+        }
+      }
+      try {
+        assertEquals(input, expected, TimeUtil.getTemporalFromString(input));
+      } catch (IllegalArgumentException e) {
+        assertNull(input, expected);
+        assertEquals("Invalid date format: " + input, e.getMessage());
+      }
+    }
+    assertEquals(LocalDate.of(2025, 2, 28), TimeUtil.getDateFromString("2025-02-30"));
+    assertEquals(LocalDate.of(2024, 2, 29), TimeUtil.getDateFromString("2024-02-29"));
+  }
+
+  @Test
+  public void testFastFormattingMatchesFormatters() {
+    DateTimeFormatter dateFormatter = DateTimeFormatter.ofPattern("MM/dd/yyyy");
+    DateTimeFormatter timeFormatter = DateTimeFormatter.ofPattern("h:mm:ss a");
+    LocalDateTime dateTime = LocalDateTime.of(2024, 12, 30, 0, 0, 7);
+    for (int i = 0; i < 24 * 4; i++) {
+      assertEquals(dateTime.format(dateFormatter), TimeUtil.formatDate(dateTime));
+      assertEquals(dateTime.format(timeFormatter), TimeUtil.formatTime(dateTime));
+      dateTime = dateTime.plusMinutes(59);
+    }
+    LocalDate farDate = LocalDate.of(12345, 1, 1);
+    assertEquals(farDate.format(dateFormatter), TimeUtil.formatDate(farDate));
+    assertEquals("x01/02/0003 1:00:00 AM", TimeUtil.appendTime(TimeUtil.appendDate(
+        new StringBuilder("x"), LocalDate.of(3, 1, 2)).append(' '),
+        LocalDateTime.of(3, 1, 2, 1, 0)).toString());
+  }
+}
@@ -0,0 +1,344 @@
+import org.junit.After;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import calendarapp.controller.InvalidCommandException;
+import calendarapp.model.ICalendarModel;
+import calendarapp.model.dto.CalendarExporterDTO;
+import calendarapp.model.dto.CopyEventRequestDTO;
+import calendarapp.model.impl.CalendarModel;
+import calendarapp.model.impl.ConcurrentCalendarRepository;
+import calendarapp.model.impl.WriteAheadLog;
+import calendarapp.model.impl.WriteAheadLog.SyncPolicy;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Test class for logging the changes to the calendars and replaying them after a restart.
+ */
+public class WriteAheadLogTest {
+  private static final int HEADER_SIZE = 16;
+
+  @Rule
+  public TemporaryFolder tempFolder = new TemporaryFolder();
+
+  private final List<WriteAheadLog> reopenedLogs = new ArrayList<>();
+
+  @After
+  public void closeReopenedLogs() {
+    for (WriteAheadLog log : reopenedLogs) {
+      log.close();
+    }
+  }
+
+  @Test
+  public void testLoggedChangesSurviveARestart() throws IOException {
+    String logPath = new File(tempFolder.getRoot(), "calendar.wal").getPath();
+    WriteAheadLog log = WriteAheadLog.open(logPath, SyncPolicy.always());
+    CalendarModel model = new CalendarModel(log);
+    model.recover(null);
+    makeChanges(model);
+    List<String> personal = describe(model, "Personal");
+    List<String> work = describe(model, "work");
+    log.close();
+    assertEquals(12, work.size());
+
+    CalendarModel restored = restart(logPath, null);
+    assertEquals(personal, describe(restored, "Personal"));
+    assertEquals(work, describe(restored, "work"));
+  }
+
+  @Test
+  public void testFailedChangesAreNotLogged() throws IOException {
+    String logPath = new File(tempFolder.getRoot(), "calendar.wal").getPath();
+    WriteAheadLog log = WriteAheadLog.open(logPath, SyncPolicy.always());
+    CalendarModel model = new CalendarModel(log);
+    model.recover(null);
+    model.createEvent("Standup", "2025-03-10T09:00", "2025-03-10T09:30", null, null, null,
+        null, null, null, true);
+    long size = Files.size(new File(logPath).toPath());
+    try {
+      model.createEvent("Clash", "2025-03-10T09:15", "2025-03-10T09:45", null, null, null,
+          null, null, null, true);
+      fail("Expected the event to conflict");
+    } catch (RuntimeException e) {
+      // expected
+    }
+    model.beginBatch();
+    model.createEvent("Clash", "2025-03-10T09:15", "2025-03-10T09:45", null, null, null,
+        null, null, null, true);
+    try {
+      model.commitBatch();
+      fail("Expected the batch to conflict");
+    } catch (RuntimeException e) {
+      // expected
+    }
+    assertEquals(size, Files.size(new File(logPath).toPath()));
+    log.close();
+
+    assertEquals(1, restart(logPath, null).getEventsForExport().size());
+  }
+
+  @Test
+  public void testSnapshotIsACheckpoint() throws IOException {
+    String logPath = new File(tempFolder.getRoot(), "calendar.wal").getPath();
+    String snapshotPath = new File(tempFolder.getRoot(), "calendar.snap").getPath();
+    WriteAheadLog log = WriteAheadLog.open(logPath, SyncPolicy.always());
+    CalendarModel model = new CalendarModel(log);
+    model.recover(null);
+    makeChanges(model);
+    model.saveSnapshot(snapshotPath);
+    assertEquals(HEADER_SIZE, Files.size(new File(logPath).toPath()));
+    model.setCalendar("Personal");
+    model.createEvent("After", "2025-04-01T09:00", "2025-04-01T10:00", null, null, null, null,
+        null, null, true);
+    List<String> personal = describe(model, "Personal");
+    List<String> work = describe(model, "work");
+    log.close();
+
+    CalendarModel restored = restart(logPath, snapshotPath);
+    assertEquals(personal, describe(restored, "Personal"));
+    assertEquals(work, describe(restored, "work"));
+    try {
+      restored.loadSnapshot(snapshotPath);
+      fail("Expected snapshots not to load while changes are logged");
+    } catch (InvalidCommandException e) {
+      assertEquals("Snapshots cannot be loaded while changes are logged.\n", e.getMessage());
+    }
+
+    try {
+      restart(logPath, null);
+      fail("Expected the log not to replay without its snapshot");
+    } catch (InvalidCommandException e) {
+      assertEquals("Cannot replay write-ahead log: Log starts at change 8, after the "
+          + "snapshot; start from a newer snapshot.\n", e.getMessage());
+    }
+  }
+
+  @Test
+  public void testPartlyWrittenChangeIsCutOff() throws IOException {
+    String logPath = new File(tempFolder.getRoot(), "calendar.wal").getPath();
+    WriteAheadLog log = WriteAheadLog.open(logPath, SyncPolicy.always());
+    CalendarModel model = new CalendarModel(log);
+    model.recover(null);
+    model.createEvent("First", "2025-03-10T09:00", "2025-03-10T10:00", null, null, null, null,
+        null, null, true);
+    model.createEvent("Second", "2025-03-11T09:00", "2025-03-11T10:00", null, null, null, null,
+        null, null, true);
+    log.close();
+    try (RandomAccessFile file = new RandomAccessFile(logPath, "rw")) {
+      file.setLength(file.length() - 3);
+    }
+
+    WriteAheadLog reopened = WriteAheadLog.open(logPath, SyncPolicy.always());
+    CalendarModel restored = new CalendarModel(reopened);
+    restored.recover(null);
+    assertEquals(List.of("First|2025-03-10T09:00|2025-03-10T10:00|null|null|default"),
+        describe(restored, "Personal"));
+    restored.createEvent("Third", "2025-03-12T09:00", "2025-03-12T10:00", null, null, null,
+        null, null, null, true);
+    List<String> events = describe(restored, "Personal");
+    reopened.close();
+
+    assertEquals(events, describe(restart(logPath, null), "Personal"));
+  }
+
+  @Test
+  public void testLargeImportIsLoggedInChunks() throws IOException {
+    String logPath = new File(tempFolder.getRoot(), "calendar.wal").getPath();
+    WriteAheadLog log = WriteAheadLog.open(logPath, SyncPolicy.always());
+    CalendarModel model = new CalendarModel(log);
+    model.recover(null);
+    model.createEvent("Before", "2025-03-10T08:00", "2025-03-10T08:10", null, null, null, null,
+        null, null, true);
+    assertEquals(1, model.importEvents(importedEvents(6000), true).getSkippedCount());
+    model.createEvent("After", "2025-01-01T11:00", "2025-01-01T12:00", null, null, null, null,
+        null, null, true);
+    List<String> events = describe(model, "Personal");
+    log.close();
+    assertEquals(6001, events.size());
+    assertTrue(Files.size(new File(logPath).toPath()) > 3 * (1 << 16));
+
+    assertEquals(events, describe(restart(logPath, null), "Personal"));
+  }
+
+  @Test
+  public void testPartlyWrittenImportIsCutOff() throws IOException {
+    String logPath = new File(tempFolder.getRoot(), "calendar.wal").getPath();
+    WriteAheadLog log = WriteAheadLog.open(logPath, SyncPolicy.always());
+    CalendarModel model = new CalendarModel(log);
+    model.recover(null);
+    model.createEvent("Before", "2025-01-01T09:00", "2025-01-01T10:00", null, null, null, null,
+        null, null, true);
+    model.importEvents(importedEvents(6000), false);
+    log.close();
+    try (RandomAccessFile file = new RandomAccessFile(logPath, "rw")) {
+      file.setLength(file.length() - 3);
+    }
+
+    WriteAheadLog reopened = WriteAheadLog.open(logPath, SyncPolicy.always());
+    CalendarModel restored = new CalendarModel(reopened);
+    restored.recover(null);
+    assertEquals(List.of("Before|2025-01-01T09:00|2025-01-01T10:00|null|null|default"),
+        describe(restored, "Personal"));
+    restored.createEvent("After", "2025-01-01T11:00", "2025-01-01T12:00", null, null, null,
+        null, null, null, true);
+    List<String> events = describe(restored, "Personal");
+    reopened.close();
+
+    assertEquals(2, events.size());
+    assertEquals(events, describe(restart(logPath, null), "Personal"));
+  }
+
+  @Test
+  public void testRecordsPolicySyncsInGroups() throws IOException {
+    String logPath = new File(tempFolder.getRoot(), "calendar.wal").getPath();
+    WriteAheadLog log = WriteAheadLog.open(logPath, SyncPolicy.everyRecords(3));
+    CalendarModel model = new CalendarModel(log);
+    model.recover(null);
+    model.createEvent("First", "2025-03-10T09:00", "2025-03-10T10:00", null, null, null, null,
+        null, null, true);
+    model.createEvent("Second", "2025-03-11T09:00", "2025-03-11T10:00", null, null, null, null,
+        null, null, true);
+    assertEquals(HEADER_SIZE, Files.size(new File(logPath).toPath()));
+    log.close();
+
+    assertEquals(2, restart(logPath, null).getEventsForExport().size());
+  }
+
+  @Test
+  public void testConcurrentChangesReplayInOrder() throws Exception {
+    String logPath = new File(tempFolder.getRoot(), "calendar.wal").getPath();
+    WriteAheadLog log = WriteAheadLog.open(logPath, SyncPolicy.always());
+    ConcurrentCalendarRepository calendars = new ConcurrentCalendarRepository();
+    new CalendarModel(calendars, log).recover(null);
+    ExecutorService clients = Executors.newFixedThreadPool(4);
+    List<Future<?>> results = new ArrayList<>();
+    for (int client = 0; client < 4; client++) {
+      int id = client;
+      results.add(clients.submit(() -> {
+        ICalendarModel model = new CalendarModel(calendars, log);
+        LocalDateTime start = LocalDateTime.of(2025, 3, 10, 0, 0);
+        for (int i = 0; i < 50; i++) {
+          String time = start.plusMinutes(15L * (i * 4 + id)).toString();
+          model.createEvent("Slot", time, start.plusMinutes(15L * (i * 4 + id) + 10)
+              .toString(), null, null, null, null, null, null, true);
+          model.editEvent("Slot", time, null, "location", "Room " + id);
+        }
+        return null;
+      }));
+    }
+    for (Future<?> result : results) {
+      result.get();
+    }
+    clients.shutdown();
+    assertTrue(clients.awaitTermination(10, TimeUnit.SECONDS));
+    List<String> events = describe(new CalendarModel(calendars), "Personal");
+    log.close();
+
+    assertEquals(200, events.size());
+    assertEquals(events, describe(restart(logPath, null), "Personal"));
+  }
+
+  @Test
+  public void testSyncPolicies() {
+    SyncPolicy.parse("always");
+    SyncPolicy.parse("50ms");
+    SyncPolicy.parse("100records");
+    for (String policy : new String[]{"sometimes", "0ms", "-1records", "ms"}) {
+      try {
+        SyncPolicy.parse(policy);
+        fail("Expected " + policy + " to be rejected");
+      } catch (IllegalArgumentException e) {
+        assertEquals("Invalid write-ahead log sync policy: " + policy, e.getMessage());
+      }
+    }
+  }
+
+  @Test
+  public void testOtherFilesAreRejected() throws IOException {
+    File file = tempFolder.newFile("commands.txt");
+    Files.writeString(file.toPath(), "create event A on 2025-03-10T09:00 and more\n");
+    try {
+      WriteAheadLog.open(file.getPath(), SyncPolicy.always());
+      fail("Expected the file to be rejected");
+    } catch (IOException e) {
+      assertEquals("Not a write-ahead log.", e.getMessage());
+    }
+  }
+
+  private void makeChanges(CalendarModel model) {
+    model.createEvent("Standup", "2025-03-10T08:00", "2025-03-10T08:15", "MWF", "20", null,
+        null, "Hall", "public", true);
+    model.createEvent("Holiday", "2025-03-15", null, null, null, null, "Notes, ünïcode", null,
+        "private", true);
+    model.editEvent("Standup", "2025-03-12T08:00", "2025-03-12T08:15", "location", "Lab");
+    model.createCalendar("work", "America/Los_Angeles");
+    model.copyEvent(CopyEventRequestDTO.builder()
+        .startTime(LocalDateTime.of(2025, 3, 10, 0, 0))
+        .endTime(LocalDateTime.of(2025, 3, 15, 0, 0))
+        .copyCalendarName("work")
+        .copyStartDate(LocalDate.of(2025, 4, 7))
+        .build());
+    model.setCalendar("work");
+    model.beginBatch();
+    model.createEvent("Review", "2025-04-08T10:00", "2025-04-08T11:00", null, null, null,
+        null, null, null, true);
+    model.createEvent("Gym", "2025-04-05T23:00", "2025-04-05T23:45", "SU", null, "2025-04-30",
+        null, null, null, true);
+    model.commitBatch();
+    model.editCalendar("work", "timezone", "Asia/Kolkata");
+  }
+
+  private Iterator<CalendarExporterDTO> importedEvents(int count) {
+    LocalDateTime start = LocalDateTime.of(2025, 3, 10, 8, 0);
+    List<CalendarExporterDTO> events = new ArrayList<>();
+    for (int i = 0; i < count; i++) {
+      events.add(CalendarExporterDTO.builder()
+          .subject("Imported " + i)
+          .startDate(start.plusMinutes(30L * i))
+          .endDate(start.plusMinutes(30L * i + 20))
+          .description(i % 2 == 0 ? "Notes " + i : null)
+          .location("Room " + i % 7)
+          .visibility(i % 3 == 0 ? "private" : null)
+          .build());
+    }
+    return events.iterator();
+  }
+
+  private CalendarModel restart(String logPath, String snapshotPath) throws IOException {
+    WriteAheadLog log = WriteAheadLog.open(logPath, SyncPolicy.always());
+    reopenedLogs.add(log);
+    CalendarModel model = new CalendarModel(log);
+    model.recover(snapshotPath);
+    return model;
+  }
+
+  private List<String> describe(ICalendarModel model, String calendarName) {
+    model.setCalendar(calendarName);
+    List<String> events = new ArrayList<>();
+    for (CalendarExporterDTO event : model.getEventsForExport()) {
+      events.add(event.getSubject() + "|" + event.getStartDate() + "|" + event.getEndDate()
+          + "|" + event.getDescription() + "|" + event.getLocation() + "|"
+          + event.getVisibility());
+    }
+    return events;
+  }
+}